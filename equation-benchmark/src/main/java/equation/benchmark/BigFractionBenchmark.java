@@ -0,0 +1,96 @@
+package equation.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import equation.BigFraction;
+import equation.HybridFraction;
+import equation.Number;
+
+/**
+ * BigFractionBenchmark - 比较BigFraction与HybridFraction的JMH基准测试。
+ * <p>small组的结果都能放进long，HybridFraction只需要long运算；overflow组的结果超出long的范围，两者都需要BigInteger运算。</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BigFractionBenchmark {
+    /**
+     * operands属性 - 当前使用的操作数组。
+     */
+    @Param({"small", "overflow"})
+    public String operands;
+
+    private BigFraction big1;
+    private BigFraction big2;
+    private HybridFraction hybrid1;
+    private HybridFraction hybrid2;
+
+    /**
+     * setup方法 - 根据operands属性初始化操作数。
+     */
+    @Setup
+    public void setup() {
+        switch(operands) {
+            case "small":
+                init(40009, 40013, 39989, 40031);
+                break;
+            case "overflow":
+                init(4000000007L, 4000000009L, 3999999979L, 4000000037L);
+                break;
+            default:
+                throw new IllegalArgumentException(operands);
+        }
+    }
+
+    private void init(long n1, long d1, long n2, long d2) {
+        big1 = BigFraction.valueOf(n1, d1);
+        big2 = BigFraction.valueOf(n2, d2);
+        hybrid1 = HybridFraction.valueOf(n1, d1);
+        hybrid2 = HybridFraction.valueOf(n2, d2);
+    }
+
+    @Benchmark
+    public Number bigAdd() {
+        return big1.add(big2);
+    }
+
+    @Benchmark
+    public Number hybridAdd() {
+        return hybrid1.add(hybrid2);
+    }
+
+    @Benchmark
+    public Number bigMult() {
+        return big1.mult(big2);
+    }
+
+    @Benchmark
+    public Number hybridMult() {
+        return hybrid1.mult(hybrid2);
+    }
+
+    @Benchmark
+    public int bigCompareTo() {
+        return big1.compareTo(big2);
+    }
+
+    @Benchmark
+    public int hybridCompareTo() {
+        return hybrid1.compareTo(hybrid2);
+    }
+}
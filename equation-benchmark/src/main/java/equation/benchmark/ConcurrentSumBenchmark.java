@@ -0,0 +1,66 @@
+package equation.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import equation.AtomicRational;
+import equation.Fraction;
+import equation.Number;
+import equation.Rational;
+import equation.RationalAdder;
+
+/**
+ * ConcurrentSumBenchmark - 比较多个线程同时累加同一个和时，加锁的Fraction、AtomicRational与RationalAdder的JMH基准测试。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class ConcurrentSumBenchmark {
+    private Number value;
+    private Number lockedTotal;
+    private AtomicRational atomic;
+    private RationalAdder adder;
+
+    /**
+     * setup方法 - 每一轮测量前把所有的和清零。
+     */
+    @Setup
+    public void setup() {
+        value = Rational.valueOf(1, 4);
+        lockedTotal = new Fraction(0);
+        atomic = new AtomicRational();
+        adder = new RationalAdder();
+    }
+
+    @Benchmark
+    public void locked() {
+        synchronized(this) {
+            lockedTotal = lockedTotal.add(value);
+        }
+    }
+
+    @Benchmark
+    public Rational atomic() {
+        return atomic.addAndGet(value);
+    }
+
+    @Benchmark
+    public void adder() {
+        adder.add(value);
+    }
+}
@@ -0,0 +1,88 @@
+package equation.benchmark;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import equation.BigFraction;
+import equation.ContinuedFraction;
+import equation.Fraction;
+import equation.HybridFraction;
+
+/**
+ * ContinuedFractionBenchmark - 比较求分母不超过N的最佳逼近的各种方法的JMH基准测试。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContinuedFractionBenchmark {
+    private static final int MAX_DENOMINATOR = 1000000;
+
+    @Param({"150", "3000"})
+    private int bits;
+
+    private BigFraction[] values;
+    private int index;
+
+    /**
+     * setup方法 - 生成分子和分母都是bits位的随机分数。
+     */
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        values = new BigFraction[1024];
+        for(int i = 0; i < values.length; i++) {
+            values[i] = BigFraction.valueOf(new BigInteger(bits, random).setBit(bits - 1), new BigInteger(bits, random).setBit(bits - 1));
+        }
+    }
+
+    private BigFraction next() {
+        index = (index + 1) & (values.length - 1);
+        return values[index];
+    }
+
+    @Benchmark
+    public Fraction viaDouble() {
+        return Fraction.approximate(next().toDouble(), MAX_DENOMINATOR);
+    }
+
+    @Benchmark
+    public HybridFraction continuedFraction() {
+        return ContinuedFraction.valueOf(next()).approximate(MAX_DENOMINATOR);
+    }
+
+    @Benchmark
+    public HybridFraction exactSum() {
+        return ContinuedFraction.valueOf(next().add(next())).approximate(MAX_DENOMINATOR);
+    }
+
+    @Benchmark
+    public HybridFraction gosperSum() {
+        return ContinuedFraction.valueOf(next()).add(ContinuedFraction.valueOf(next())).approximate(MAX_DENOMINATOR);
+    }
+
+    @Benchmark
+    public HybridFraction exactProduct() {
+        return ContinuedFraction.valueOf(next().mult(next())).approximate(MAX_DENOMINATOR);
+    }
+
+    @Benchmark
+    public HybridFraction gosperProduct() {
+        return ContinuedFraction.valueOf(next()).mult(ContinuedFraction.valueOf(next())).approximate(MAX_DENOMINATOR);
+    }
+}
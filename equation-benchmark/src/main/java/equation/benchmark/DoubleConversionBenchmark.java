@@ -0,0 +1,99 @@
+package equation.benchmark;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import equation.BigFraction;
+import equation.Fraction;
+
+/**
+ * DoubleConversionBenchmark - 比较double与分数之间各种转换方法的JMH基准测试。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DoubleConversionBenchmark {
+    private double[] values;
+    private Fraction[] fractions;
+    private BigFraction[] bigFractions;
+    private int index;
+
+    /**
+     * setup方法 - 生成两位小数形式的随机double，例如 12.34，以及需要转化为double的随机分数。
+     */
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        values = new double[1024];
+        for(int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt(100000) / 100.0;
+        }
+        fractions = new Fraction[values.length];
+        bigFractions = new BigFraction[values.length];
+        for(int i = 0; i < values.length; i++) {
+            fractions[i] = new Fraction(random.nextInt(200001) - 100000, random.nextInt(1000) + 1);
+            bigFractions[i] = BigFraction.valueOf(new BigInteger(200, random), new BigInteger(150, random).add(BigInteger.ONE));
+        }
+    }
+
+    private double next() {
+        index = (index + 1) & (values.length - 1);
+        return values[index];
+    }
+
+    @Benchmark
+    public BigDecimal stringDecimal() {
+        return new BigDecimal(Double.toString(next()));
+    }
+
+    @Benchmark
+    public Fraction constructor() {
+        return new Fraction(next());
+    }
+
+    @Benchmark
+    public Fraction approximate() {
+        return Fraction.approximate(next(), 1000);
+    }
+
+    @Benchmark
+    public BigFraction exactBig() {
+        return BigFraction.valueOf(next());
+    }
+
+    @Benchmark
+    public double fractionToDouble() {
+        index = (index + 1) & (fractions.length - 1);
+        return fractions[index].toDouble();
+    }
+
+    @Benchmark
+    public double bigToDoubleDecimal() {
+        index = (index + 1) & (bigFractions.length - 1);
+        BigFraction value = bigFractions[index];
+        return new BigDecimal(value.getNumerator()).divide(new BigDecimal(value.getDenominator()), MathContext.DECIMAL128).doubleValue();
+    }
+
+    @Benchmark
+    public double bigToDouble() {
+        index = (index + 1) & (bigFractions.length - 1);
+        return bigFractions[index].toDouble();
+    }
+}
@@ -0,0 +1,58 @@
+package equation.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import equation.CompiledExpression;
+import equation.Expression;
+import equation.Fraction;
+import equation.Number;
+
+/**
+ * ExpressionBenchmark - 比较每次重新解析表达式与使用编译后表达式求值的JMH基准测试。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpressionBenchmark {
+    private static final String FORMULA = "base * (1 + rate) ^ 3 - fee / 2";
+
+    private CompiledExpression compiled;
+    private Number base;
+    private Number rate;
+    private Number fee;
+
+    /**
+     * setup方法 - 编译表达式并初始化变量的取值。
+     */
+    @Setup
+    public void setup() {
+        compiled = Expression.parse(FORMULA).compile();
+        base = new Fraction(1000);
+        rate = new Fraction(3, 100);
+        fee = new Fraction(25, 4);
+    }
+
+    @Benchmark
+    public Number parseAndCompile() {
+        return Expression.parse(FORMULA).compile().evaluate(base, rate, fee);
+    }
+
+    @Benchmark
+    public Number compiled() {
+        return compiled.evaluate(base, rate, fee);
+    }
+}
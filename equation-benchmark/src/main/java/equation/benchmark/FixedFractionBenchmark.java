@@ -0,0 +1,78 @@
+package equation.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import equation.FixedFraction;
+import equation.Fraction;
+import equation.Number;
+
+/**
+ * FixedFractionBenchmark - 比较Fraction与以1/100为单位的FixedFraction累加一批金额的JMH基准测试。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FixedFractionBenchmark {
+    private Fraction[] fractions;
+    private FixedFraction[] fixed;
+    private FixedFraction rate;
+
+    /**
+     * setup方法 - 生成1000笔以分为单位的随机金额。
+     */
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        fractions = new Fraction[1000];
+        fixed = new FixedFraction[1000];
+        for(int i = 0; i < fractions.length; i++) {
+            int cents = random.nextInt(100000);
+            fractions[i] = new Fraction(cents, 100);
+            fractions[i].simplification();
+            fixed[i] = FixedFraction.valueOf(cents, 100);
+        }
+        rate = FixedFraction.valueOf(8, 100);
+    }
+
+    @Benchmark
+    public Number fractionSum() {
+        Number total = new Fraction(0);
+        for(Fraction value : fractions) {
+            total = total.add(value);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public Number fixedSum() {
+        Number total = FixedFraction.valueOf(0, 100);
+        for(FixedFraction value : fixed) {
+            total = total.add(value);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public Number fixedTax() {
+        Number total = FixedFraction.valueOf(0, 100);
+        for(FixedFraction value : fixed) {
+            total = total.add(value.mult(rate));
+        }
+        return total;
+    }
+}
@@ -0,0 +1,151 @@
+package equation.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import equation.Fraction;
+import equation.Number;
+
+/**
+ * FractionBenchmark - Fraction上每一种Number运算的JMH基准测试。
+ * <p>
+ * 每个基准方法都会在四组操作数上运行：small（小分子分母）、large（接近int乘法上限的分子分母）、
+ * coprime（分子分母两两互质）和reducible（可以大幅化简的分数）。
+ * 推荐配合gc profiler运行，以同时得到ops/s和每次操作的内存分配量：
+ * </p>
+ * <blockquote><pre>
+mvn -B package
+java -jar equation-benchmark/target/benchmarks.jar FractionBenchmark -prof gc
+ * </pre></blockquote>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FractionBenchmark {
+    /**
+     * operands属性 - 当前使用的操作数组。
+     */
+    @Param({"small", "large", "coprime", "reducible"})
+    public String operands;
+
+    private int numerator1;
+    private int denominator1;
+    private double decimal1;
+    private double decimal2;
+
+    private Fraction frac1;
+    private Fraction frac1Copy;
+    private Fraction frac2;
+
+    /**
+     * setup方法 - 根据operands属性初始化操作数。
+     */
+    @Setup
+    public void setup() {
+        switch(operands) {
+            case "small":
+                init(1, 2, 1, 3, 0.5, 1.5);
+                break;
+            case "large":
+                init(40009, 40013, 39989, 40031, 1234.5678, 87.654);
+                break;
+            case "coprime":
+                init(17, 19, 23, 29, 0.17, 0.19);
+                break;
+            case "reducible":
+                init(512, 1024, 768, 1536, 51.2, 102.4);
+                break;
+            default:
+                throw new IllegalArgumentException(operands);
+        }
+    }
+
+    private void init(int n1, int d1, int n2, int d2, double decimal1, double decimal2) {
+        numerator1 = n1;
+        denominator1 = d1;
+        this.decimal1 = decimal1;
+        this.decimal2 = decimal2;
+        frac1 = new Fraction(n1, d1);
+        frac1Copy = new Fraction(n1, d1);
+        frac2 = new Fraction(n2, d2);
+    }
+
+    @Benchmark
+    public Number add() {
+        return frac1.add(frac2);
+    }
+
+    @Benchmark
+    public Number sub() {
+        return frac1.sub(frac2);
+    }
+
+    @Benchmark
+    public Number mult() {
+        return frac1.mult(frac2);
+    }
+
+    @Benchmark
+    public Number div() {
+        return frac1.div(frac2);
+    }
+
+    @Benchmark
+    public Number power() {
+        return frac1.power(5);
+    }
+
+    /**
+     * simplification方法 - 化简是原地修改，所以每次都需要创建新的分数，测得的分配量中包含这一次创建。
+     */
+    @Benchmark
+    public Fraction simplification() {
+        Fraction frac = new Fraction(numerator1, denominator1);
+        frac.simplification();
+        return frac;
+    }
+
+    @Benchmark
+    public boolean isGreaterThan() {
+        return frac1.isGreaterThan(frac2);
+    }
+
+    @Benchmark
+    public boolean isLessThan() {
+        return frac1.isLessThan(frac2);
+    }
+
+    @Benchmark
+    public int compareTo() {
+        return frac1.compareTo(frac2);
+    }
+
+    @Benchmark
+    public boolean equalsSelf() {
+        return frac1.equals(frac1Copy);
+    }
+
+    @Benchmark
+    public boolean equalsOther() {
+        return frac1.equals(frac2);
+    }
+
+    @Benchmark
+    public Fraction fromDouble() {
+        return new Fraction(decimal1, decimal2);
+    }
+}
@@ -0,0 +1,100 @@
+package equation.benchmark;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import equation.Fraction;
+import equation.FractionCodec;
+import equation.RationalVector;
+
+/**
+ * FractionCodecBenchmark - 比较 "n/d" 文本编码与FractionCodec二进制编码的JMH基准测试。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FractionCodecBenchmark {
+    private static final int LENGTH = 10000;
+
+    private Fraction[] fractions;
+    private RationalVector vector;
+    private RationalVector out;
+    private ByteBuffer buffer;
+    private ByteBuffer encoded;
+    private byte[] text;
+
+    /**
+     * setup方法 - 生成随机的最简分数，并预先编码一份文本和二进制数据。
+     */
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        fractions = new Fraction[LENGTH];
+        for(int i = 0; i < LENGTH; i++) {
+            fractions[i] = new Fraction(random.nextInt(200001) - 100000, random.nextInt(1000) + 1);
+            fractions[i].simplification();
+        }
+        vector = RationalVector.valueOf(fractions);
+        out = new RationalVector(LENGTH);
+        buffer = ByteBuffer.allocate(FractionCodec.encodedLength(vector));
+        encoded = ByteBuffer.allocate(FractionCodec.encodedLength(vector));
+        for(Fraction fraction : fractions) {
+            FractionCodec.write(encoded, fraction);
+        }
+        encoded.flip();
+        text = encodeText();
+    }
+
+    @Benchmark
+    public byte[] encodeText() {
+        StringBuilder builder = new StringBuilder();
+        for(Fraction fraction : fractions) {
+            builder.append(fraction.toString()).append(',');
+        }
+        return builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Fraction[] decodeText() {
+        String[] parts = new String(text, StandardCharsets.UTF_8).split(",");
+        Fraction[] result = new Fraction[parts.length];
+        for(int i = 0; i < parts.length; i++) {
+            int slash = parts[i].indexOf('/');
+            result[i] = slash < 0 ? new Fraction(Integer.parseInt(parts[i]))
+                    : new Fraction(Integer.parseInt(parts[i].substring(0, slash)), Integer.parseInt(parts[i].substring(slash + 1)));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public ByteBuffer encodeBinary() {
+        buffer.clear();
+        FractionCodec.writeVector(buffer, vector);
+        return buffer;
+    }
+
+    @Benchmark
+    public RationalVector decodeBinary() {
+        encoded.rewind();
+        for(int i = 0; i < LENGTH; i++) {
+            FractionCodec.read(encoded, out, i);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,93 @@
+package equation.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import equation.Fraction;
+import equation.FractionFormat;
+import equation.RationalVector;
+
+/**
+ * FractionFormatBenchmark - 比较split/substring解析、字符串拼接与FractionFormat直接读写CharSequence的JMH基准测试。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FractionFormatBenchmark {
+    private static final int LENGTH = 10000;
+
+    private Fraction[] fractions;
+    private StringBuilder builder;
+    private String column;
+
+    /**
+     * setup方法 - 生成随机的最简分数，以及以逗号分隔的一列文本。
+     */
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        fractions = new Fraction[LENGTH];
+        for(int i = 0; i < LENGTH; i++) {
+            fractions[i] = new Fraction(random.nextInt(200001) - 100000, random.nextInt(1000) + 1);
+            fractions[i].simplification();
+        }
+        builder = new StringBuilder();
+        column = formatBuilder().toString();
+    }
+
+    @Benchmark
+    public StringBuilder formatConcat() {
+        builder.setLength(0);
+        for(int i = 0; i < LENGTH; i++) {
+            if(i > 0) {
+                builder.append(',');
+            }
+            builder.append(Integer.toString(fractions[i].getNumerator()) + "/" + Integer.toString(fractions[i].getDenominator()));
+        }
+        return builder;
+    }
+
+    @Benchmark
+    public StringBuilder formatBuilder() {
+        builder.setLength(0);
+        for(int i = 0; i < LENGTH; i++) {
+            if(i > 0) {
+                builder.append(',');
+            }
+            FractionFormat.format(builder, fractions[i]);
+        }
+        return builder;
+    }
+
+    @Benchmark
+    public Fraction[] parseSplit() {
+        String[] parts = column.split(",");
+        Fraction[] result = new Fraction[parts.length];
+        for(int i = 0; i < parts.length; i++) {
+            int slash = parts[i].indexOf('/');
+            result[i] = new Fraction(Integer.parseInt(parts[i].substring(0, slash)), Integer.parseInt(parts[i].substring(slash + 1)));
+            // parseVector的结果是最简分数，这里同样化简
+            result[i].simplification();
+        }
+        return result;
+    }
+
+    @Benchmark
+    public RationalVector parseVector() {
+        return FractionFormat.parseVector(column, ',');
+    }
+}
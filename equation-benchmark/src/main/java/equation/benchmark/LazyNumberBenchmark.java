@@ -0,0 +1,105 @@
+package equation.benchmark;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import equation.BigFraction;
+import equation.HybridFraction;
+import equation.LazyNumber;
+import equation.Number;
+
+/**
+ * LazyNumberBenchmark - 比较逐步求值的HybridFraction与延迟求值的LazyNumber计算同一条运算链的JMH基准测试。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LazyNumberBenchmark {
+    private HybridFraction[] values;
+    private LazyNumber[] lazyValues;
+    private HybridFraction a;
+    private HybridFraction b;
+
+    /**
+     * setup方法 - 生成1000个分母不超过12的随机分数，以及两个超出long范围的分数a和b。
+     */
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        values = new HybridFraction[1000];
+        lazyValues = new LazyNumber[values.length];
+        for(int i = 0; i < values.length; i++) {
+            values[i] = HybridFraction.valueOf(random.nextInt(201) - 100, random.nextInt(12) + 1);
+            lazyValues[i] = LazyNumber.of(values[i]);
+        }
+        a = HybridFraction.valueOf((Number) BigFraction.valueOf(new BigInteger(100, random), new BigInteger(90, random).add(BigInteger.ONE)));
+        b = HybridFraction.valueOf((Number) BigFraction.valueOf(new BigInteger(100, random), new BigInteger(90, random).add(BigInteger.ONE)));
+    }
+
+    /**
+     * eagerChain方法 - 每一步都求最大公约数并创建新的HybridFraction：sum((a[i] + a[i+1]) * (a[i] + a[i+1]) - a[i])。
+     */
+    @Benchmark
+    public Number eagerChain() {
+        Number sum = HybridFraction.ZERO;
+        for(int i = 0; i + 1 < values.length; i++) {
+            Number pair = values[i].add(values[i + 1]);
+            sum = sum.add(pair.mult(values[i].add(values[i + 1])).sub(values[i]));
+        }
+        return sum;
+    }
+
+    /**
+     * lazyChain方法 - 与eagerChain相同的运算，记录为DAG后一次性求值，重复的 a[i] + a[i+1] 只计算一次。
+     */
+    @Benchmark
+    public HybridFraction lazyChain() {
+        Number sum = LazyNumber.ZERO;
+        for(int i = 0; i + 1 < lazyValues.length; i++) {
+            Number pair = lazyValues[i].add(lazyValues[i + 1]);
+            sum = sum.add(pair.mult(lazyValues[i].add(lazyValues[i + 1])).sub(lazyValues[i]));
+        }
+        return ((LazyNumber) sum).evaluate();
+    }
+
+    /**
+     * eagerInvariant方法 - 在循环中重复计算不变的 (a + b)^3：sum((a + b)^3 * v[i])，a和b超出long的范围。
+     */
+    @Benchmark
+    public Number eagerInvariant() {
+        Number sum = HybridFraction.ZERO;
+        for(int i = 0; i < values.length; i++) {
+            sum = sum.add(a.add(b).power(3).mult(values[i]));
+        }
+        return sum;
+    }
+
+    /**
+     * lazyInvariant方法 - 与eagerInvariant相同的运算，结构相同的 (a + b)^3 只计算一次。
+     */
+    @Benchmark
+    public HybridFraction lazyInvariant() {
+        LazyNumber lazyA = LazyNumber.of(a);
+        LazyNumber lazyB = LazyNumber.of(b);
+        Number sum = LazyNumber.ZERO;
+        for(int i = 0; i < lazyValues.length; i++) {
+            sum = sum.add(lazyA.add(lazyB).power(3).mult(lazyValues[i]));
+        }
+        return ((LazyNumber) sum).evaluate();
+    }
+}
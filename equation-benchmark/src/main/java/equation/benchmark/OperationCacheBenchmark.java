@@ -0,0 +1,70 @@
+package equation.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import equation.Equation;
+import equation.HybridFraction;
+import equation.Number;
+import equation.OperationCache;
+
+/**
+ * OperationCacheBenchmark - 在同一个调用点上比较直接计算与使用OperationCache计算少数几组重复乘法的JMH基准测试。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class OperationCacheBenchmark {
+    @Param({ "false", "true" })
+    public boolean cached;
+
+    private Number[] rates;
+    private Number[] quantities;
+    private OperationCache cache;
+
+    /**
+     * setup方法 - 生成4个税率和64个数量，共256种不同的乘法。
+     */
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        rates = new Number[4];
+        for(int i = 0; i < rates.length; i++) {
+            rates[i] = HybridFraction.valueOf(random.nextInt(30) + 1, 997);
+        }
+        quantities = new Number[64];
+        for(int i = 0; i < quantities.length; i++) {
+            quantities[i] = HybridFraction.valueOf(random.nextInt(100000) + 1, 991);
+        }
+        cache = new OperationCache(1024);
+    }
+
+    @Benchmark
+    public Number mult() {
+        OperationCache site = cached ? cache : null;
+        Number total = null;
+        for(Number rate : rates) {
+            for(Number quantity : quantities) {
+                total = Equation.mult(rate, quantity, site);
+            }
+        }
+        return total;
+    }
+}
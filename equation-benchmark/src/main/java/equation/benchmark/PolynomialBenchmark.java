@@ -0,0 +1,83 @@
+package equation.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import equation.BigFraction;
+import equation.Fraction;
+import equation.Number;
+import equation.RationalPolynomial;
+import equation.RationalVector;
+
+/**
+ * PolynomialBenchmark - RationalPolynomial多点求值、乘法与实根隔离的JMH基准测试。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PolynomialBenchmark {
+    private RationalPolynomial cubic;
+    private RationalPolynomial large;
+    private Fraction[] points;
+    private RationalVector vector;
+    private RationalVector out;
+
+    /**
+     * setup方法 - 生成一个三次多项式、一个128次的整数系数多项式和1000个求值点。
+     */
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        cubic = RationalPolynomial.valueOf(new Fraction(1, 3), new Fraction(-2), new Fraction(5, 7), new Fraction(1, 2));
+        long[] coefficients = new long[129];
+        for(int i = 0; i < coefficients.length; i++) {
+            coefficients[i] = random.nextInt(2001) - 1000;
+        }
+        large = RationalPolynomial.valueOf(coefficients);
+        points = new Fraction[1000];
+        for(int i = 0; i < points.length; i++) {
+            points[i] = new Fraction(random.nextInt(200) - 100, random.nextInt(12) + 1);
+            points[i].simplification();
+        }
+        vector = RationalVector.valueOf(points);
+        out = RationalVector.valueOf(points);
+    }
+
+    @Benchmark
+    public BigFraction evaluateEach() {
+        BigFraction last = null;
+        for(Number point : points) {
+            last = cubic.evaluate(point);
+        }
+        return last;
+    }
+
+    @Benchmark
+    public RationalVector evaluateVector() {
+        return cubic.evaluate(vector, out);
+    }
+
+    @Benchmark
+    public RationalPolynomial multiply() {
+        return large.mult(large);
+    }
+
+    @Benchmark
+    public BigFraction[][] isolateRoots() {
+        return cubic.isolateRoots();
+    }
+}
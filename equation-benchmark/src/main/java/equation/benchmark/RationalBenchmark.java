@@ -0,0 +1,92 @@
+package equation.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import equation.Rational;
+import equation.Number;
+
+/**
+ * RationalBenchmark - 不可变Rational的JMH基准测试，用于和{@link equation.benchmark.FractionBenchmark}对比。
+ * <p>结果落在缓存范围内（例如 1/2 + 1/2）时不会创建新的对象，可以通过gc profiler观察到。</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RationalBenchmark {
+    /**
+     * operands属性 - 当前使用的操作数组。
+     */
+    @Param({"small", "large", "coprime", "cached"})
+    public String operands;
+
+    private Rational num1;
+    private Rational num2;
+
+    /**
+     * setup方法 - 根据operands属性初始化操作数。
+     */
+    @Setup
+    public void setup() {
+        switch(operands) {
+            case "small":
+                init(1, 2, 1, 3);
+                break;
+            case "large":
+                init(40009, 40013, 39989, 40031);
+                break;
+            case "coprime":
+                init(17, 19, 23, 29);
+                break;
+            case "cached":
+                init(1, 4, 1, 4);
+                break;
+            default:
+                throw new IllegalArgumentException(operands);
+        }
+    }
+
+    private void init(int n1, int d1, int n2, int d2) {
+        num1 = Rational.valueOf(n1, d1);
+        num2 = Rational.valueOf(n2, d2);
+    }
+
+    @Benchmark
+    public Number add() {
+        return num1.add(num2);
+    }
+
+    @Benchmark
+    public Number mult() {
+        return num1.mult(num2);
+    }
+
+    @Benchmark
+    public Number div() {
+        return num1.div(num2);
+    }
+
+    @Benchmark
+    public int compareTo() {
+        return num1.compareTo(num2);
+    }
+
+    @Benchmark
+    public int hash() {
+        return num1.hashCode();
+    }
+}
@@ -0,0 +1,99 @@
+package equation.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import equation.Fraction;
+import equation.HybridFraction;
+import equation.Number;
+import equation.RationalColumn;
+import equation.RationalColumnFile;
+import equation.RationalVector;
+
+/**
+ * RationalColumnFileBenchmark - 比较在内存映射的列上直接求和、点积与先读出Fraction数组再计算的JMH基准测试。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RationalColumnFileBenchmark {
+    private static final int ROWS = 1000000;
+
+    private Path path;
+    private RationalColumnFile file;
+    private RationalColumn prices;
+    private RationalColumn quantities;
+
+    /**
+     * setup方法 - 生成一个包含两列、每列一百万个以1/100为单位的金额的文件。
+     * @throws IOException - 临时文件无法创建时抛出
+     */
+    @Setup
+    public void setup() throws IOException {
+        Random random = new Random(42);
+        Fraction[] price = new Fraction[ROWS];
+        Fraction[] quantity = new Fraction[ROWS];
+        for(int i = 0; i < ROWS; i++) {
+            price[i] = new Fraction(random.nextInt(100000), 100);
+            quantity[i] = new Fraction(random.nextInt(100) + 1);
+        }
+        path = Files.createTempFile("equation", ".rcol");
+        RationalColumnFile.write(path, new String[] { "price", "quantity" }, RationalVector.valueOf(price), RationalVector.valueOf(quantity));
+        file = RationalColumnFile.open(path);
+        prices = file.getColumn("price");
+        quantities = file.getColumn("quantity");
+    }
+
+    /**
+     * tearDown方法 - 关闭并删除临时文件。
+     * @throws IOException - 文件无法删除时抛出
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        file.close();
+        Files.deleteIfExists(path);
+    }
+
+    @Benchmark
+    public Number sumMaterialized() {
+        Number total = HybridFraction.ZERO;
+        RationalColumn.Cursor cursor = prices.cursor();
+        while(cursor.next()) {
+            total = total.add(HybridFraction.valueOf(cursor.getNumerator(), cursor.getDenominator()));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public Number sumMapped() {
+        return prices.sum();
+    }
+
+    @Benchmark
+    public Number dotMapped() {
+        return prices.dot(quantities);
+    }
+
+    @Benchmark
+    public long countMapped() {
+        return prices.countGreaterThan(new Fraction(500));
+    }
+}
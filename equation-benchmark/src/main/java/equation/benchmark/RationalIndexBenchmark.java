@@ -0,0 +1,102 @@
+package equation.benchmark;
+
+import java.util.HashMap;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import equation.HybridFraction;
+import equation.Number;
+import equation.RationalHashMap;
+import equation.RationalTreeIndex;
+
+/**
+ * RationalIndexBenchmark - 比较以HybridFraction为键的HashMap、TreeMap与RationalHashMap、RationalTreeIndex的JMH基准测试。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RationalIndexBenchmark {
+    private static final int LENGTH = 100000;
+
+    private long[] numerators;
+    private long[] denominators;
+    private Number[] lows;
+    private Number[] highs;
+    private TreeMap<Number, Long> treeMap;
+    private RationalTreeIndex treeIndex;
+    private int index;
+
+    /**
+     * setup方法 - 生成大量重复的随机分数，以及预先建好的两种有序索引。
+     */
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        numerators = new long[LENGTH];
+        denominators = new long[LENGTH];
+        treeMap = new TreeMap<Number, Long>((a, b) -> ((HybridFraction) a).compareTo(b));
+        treeIndex = new RationalTreeIndex();
+        for(int i = 0; i < LENGTH; i++) {
+            numerators[i] = random.nextInt(2000);
+            denominators[i] = random.nextInt(100) + 1;
+            treeMap.merge(HybridFraction.valueOf(numerators[i], denominators[i]), 1L, Long::sum);
+            treeIndex.add(numerators[i], denominators[i]);
+        }
+        lows = new Number[1024];
+        highs = new Number[1024];
+        for(int i = 0; i < lows.length; i++) {
+            int low = random.nextInt(2000);
+            lows[i] = HybridFraction.valueOf(low, 3);
+            highs[i] = HybridFraction.valueOf(low + random.nextInt(100), 3);
+        }
+    }
+
+    @Benchmark
+    public int dedupHashMap() {
+        HashMap<HybridFraction, Integer> map = new HashMap<HybridFraction, Integer>();
+        for(int i = 0; i < LENGTH; i++) {
+            map.putIfAbsent(HybridFraction.valueOf(numerators[i], denominators[i]), i);
+        }
+        return map.size();
+    }
+
+    @Benchmark
+    public int dedupRationalHashMap() {
+        RationalHashMap<Integer> map = new RationalHashMap<Integer>();
+        for(int i = 0; i < LENGTH; i++) {
+            map.putIfAbsent(numerators[i], denominators[i], i);
+        }
+        return map.size();
+    }
+
+    @Benchmark
+    public long rangeTreeMap() {
+        index = (index + 1) & (lows.length - 1);
+        long total = 0;
+        for(long count : treeMap.subMap(lows[index], true, highs[index], true).values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long rangeTreeIndex() {
+        index = (index + 1) & (lows.length - 1);
+        return treeIndex.countBetween(lows[index], highs[index]);
+    }
+}
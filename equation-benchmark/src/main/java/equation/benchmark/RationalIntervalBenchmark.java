@@ -0,0 +1,83 @@
+package equation.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import equation.HybridFraction;
+import equation.Number;
+import equation.RationalInterval;
+
+/**
+ * RationalIntervalBenchmark - 比较精确的HybridFraction与端点分母受限的RationalInterval计算同一个乘积和的JMH基准测试。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RationalIntervalBenchmark {
+    private HybridFraction[] values;
+    private RationalInterval[] intervals;
+
+    /**
+     * setup方法 - 生成1000个分母不超过1000的随机分数，以及包含它们的单点区间。
+     */
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        values = new HybridFraction[1000];
+        intervals = new RationalInterval[values.length];
+        for(int i = 0; i < values.length; i++) {
+            values[i] = HybridFraction.valueOf(random.nextInt(2001) - 1000, random.nextInt(1000) + 1);
+            intervals[i] = RationalInterval.valueOf(values[i]);
+        }
+    }
+
+    /**
+     * exactSum方法 - 精确计算 sum(a[i] * a[i+1])，分母是所有分母的最小公倍数，很快就超出long的范围。
+     */
+    @Benchmark
+    public Number exactSum() {
+        Number sum = HybridFraction.ZERO;
+        for(int i = 0; i + 1 < values.length; i++) {
+            sum = sum.add(values[i].mult(values[i + 1]));
+        }
+        return sum;
+    }
+
+    /**
+     * intervalSum方法 - 用RationalInterval计算同样的和，端点的分母始终不超过1000000，结果是包含精确值的区间。
+     */
+    @Benchmark
+    public Number intervalSum() {
+        Number sum = intervals[0].mult(intervals[1]);
+        for(int i = 1; i + 1 < intervals.length; i++) {
+            sum = sum.add(intervals[i].mult(intervals[i + 1]));
+        }
+        return sum;
+    }
+
+    /**
+     * doubleSum方法 - 用double计算同样的和作为参照，结果没有误差范围。
+     */
+    @Benchmark
+    public double doubleSum() {
+        double sum = 0;
+        for(int i = 0; i + 1 < values.length; i++) {
+            sum += values[i].toDouble() * values[i + 1].toDouble();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,68 @@
+package equation.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import equation.BigFraction;
+import equation.Fraction;
+import equation.Number;
+import equation.RationalMatrix;
+
+/**
+ * RationalMatrixBenchmark - 使用Bareiss消元法精确求解随机线性方程组的JMH基准测试。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RationalMatrixBenchmark {
+    /**
+     * size属性 - 未知数的个数。
+     */
+    @Param({"10", "50"})
+    public int size;
+
+    private RationalMatrix matrix;
+    private Number[] constants;
+
+    /**
+     * setup方法 - 生成元素为小分数的随机方程组。
+     */
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        Number[][] values = new Number[size][size];
+        constants = new Number[size];
+        for(int i = 0; i < size; i++) {
+            for(int j = 0; j < size; j++) {
+                values[i][j] = new Fraction(random.nextInt(201) - 100, random.nextInt(10) + 1);
+            }
+            constants[i] = new Fraction(random.nextInt(100));
+        }
+        matrix = RationalMatrix.valueOf(values);
+    }
+
+    @Benchmark
+    public BigFraction[] solve() {
+        return matrix.solve(constants);
+    }
+
+    @Benchmark
+    public BigFraction determinant() {
+        return matrix.determinant();
+    }
+}
@@ -0,0 +1,73 @@
+package equation.benchmark;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import equation.Equation;
+import equation.Fraction;
+import equation.Number;
+import equation.RationalVector;
+
+/**
+ * RationalSortBenchmark - 比较用比较器对Fraction数组排序与RationalVector批量排序的JMH基准测试。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RationalSortBenchmark {
+    private static final int LENGTH = 100000;
+
+    private Fraction[] fractions;
+    private RationalVector vector;
+
+    /**
+     * setup方法 - 生成随机的分数，其中有不少重复值。
+     */
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        fractions = new Fraction[LENGTH];
+        for(int i = 0; i < LENGTH; i++) {
+            fractions[i] = new Fraction(random.nextInt(20001) - 10000, random.nextInt(1000) + 1);
+        }
+        vector = RationalVector.valueOf(fractions);
+    }
+
+    @Benchmark
+    public Number[] comparator() {
+        Number[] values = fractions.clone();
+        Arrays.sort(values, (a, b) -> a.isGreaterThan(b) ? 1 : a.isLessThan(b) ? -1 : 0);
+        return values;
+    }
+
+    @Benchmark
+    public Number[] equationSort() {
+        Number[] values = fractions.clone();
+        Equation.sort(values);
+        return values;
+    }
+
+    @Benchmark
+    public RationalVector vectorSort() {
+        RationalVector values = new RationalVector(LENGTH);
+        for(int i = 0; i < LENGTH; i++) {
+            values.set(i, vector.getNumerator(i), vector.getDenominator(i));
+        }
+        return values.sort();
+    }
+}
@@ -0,0 +1,82 @@
+package equation.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import equation.Fraction;
+import equation.Number;
+import equation.RationalVector;
+
+/**
+ * RationalVectorBenchmark - 比较Fraction数组逐个运算与RationalVector批量运算的JMH基准测试。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RationalVectorBenchmark {
+    /**
+     * length属性 - 向量的长度。
+     */
+    @Param({"1000", "100000"})
+    public int length;
+
+    private Fraction[] fractions1;
+    private Fraction[] fractions2;
+    private Number[] results;
+    private RationalVector vector1;
+    private RationalVector vector2;
+    private RationalVector out;
+
+    /**
+     * setup方法 - 生成随机的最简分数。
+     */
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        fractions1 = new Fraction[length];
+        fractions2 = new Fraction[length];
+        results = new Number[length];
+        for(int i = 0; i < length; i++) {
+            fractions1[i] = new Fraction(random.nextInt(1000) + 1, random.nextInt(1000) + 1);
+            fractions2[i] = new Fraction(random.nextInt(1000) + 1, random.nextInt(1000) + 1);
+            fractions1[i].simplification();
+            fractions2[i].simplification();
+        }
+        vector1 = RationalVector.valueOf(fractions1);
+        vector2 = RationalVector.valueOf(fractions2);
+        out = new RationalVector(length);
+    }
+
+    @Benchmark
+    public Number[] fractionMult() {
+        for(int i = 0; i < length; i++) {
+            results[i] = fractions1[i].mult(fractions2[i]);
+        }
+        return results;
+    }
+
+    @Benchmark
+    public RationalVector vectorMult() {
+        return vector1.mult(vector2, out);
+    }
+
+    @Benchmark
+    public Number vectorDot() {
+        return vector1.dot(vector2);
+    }
+}
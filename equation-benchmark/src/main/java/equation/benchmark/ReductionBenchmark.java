@@ -0,0 +1,85 @@
+package equation.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import equation.Equation;
+import equation.Fraction;
+import equation.HybridFraction;
+import equation.Number;
+import equation.RationalAccumulator;
+
+/**
+ * ReductionBenchmark - 比较从左到右依次累加、RationalAccumulator原地累加与fork-join树形归约求和的JMH基准测试。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReductionBenchmark {
+    /**
+     * length属性 - 参与求和的分数个数。
+     */
+    @Param({"1000", "100000"})
+    public int length;
+
+    private List<Number> values;
+
+    /**
+     * setup方法 - 生成分母较小的随机最简分数，使累加结果的分母不会无限增长。
+     */
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        values = new ArrayList<Number>(length);
+        for(int i = 0; i < length; i++) {
+            Fraction frac = new Fraction(random.nextInt(1000) + 1, random.nextInt(12) + 1);
+            frac.simplification();
+            values.add(frac);
+        }
+    }
+
+    @Benchmark
+    public Number sequentialAdd() {
+        Number total = HybridFraction.ZERO;
+        for(Number value : values) {
+            total = total.add(value);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public Number accumulatorAdd() {
+        RationalAccumulator total = new RationalAccumulator();
+        for(Number value : values) {
+            total.addInPlace(value);
+        }
+        return total.toHybridFraction();
+    }
+
+    @Benchmark
+    public Number forkJoinSum() {
+        return Equation.sum(values);
+    }
+
+    @Benchmark
+    public Number parallelStreamSum() {
+        return values.parallelStream().collect(Equation.summing());
+    }
+}
@@ -1,5 +1,8 @@
 package equation;
 
+import java.math.BigDecimal;
+import java.math.MathContext;
+
 /**
  * AbstractRationalNumber - 所有与分数相关类的父类。
  * <p>
@@ -16,7 +19,7 @@ frac2.add(frac1); // 5/6
  * @see equation.Equation
  * @see equation.Fraction
  */
-public abstract class AbstractRationalNumber implements Number {
+public abstract class AbstractRationalNumber implements Number, Comparable<Number> {
     /**
      * numerator属性 - 分数的分子。
      * <p>您可以使用与其对应的getter和setter方法来存取它的值。</p>
@@ -75,6 +78,15 @@ frac.setDenominator(3); // 1/3
     /**
      * AbstractRationalNumber - 通过分子和分母创建AbstractRationalNumber对象。
      * <p>该构造函数会将传入的小数自动化为整数并化简。</p>
+     * <p>
+     * 每个小数都直接从IEEE-754的位表示中取出精确值（分母是2的幂），能用int精确表示时就使用精确值，例如 0.375 会转化为 3/8；
+     * 否则使用分子和分母都能放进int的最佳逼近，例如 0.1 会转化为 1/10，0.1 + 0.2 会转化为 3/10，1e9 + 0.1 会转化为 1000000000/1。
+     * 当整数部分或者结果超出int的范围时，会抛出ArithmeticException。
+     * </p>
+     * <p>
+     * 两个小数是分别转化的。不是0但绝对值太小（小于约2.3e-10）的小数无法用分母不超过Integer.MAX_VALUE的分数表示，它的最佳逼近是0，
+     * 此时无论它是分子还是分母，都会抛出ArithmeticException，而不会悄悄变成0。例如 new Fraction(1e-12) 和 new Fraction(3.0, 1e-12) 都会抛出异常。
+     * </p>
      * @param numerator - double - 分数的分子
      * @param denominator - double - 分数的分母
      * @see equation.AbstractRationalNumber#AbstractRationalNumber(int, int)
@@ -86,15 +98,18 @@ frac.setDenominator(3); // 1/3
         if(denominator == 0) {
             throw new UnexpectValueException("不能将分母设置为0。");
         }
-        int index = findIndex(numerator, denominator);
-        this.numerator = (int) (numerator * index);
-        this.denominator  = (int) (denominator * index);
-        simplification();
+        long packed1 = RationalMath.fromDouble(numerator);
+        long packed2 = RationalMath.fromDouble(denominator);
+        long packed = RationalMath.multiply(RationalMath.numeratorOf(packed1), RationalMath.denominatorOf(packed1),
+                RationalMath.denominatorOf(packed2), RationalMath.numeratorOf(packed2));
+        this.numerator = RationalMath.numeratorOf(packed);
+        this.denominator = RationalMath.denominatorOf(packed);
     }
 
     /**
      * AbstractRationalNumber - 通过分子创建AbstractRationalNumber对象。
      * <p>首先，该构造函数会将分母初始化为1（当前该分数为 n/1）；接着，该构造函数会将传入的小数自动化为整数并化简。</p>
+     * <p>不是0但绝对值太小（小于约2.3e-10）的小数会抛出ArithmeticException，而不会悄悄变成 0/1，详见{@link equation.AbstractRationalNumber#AbstractRationalNumber(double, double)}。</p>
      * @param numerator - double - 分数的分子
      * @see equation.AbstractRationalNumber#AbstractRationalNumber(int, int)
      * @see equation.AbstractRationalNumber#AbstractRationalNumber(int)
@@ -140,7 +155,7 @@ frac.setNumerator(3); // 3/2
 
     /**
      * setNumerator方法 - 设置分数的分子。
-     * <p>注意，当传入的参数是小数时，会自动将小数化为整数并化简整个分数。</p>
+     * <p>注意，当传入的参数是小数时，会自动将小数化为整数并化简整个分数。小数的转化方式与{@link equation.AbstractRationalNumber#AbstractRationalNumber(double, double)}相同，绝对值太小的非0小数同样会抛出ArithmeticException。</p>
      * <blockquote><pre>
 AbstractRationalNumber frac = new Fraction(1, 2); // 1/2
 int index = frac.getNumerator(); // 1
@@ -152,10 +167,10 @@ frac.setNumerator(0.5); // 1/4
      * @see equation.AbstractRationalNumber#getNumerator()
      */
     public void setNumerator(double index) {
-        int i = findIndex(index, denominator);
-        numerator = (int) (index * i);
-        denominator = denominator * i;
-        simplification();
+        long value = RationalMath.fromDouble(index);
+        long packed = RationalMath.multiply(RationalMath.numeratorOf(value), RationalMath.denominatorOf(value), 1, denominator);
+        numerator = RationalMath.numeratorOf(packed);
+        denominator = RationalMath.denominatorOf(packed);
     }
 
     /**
@@ -194,7 +209,7 @@ frac.setDenominator(3); // 1/3
         
     /**
      * setDenominator方法 - 设置分数的分母。
-     * <p>注意，当传入的参数是小数时，会自动将小数化为整数并化简整个分数。</p>
+     * <p>注意，当传入的参数是小数时，会自动将小数化为整数并化简整个分数。小数的转化方式与{@link equation.AbstractRationalNumber#AbstractRationalNumber(double, double)}相同，绝对值太小的非0小数同样会抛出ArithmeticException。</p>
      * <blockquote><pre>
 AbstractRationalNumber frac = new Fraction(1, 2); // 1/2
 int index = frac.getDenominator(); // 2
@@ -205,35 +220,44 @@ frac.setDenominator(0.3); // 10/3
      * @see equation.AbstractRationalNumber#setDenominator(int)
      * @see equation.AbstractRationalNumber#getDenominator()
      */
-    public void setDenominator(double index) {
-        int i = findIndex(numerator, index);
-        numerator = numerator * i;
-        denominator = (int) (index * i);
-        simplification();
+    public void setDenominator(double index) throws UnexpectValueException {
+        if(index == 0) {
+            throw new UnexpectValueException("不能将分母设置为0。");
+        }
+        long value = RationalMath.fromDouble(index);
+        long packed = RationalMath.multiply(numerator, 1, RationalMath.denominatorOf(value), RationalMath.numeratorOf(value));
+        numerator = RationalMath.numeratorOf(packed);
+        denominator = RationalMath.denominatorOf(packed);
     }
 
     /**
      * makeDenominatorChangeTo方法 - 将分数通分至指定大小。
-     * <p>请注意，传入的index参数是通分后分母的大小，而不是分子的大小。并且，当传入的参数不能使分子化成整数时，会强制通分。</p>
+     * <p>请注意，传入的index参数是通分后分母的大小，而不是分子的大小。并且，当传入的参数不能使分子化成整数时，会强制通分：分母会变成index的最小的倍数，使分子刚好是整数。</p>
+     * <p>整个计算只使用整数运算，结果永远与原来的分数相等。当结果超出int的范围时，会抛出ArithmeticException。如果需要让一系列运算都保持同一个分母，请使用{@link equation.FixedFraction}。</p>
      * <blockquote><pre>
 AbstractRationalNumber frac = new Fraction(1, 2); //这里表示分数 1/2
 frac.makeDenominatorChangeTo(4); // 2/4
+frac = new Fraction(1, 3);
+frac.makeDenominatorChangeTo(4); // 不能化成 ?/4，强制通分为 4/12
      * </pre></blockquote>
      * <p>如果想要统一分子，请使用<code>makeNumeratorChangeTo(int index): void</code>或<code>makeNumeratorChangeTo(double index): void</code>方法。
      * @param index - int - 通分后分母的大小
      * @see equation.AbstractRationalNumber#makeNumeratorChangeTo(int)
      */
-    public void makeDenominatorChangeTo(int index) {
-        double times = index / denominator;
-        double value = numerator * times;
-        int i = findIndex(index, value);
-        numerator = (int) (value * i);
-        denominator = index * i;
+    public void makeDenominatorChangeTo(int index) throws UnexpectValueException {
+        if(index == 0) {
+            throw new UnexpectValueException("不能将分母设置为0。");
+        }
+        long value = denominator < 0 ? -(long) numerator * index : (long) numerator * index;
+        long gcd = RationalMath.gcd(value, Math.abs((long) denominator));
+        numerator = Math.toIntExact(value / gcd);
+        denominator = Math.toIntExact(index * (Math.abs((long) denominator) / gcd));
     }
 
     /**
      * makeNumeratorChangeTo方法 - 将分数通分至指定大小。
-     * <p>请注意，传入的index参数是通分后分子的大小，而不是分母的大小。并且，当传入的参数不能使分母化成整数时，会强制通分。</p>
+     * <p>请注意，传入的index参数是通分后分子的大小，而不是分母的大小。并且，当传入的参数不能使分母化成整数时，会强制通分：分子会变成index的最小的倍数，使分母刚好是整数。</p>
+     * <p>整个计算只使用整数运算。当分子为0时，会抛出UnexpectValueException；当结果超出int的范围时，会抛出ArithmeticException。</p>
      * <blockquote><pre>
 AbstractRationalNumber frac = new Fraction(1, 2); //这里表示分数 1/2
 frac.makeNumeratorChangeTo(4); // 4/8
@@ -242,12 +266,14 @@ frac.makeNumeratorChangeTo(4); // 4/8
      * @param index - int - 通分后分母的大小
      * @see equation.AbstractRationalNumber#makeDenominatorChangeTo(int)
      */
-    public void makeNumeratorChangeTo(int index) {
-        double times = index / numerator;
-        double value = denominator * times;
-        int i = findIndex(index, value);
-        denominator = (int) (value * i);
-        numerator = index * i;
+    public void makeNumeratorChangeTo(int index) throws UnexpectValueException {
+        if(numerator == 0) {
+            throw new UnexpectValueException("分子为0的分数无法改变分子的大小。");
+        }
+        long value = numerator < 0 ? -(long) denominator * index : (long) denominator * index;
+        long gcd = RationalMath.gcd(value, Math.abs((long) numerator));
+        denominator = Math.toIntExact(value / gcd);
+        numerator = Math.toIntExact(index * (Math.abs((long) numerator) / gcd));
     }
 
     /**
@@ -256,6 +282,7 @@ frac.makeNumeratorChangeTo(4); // 4/8
      * 与四则运算类方法不同，该方法不会返回一个新的Number对象，而是直接在当前对象上做更改。
      * 如果不想改变当前对象，请使用Equation的<code>simplification(AbstractRationalNumber num): AbstractRationalNumber</code>方法。
      * </p>
+     * <p>化简使用不需要除法的二进制GCD算法，化简后分母永远是正数，例如 2/-4 会化简为 -1/2，0/5 会化简为 0/1。</p>
      * <blockquote><pre>
 AbstractRationalNumber frac = new Fraction(512, 1024); //这里表示分数 512/1024
 frac.simplification(); //现在frac所表示的分数化简成为 1/2
@@ -263,16 +290,13 @@ frac.simplification(); //现在frac所表示的分数化简成为 1/2
      * @see equation.Equation#simplification(AbstractRationalNumber)
      */
     public void simplification() {
-        int num = 0;
-        int numerator = this.numerator;
-        int denominator = this.denominator;
-        while(numerator % denominator != 0) {
-            num = numerator % denominator;
-            numerator = denominator;
-            denominator = num;
+        int gcd = RationalMath.gcd(numerator, denominator);
+        numerator = numerator / gcd;
+        denominator = denominator / gcd;
+        if(denominator < 0) {
+            numerator = Math.negateExact(numerator);
+            denominator = -denominator;
         }
-        this.numerator = this.numerator / num;
-        this.denominator = this.denominator / num;
     }
 
     /**
@@ -281,6 +305,11 @@ frac.simplification(); //现在frac所表示的分数化简成为 1/2
      * 您可以直接使用Number对象内置的方法，或者也可以使用Equation对象的静态<code>add(Number num1, Number num2): Number</code>函数。
      * 请注意，该方法最后返回的结果实际上是一个Fraction对象。您可以使用造型转化它。
      * </p>
+     * <p>
+     * Fraction是可变的，分子和分母不一定是最简的，因此运算前会先化简两个操作数，再用两个分母的最大公约数交叉约分，中间结果始终很小。
+     * 结果永远是分母为正数的最简分数，例如 2/4 * 1/1 = 1/2；当结果超出int的范围时，会抛出ArithmeticException。
+     * sub、mult、div方法同理。
+     * </p>
      * <blockquote><pre>
 AbstractRationalNumber num1 = new Fraction(1, 2); //这里表示分数 1/2
 AbstractRationalNumber num2 = new Fraction(1, 3); //这里表示分数 1/3
@@ -291,12 +320,11 @@ Fraction frac = (Fraction) (num1.add(num2)); // 1/2 + 1/3 = 5/6
      * @see equation.Equation#add(Number, Number)
      */
     public Number add(Number num) {
-        Fraction frac = Equation.toFraction(num);
-        int numerator = this.numerator * frac.getDenominator() + frac.getNumerator() * this.denominator;
-        int denominator = this.denominator + frac.getDenominator();
-        Fraction result = new Fraction(numerator, denominator);
-        result.simplification();
-        return result;
+        Fraction frac = fractionOf(num);
+        long self = reduced(numerator, denominator);
+        long other = reduced(frac.numerator, frac.denominator);
+        return toFraction(RationalMath.add(RationalMath.numeratorOf(self), RationalMath.denominatorOf(self),
+                RationalMath.numeratorOf(other), RationalMath.denominatorOf(other)));
     }
 
     /**
@@ -315,12 +343,11 @@ Fraction frac = (Fraction) (num1.sub(num2)); // 1/2 - 1/3 = 1/6
      * @see equation.Equation#sub(Number, Number)
      */
     public Number sub(Number num) {
-        Fraction frac = Equation.toFraction(num);
-        int numerator = this.numerator * frac.getDenominator() - frac.getNumerator() * this.denominator;
-        int denominator = this.denominator + frac.getDenominator();
-        Fraction result = new Fraction(numerator, denominator);
-        result.simplification();
-        return result;
+        Fraction frac = fractionOf(num);
+        long self = reduced(numerator, denominator);
+        long other = reduced(frac.numerator, frac.denominator);
+        return toFraction(RationalMath.subtract(RationalMath.numeratorOf(self), RationalMath.denominatorOf(self),
+                RationalMath.numeratorOf(other), RationalMath.denominatorOf(other)));
     }
 
     /**
@@ -339,10 +366,11 @@ Fraction frac = (Fraction) (num1.mult(num2)); // 1/2 * 1/3 = 1/6
      * @see equation.Equation#mult(Number, Number)
      */
     public Number mult(Number num) {
-        Fraction frac = Equation.toFraction(num);
-        Fraction result = new Fraction(numerator * frac.getNumerator(), denominator * frac.getDenominator());
-        result.simplification();
-        return result;
+        Fraction frac = fractionOf(num);
+        long self = reduced(numerator, denominator);
+        long other = reduced(frac.numerator, frac.denominator);
+        return toFraction(RationalMath.multiply(RationalMath.numeratorOf(self), RationalMath.denominatorOf(self),
+                RationalMath.numeratorOf(other), RationalMath.denominatorOf(other)));
     }
 
     /**
@@ -361,8 +389,14 @@ Fraction frac = (Fraction) (num1.div(num2)); // 1/2 / 1/3 = 3/2
      * @see equation.Equation#mult(Number, Number)
      */
     public Number div(Number num) {
-        Fraction frac = Equation.toFraction(num);
-        return mult(frac.reciprocalOf());
+        Fraction frac = fractionOf(num);
+        if(frac.numerator == 0) {
+            throw new UnexpectValueException("除数不能为0。");
+        }
+        long self = reduced(numerator, denominator);
+        long other = reduced(frac.numerator, frac.denominator);
+        return toFraction(RationalMath.multiply(RationalMath.numeratorOf(self), RationalMath.denominatorOf(self),
+                RationalMath.denominatorOf(other), RationalMath.numeratorOf(other)));
     }
 
     /**
@@ -371,22 +405,35 @@ Fraction frac = (Fraction) (num1.div(num2)); // 1/2 / 1/3 = 3/2
      * 您可以直接使用Number对象内置的方法，或者也可以使用Equation对象的静态<code>power(Number num, int index): Number</code>函数。
      * 请注意，该方法最后返回的结果实际上是一个Fraction对象。您可以使用造型转化它。
      * </p>
+     * <p>
+     * 该方法先化简底数，再使用平方求幂，分子和分母各自只需要O(log index)次乘法，并且不需要在每一步化简：最简分数的乘方仍然是最简分数。
+     * 结果的分母永远是正数。当index为0时结果为 1/1；当index为负数时结果为正数次幂的倒数，此时如果底数为0，会抛出UnexpectValueException。
+     * 当结果超出int的范围时，会抛出ArithmeticException。
+     * </p>
      * <blockquote><pre>
 AbstractRationalNumber num = new Fraction(1, 2); //这里表示分数 1/2
 
 Fraction num1 = (Fraction) (num.power(2)); // 1/2^2 = 1/4
 Fraction num2 = (Fraction) (Equation.power(num, 2)); //这里运算的结果与上面相等
+Fraction num3 = (Fraction) (num.power(-3)); // 1/2^-3 = 8/1
+Fraction num4 = (Fraction) (new Fraction(-1, 2).power(-3)); // (-1/2)^-3 = -8/1
      * </blockquote></pre>
      * @param index - int - 指数的大小
      * @return Number - 进行乘方运算后的结果
      * @see equation.Equation#power(Number, int)
      */
     public Number power(int index) {
-        Fraction result = new Fraction(numerator, denominator);
-        for(int i = 1; i < index; i++) {
-            result = (Fraction) (result.mult(result));
+        long base = reduced(this.numerator, this.denominator);
+        long exponent = Math.abs((long) index);
+        long numerator = RationalMath.powExact(RationalMath.numeratorOf(base), exponent);
+        long denominator = RationalMath.powExact(RationalMath.denominatorOf(base), exponent);
+        if(index >= 0) {
+            return toFraction(RationalMath.pack(numerator, denominator));
+        } else if(numerator == 0) {
+            throw new UnexpectValueException("0不能进行负数次幂运算。");
         }
-        return result;
+        // 取倒数后把符号移回分子，保持分母为正数，例如 (-1/2)^-3 = -8/1
+        return toFraction(numerator < 0 ? RationalMath.pack(-denominator, -numerator) : RationalMath.pack(denominator, numerator));
     }
 
     /**
@@ -398,75 +445,137 @@ AbstractRationalNumber num = new Fraction(1, 2); //这里表示分数 1/2
 double num1 = num.toDouble(); // 0.5
 double num2 = Equation.toDouble(num); //这里运算的结果与上面相等
      * </blockquote></pre>
-     * @return double - 转化后的小数
-     * @see equation.Equation#power(Number, int)
+     * @return double - 最接近当前值的double
+     * @see equation.Equation#toDouble(Number)
      */
     public double toDouble() {
-        return numerator / denominator;
+        return RationalMath.toDouble(numerator, denominator);
+    }
+
+    /**
+     * toFloat方法 - 将Number对象正确舍入为float类型。
+     * @return float - 最接近当前值的float
+     */
+    public float toFloat() {
+        return RationalMath.toFloat(numerator, denominator);
+    }
+
+    /**
+     * toBigDecimal方法 - 将Number对象按照context的精度和舍入模式转化为BigDecimal。
+     * @param context - MathContext - 精度和舍入模式
+     * @return BigDecimal - 舍入后的结果
+     */
+    public BigDecimal toBigDecimal(MathContext context) {
+        return RationalMath.toBigDecimal(numerator, denominator, context);
+    }
+
+    /**
+     * compareTo方法 - 比较当前对象与传入的Number对象的大小。
+     * <p>
+     * 该方法通过交叉相乘直接比较分子和分母，不会创建任何对象，也不会经过小数运算，因此结果永远是精确的。
+     * 传入的数超出int的范围时（例如很大的BigFraction或HybridFraction）同样能精确比较，不会抛出ArithmeticException；传入的类型无法识别时，会抛出UnexpectValueException。
+     * {@link equation.AbstractRationalNumber#isGreaterThan(Number)}、{@link equation.AbstractRationalNumber#isLessThan(Number)}
+     * 和{@link equation.AbstractRationalNumber#equals(Object)}都基于该方法实现。
+     * </p>
+     * <blockquote><pre>
+AbstractRationalNumber num1 = new Fraction(1, 2); //这里表示分数 1/2
+AbstractRationalNumber num2 = new Fraction(1, 3); //这里表示分数 1/3
+num1.compareTo(num2); // 1/2 > 1/3，返回正数
+     * </pre></blockquote>
+     * @param num - Number - 需要比较的对象
+     * @return int - 小于、等于、大于时分别返回负数、0、正数
+     * @see equation.Equation#compare(Number, Number)
+     */
+    public int compareTo(Number num) {
+        if(num instanceof AbstractRationalNumber) {
+            AbstractRationalNumber rational = (AbstractRationalNumber) num;
+            return RationalMath.compare(numerator, denominator, rational.numerator, rational.denominator);
+        }
+        return RationalMath.compare(numerator, denominator, num);
     }
 
     /**
      * equals方法 - 判断两个对象是否相等。需要注意的是，如果传入的对象不是Number，将永远返回false。
+     * <p>该方法与{@link equation.AbstractRationalNumber#compareTo(Number)}保持一致：例如 1/2 与 2/4 相等。该方法永远不会抛出异常，无法识别的Number类型永远返回false。</p>
      * @param object - Object - 需要比较的对象
      * @return boolean - 是否相等
      */
     public boolean equals(Object object) {
-        if(!(object instanceof Number)) {
-            return false;
-        } else {
-            Fraction num1 = new Fraction(numerator, denominator);
-            Fraction num2 = Equation.toFraction((Number) object);
-            try {
-                num1.makeDenominatorChangeTo(num1.getDenominator() * num2.getDenominator());
-                num2.makeDenominatorChangeTo(num1.getDenominator() * num2.getDenominator());
-            } catch (UnexpectValueException err) {
-                return false;
-            }
-            if(num1.getNumerator() == num2.getNumerator()) {
-                return true;
-            }
+        if(!(object instanceof Number) || !RationalMath.isExact((Number) object)) {
             return false;
         }
+        return compareTo((Number) object) == 0;
+    }
+
+    /**
+     * hashCode方法 - 返回基于最简分数计算的hashCode，与{@link equation.AbstractRationalNumber#equals(Object)}保持一致。
+     * <p>
+     * 计算时会先化简并把分母变为正数，因此 1/2、2/4 和 -1/-2 的hashCode相同，也与数值相等的Rational、HybridFraction和BigFraction相同。
+     * 需要注意的是，Fraction是可变的，作为HashMap的键时不能再修改它的分子和分母。
+     * </p>
+     * @return int - hashCode
+     */
+    public int hashCode() {
+        long gcd = RationalMath.gcd((long) numerator, denominator);
+        long n = numerator / gcd;
+        long d = denominator / gcd;
+        return d < 0 ? RationalMath.hashCode(-n, -d) : RationalMath.hashCode(n, d);
     }
 
     /**
      * isGreaterThan方法 - 判断当前对象是否大于传入的Number对象。如果大于，返回true。否则返回false。
      * @param num - Number - 需要比较的对象
      * @return boolean - 是否大于
+     * @see equation.AbstractRationalNumber#compareTo(Number)
      */
     public boolean isGreaterThan(Number num) {
-        Fraction num1 = new Fraction(numerator, denominator);
-        Fraction num2 = Equation.toFraction(num);
-        try {
-            num1.makeDenominatorChangeTo(num1.getDenominator() * num2.getDenominator());
-            num2.makeDenominatorChangeTo(num1.getDenominator() * num2.getDenominator());
-        } catch (UnexpectValueException err) {
-            return false;
-        }
-        if(num1.getNumerator() > num2.getNumerator()) {
-            return true;
-        }
-        return false;
+        return compareTo(num) > 0;
     }
 
     /**
      * isLessThan方法 - 判断当前对象是否小于传入的Number对象。如果小于，返回true。否则返回false。
      * @param num - Number - 需要比较的对象
      * @return boolean - 是否小于
+     * @see equation.AbstractRationalNumber#compareTo(Number)
      */
     public boolean isLessThan(Number num) {
-        Fraction num1 = new Fraction(numerator, denominator);
-        Fraction num2 = Equation.toFraction(num);
-        try {
-            num1.makeDenominatorChangeTo(num1.getDenominator() * num2.getDenominator());
-            num2.makeDenominatorChangeTo(num1.getDenominator() * num2.getDenominator());
-        } catch (UnexpectValueException err) {
-            return false;
-        }
-        if(num1.getNumerator() < num2.getNumerator()) {
-            return true;
+        return compareTo(num) < 0;
+    }
+
+    /**
+     * fractionOf方法 - 将运算的另一个操作数转化为Fraction。当传入的类型无法识别时（包括不是精确的数的RationalInterval），会抛出UnexpectValueException。
+     */
+    private static Fraction fractionOf(Number num) {
+        Fraction frac = Equation.toFraction(num);
+        if(frac == null) {
+            throw RationalMath.unrecognized(num);
         }
-        return false;
+        return frac;
+    }
+
+    /**
+     * reduced方法 - 将分数化简为分母为正数的最简分数，结果以打包的形式返回。
+     * <p>当化简后的分子超出int的范围时（例如 Integer.MIN_VALUE/-1），会抛出ArithmeticException。</p>
+     * @param numerator - int - 分子
+     * @param denominator - int - 分母，不能为0
+     * @return long - 打包后的最简分数
+     * @see equation.RationalMath#pack(long, long)
+     */
+    private static long reduced(int numerator, int denominator) {
+        long gcd = RationalMath.gcd((long) numerator, denominator);
+        long n = numerator / gcd;
+        long d = denominator / gcd;
+        return d < 0 ? RationalMath.pack(-n, -d) : RationalMath.pack(n, d);
+    }
+
+    /**
+     * toFraction方法 - 将打包的运算结果转化为Fraction对象。
+     * @param packed - long - 打包后的分数
+     * @return Fraction - 转化后的分数
+     * @see equation.RationalMath#pack(long, long)
+     */
+    private static Fraction toFraction(long packed) {
+        return new Fraction(RationalMath.numeratorOf(packed), RationalMath.denominatorOf(packed));
     }
 
     /**
@@ -0,0 +1,205 @@
+package equation;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BinaryOperator;
+import java.util.function.UnaryOperator;
+
+/**
+ * AtomicRational - 可以被多个线程同时读写的分数。
+ * <p>
+ * {@link equation.Fraction}的分子和分母是两个可以随时被修改的int，多个线程共享同一个Fraction时可能读到不一致的分子和分母。
+ * AtomicRational把分母为正数的最简分数打包进一个{@link java.util.concurrent.atomic.AtomicLong}（分子在高32位，分母在低32位），
+ * 每次读取得到的都是一个完整的快照，所有更新都通过CAS完成，不需要加锁。读取时返回不可变的{@link equation.Rational}。
+ * </p>
+ * <p>
+ * 与Fraction一样，分子和分母必须在int的范围内，当结果超出int的范围时，会抛出ArithmeticException，此时保存的值不会改变。
+ * 如果很多线程同时累加同一个数，请使用{@link equation.RationalAdder}，它把竞争分散到多个单元上。
+ * </p>
+ * <blockquote><pre>
+AtomicRational total = new AtomicRational();
+total.addAndGet(new Fraction(1, 2)); // 1/2
+total.addAndGet(Rational.valueOf(1, 3)); // 5/6
+total.accumulateAndGet(Rational.valueOf(2), Equation::mult); // 5/3
+ * </pre></blockquote>
+ * @see equation.RationalAdder
+ * @see equation.Rational
+ */
+public final class AtomicRational {
+    private static final long ZERO = RationalMath.pack(0, 1);
+
+    /**
+     * value属性 - 打包后的最简分数，分母为正数。
+     */
+    private final AtomicLong value;
+
+    /**
+     * AtomicRational - 创建一个值为0的AtomicRational对象。
+     */
+    public AtomicRational() {
+        super();
+        value = new AtomicLong(ZERO);
+    }
+
+    /**
+     * AtomicRational - 创建一个值为num的AtomicRational对象。
+     * <p>当num超出int的范围时，会抛出ArithmeticException。</p>
+     * @param num - Number - 初始值
+     */
+    public AtomicRational(Number num) {
+        super();
+        value = new AtomicLong(packedOf(num));
+    }
+
+    /**
+     * get方法 - 读取当前的值。
+     * @return Rational - 当前的值
+     */
+    public Rational get() {
+        return Rational.ofPacked(value.get());
+    }
+
+    /**
+     * set方法 - 设置新的值。
+     * @param num - Number - 新的值
+     */
+    public void set(Number num) {
+        value.set(packedOf(num));
+    }
+
+    /**
+     * getAndSet方法 - 设置新的值，并返回旧的值。
+     * @param num - Number - 新的值
+     * @return Rational - 旧的值
+     */
+    public Rational getAndSet(Number num) {
+        return Rational.ofPacked(value.getAndSet(packedOf(num)));
+    }
+
+    /**
+     * compareAndSet方法 - 当前的值与expect相等（按数值比较）时，将它设置为update。
+     * @param expect - Number - 期望的当前值
+     * @param update - Number - 新的值
+     * @return boolean - 是否设置成功
+     */
+    public boolean compareAndSet(Number expect, Number update) {
+        return value.compareAndSet(packedOf(expect), packedOf(update));
+    }
+
+    /**
+     * addAndGet方法 - 原子地加上num，并返回新的值。
+     * <p>CAS循环内只有打包分数的整数运算，不会创建任何对象。</p>
+     * @param num - Number - 需要加上的数
+     * @return Rational - 相加之后的值
+     */
+    public Rational addAndGet(Number num) {
+        return Rational.ofPacked(add(num, false));
+    }
+
+    /**
+     * getAndAdd方法 - 原子地加上num，并返回旧的值。
+     * @param num - Number - 需要加上的数
+     * @return Rational - 相加之前的值
+     */
+    public Rational getAndAdd(Number num) {
+        return Rational.ofPacked(add(num, true));
+    }
+
+    /**
+     * multiplyAndGet方法 - 原子地乘以num，并返回新的值。
+     * @param num - Number - 需要乘以的数
+     * @return Rational - 相乘之后的值
+     */
+    public Rational multiplyAndGet(Number num) {
+        long operand = packedOf(num);
+        int n = RationalMath.numeratorOf(operand);
+        int d = RationalMath.denominatorOf(operand);
+        long current;
+        long next;
+        do {
+            current = value.get();
+            next = RationalMath.multiply(RationalMath.numeratorOf(current), RationalMath.denominatorOf(current), n, d);
+        } while(!value.compareAndSet(current, next));
+        return Rational.ofPacked(next);
+    }
+
+    /**
+     * accumulateAndGet方法 - 原子地将当前值替换为 function(当前值, num)，并返回新的值。
+     * <p>function可能因为CAS失败而被调用多次，因此不能有副作用。</p>
+     * <blockquote><pre>
+AtomicRational max = new AtomicRational();
+max.accumulateAndGet(Rational.valueOf(3, 4), (a, b) -&gt; a.isGreaterThan(b) ? a : b);
+     * </pre></blockquote>
+     * @param num - Number - 第二个参数
+     * @param function - BinaryOperator&lt;Number&gt; - 没有副作用的二元运算
+     * @return Rational - 新的值
+     */
+    public Rational accumulateAndGet(Number num, BinaryOperator<Number> function) {
+        long current;
+        long next;
+        do {
+            current = value.get();
+            next = packedOf(function.apply(Rational.ofPacked(current), num));
+        } while(!value.compareAndSet(current, next));
+        return Rational.ofPacked(next);
+    }
+
+    /**
+     * updateAndGet方法 - 原子地将当前值替换为 function(当前值)，并返回新的值。
+     * <p>function可能因为CAS失败而被调用多次，因此不能有副作用。</p>
+     * @param function - UnaryOperator&lt;Number&gt; - 没有副作用的一元运算
+     * @return Rational - 新的值
+     */
+    public Rational updateAndGet(UnaryOperator<Number> function) {
+        long current;
+        long next;
+        do {
+            current = value.get();
+            next = packedOf(function.apply(Rational.ofPacked(current)));
+        } while(!value.compareAndSet(current, next));
+        return Rational.ofPacked(next);
+    }
+
+    /**
+     * toDouble方法 - 返回当前值对应的double。
+     * @return double - 转化后的小数
+     */
+    public double toDouble() {
+        long packed = value.get();
+        return (double) RationalMath.numeratorOf(packed) / RationalMath.denominatorOf(packed);
+    }
+
+    /**
+     * toString方法 - 返回当前值的字符串形式，例如 5/6。
+     * @return String - 转化后的字符串
+     */
+    public String toString() {
+        return get().toString();
+    }
+
+    /**
+     * add方法 - addAndGet与getAndAdd的共同实现，返回打包的旧值或新值。
+     */
+    private long add(Number num, boolean previous) {
+        long operand = packedOf(num);
+        int n = RationalMath.numeratorOf(operand);
+        int d = RationalMath.denominatorOf(operand);
+        long current;
+        long next;
+        do {
+            current = value.get();
+            if(n == 0) {
+                return current;
+            }
+            next = RationalMath.add(RationalMath.numeratorOf(current), RationalMath.denominatorOf(current), n, d);
+        } while(!value.compareAndSet(current, next));
+        return previous ? current : next;
+    }
+
+    /**
+     * packedOf方法 - 将Number对象转化为打包后的最简分数。
+     */
+    private static long packedOf(Number num) {
+        Rational rational = Rational.valueOf(num);
+        return RationalMath.pack(rational.getNumerator(), rational.getDenominator());
+    }
+}
@@ -0,0 +1,350 @@
+package equation;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+
+/**
+ * BigFraction - 任意精度的不可变分数。
+ * <p>
+ * BigFraction的分子和分母都是BigInteger，因此无论进行多少次连续运算都不会溢出，结果永远是精确的。
+ * 与{@link equation.Rational}相同，BigFraction永远以分母为正数的最简分数形式保存，并且一旦创建就不能再被修改。
+ * 如果大部分运算的结果都能放进long，请考虑使用{@link equation.HybridFraction}，它只在溢出时才使用BigInteger。
+ * </p>
+ * <blockquote><pre>
+BigFraction num1 = BigFraction.valueOf(1, 3); //这里表示分数 1/3
+Number num2 = num1.power(100); // 1/515377520732011331036461129765621272702107522001
+ * </pre></blockquote>
+ * @see equation.HybridFraction
+ * @see equation.Rational
+ */
+public final class BigFraction implements Number, Comparable<Number> {
+    /**
+     * ZERO常量 - 表示 0/1。
+     */
+    public static final BigFraction ZERO = new BigFraction(BigInteger.ZERO, BigInteger.ONE);
+
+    /**
+     * ONE常量 - 表示 1/1。
+     */
+    public static final BigFraction ONE = new BigFraction(BigInteger.ONE, BigInteger.ONE);
+
+    private final BigInteger numerator;
+    private final BigInteger denominator;
+
+    /**
+     * BigFraction - 私有的构造函数。
+     * <p>传入的分子和分母必须已经是分母为正数的最简分数。</p>
+     */
+    private BigFraction(BigInteger numerator, BigInteger denominator) {
+        super();
+        this.numerator = numerator;
+        this.denominator = denominator;
+    }
+
+    /**
+     * valueOf方法 - 通过整数创建BigFraction对象。
+     * @param numerator - long - 分数的分子，分母为1
+     * @return BigFraction - 对应的分数
+     * @see equation.BigFraction#valueOf(long, long)
+     */
+    public static BigFraction valueOf(long numerator) {
+        return new BigFraction(BigInteger.valueOf(numerator), BigInteger.ONE);
+    }
+
+    /**
+     * valueOf方法 - 通过分子和分母创建BigFraction对象。
+     * <p>传入的分数会被自动化简，并把符号移到分子上。当分母为0时，会抛出UnexpectValueException。</p>
+     * @param numerator - long - 分数的分子
+     * @param denominator - long - 分数的分母
+     * @return BigFraction - 对应的分数
+     * @see equation.BigFraction#valueOf(BigInteger, BigInteger)
+     */
+    public static BigFraction valueOf(long numerator, long denominator) {
+        if(denominator == 0) {
+            throw new UnexpectValueException("不能将分母设置为0。");
+        }
+        if(numerator != Long.MIN_VALUE && denominator != Long.MIN_VALUE) {
+            long gcd = RationalMath.gcd(numerator, denominator);
+            long n = numerator / gcd;
+            long d = denominator / gcd;
+            if(d < 0) {
+                n = -n;
+                d = -d;
+            }
+            return new BigFraction(BigInteger.valueOf(n), BigInteger.valueOf(d));
+        }
+        return valueOf(BigInteger.valueOf(numerator), BigInteger.valueOf(denominator));
+    }
+
+    /**
+     * valueOf方法 - 通过BigInteger类型的分子和分母创建BigFraction对象。
+     * <p>传入的分数会被自动化简，并把符号移到分子上。当分母为0时，会抛出UnexpectValueException。</p>
+     * @param numerator - BigInteger - 分数的分子
+     * @param denominator - BigInteger - 分数的分母
+     * @return BigFraction - 对应的分数
+     * @see equation.BigFraction#valueOf(long, long)
+     */
+    public static BigFraction valueOf(BigInteger numerator, BigInteger denominator) {
+        if(denominator.signum() == 0) {
+            throw new UnexpectValueException("不能将分母设置为0。");
+        }
+        BigInteger gcd = numerator.gcd(denominator);
+        if(!gcd.equals(BigInteger.ONE)) {
+            numerator = numerator.divide(gcd);
+            denominator = denominator.divide(gcd);
+        }
+        if(denominator.signum() < 0) {
+            numerator = numerator.negate();
+            denominator = denominator.negate();
+        }
+        return new BigFraction(numerator, denominator);
+    }
+
+    /**
+     * valueOf方法 - 将double的精确值转化为BigFraction对象。
+     * <p>
+     * 该方法直接从IEEE-754的位表示中取出有效数字m和指数e，结果就是 m * 2^e，不需要任何字符串转换或化简（去掉末尾的0后m是奇数）。
+     * 因此任何有限的double都能被精确地转化，例如 0.1 会转化为 3602879701896397/36028797018963968。当value是NaN或无穷大时，会抛出UnexpectValueException。
+     * </p>
+     * @param value - double - 需要转化的小数
+     * @return BigFraction - 与value完全相等的分数
+     * @see equation.Fraction#valueOf(double)
+     */
+    public static BigFraction valueOf(double value) {
+        long significand = RationalMath.significandOf(value);
+        int exponent = RationalMath.exponentOf(value);
+        if(exponent >= 0) {
+            return new BigFraction(BigInteger.valueOf(significand).shiftLeft(exponent), BigInteger.ONE);
+        }
+        return new BigFraction(BigInteger.valueOf(significand), BigInteger.ONE.shiftLeft(-exponent));
+    }
+
+    /**
+     * valueOf方法 - 将一个Number对象转化为BigFraction对象。
+     * <p>当传入的对象本身就是BigFraction时，会直接返回它。当传入的类型无法识别时，会抛出UnexpectValueException。</p>
+     * @param num - Number - 需要转化的数
+     * @return BigFraction - 转化后的分数
+     * @see equation.Equation#toBigFraction(Number)
+     */
+    public static BigFraction valueOf(Number num) {
+        BigFraction frac = Equation.toBigFraction(num);
+        if(frac == null) {
+            throw RationalMath.unrecognized(num);
+        }
+        return frac;
+    }
+
+    /**
+     * getNumerator方法 - 获取分数的分子。
+     * @return BigInteger - 分数的分子
+     */
+    public BigInteger getNumerator() {
+        return numerator;
+    }
+
+    /**
+     * getDenominator方法 - 获取分数的分母，永远是正数。
+     * @return BigInteger - 分数的分母
+     */
+    public BigInteger getDenominator() {
+        return denominator;
+    }
+
+    /**
+     * add方法 - 将两个Number对象相加。
+     * <p>与{@link equation.AbstractRationalNumber#add(Number)}相同，先用两个分母的最大公约数交叉约分，再相乘。</p>
+     * @param num - Number - 需要相加的数
+     * @return Number - 两个数相加的结果，实际上是一个BigFraction对象
+     * @see equation.Equation#add(Number, Number)
+     */
+    public Number add(Number num) {
+        BigFraction other = valueOf(num);
+        return add(numerator, denominator, other.numerator, other.denominator);
+    }
+
+    /**
+     * sub方法 - 将两个Number对象相减。
+     * @param num - Number - 需要相减的数
+     * @return Number - 两个数相减的结果，实际上是一个BigFraction对象
+     * @see equation.Equation#sub(Number, Number)
+     */
+    public Number sub(Number num) {
+        BigFraction other = valueOf(num);
+        return add(numerator, denominator, other.numerator.negate(), other.denominator);
+    }
+
+    /**
+     * mult方法 - 将两个Number对象相乘。
+     * <p>相乘之前会先交叉约分，因此不需要对乘积再化简。</p>
+     * @param num - Number - 需要相乘的数
+     * @return Number - 两个数相乘的结果，实际上是一个BigFraction对象
+     * @see equation.Equation#mult(Number, Number)
+     */
+    public Number mult(Number num) {
+        BigFraction other = valueOf(num);
+        return multiply(numerator, denominator, other.numerator, other.denominator);
+    }
+
+    /**
+     * div方法 - 将两个Number对象相除。当除数为0时，会抛出UnexpectValueException。
+     * @param num - Number - 需要相除的数
+     * @return Number - 两个数相除的结果，实际上是一个BigFraction对象
+     * @see equation.Equation#div(Number, Number)
+     */
+    public Number div(Number num) {
+        BigFraction other = valueOf(num);
+        if(other.numerator.signum() == 0) {
+            throw new UnexpectValueException("除数不能为0。");
+        } else if(other.numerator.signum() < 0) {
+            return multiply(numerator, denominator, other.denominator.negate(), other.numerator.negate());
+        }
+        return multiply(numerator, denominator, other.denominator, other.numerator);
+    }
+
+    /**
+     * power方法 - 对自身的幂运算。
+     * <p>分子和分母分别乘方，不需要再化简。当index为0时结果为 1/1；当index为负数时结果为正数次幂的倒数。</p>
+     * @param index - int - 指数的大小
+     * @return Number - 进行乘方运算后的结果，实际上是一个BigFraction对象
+     * @see equation.Equation#power(Number, int)
+     */
+    public Number power(int index) {
+        if(index == Integer.MIN_VALUE) {
+            return ((BigFraction) power(index + 1)).div(this);
+        } else if(index >= 0) {
+            return new BigFraction(numerator.pow(index), denominator.pow(index));
+        } else if(numerator.signum() == 0) {
+            throw new UnexpectValueException("0不能进行负数次幂运算。");
+        }
+        BigInteger n = denominator.pow(-index);
+        BigInteger d = numerator.pow(-index);
+        if(d.signum() < 0) {
+            return new BigFraction(n.negate(), d.negate());
+        }
+        return new BigFraction(n, d);
+    }
+
+    /**
+     * reciprocalOf方法 - 返回当前分数的倒数。当前分数为0时，会抛出UnexpectValueException。
+     * @return BigFraction - 当前分数的倒数
+     */
+    public BigFraction reciprocalOf() {
+        return (BigFraction) power(-1);
+    }
+
+    /**
+     * toDouble方法 - 将BigFraction对象正确舍入为double类型。
+     * <p>即使分子和分母远远超出double的范围，结果也是最接近当前值的double。</p>
+     * @return double - 最接近当前值的double
+     */
+    public double toDouble() {
+        return RationalMath.toDouble(numerator, denominator);
+    }
+
+    /**
+     * toFloat方法 - 将BigFraction对象正确舍入为float类型。
+     * @return float - 最接近当前值的float
+     */
+    public float toFloat() {
+        return RationalMath.toFloat(numerator, denominator);
+    }
+
+    /**
+     * toBigDecimal方法 - 将BigFraction对象按照context的精度和舍入模式转化为BigDecimal。
+     * @param context - MathContext - 精度和舍入模式
+     * @return BigDecimal - 舍入后的结果
+     */
+    public BigDecimal toBigDecimal(MathContext context) {
+        return RationalMath.toBigDecimal(numerator, denominator, context);
+    }
+
+    /**
+     * compareTo方法 - 比较当前对象与传入的Number对象的大小。
+     * @param num - Number - 需要比较的对象
+     * @return int - 小于、等于、大于时分别返回负数、0、正数
+     */
+    public int compareTo(Number num) {
+        BigFraction other = valueOf(num);
+        if(denominator.equals(other.denominator)) {
+            return numerator.compareTo(other.numerator);
+        }
+        return numerator.multiply(other.denominator).compareTo(other.numerator.multiply(denominator));
+    }
+
+    /**
+     * equals方法 - 判断两个对象是否相等。需要注意的是，如果传入的对象不是Number，将永远返回false。
+     * <p>与其他Number对象比较时按数值比较，例如 BigFraction.valueOf(1, 2) 与 new Fraction(2, 4) 相等。</p>
+     * @param object - Object - 需要比较的对象
+     * @return boolean - 是否相等
+     */
+    public boolean equals(Object object) {
+        if(object == this) {
+            return true;
+        } else if(!(object instanceof Number)) {
+            return false;
+        }
+        BigFraction other = Equation.toBigFraction((Number) object);
+        return other != null && numerator.equals(other.numerator) && denominator.equals(other.denominator);
+    }
+
+    /**
+     * hashCode方法 - 返回基于最简分数计算的hashCode。
+     * <p>当分子和分母都能放进long时，结果与数值相等的{@link equation.Rational}、{@link equation.HybridFraction}相同。</p>
+     * @return int - hashCode
+     */
+    public int hashCode() {
+        if(numerator.bitLength() < 64 && denominator.bitLength() < 64) {
+            return RationalMath.hashCode(numerator.longValue(), denominator.longValue());
+        }
+        return 31 * numerator.hashCode() + denominator.hashCode();
+    }
+
+    /**
+     * isGreaterThan方法 - 判断当前对象是否大于传入的Number对象。如果大于，返回true。否则返回false。
+     * @param num - Number - 需要比较的对象
+     * @return boolean - 是否大于
+     */
+    public boolean isGreaterThan(Number num) {
+        return compareTo(num) > 0;
+    }
+
+    /**
+     * isLessThan方法 - 判断当前对象是否小于传入的Number对象。如果小于，返回true。否则返回false。
+     * @param num - Number - 需要比较的对象
+     * @return boolean - 是否小于
+     */
+    public boolean isLessThan(Number num) {
+        return compareTo(num) < 0;
+    }
+
+    /**
+     * toString方法 - 返回分数的字符串形式（a/b）。
+     * @return String - 转化后的字符串
+     */
+    public String toString() {
+        return numerator.toString() + "/" + denominator.toString();
+    }
+
+    /**
+     * add方法 - 计算 n1/d1 + n2/d2。两个分数都必须是分母为正数的最简分数。
+     */
+    static BigFraction add(BigInteger n1, BigInteger d1, BigInteger n2, BigInteger d2) {
+        BigInteger g1 = d1.gcd(d2);
+        if(g1.equals(BigInteger.ONE)) {
+            return new BigFraction(n1.multiply(d2).add(n2.multiply(d1)), d1.multiply(d2));
+        }
+        BigInteger t = n1.multiply(d2.divide(g1)).add(n2.multiply(d1.divide(g1)));
+        BigInteger g2 = t.gcd(g1);
+        return new BigFraction(t.divide(g2), d1.divide(g1).multiply(d2.divide(g2)));
+    }
+
+    /**
+     * multiply方法 - 计算 n1/d1 * n2/d2。两个分数都必须是分母为正数的最简分数。
+     */
+    static BigFraction multiply(BigInteger n1, BigInteger d1, BigInteger n2, BigInteger d2) {
+        BigInteger g1 = n1.gcd(d2);
+        BigInteger g2 = n2.gcd(d1);
+        return new BigFraction(n1.divide(g1).multiply(n2.divide(g2)), d1.divide(g2).multiply(d2.divide(g1)));
+    }
+}
@@ -0,0 +1,327 @@
+package equation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CompiledExpression - 编译后的分数表达式。
+ * <p>
+ * CompiledExpression把{@link equation.Expression}的语法树展开成一个扁平的指令数组，求值时只需要在一个栈上依次执行这些指令，
+ * 不需要再解析字符串或遍历语法树。栈上的分数以long分子和分母的形式保存，每一条指令都直接在主数据类型上运算；
+ * 只有当某一步溢出时，这一次求值才会改用{@link equation.BigFraction}重新计算，因此结果永远是精确的。
+ * </p>
+ * <p>CompiledExpression对象不可变，可以在多个线程中同时求值。</p>
+ * <blockquote><pre>
+CompiledExpression price = Expression.parse("base * (1 + rate) ^ 3").compile();
+price.getVariables(); // [base, rate]
+for(int i = 0; i &lt; bases.length; i++) {
+    Number value = price.evaluate(bases[i], rates[i]);
+}
+ * </pre></blockquote>
+ * @see equation.Expression
+ */
+public final class CompiledExpression {
+    static final int PUSH_CONSTANT = 0;
+    static final int PUSH_VARIABLE = 1;
+    static final int ADD = 2;
+    static final int SUB = 3;
+    static final int MULT = 4;
+    static final int DIV = 5;
+    static final int NEGATE = 6;
+    static final int POWER = 7;
+
+    private final int[] code;
+    private final long[] constantNumerators;
+    private final long[] constantDenominators;
+    private final BigFraction[] constants;
+    private final String[] variables;
+    private final int maxStack;
+
+    /**
+     * longPath属性 - 所有常数是否都能放进long。为false时每一次求值都直接使用BigFraction。
+     */
+    private final boolean longPath;
+
+    /**
+     * CompiledExpression - 编译传入的语法树。
+     * @param expression - Expression - 需要编译的语法树
+     * @see equation.Expression#compile()
+     */
+    CompiledExpression(Expression expression) {
+        super();
+        Builder builder = new Builder();
+        expression.emit(builder);
+        code = Arrays.copyOf(builder.code, builder.length);
+        constants = builder.constants.toArray(new BigFraction[0]);
+        variables = builder.variables.toArray(new String[0]);
+        maxStack = builder.maxDepth;
+        constantNumerators = new long[constants.length];
+        constantDenominators = new long[constants.length];
+        boolean fits = true;
+        for(int i = 0; i < constants.length; i++) {
+            fits &= RationalMath.load(constants[i], constantNumerators, constantDenominators, i);
+        }
+        longPath = fits;
+    }
+
+    /**
+     * getVariables方法 - 按第一次出现的顺序返回表达式中的所有变量名。
+     * @return List&lt;String&gt; - 不可修改的变量名列表
+     */
+    public List<String> getVariables() {
+        return Collections.unmodifiableList(Arrays.asList(variables));
+    }
+
+    /**
+     * evaluate方法 - 按{@link equation.CompiledExpression#getVariables()}的顺序传入变量的取值并求值。
+     * <p>当传入的参数个数与变量个数不同、除数为0或者0进行负数次幂运算时，会抛出UnexpectValueException。</p>
+     * <blockquote><pre>
+CompiledExpression expr = Expression.parse("x / y + 1").compile();
+expr.evaluate(new Fraction(1), new Fraction(2)); // 3/2
+     * </pre></blockquote>
+     * @param values - Number... - 变量的取值
+     * @return Number - 表达式的值，实际上是一个HybridFraction对象
+     */
+    public Number evaluate(Number... values) {
+        if(values.length != variables.length) {
+            throw new UnexpectValueException("需要" + variables.length + "个变量的取值，实际传入了" + values.length + "个。");
+        }
+        if(longPath) {
+            long[] numerators = new long[maxStack];
+            long[] denominators = new long[maxStack];
+            try {
+                if(run(values, numerators, denominators)) {
+                    return HybridFraction.ofReduced(numerators[0], denominators[0]);
+                }
+            } catch (ArithmeticException err) {
+                // 溢出，改用BigFraction重新计算
+            }
+        }
+        return HybridFraction.valueOf(runBig(values));
+    }
+
+    /**
+     * evaluate方法 - 按变量名传入变量的取值并求值。
+     * @param bindings - Map&lt;String, ? extends Number&gt; - 变量名到取值的映射
+     * @return Number - 表达式的值，实际上是一个HybridFraction对象
+     * @see equation.CompiledExpression#evaluate(Number...)
+     */
+    public Number evaluate(Map<String, ? extends Number> bindings) {
+        Number[] values = new Number[variables.length];
+        for(int i = 0; i < variables.length; i++) {
+            values[i] = bindings.get(variables[i]);
+            if(values[i] == null) {
+                throw new UnexpectValueException("缺少变量" + variables[i] + "的取值。");
+            }
+        }
+        return evaluate(values);
+    }
+
+    /**
+     * run方法 - 在long栈上执行所有指令，结果留在栈底。
+     * @return boolean - 当某个变量的取值超出long的范围时返回false
+     */
+    private boolean run(Number[] values, long[] numerators, long[] denominators) {
+        int sp = 0;
+        int pc = 0;
+        while(pc < code.length) {
+            switch(code[pc++]) {
+                case PUSH_CONSTANT:
+                    numerators[sp] = constantNumerators[code[pc]];
+                    denominators[sp] = constantDenominators[code[pc]];
+                    pc++;
+                    sp++;
+                    break;
+                case PUSH_VARIABLE:
+                    if(!RationalMath.load(values[code[pc++]], numerators, denominators, sp)) {
+                        return false;
+                    }
+                    sp++;
+                    break;
+                case ADD:
+                    sp--;
+                    RationalMath.addExact(numerators[sp - 1], denominators[sp - 1], numerators[sp], denominators[sp],
+                            numerators, denominators, sp - 1);
+                    break;
+                case SUB:
+                    sp--;
+                    RationalMath.addExact(numerators[sp - 1], denominators[sp - 1], -numerators[sp], denominators[sp],
+                            numerators, denominators, sp - 1);
+                    break;
+                case MULT:
+                    sp--;
+                    RationalMath.multiplyExact(numerators[sp - 1], denominators[sp - 1], numerators[sp], denominators[sp],
+                            numerators, denominators, sp - 1);
+                    break;
+                case DIV:
+                    sp--;
+                    RationalMath.divideExact(numerators[sp - 1], denominators[sp - 1], numerators[sp], denominators[sp],
+                            numerators, denominators, sp - 1);
+                    break;
+                case NEGATE:
+                    numerators[sp - 1] = -numerators[sp - 1];
+                    break;
+                default:
+                    RationalMath.powerExact(numerators[sp - 1], denominators[sp - 1], code[pc++], numerators, denominators, sp - 1);
+                    break;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * runBig方法 - 使用BigFraction执行所有指令。
+     */
+    private BigFraction runBig(Number[] values) {
+        BigFraction[] stack = new BigFraction[maxStack];
+        int sp = 0;
+        int pc = 0;
+        while(pc < code.length) {
+            switch(code[pc++]) {
+                case PUSH_CONSTANT:
+                    stack[sp++] = constants[code[pc++]];
+                    break;
+                case PUSH_VARIABLE:
+                    stack[sp++] = BigFraction.valueOf(values[code[pc++]]);
+                    break;
+                case ADD:
+                    sp--;
+                    stack[sp - 1] = (BigFraction) stack[sp - 1].add(stack[sp]);
+                    break;
+                case SUB:
+                    sp--;
+                    stack[sp - 1] = (BigFraction) stack[sp - 1].sub(stack[sp]);
+                    break;
+                case MULT:
+                    sp--;
+                    stack[sp - 1] = (BigFraction) stack[sp - 1].mult(stack[sp]);
+                    break;
+                case DIV:
+                    sp--;
+                    stack[sp - 1] = (BigFraction) stack[sp - 1].div(stack[sp]);
+                    break;
+                case NEGATE:
+                    stack[sp - 1] = BigFraction.valueOf(stack[sp - 1].getNumerator().negate(), stack[sp - 1].getDenominator());
+                    break;
+                default:
+                    stack[sp - 1] = (BigFraction) stack[sp - 1].power(code[pc++]);
+                    break;
+            }
+        }
+        return stack[0];
+    }
+
+    /**
+     * toString方法 - 返回指令的文本形式，便于调试。
+     * @return String - 指令的文本形式
+     */
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        int pc = 0;
+        while(pc < code.length) {
+            if(pc > 0) {
+                builder.append("; ");
+            }
+            switch(code[pc++]) {
+                case PUSH_CONSTANT:
+                    builder.append("push ").append(constants[code[pc++]]);
+                    break;
+                case PUSH_VARIABLE:
+                    builder.append("load ").append(variables[code[pc++]]);
+                    break;
+                case ADD:
+                    builder.append("add");
+                    break;
+                case SUB:
+                    builder.append("sub");
+                    break;
+                case MULT:
+                    builder.append("mult");
+                    break;
+                case DIV:
+                    builder.append("div");
+                    break;
+                case NEGATE:
+                    builder.append("negate");
+                    break;
+                default:
+                    builder.append("power ").append(code[pc++]);
+                    break;
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Builder - 编译时用来收集指令、常数和变量的辅助类。
+     */
+    static final class Builder {
+        private int[] code = new int[16];
+        private int length;
+        private int depth;
+        private int maxDepth;
+        private final List<BigFraction> constants = new ArrayList<BigFraction>();
+        private final List<String> variables = new ArrayList<String>();
+
+        /**
+         * constant方法 - 写入一条压入常数的指令。
+         */
+        void constant(BigFraction value) {
+            int index = constants.indexOf(value);
+            if(index < 0) {
+                index = constants.size();
+                constants.add(value);
+            }
+            append(PUSH_CONSTANT);
+            append(index);
+            push();
+        }
+
+        /**
+         * variable方法 - 写入一条压入变量的指令。
+         */
+        void variable(String name) {
+            int index = variables.indexOf(name);
+            if(index < 0) {
+                index = variables.size();
+                variables.add(name);
+            }
+            append(PUSH_VARIABLE);
+            append(index);
+            push();
+        }
+
+        /**
+         * instruction方法 - 写入一条没有参数的运算指令。二元运算会从栈中弹出一个数。
+         */
+        void instruction(int opcode) {
+            append(opcode);
+            if(opcode != NEGATE) {
+                depth--;
+            }
+        }
+
+        /**
+         * power方法 - 写入一条乘方指令。
+         */
+        void power(int exponent) {
+            append(POWER);
+            append(exponent);
+        }
+
+        private void push() {
+            depth++;
+            maxDepth = Math.max(maxDepth, depth);
+        }
+
+        private void append(int value) {
+            if(length == code.length) {
+                code = Arrays.copyOf(code, length * 2);
+            }
+            code[length++] = value;
+        }
+    }
+}
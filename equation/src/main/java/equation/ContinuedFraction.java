@@ -0,0 +1,1048 @@
+package equation;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * ContinuedFraction - 按需逐项产生的简单连分数 [a0; a1, a2, ...]。
+ * <p>
+ * 连分数的各项只在第一次被用到时才会计算并缓存：有理数的各项就是辗转相除的商，每一项只需要一次除法；
+ * 平方根和循环连分数可以无限地产生下去。第一项可以是任意整数，之后的各项都是正数，并且有限连分数的最后一项不会是1
+ * （[a0; ..., an, 1]会被写成[a0; ..., an + 1]），因此每个有理数都只有唯一的表示。各项通常都很小，以long保存；
+ * 超出long的项（例如很大的整数部分）以BigInteger保存，可以通过{@link equation.ContinuedFraction#bigTerm(int)}获取。
+ * </p>
+ * <p>
+ * 渐近分数 h/k 由各项直接递推得到，天然就是最简分数，不需要求最大公约数；它们交替地从两侧逼近原数，
+ * 因此只需要计算到分母超过限制为止，就能得到分母不超过N的最佳逼近（见{@link equation.ContinuedFraction#approximate(long)}），
+ * 分子和分母都在long的范围内时不会创建任何BigInteger。
+ * </p>
+ * <p>
+ * add、sub、mult、div使用Gosper算法直接在两个连分数的项上运算：结果同样是按需产生的连分数，每产生一项只读入必要的输入项，
+ * 因此可以在不求出精确结果的情况下逐步得到越来越精确的近似值。当两个无限连分数的运算结果恰好是有理数时（例如 sqrt(2) * sqrt(2)），
+ * 某一项可能永远无法确定，此时连续读入{@value #MAX_INPUT_TERMS}项后会抛出ArithmeticException。
+ * </p>
+ * <p>ContinuedFraction在外部看来是不可变的，各项的计算是同步的，因此可以在多个线程之间共享。</p>
+ * <blockquote><pre>
+ContinuedFraction pi = ContinuedFraction.valueOf(Math.PI);
+pi.toString(5); // [3; 7, 15, 1, 292, ...]
+pi.convergent(3); // 355/113
+pi.approximate(1000); // 355/113
+ContinuedFraction.valueOf(new Fraction(-8, 5)).toString(); // [-2; 2, 2]
+ContinuedFraction.sqrt(2).add(ContinuedFraction.sqrt(3)).approximate(100000); // 3.14626...的最佳逼近
+ * </pre></blockquote>
+ * @see equation.Fraction#approximate(double, int)
+ * @see equation.DecimalExpansion
+ */
+public final class ContinuedFraction {
+    /**
+     * DEFAULT_MAX_TERMS常量 - toString方法最多写出的项数。
+     */
+    public static final int DEFAULT_MAX_TERMS = 20;
+
+    /**
+     * MAX_INPUT_TERMS常量 - Gosper算法为了产生一项最多读入的输入项数。
+     */
+    public static final int MAX_INPUT_TERMS = 1 << 12;
+
+    /**
+     * source属性 - 产生各项的来源，所有的项都产生完毕后为null。
+     */
+    private Source source;
+
+    /**
+     * terms和size属性 - 已经产生的项。没有产生完毕时，最后两项可能还会被合并，因此暂时不对外公开。
+     */
+    private long[] terms = new long[8];
+    private int size;
+
+    /**
+     * bigTerms属性 - 超出long范围的项，没有这样的项时为null。某一项超出long时，terms中对应的位置为0。
+     */
+    private BigInteger[] bigTerms;
+
+    private ContinuedFraction(Source source) {
+        super();
+        this.source = source;
+    }
+
+    /**
+     * valueOf方法 - 将一个Number对象转化为有限连分数。当传入的类型无法识别时，会抛出UnexpectValueException。
+     * @param num - Number - 需要转化的数
+     * @return ContinuedFraction - 与num完全相等的连分数
+     */
+    public static ContinuedFraction valueOf(Number num) {
+        HybridFraction value = HybridFraction.valueOf(num);
+        if(value.big == null) {
+            return new ContinuedFraction(new RationalSource(value.numerator, value.denominator));
+        }
+        return new ContinuedFraction(new BigRationalSource(value.big.getNumerator(), value.big.getDenominator()));
+    }
+
+    /**
+     * valueOf方法 - 将double的精确值转化为有限连分数。当value是NaN或无穷大时，会抛出UnexpectValueException。
+     * @param value - double - 需要转化的小数
+     * @return ContinuedFraction - 与value完全相等的连分数
+     * @see equation.HybridFraction#valueOf(double)
+     */
+    public static ContinuedFraction valueOf(double value) {
+        return valueOf(HybridFraction.valueOf(value));
+    }
+
+    /**
+     * ofTerms方法 - 通过各项创建有限连分数。
+     * <p>除第一项以外的各项都必须是正数，否则会抛出UnexpectValueException。最后一项是1时会被合并到前一项中。</p>
+     * <blockquote><pre>
+ContinuedFraction.ofTerms(3, 7, 16).convergent(2); // 355/113
+ContinuedFraction.ofTerms(0, 2, 1).toString(); // [0; 3]
+     * </pre></blockquote>
+     * @param terms - long[] - 连分数的各项，至少要有一项
+     * @return ContinuedFraction - 对应的连分数
+     */
+    public static ContinuedFraction ofTerms(long... terms) {
+        if(terms.length == 0) {
+            throw new UnexpectValueException("连分数至少要有一项。");
+        }
+        checkTerms(terms, 1);
+        long[] copy = terms.clone();
+        if(copy.length > 1 && copy[copy.length - 1] == 1) {
+            copy = Arrays.copyOf(copy, copy.length - 1);
+            copy[copy.length - 1] = Math.addExact(copy[copy.length - 1], 1);
+        }
+        return new ContinuedFraction(new ArraySource(copy, null));
+    }
+
+    /**
+     * ofPeriodic方法 - 创建从某一项开始无限循环的连分数，例如黄金分割比 [1; 1, 1, ...]。
+     * <p>除第一项以外的各项都必须是正数，否则会抛出UnexpectValueException。</p>
+     * <blockquote><pre>
+ContinuedFraction.ofPeriodic(new long[] {1}, new long[] {2}).approximate(100); // 140/99，即 sqrt(2) 的最佳逼近
+     * </pre></blockquote>
+     * @param prefix - long[] - 不循环的各项，可以为空
+     * @param period - long[] - 循环节，不能为空
+     * @return ContinuedFraction - 对应的无限连分数
+     */
+    public static ContinuedFraction ofPeriodic(long[] prefix, long[] period) {
+        if(period.length == 0) {
+            throw new UnexpectValueException("循环节至少要有一项。");
+        }
+        checkTerms(prefix, 1);
+        checkTerms(period, prefix.length == 0 ? 1 : 0);
+        return new ContinuedFraction(new ArraySource(prefix.clone(), period.clone()));
+    }
+
+    /**
+     * sqrt方法 - 创建整数平方根的连分数。当n是完全平方数时结果只有一项，否则是无限循环的连分数。
+     * <p>当n是负数时，会抛出UnexpectValueException。</p>
+     * @param n - long - 被开方数
+     * @return ContinuedFraction - sqrt(n)的连分数
+     */
+    public static ContinuedFraction sqrt(long n) {
+        if(n < 0) {
+            throw new UnexpectValueException("不能对负数开平方。");
+        }
+        long root = (long) Math.sqrt((double) n);
+        while(root * root > n) {
+            root--;
+        }
+        // (root + 1)^2 在n接近Long.MAX_VALUE时会溢出，所以用除法比较
+        while(root + 1 <= n / (root + 1)) {
+            root++;
+        }
+        if(root * root == n) {
+            return new ContinuedFraction(new RationalSource(root, 1));
+        }
+        return new ContinuedFraction(new SqrtSource(n, root));
+    }
+
+    /**
+     * hasTerm方法 - 判断连分数是否有第index项（从0开始）。对于无限连分数永远返回true。
+     * @param index - int - 项的下标
+     * @return boolean - 是否存在这一项
+     */
+    public boolean hasTerm(int index) {
+        return index >= 0 && available(index) > index;
+    }
+
+    /**
+     * term方法 - 获取连分数的第index项（从0开始），必要时才计算。
+     * <p>当不存在这一项时，会抛出IndexOutOfBoundsException；当这一项超出long的范围时，会抛出ArithmeticException，此时请使用{@link equation.ContinuedFraction#bigTerm(int)}。</p>
+     * @param index - int - 项的下标
+     * @return long - 第index项
+     */
+    public synchronized long term(int index) {
+        if(overflow(index) != null) {
+            throw new ArithmeticException("long overflow");
+        }
+        return terms[index];
+    }
+
+    /**
+     * bigTerm方法 - 以BigInteger的形式获取连分数的第index项（从0开始）。当不存在这一项时，会抛出IndexOutOfBoundsException。
+     * @param index - int - 项的下标
+     * @return BigInteger - 第index项
+     */
+    public synchronized BigInteger bigTerm(int index) {
+        BigInteger big = overflow(index);
+        return big == null ? BigInteger.valueOf(terms[index]) : big;
+    }
+
+    /**
+     * terms方法 - 获取连分数的前limit项。有限连分数的项数不足limit时，返回全部的项。当某一项超出long的范围时，会抛出ArithmeticException。
+     * @param limit - int - 最多获取的项数
+     * @return long[] - 连分数的各项
+     */
+    public synchronized long[] terms(int limit) {
+        if(limit <= 0) {
+            return new long[0];
+        }
+        int length = Math.min(limit, available(limit - 1));
+        for(int i = 0; i < length; i++) {
+            if(bigTerms != null && bigTerms[i] != null) {
+                throw new ArithmeticException("long overflow");
+            }
+        }
+        return Arrays.copyOf(terms, length);
+    }
+
+    /**
+     * convergent方法 - 获取第index个渐近分数 [a0; a1, ..., a_index]。当不存在第index项时，会抛出IndexOutOfBoundsException。
+     * <p>渐近分数由各项直接递推得到，本身就是最简分数；偶数下标的渐近分数不大于原数，奇数下标的不小于原数。</p>
+     * @param index - int - 渐近分数的下标
+     * @return HybridFraction - 第index个渐近分数
+     */
+    public HybridFraction convergent(int index) {
+        term(index);
+        Convergents convergents = new Convergents();
+        for(int i = 0; i <= index; i++) {
+            push(convergents, i);
+        }
+        return convergents.value();
+    }
+
+    /**
+     * semiconvergent方法 - 获取中间分数 (j * h1 + h2) / (j * k1 + k2)，其中 h1/k1 和 h2/k2 是第index-1和第index-2个渐近分数。
+     * <p>
+     * j从1增加到第index项时，中间分数从第index-2个渐近分数的一侧单调地逼近原数，j等于第index项时就是第index个渐近分数。
+     * 当index小于1、不存在第index项或者j不在[1, a_index]的范围内时，会抛出IndexOutOfBoundsException。
+     * </p>
+     * @param index - int - 中间分数所在的项的下标
+     * @param j - long - 中间分数的系数
+     * @return HybridFraction - 对应的中间分数
+     */
+    public HybridFraction semiconvergent(int index, long j) {
+        if(index < 1 || j < 1 || (overflow(index) == null && j > term(index))) {
+            throw new IndexOutOfBoundsException("index " + index + ", j " + j);
+        }
+        Convergents convergents = new Convergents();
+        for(int i = 0; i < index; i++) {
+            push(convergents, i);
+        }
+        return convergents.combine(j);
+    }
+
+    /**
+     * approximate方法 - 获取分母不超过maxDenominator的最佳逼近。
+     * <p>
+     * 结果是所有分母不超过maxDenominator的分数中与原数最接近的一个（距离相等时与{@link equation.Fraction#approximate(double, int)}的选择相同），
+     * 它一定是某个渐近分数或中间分数。该方法只计算分母不超过maxDenominator的那些项，分子和分母都在long的范围内时不会创建任何BigInteger。
+     * 当maxDenominator不是正数时，会抛出UnexpectValueException。
+     * </p>
+     * <blockquote><pre>
+ContinuedFraction.valueOf(Math.PI).approximate(100); // 311/99
+ContinuedFraction.valueOf(new Fraction(3, 8)).approximate(5); // 2/5
+     * </pre></blockquote>
+     * @param maxDenominator - long - 分母的上限
+     * @return HybridFraction - 最佳逼近
+     */
+    public HybridFraction approximate(long maxDenominator) {
+        if(maxDenominator < 1) {
+            throw new UnexpectValueException("最大分母必须是正数。");
+        }
+        Convergents convergents = new Convergents();
+        push(convergents, 0);
+        for(int i = 1; hasTerm(i); i++) {
+            long k1 = convergents.denominator();
+            long k2 = convergents.previousDenominator();
+            long j = (maxDenominator - k2) / k1;
+            BigInteger big = overflow(i);
+            long a = big == null ? term(i) : Long.MAX_VALUE;
+            if(big != null || a > j) {
+                // 中间分数比渐近分数更接近，当且仅当完全商小于 2j + k2/k1，即剩余的项组成的连分数大于 k1/k2
+                int t = big == null ? Long.signum(a - j - j) : big.compareTo(BigInteger.valueOf(j).shiftLeft(1));
+                if(t < 0 || (t == 0 && compareTail(i + 1, k1, k2) > 0)) {
+                    return convergents.combine(j);
+                }
+                break;
+            }
+            convergents.push(a);
+        }
+        return convergents.value();
+    }
+
+    /**
+     * toFraction方法 - 将有限连分数转化为Fraction对象。
+     * <p>当分子或分母超出int的范围时（无限连分数一定会超出），会抛出ArithmeticException。需要近似值时请使用{@link equation.ContinuedFraction#approximate(long)}。</p>
+     * @return Fraction - 与连分数完全相等的分数
+     */
+    public Fraction toFraction() {
+        Convergents convergents = new Convergents();
+        for(int i = 0; hasTerm(i); i++) {
+            push(convergents, i);
+            if(!convergents.fitsInt()) {
+                throw new ArithmeticException("integer overflow");
+            }
+        }
+        HybridFraction value = convergents.value();
+        return new Fraction((int) value.numerator, (int) value.denominator);
+    }
+
+    /**
+     * toDouble方法 - 将连分数转化为最接近的double。
+     * <p>相邻的两个渐近分数总是位于原数的两侧，因此只要它们舍入到同一个double，原数也一定舍入到这个double，之后的项不再需要计算。</p>
+     * @return double - 最接近的double
+     */
+    public double toDouble() {
+        Convergents convergents = new Convergents();
+        push(convergents, 0);
+        double previous = convergents.value().toDouble();
+        for(int i = 1; hasTerm(i); i++) {
+            push(convergents, i);
+            double current = convergents.value().toDouble();
+            if(current == previous) {
+                break;
+            }
+            previous = current;
+        }
+        return previous;
+    }
+
+    /**
+     * add方法 - 使用Gosper算法计算两个连分数的和，结果的各项按需产生。
+     * @param other - ContinuedFraction - 加数
+     * @return ContinuedFraction - 两者的和
+     */
+    public ContinuedFraction add(ContinuedFraction other) {
+        return new ContinuedFraction(new GosperSource(this, other, 0, 1, 1, 0, 0, 0, 0, 1));
+    }
+
+    /**
+     * sub方法 - 使用Gosper算法计算两个连分数的差，结果的各项按需产生。
+     * @param other - ContinuedFraction - 减数
+     * @return ContinuedFraction - 两者的差
+     */
+    public ContinuedFraction sub(ContinuedFraction other) {
+        return new ContinuedFraction(new GosperSource(this, other, 0, 1, -1, 0, 0, 0, 0, 1));
+    }
+
+    /**
+     * mult方法 - 使用Gosper算法计算两个连分数的积，结果的各项按需产生。
+     * @param other - ContinuedFraction - 乘数
+     * @return ContinuedFraction - 两者的积
+     */
+    public ContinuedFraction mult(ContinuedFraction other) {
+        return new ContinuedFraction(new GosperSource(this, other, 1, 0, 0, 0, 0, 0, 0, 1));
+    }
+
+    /**
+     * div方法 - 使用Gosper算法计算两个连分数的商，结果的各项按需产生。当除数为0时，会抛出UnexpectValueException。
+     * @param other - ContinuedFraction - 除数
+     * @return ContinuedFraction - 两者的商
+     */
+    public ContinuedFraction div(ContinuedFraction other) {
+        if(other.bigTerm(0).signum() == 0 && !other.hasTerm(1)) {
+            throw new UnexpectValueException("除数不能为0。");
+        }
+        return new ContinuedFraction(new GosperSource(this, other, 0, 1, 0, 0, 0, 0, 1, 0));
+    }
+
+    /**
+     * toString方法 - 将连分数转化为字符串，最多写出{@value #DEFAULT_MAX_TERMS}项。
+     * @return String - 形如 [a0; a1, a2] 的字符串
+     */
+    @Override
+    public String toString() {
+        return toString(DEFAULT_MAX_TERMS);
+    }
+
+    /**
+     * toString方法 - 将连分数转化为字符串，最多写出maxTerms项，之后还有更多的项时以 ", ..." 结尾。
+     * @param maxTerms - int - 最多写出的项数，至少为1
+     * @return String - 形如 [a0; a1, a2, ...] 的字符串
+     */
+    public String toString(int maxTerms) {
+        StringBuilder builder = new StringBuilder("[");
+        int count = Math.max(maxTerms, 1);
+        int i = 0;
+        for(; i < count && hasTerm(i); i++) {
+            if(i > 0) {
+                builder.append(i == 1 ? "; " : ", ");
+            }
+            builder.append(bigTerm(i));
+        }
+        if(hasTerm(i)) {
+            builder.append(i == 1 ? "; ..." : ", ...");
+        }
+        return builder.append(']').toString();
+    }
+
+    /**
+     * available方法 - 保证第index项（如果存在）已经可以公开，返回当前可以公开的项数。
+     */
+    private synchronized int available(int index) {
+        // Gosper算法的最后一项可能是1，需要合并到前一项中，所以要多读入两项才能确定第index项
+        while(source != null && size < (long) index + 1 + (source.merge ? 2 : 0)) {
+            if(source.next()) {
+                if(size == terms.length) {
+                    terms = Arrays.copyOf(terms, size * 2);
+                    if(bigTerms != null) {
+                        bigTerms = Arrays.copyOf(bigTerms, terms.length);
+                    }
+                }
+                if(source.bigTerm != null) {
+                    if(bigTerms == null) {
+                        bigTerms = new BigInteger[terms.length];
+                    }
+                    bigTerms[size] = source.bigTerm;
+                    source.bigTerm = null;
+                }
+                terms[size++] = source.term;
+            } else {
+                if(source.merge && size > 1 && terms[size - 1] == 1 && (bigTerms == null || bigTerms[size - 1] == null)) {
+                    size--;
+                    if(bigTerms != null && bigTerms[size - 1] != null) {
+                        bigTerms[size - 1] = bigTerms[size - 1].add(BigInteger.ONE);
+                    } else if(terms[size - 1] == Long.MAX_VALUE) {
+                        bigTerms = bigTerms == null ? new BigInteger[terms.length] : bigTerms;
+                        bigTerms[size - 1] = BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE);
+                        terms[size - 1] = 0;
+                    } else {
+                        terms[size - 1]++;
+                    }
+                }
+                source = null;
+            }
+        }
+        return source == null || !source.merge ? size : size - 2;
+    }
+
+    /**
+     * overflow方法 - 当第index项超出long的范围时返回这一项，否则返回null。当不存在这一项时，会抛出IndexOutOfBoundsException。
+     */
+    private synchronized BigInteger overflow(int index) {
+        if(index < 0 || available(index) <= index) {
+            throw new IndexOutOfBoundsException("index " + index + ", length " + size);
+        }
+        return bigTerms == null ? null : bigTerms[index];
+    }
+
+    private void push(Convergents convergents, int index) {
+        BigInteger big = overflow(index);
+        if(big == null) {
+            convergents.push(term(index));
+        } else {
+            convergents.push(big);
+        }
+    }
+
+    /**
+     * compareTail方法 - 比较从第start项开始的连分数 [a_start; a_start+1, ...] 与正分数 p/q 的大小。
+     * <p>没有第start项时视为无穷大；q为0时 p/q 视为无穷大。</p>
+     */
+    private int compareTail(int start, long p, long q) {
+        int sign = 1;
+        for(int i = start; ; i++) {
+            boolean exists = hasTerm(i);
+            if(q == 0) {
+                return exists ? -sign : 0;
+            } else if(!exists) {
+                return sign;
+            }
+            long f = p / q;
+            if(overflow(i) != null) {
+                return sign;
+            }
+            long a = term(i);
+            if(a != f) {
+                return a > f ? sign : -sign;
+            }
+            long r = p - f * q;
+            p = q;
+            q = r;
+            sign = -sign;
+        }
+    }
+
+    private static void checkTerms(long[] terms, int from) {
+        for(int i = from; i < terms.length; i++) {
+            if(terms[i] <= 0) {
+                throw new UnexpectValueException("连分数除第一项以外的各项都必须是正数。");
+            }
+        }
+    }
+
+    /**
+     * Convergents类 - 按项递推渐近分数 h/k，超出long的范围后改用BigInteger。
+     */
+    private static final class Convergents {
+        private long h = 1;
+        private long k = 0;
+        private long h1 = 0;
+        private long k1 = 1;
+        private BigInteger bigH;
+        private BigInteger bigK;
+        private BigInteger bigH1;
+        private BigInteger bigK1;
+
+        void push(long a) {
+            if(bigH == null) {
+                try {
+                    long h0 = Math.addExact(Math.multiplyExact(a, h), h1);
+                    long k0 = Math.addExact(Math.multiplyExact(a, k), k1);
+                    h1 = h;
+                    k1 = k;
+                    h = h0;
+                    k = k0;
+                    return;
+                } catch(ArithmeticException e) {
+                    // 超出long的范围，使用BigInteger计算
+                }
+            }
+            push(BigInteger.valueOf(a));
+        }
+
+        void push(BigInteger a) {
+            if(bigH == null) {
+                bigH = BigInteger.valueOf(h);
+                bigK = BigInteger.valueOf(k);
+                bigH1 = BigInteger.valueOf(h1);
+                bigK1 = BigInteger.valueOf(k1);
+            }
+            BigInteger h0 = a.multiply(bigH).add(bigH1);
+            BigInteger k0 = a.multiply(bigK).add(bigK1);
+            bigH1 = bigH;
+            bigK1 = bigK;
+            bigH = h0;
+            bigK = k0;
+        }
+
+        /**
+         * denominator和previousDenominator方法 - 当前和前一个渐近分数的分母，只在分母没有超出long时调用。
+         */
+        long denominator() {
+            return bigK == null ? k : bigK.longValue();
+        }
+
+        long previousDenominator() {
+            return bigK1 == null ? k1 : bigK1.longValue();
+        }
+
+        boolean fitsInt() {
+            return bigH == null && h == (int) h && k == (int) k;
+        }
+
+        HybridFraction value() {
+            if(bigH == null && h != Long.MIN_VALUE) {
+                return HybridFraction.ofReduced(h, k);
+            }
+            BigInteger n = bigH == null ? BigInteger.valueOf(h) : bigH;
+            BigInteger d = bigK == null ? BigInteger.valueOf(k) : bigK;
+            return HybridFraction.valueOf(BigFraction.valueOf(n, d));
+        }
+
+        /**
+         * combine方法 - 计算中间分数 (j * h + h1) / (j * k + k1)。
+         */
+        HybridFraction combine(long j) {
+            if(bigH == null) {
+                try {
+                    long n = Math.addExact(Math.multiplyExact(j, h), h1);
+                    long d = Math.addExact(Math.multiplyExact(j, k), k1);
+                    if(n != Long.MIN_VALUE) {
+                        return HybridFraction.ofReduced(n, d);
+                    }
+                } catch(ArithmeticException e) {
+                    // 超出long的范围，使用BigInteger计算
+                }
+            }
+            BigInteger big = BigInteger.valueOf(j);
+            BigInteger n = big.multiply(bigH == null ? BigInteger.valueOf(h) : bigH).add(bigH1 == null ? BigInteger.valueOf(h1) : bigH1);
+            BigInteger d = big.multiply(bigK == null ? BigInteger.valueOf(k) : bigK).add(bigK1 == null ? BigInteger.valueOf(k1) : bigK1);
+            return HybridFraction.valueOf(BigFraction.valueOf(n, d));
+        }
+    }
+
+    /**
+     * Source类 - 连分数各项的来源。next方法把下一项写入term（超出long时写入bigTerm）并返回true，没有更多的项时返回false。
+     * <p>merge为true时，来源产生的最后一项可能是1，需要合并到前一项中。</p>
+     */
+    private abstract static class Source {
+        long term;
+        BigInteger bigTerm;
+        boolean merge;
+
+        void set(BigInteger value) {
+            if(value.bitLength() < 64) {
+                term = value.longValue();
+            } else {
+                term = 0;
+                bigTerm = value;
+            }
+        }
+
+        abstract boolean next();
+    }
+
+    /**
+     * RationalSource类 - 对long分子和分母辗转相除。
+     */
+    private static final class RationalSource extends Source {
+        private long p;
+        private long q;
+
+        RationalSource(long p, long q) {
+            this.p = p;
+            this.q = q;
+        }
+
+        @Override
+        boolean next() {
+            if(q == 0) {
+                return false;
+            }
+            term = Math.floorDiv(p, q);
+            long r = Math.floorMod(p, q);
+            p = q;
+            q = r;
+            return true;
+        }
+    }
+
+    /**
+     * BigRationalSource类 - 对BigInteger分子和分母辗转相除。
+     */
+    private static final class BigRationalSource extends Source {
+        private BigInteger p;
+        private BigInteger q;
+
+        BigRationalSource(BigInteger p, BigInteger q) {
+            this.p = p;
+            this.q = q;
+        }
+
+        @Override
+        boolean next() {
+            if(q.signum() == 0) {
+                return false;
+            }
+            BigInteger[] parts = p.divideAndRemainder(q);
+            if(parts[1].signum() < 0) {
+                parts[0] = parts[0].subtract(BigInteger.ONE);
+                parts[1] = parts[1].add(q);
+            }
+            set(parts[0]);
+            p = q;
+            q = parts[1];
+            return true;
+        }
+    }
+
+    /**
+     * ArraySource类 - 依次产生prefix中的项，之后无限地重复period（period为null时结束）。
+     */
+    private static final class ArraySource extends Source {
+        private final long[] prefix;
+        private final long[] period;
+        private long index;
+
+        ArraySource(long[] prefix, long[] period) {
+            this.prefix = prefix;
+            this.period = period;
+        }
+
+        @Override
+        boolean next() {
+            if(index < prefix.length) {
+                term = prefix[(int) index++];
+                return true;
+            } else if(period == null) {
+                return false;
+            }
+            term = period[(int) ((index++ - prefix.length) % period.length)];
+            return true;
+        }
+    }
+
+    /**
+     * SqrtSource类 - 使用 m' = d*a - m、d' = (n - m'^2) / d、a' = (root + m') / d' 产生 sqrt(n) 的各项，全部在long的范围内。
+     */
+    private static final class SqrtSource extends Source {
+        private final long n;
+        private final long root;
+        private long m;
+        private long d = 1;
+        private long a;
+
+        SqrtSource(long n, long root) {
+            this.n = n;
+            this.root = root;
+        }
+
+        @Override
+        boolean next() {
+            if(a == 0) {
+                a = root;
+            } else {
+                m = d * a - m;
+                d = (n - m * m) / d;
+                a = (root + m) / d;
+            }
+            term = a;
+            return true;
+        }
+    }
+
+    /**
+     * GosperSource类 - 使用Gosper算法计算 z = (axy + bx + cy + d) / (exy + fx + gy + h)。
+     * <p>
+     * 读入x和y的第一项之后，剩下的完全商都在[1, +∞]中，z在这个范围内的取值介于四个角上的值之间。
+     * 四个角的值的整数部分都相同时就可以输出这一项，否则读入造成差距的那个输入的下一项。输入没有更多的项时视为+∞，
+     * 此时把系数改写为与这个输入无关的形式。系数在long的范围内时只使用long运算，溢出后改用BigInteger。
+     * </p>
+     */
+    private static final class GosperSource extends Source {
+        private final ContinuedFraction x;
+        private final ContinuedFraction y;
+        private int xIndex;
+        private int yIndex;
+        private boolean xDone;
+        private boolean yDone;
+        private long a;
+        private long b;
+        private long c;
+        private long d;
+        private long e;
+        private long f;
+        private long g;
+        private long h;
+
+        /**
+         * bigA到bigH属性 - 系数超出long的范围后所使用的BigInteger系数，在此之前为null。
+         */
+        private BigInteger bigA;
+        private BigInteger bigB;
+        private BigInteger bigC;
+        private BigInteger bigD;
+        private BigInteger bigE;
+        private BigInteger bigF;
+        private BigInteger bigG;
+        private BigInteger bigH;
+
+        GosperSource(ContinuedFraction x, ContinuedFraction y, long a, long b, long c, long d, long e, long f, long g, long h) {
+            this.x = x;
+            this.y = y;
+            this.merge = true;
+            this.a = a;
+            this.b = b;
+            this.c = c;
+            this.d = d;
+            this.e = e;
+            this.f = f;
+            this.g = g;
+            this.h = h;
+        }
+
+        @Override
+        boolean next() {
+            for(int inputs = 0; ; inputs++) {
+                if(bigA == null) {
+                    try {
+                        if(e == 0 && f == 0 && g == 0 && h == 0) {
+                            return false;
+                        } else if(xIndex > 0 && yIndex > 0 && egestSmall()) {
+                            return true;
+                        }
+                    } catch(ArithmeticException ex) {
+                        promote();
+                    }
+                }
+                if(bigA != null) {
+                    if(bigE.signum() == 0 && bigF.signum() == 0 && bigG.signum() == 0 && bigH.signum() == 0) {
+                        return false;
+                    } else if(xIndex > 0 && yIndex > 0 && egestBig()) {
+                        return true;
+                    }
+                }
+                if(inputs >= MAX_INPUT_TERMS) {
+                    throw new ArithmeticException("读入" + MAX_INPUT_TERMS + "项后仍无法确定下一项，结果可能是有理数。");
+                }
+                read(chooseX());
+            }
+        }
+
+        /**
+         * egestSmall方法 - 当四个角的分母同号并且值的整数部分都相同时输出这个整数部分并返回true。溢出时会抛出ArithmeticException，系数保持不变。
+         */
+        private boolean egestSmall() {
+            long ab = Math.addExact(a, b);
+            long ef = Math.addExact(e, f);
+            long ac = Math.addExact(a, c);
+            long eg = Math.addExact(e, g);
+            long all = Math.addExact(Math.addExact(ab, c), d);
+            long allDen = Math.addExact(Math.addExact(ef, g), h);
+            int sign = Long.signum(e);
+            if(sign == 0 || Long.signum(ef) != sign || Long.signum(eg) != sign || Long.signum(allDen) != sign) {
+                return false;
+            }
+            long t = floorDiv(a, e);
+            if(t != floorDiv(ab, ef) || t != floorDiv(ac, eg) || t != floorDiv(all, allDen)) {
+                return false;
+            }
+            long e0 = Math.subtractExact(a, Math.multiplyExact(t, e));
+            long f0 = Math.subtractExact(b, Math.multiplyExact(t, f));
+            long g0 = Math.subtractExact(c, Math.multiplyExact(t, g));
+            long h0 = Math.subtractExact(d, Math.multiplyExact(t, h));
+            a = e;
+            b = f;
+            c = g;
+            d = h;
+            e = e0;
+            f = f0;
+            g = g0;
+            h = h0;
+            term = t;
+            return true;
+        }
+
+        private boolean egestBig() {
+            BigInteger ab = bigA.add(bigB);
+            BigInteger ef = bigE.add(bigF);
+            BigInteger ac = bigA.add(bigC);
+            BigInteger eg = bigE.add(bigG);
+            BigInteger all = ab.add(bigC).add(bigD);
+            BigInteger allDen = ef.add(bigG).add(bigH);
+            int sign = bigE.signum();
+            if(sign == 0 || ef.signum() != sign || eg.signum() != sign || allDen.signum() != sign) {
+                return false;
+            }
+            BigInteger t = floorDiv(bigA, bigE);
+            if(!t.equals(floorDiv(ab, ef)) || !t.equals(floorDiv(ac, eg)) || !t.equals(floorDiv(all, allDen))) {
+                return false;
+            }
+            BigInteger e0 = bigA.subtract(t.multiply(bigE));
+            BigInteger f0 = bigB.subtract(t.multiply(bigF));
+            BigInteger g0 = bigC.subtract(t.multiply(bigG));
+            BigInteger h0 = bigD.subtract(t.multiply(bigH));
+            bigA = bigE;
+            bigB = bigF;
+            bigC = bigG;
+            bigD = bigH;
+            bigE = e0;
+            bigF = f0;
+            bigG = g0;
+            bigH = h0;
+            set(t);
+            return true;
+        }
+
+        /**
+         * chooseX方法 - 判断下一步应该读入x还是y。
+         * <p>x固定在1或+∞时，沿y方向的两条边上的值如果不能确定整数部分，说明y造成了差距，反之亦然。读入造成差距的边更多的那个输入，一样多时读入已读项数较少的那个。</p>
+         */
+        private boolean chooseX() {
+            if(xDone) {
+                return false;
+            } else if(yDone || xIndex == 0) {
+                return true;
+            } else if(yIndex == 0) {
+                return false;
+            }
+            int xSpread;
+            int ySpread;
+            if(bigA == null) {
+                try {
+                    long ab = Math.addExact(a, b);
+                    long ef = Math.addExact(e, f);
+                    long ac = Math.addExact(a, c);
+                    long eg = Math.addExact(e, g);
+                    long all = Math.addExact(Math.addExact(ab, c), d);
+                    long allDen = Math.addExact(Math.addExact(ef, g), h);
+                    xSpread = spread(a, e, ac, eg) + spread(ab, ef, all, allDen);
+                    ySpread = spread(a, e, ab, ef) + spread(ac, eg, all, allDen);
+                    return xSpread > ySpread || (xSpread == ySpread && xIndex <= yIndex);
+                } catch(ArithmeticException ex) {
+                    promote();
+                }
+            }
+            BigInteger ab = bigA.add(bigB);
+            BigInteger ef = bigE.add(bigF);
+            BigInteger ac = bigA.add(bigC);
+            BigInteger eg = bigE.add(bigG);
+            BigInteger all = ab.add(bigC).add(bigD);
+            BigInteger allDen = ef.add(bigG).add(bigH);
+            xSpread = spread(bigA, bigE, ac, eg) + spread(ab, ef, all, allDen);
+            ySpread = spread(bigA, bigE, ab, ef) + spread(ac, eg, all, allDen);
+            return xSpread > ySpread || (xSpread == ySpread && xIndex <= yIndex);
+        }
+
+        /**
+         * read方法 - 读入x（fromX为true时）或y的下一项。没有更多的项时把对应的输入视为+∞。
+         */
+        private void read(boolean fromX) {
+            ContinuedFraction input = fromX ? x : y;
+            int index = fromX ? xIndex : yIndex;
+            if(!input.hasTerm(index)) {
+                exhaust(fromX);
+                return;
+            }
+            BigInteger overflow = input.overflow(index);
+            if(fromX) {
+                xIndex++;
+            } else {
+                yIndex++;
+            }
+            if(bigA == null && overflow == null) {
+                try {
+                    readSmall(fromX, input.term(index));
+                    return;
+                } catch(ArithmeticException ex) {
+                    // 超出long的范围，使用BigInteger计算
+                }
+            }
+            if(bigA == null) {
+                promote();
+            }
+            readBig(fromX, overflow == null ? BigInteger.valueOf(input.term(index)) : overflow);
+        }
+
+        private void readSmall(boolean fromX, long p) {
+            if(fromX) {
+                // x = p + 1/x'
+                long a0 = Math.addExact(Math.multiplyExact(a, p), c);
+                long b0 = Math.addExact(Math.multiplyExact(b, p), d);
+                long e0 = Math.addExact(Math.multiplyExact(e, p), g);
+                long f0 = Math.addExact(Math.multiplyExact(f, p), h);
+                c = a;
+                d = b;
+                g = e;
+                h = f;
+                a = a0;
+                b = b0;
+                e = e0;
+                f = f0;
+            } else {
+                // y = p + 1/y'
+                long a0 = Math.addExact(Math.multiplyExact(a, p), b);
+                long c0 = Math.addExact(Math.multiplyExact(c, p), d);
+                long e0 = Math.addExact(Math.multiplyExact(e, p), f);
+                long g0 = Math.addExact(Math.multiplyExact(g, p), h);
+                b = a;
+                d = c;
+                f = e;
+                h = g;
+                a = a0;
+                c = c0;
+                e = e0;
+                g = g0;
+            }
+        }
+
+        private void readBig(boolean fromX, BigInteger p) {
+            if(fromX) {
+                BigInteger a0 = bigA.multiply(p).add(bigC);
+                BigInteger b0 = bigB.multiply(p).add(bigD);
+                BigInteger e0 = bigE.multiply(p).add(bigG);
+                BigInteger f0 = bigF.multiply(p).add(bigH);
+                bigC = bigA;
+                bigD = bigB;
+                bigG = bigE;
+                bigH = bigF;
+                bigA = a0;
+                bigB = b0;
+                bigE = e0;
+                bigF = f0;
+            } else {
+                BigInteger a0 = bigA.multiply(p).add(bigB);
+                BigInteger c0 = bigC.multiply(p).add(bigD);
+                BigInteger e0 = bigE.multiply(p).add(bigF);
+                BigInteger g0 = bigG.multiply(p).add(bigH);
+                bigB = bigA;
+                bigD = bigC;
+                bigF = bigE;
+                bigH = bigG;
+                bigA = a0;
+                bigC = c0;
+                bigE = e0;
+                bigG = g0;
+            }
+        }
+
+        private void exhaust(boolean fromX) {
+            if(fromX) {
+                // x = +∞，z = (ay + b) / (ey + f)
+                xDone = true;
+                c = a;
+                d = b;
+                g = e;
+                h = f;
+                bigC = bigA;
+                bigD = bigB;
+                bigG = bigE;
+                bigH = bigF;
+            } else {
+                // y = +∞，z = (ax + c) / (ex + g)
+                yDone = true;
+                b = a;
+                d = c;
+                f = e;
+                h = g;
+                bigB = bigA;
+                bigD = bigC;
+                bigF = bigE;
+                bigH = bigG;
+            }
+        }
+
+        private void promote() {
+            bigA = BigInteger.valueOf(a);
+            bigB = BigInteger.valueOf(b);
+            bigC = BigInteger.valueOf(c);
+            bigD = BigInteger.valueOf(d);
+            bigE = BigInteger.valueOf(e);
+            bigF = BigInteger.valueOf(f);
+            bigG = BigInteger.valueOf(g);
+            bigH = BigInteger.valueOf(h);
+        }
+
+        /**
+         * spread方法 - 一条边两端的值 n1/d1 和 n2/d2 的整数部分相同（或者是同号的无穷大）时返回0，否则返回1。
+         */
+        private static int spread(long n1, long d1, long n2, long d2) {
+            if(d1 == 0 || d2 == 0) {
+                return d1 == 0 && d2 == 0 && Long.signum(n1) == Long.signum(n2) ? 0 : 1;
+            }
+            return Long.signum(d1) == Long.signum(d2) && floorDiv(n1, d1) == floorDiv(n2, d2) ? 0 : 1;
+        }
+
+        private static int spread(BigInteger n1, BigInteger d1, BigInteger n2, BigInteger d2) {
+            if(d1.signum() == 0 || d2.signum() == 0) {
+                return d1.signum() == 0 && d2.signum() == 0 && n1.signum() == n2.signum() ? 0 : 1;
+            }
+            return d1.signum() == d2.signum() && floorDiv(n1, d1).equals(floorDiv(n2, d2)) ? 0 : 1;
+        }
+
+        private static long floorDiv(long n, long d) {
+            if(n == Long.MIN_VALUE && d == -1) {
+                throw new ArithmeticException("long overflow");
+            }
+            return Math.floorDiv(n, d);
+        }
+
+        private static BigInteger floorDiv(BigInteger n, BigInteger d) {
+            BigInteger[] parts = n.divideAndRemainder(d);
+            if(parts[1].signum() != 0 && parts[1].signum() != d.signum()) {
+                return parts[0].subtract(BigInteger.ONE);
+            }
+            return parts[0];
+        }
+    }
+}
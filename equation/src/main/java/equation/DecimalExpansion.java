@@ -0,0 +1,300 @@
+package equation;
+
+import java.math.BigInteger;
+
+/**
+ * DecimalExpansion - 分数的十进制展开，逐位产生小数部分的数字。
+ * <p>
+ * 每个分数的十进制展开要么是有限小数，要么从某一位开始无限循环，例如 1/6 = 0.1666...，循环节是6。
+ * DecimalExpansion使用长除法逐位产生数字，每一位只需要一次乘法和一次除法，不会预先计算整个展开，也不需要保存已经出现过的余数：
+ * 设分母为 2^a * 5^b * m（m与10互质），则不循环部分的长度是max(a, b)，之后余数每隔固定的步数就会回到进入循环时的余数，
+ * 因此只需要记住一个余数就能发现循环节。分母在long的范围内时只使用long运算，否则使用BigInteger。
+ * </p>
+ * <p>DecimalExpansion不是线程安全的，也不会修改传入的数。</p>
+ * <blockquote><pre>
+DecimalExpansion expansion = new DecimalExpansion(new Fraction(1, 6));
+expansion.getIntegerPart(); // 0
+expansion.nextDigit(); // 1
+expansion.nextDigit(); // 6
+expansion.getPrefixLength(); // 1
+expansion.getCycleLength(); // 1
+expansion.toString(); // 0.1(6)
+new DecimalExpansion(new Fraction(-22, 7)).toString(); // -3.(142857)
+new DecimalExpansion(new Fraction(1, 8)).toString(); // 0.125
+ * </pre></blockquote>
+ * @see equation.FractionFormat
+ */
+public final class DecimalExpansion {
+    /**
+     * DEFAULT_MAX_DIGITS常量 - toString方法最多写出的小数位数。
+     */
+    public static final int DEFAULT_MAX_DIGITS = 1000;
+
+    private static final BigInteger FIVE = BigInteger.valueOf(5);
+
+    private final boolean negative;
+    private final BigInteger integerPart;
+    private final int prefixLength;
+    private final boolean small;
+
+    /**
+     * remainder和denominator属性 - 长除法的当前余数和分母，只在small为true时有效。
+     */
+    private final long denominator;
+    private long remainder;
+
+    /**
+     * bigRemainder和bigDenominator属性 - 分母超出long时所使用的余数和分母，只在small为false时有效。
+     */
+    private final BigInteger bigDenominator;
+    private BigInteger bigRemainder;
+
+    /**
+     * startRemainder和startBigRemainder属性 - 展开开始时的余数，用于求循环节的长度。
+     */
+    private final long startRemainder;
+    private final BigInteger startBigRemainder;
+
+    private long position;
+    private long cycleLength = -1;
+
+    /**
+     * DecimalExpansion - 创建num的十进制展开。当传入的类型无法识别时，会抛出UnexpectValueException。
+     * @param num - Number - 需要展开的数
+     */
+    public DecimalExpansion(Number num) {
+        super();
+        HybridFraction value = HybridFraction.valueOf(num);
+        BigInteger n;
+        BigInteger d;
+        if(value.big == null) {
+            n = BigInteger.valueOf(value.numerator);
+            d = BigInteger.valueOf(value.denominator);
+        } else {
+            n = value.big.getNumerator();
+            d = value.big.getDenominator();
+        }
+        negative = n.signum() < 0;
+        BigInteger[] parts = n.abs().divideAndRemainder(d);
+        integerPart = parts[0];
+        int twos = d.getLowestSetBit();
+        int fives = 0;
+        BigInteger rest = d;
+        while(true) {
+            BigInteger[] division = rest.divideAndRemainder(FIVE);
+            if(division[1].signum() != 0) {
+                break;
+            }
+            rest = division[0];
+            fives++;
+        }
+        prefixLength = Math.max(twos, fives);
+        // 余数乘以10之后仍然要能放进long
+        small = d.bitLength() <= 59;
+        if(small) {
+            denominator = d.longValue();
+            remainder = parts[1].longValue();
+            bigDenominator = null;
+            bigRemainder = null;
+        } else {
+            denominator = 0;
+            remainder = 0;
+            bigDenominator = d;
+            bigRemainder = parts[1];
+        }
+        startRemainder = remainder;
+        startBigRemainder = bigRemainder;
+        if(rest.shiftRight(rest.getLowestSetBit()).equals(BigInteger.ONE)) {
+            // 分母只含有因数2和5，展开是有限小数
+            cycleLength = 0;
+        }
+    }
+
+    /**
+     * isNegative方法 - 判断展开的数是否是负数。
+     * @return boolean - 是否是负数
+     */
+    public boolean isNegative() {
+        return negative;
+    }
+
+    /**
+     * getIntegerPart方法 - 返回整数部分的绝对值，例如 -22/7 的整数部分是3。
+     * @return BigInteger - 整数部分的绝对值
+     */
+    public BigInteger getIntegerPart() {
+        return integerPart;
+    }
+
+    /**
+     * hasNextDigit方法 - 判断是否还有不为0的数字。有限小数的最后一位之后返回false，循环小数永远返回true。
+     * @return boolean - 是否还有数字
+     */
+    public boolean hasNextDigit() {
+        return small ? remainder != 0 : bigRemainder.signum() != 0;
+    }
+
+    /**
+     * nextDigit方法 - 返回小数部分的下一位数字。有限小数的所有数字都产生之后返回-1。
+     * @return int - 0到9之间的数字，或者-1
+     */
+    public int nextDigit() {
+        int digit;
+        if(small) {
+            if(remainder == 0) {
+                return -1;
+            }
+            long scaled = remainder * 10;
+            digit = (int) (scaled / denominator);
+            remainder = scaled - digit * denominator;
+        } else {
+            if(bigRemainder.signum() == 0) {
+                return -1;
+            }
+            BigInteger[] division = bigRemainder.multiply(BigInteger.TEN).divideAndRemainder(bigDenominator);
+            digit = division[0].intValue();
+            bigRemainder = division[1];
+        }
+        position++;
+        return digit;
+    }
+
+    /**
+     * getPosition方法 - 返回已经产生的数字个数。
+     * @return long - 已经产生的数字个数
+     */
+    public long getPosition() {
+        return position;
+    }
+
+    /**
+     * isTerminating方法 - 判断展开是否是有限小数，即分母是否只含有因数2和5。
+     * @return boolean - 是否是有限小数
+     */
+    public boolean isTerminating() {
+        return cycleLength == 0;
+    }
+
+    /**
+     * getPrefixLength方法 - 返回循环节之前的小数位数（有限小数时就是小数的位数），例如 1/6 = 0.1(6) 返回1。
+     * @return int - 不循环部分的位数
+     */
+    public int getPrefixLength() {
+        return prefixLength;
+    }
+
+    /**
+     * getCycleLength方法 - 返回循环节的长度，有限小数返回0。
+     * <p>
+     * 第一次调用时从进入循环时的余数开始做长除法，直到余数再次出现，结果会被缓存，不会影响nextDigit的位置。
+     * 循环节的长度可能和分母一样大（例如 1/7 的循环节长度是6），分母很大时这需要很长的时间；
+     * 只需要知道循环节是否不超过某个长度时，请使用{@link equation.DecimalExpansion#getCycleLength(long)}。
+     * </p>
+     * @return long - 循环节的长度
+     */
+    public long getCycleLength() {
+        return getCycleLength(Long.MAX_VALUE);
+    }
+
+    /**
+     * getCycleLength方法 - 返回循环节的长度；当循环节比limit长时，最多做limit步长除法后返回-1。
+     * @param limit - long - 最多尝试的步数
+     * @return long - 循环节的长度，有限小数返回0，超过limit时返回-1
+     */
+    public long getCycleLength(long limit) {
+        if(cycleLength >= 0) {
+            return cycleLength;
+        }
+        long length = 0;
+        if(small) {
+            long start = startRemainder;
+            for(int i = 0; i < prefixLength; i++) {
+                start = start * 10 % denominator;
+            }
+            long current = start;
+            do {
+                if(length == limit) {
+                    return -1;
+                }
+                current = current * 10 % denominator;
+                length++;
+            } while(current != start);
+        } else {
+            BigInteger start = startBigRemainder;
+            for(int i = 0; i < prefixLength; i++) {
+                start = start.multiply(BigInteger.TEN).mod(bigDenominator);
+            }
+            BigInteger current = start;
+            do {
+                if(length == limit) {
+                    return -1;
+                }
+                current = current.multiply(BigInteger.TEN).mod(bigDenominator);
+                length++;
+            } while(!current.equals(start));
+        }
+        cycleLength = length;
+        return length;
+    }
+
+    /**
+     * toString方法 - 返回完整的十进制展开，循环节写在括号中，最多写出{@link equation.DecimalExpansion#DEFAULT_MAX_DIGITS}位小数。
+     * @return String - 转化后的字符串
+     * @see equation.DecimalExpansion#toString(int)
+     */
+    public String toString() {
+        return toString(DEFAULT_MAX_DIGITS);
+    }
+
+    /**
+     * toString方法 - 返回十进制展开，循环节写在括号中，例如 0.1(6)，写出的文本可以被{@link equation.FractionFormat#parse(CharSequence)}解析。
+     * <p>当不循环部分与循环节的总长度超过maxDigits时，只写出前maxDigits位小数并以 "..." 结尾。该方法不会影响nextDigit的位置。</p>
+     * @param maxDigits - int - 最多写出的小数位数，不能是负数
+     * @return String - 转化后的字符串
+     */
+    public String toString(int maxDigits) {
+        if(maxDigits < 0) {
+            throw new UnexpectValueException("小数位数不能是负数。");
+        }
+        StringBuilder builder = new StringBuilder();
+        if(negative) {
+            builder.append('-');
+        }
+        builder.append(integerPart);
+        long cycle = getCycleLength(Math.max(0, maxDigits - prefixLength));
+        long total = cycle < 0 ? Long.MAX_VALUE : prefixLength + cycle;
+        if(total == 0) {
+            return builder.toString();
+        }
+        builder.append('.');
+        DecimalExpansion copy = new DecimalExpansion(this);
+        for(long i = 0; i < Math.min(total, maxDigits); i++) {
+            if(cycle > 0 && i == prefixLength) {
+                builder.append('(');
+            }
+            builder.append((char) ('0' + copy.nextDigit()));
+        }
+        if(total > maxDigits) {
+            return builder.append("...").toString();
+        }
+        return cycle > 0 ? builder.append(')').toString() : builder.toString();
+    }
+
+    /**
+     * DecimalExpansion - 复制一个从头开始的展开，只由toString方法使用。
+     */
+    private DecimalExpansion(DecimalExpansion other) {
+        super();
+        negative = other.negative;
+        integerPart = other.integerPart;
+        prefixLength = other.prefixLength;
+        small = other.small;
+        denominator = other.denominator;
+        bigDenominator = other.bigDenominator;
+        startRemainder = other.startRemainder;
+        startBigRemainder = other.startBigRemainder;
+        remainder = startRemainder;
+        bigRemainder = startBigRemainder;
+        cycleLength = other.cycleLength;
+    }
+}
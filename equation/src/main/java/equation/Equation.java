@@ -1,5 +1,12 @@
 package equation;
 
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collector;
+
 /**
  * Equation - 一个提供一些补充方法的辅助类。
  * <p>该类不能被实例化。它所拥有的全部都是静态方法。例如：</p>
@@ -10,6 +17,13 @@ Equation.add(new Fraction(1, 2), new Fraction(1, 3)); // 1/2 + 1/3 = 5/6
  * 大部分Number对象的方法在Equation对象中都有提供。
  */
 public class Equation {
+    /**
+     * DEFAULT_THRESHOLD常量 - 归约运算默认的顺序计算阈值。
+     * <p>当一段数据的长度不超过该值时，不再拆分成新的fork-join任务，而是直接在当前线程内计算。</p>
+     * @see equation.Equation#sum(Collection, int)
+     */
+    public static final int DEFAULT_THRESHOLD = 1024;
+
     /**
      * Equation - 私有的构造函数。
      * <p>因为该类不应该被初始化，所以它的构造函数是私有的。
@@ -22,7 +36,7 @@ public class Equation {
      * toFraction方法 - 将一个Number对象转换为Fraction。
      * <p>
      * 无论传入的参数是Number的哪个子类，该方法都能识别并转化为分数。如果想要将整数转化成分数，请使用重载的{@link equation.Equation#toFraction(int)}方法。
-     * 当传入的类型无法识别时，将会返回null。
+     * 当传入的类型无法识别时（包括RationalInterval），将会返回null；当传入的BigFraction、HybridFraction或FixedFraction超出int的范围时，会抛出ArithmeticException。比较大小和判断相等时不会经过该方法，因此不会因为超出int的范围而抛出异常。
      * </p>
      * <blockquote><pre>
 Equation.toFraction(new Fraction(1, 2)); // 1/2
@@ -36,6 +50,46 @@ Equation.toFraction(new Fraction(1, 2)); // 1/2
         } else if (num instanceof AbstractRationalNumber) {
             AbstractRationalNumber rational = (AbstractRationalNumber) num;
             return new Fraction(rational.getNumerator(), rational.getDenominator());
+        } else if (num instanceof Rational) {
+            Rational rational = (Rational) num;
+            return new Fraction(rational.getNumerator(), rational.getDenominator());
+        } else if (num instanceof FixedFraction) {
+            return ((FixedFraction) num).toFraction();
+        } else if (num instanceof BigFraction || num instanceof HybridFraction || num instanceof LazyNumber) {
+            BigFraction big = toBigFraction(num);
+            return new Fraction(big.getNumerator().intValueExact(), big.getDenominator().intValueExact());
+        }
+        return null;
+    }
+
+    /**
+     * toBigFraction方法 - 将一个Number对象转换为BigFraction。
+     * <p>
+     * 与{@link equation.Equation#toFraction(Number)}相同，无论传入的参数是Number的哪个子类，该方法都能识别并转化为任意精度的分数，转化结果永远是精确的。
+     * 当传入的类型无法识别时，将会返回null。{@link equation.RationalInterval}表示一个范围而不是一个精确的数，同样返回null。
+     * </p>
+     * <blockquote><pre>
+Equation.toBigFraction(new Fraction(2, 4)); // 1/2
+     * </pre></blockquote>
+     * @param num - Number - 需要转化的数
+     * @return BigFraction - 转化后的分数
+     * @see equation.BigFraction#valueOf(Number)
+     */
+    public static BigFraction toBigFraction(Number num) {
+        if(num instanceof BigFraction) {
+            return (BigFraction) num;
+        } else if (num instanceof HybridFraction) {
+            return ((HybridFraction) num).toBigFraction();
+        } else if (num instanceof AbstractRationalNumber) {
+            AbstractRationalNumber rational = (AbstractRationalNumber) num;
+            return BigFraction.valueOf(rational.getNumerator(), rational.getDenominator());
+        } else if (num instanceof Rational) {
+            Rational rational = (Rational) num;
+            return BigFraction.valueOf(rational.getNumerator(), rational.getDenominator());
+        } else if (num instanceof FixedFraction) {
+            return ((FixedFraction) num).toBigFraction();
+        } else if (num instanceof LazyNumber) {
+            return ((LazyNumber) num).evaluate().toBigFraction();
         }
         return null;
     }
@@ -88,6 +142,19 @@ Fraction result = (Fraction) (Equation.add(num1, num2)); // 1/2 + 1/3 = 5/6
         return num1.add(num2);
     }
 
+    /**
+     * add方法 - 使用缓存将两个Number对象相加。
+     * <p>当cache为null时，与{@link equation.Equation#add(Number, Number)}完全相同，因此可以在同一个调用点上切换是否使用缓存。</p>
+     * @param num1 - Number - 需要相加的数
+     * @param num2 - Number - 需要相加的数
+     * @param cache - OperationCache - 使用的缓存，可以为null
+     * @return Number - 两个数相加的结果
+     * @see equation.OperationCache#add(Number, Number)
+     */
+    public static Number add(Number num1, Number num2, OperationCache cache) {
+        return cache == null ? num1.add(num2) : cache.add(num1, num2);
+    }
+
     /**
      * sub方法 - 将两个Number对象相减。
      * <p>您可以直接使用该方法，或者也可以使用Number对象内置的sub方法。</p>
@@ -105,6 +172,19 @@ Fraction result = (Fraction) (Equation.sub(num1, num2)); // 1/2 - 1/3 = 1/6
         return num1.sub(num2);
     }
 
+    /**
+     * sub方法 - 使用缓存将两个Number对象相减。
+     * <p>当cache为null时，与{@link equation.Equation#sub(Number, Number)}完全相同，因此可以在同一个调用点上切换是否使用缓存。</p>
+     * @param num1 - Number - 被减数
+     * @param num2 - Number - 减数
+     * @param cache - OperationCache - 使用的缓存，可以为null
+     * @return Number - 两个数相减的结果
+     * @see equation.OperationCache#sub(Number, Number)
+     */
+    public static Number sub(Number num1, Number num2, OperationCache cache) {
+        return cache == null ? num1.sub(num2) : cache.sub(num1, num2);
+    }
+
     /**
      * mult方法 - 将两个Number对象相乘。
      * <p>您可以直接使用该方法，或者也可以使用Number对象内置的mult方法。</p>
@@ -122,6 +202,19 @@ Fraction result = (Fraction) (Equation.mult(num1, num2)); // 1/2 * 1/3 = 1/6
         return num1.mult(num2);
     }
 
+    /**
+     * mult方法 - 使用缓存将两个Number对象相乘。
+     * <p>当cache为null时，与{@link equation.Equation#mult(Number, Number)}完全相同，因此可以在同一个调用点上切换是否使用缓存。</p>
+     * @param num1 - Number - 需要相乘的数
+     * @param num2 - Number - 需要相乘的数
+     * @param cache - OperationCache - 使用的缓存，可以为null
+     * @return Number - 两个数相乘的结果
+     * @see equation.OperationCache#mult(Number, Number)
+     */
+    public static Number mult(Number num1, Number num2, OperationCache cache) {
+        return cache == null ? num1.mult(num2) : cache.mult(num1, num2);
+    }
+
     /**
      * div方法 - 将两个Number对象相除。
      * <p>您可以直接使用该方法，或者也可以使用Number对象内置的div方法。</p>
@@ -139,6 +232,19 @@ Fraction result = (Fraction) (Equation.div(num1, num2)); // 1/2 / 1/3 = 3/2
         return num1.div(num2);
     }
 
+    /**
+     * div方法 - 使用缓存将两个Number对象相除。
+     * <p>当cache为null时，与{@link equation.Equation#div(Number, Number)}完全相同，因此可以在同一个调用点上切换是否使用缓存。</p>
+     * @param num1 - Number - 被除数
+     * @param num2 - Number - 除数
+     * @param cache - OperationCache - 使用的缓存，可以为null
+     * @return Number - 两个数相除的结果
+     * @see equation.OperationCache#div(Number, Number)
+     */
+    public static Number div(Number num1, Number num2, OperationCache cache) {
+        return cache == null ? num1.div(num2) : cache.div(num1, num2);
+    }
+
     /**
      * power方法 - 幂运算。
      * <p>您可以直接使用该方法，或者也可以使用Number对象内置的power方法。</p>
@@ -155,6 +261,107 @@ Fraction result = (Fraction) (Equation.power(num, 2));
         return num.power(index);
     }
 
+    /**
+     * power方法 - 使用缓存进行幂运算。
+     * <p>当cache为null时，与{@link equation.Equation#power(Number, int)}完全相同，因此可以在同一个调用点上切换是否使用缓存。</p>
+     * @param num - Number - 底数的大小
+     * @param index - int - 指数的大小
+     * @param cache - OperationCache - 使用的缓存，可以为null
+     * @return Number - 进行乘方运算后的结果
+     * @see equation.OperationCache#power(Number, int)
+     */
+    public static Number power(Number num, int index, OperationCache cache) {
+        return cache == null ? num.power(index) : cache.power(num, index);
+    }
+
+    /**
+     * compare方法 - 比较两个Number对象的大小。
+     * <p>当第一个数是AbstractRationalNumber时，会直接使用不创建任何对象的{@link equation.AbstractRationalNumber#compareTo(Number)}方法。</p>
+     * <blockquote><pre>
+Equation.compare(new Fraction(1, 2), new Fraction(1, 3)); // 1/2 > 1/3，返回正数
+Equation.compare(new Fraction(1, 2), new Fraction(2, 4)); // 1/2 = 2/4，返回0
+     * </pre></blockquote>
+     * @param num1 - Number - 第一个数
+     * @param num2 - Number - 第二个数
+     * @return int - 第一个数小于、等于、大于第二个数时分别返回负数、0、正数
+     * @see equation.AbstractRationalNumber#compareTo(Number)
+     */
+    public static int compare(Number num1, Number num2) {
+        if(num1 instanceof AbstractRationalNumber) {
+            return ((AbstractRationalNumber) num1).compareTo(num2);
+        }
+        if(num1.isGreaterThan(num2)) {
+            return 1;
+        } else if(num1.isLessThan(num2)) {
+            return -1;
+        }
+        return 0;
+    }
+
+    /**
+     * sort方法 - 将Number数组按从小到大的顺序原地排序。
+     * <p>
+     * 当所有元素都能放进long时，会先把它们复制到{@link equation.RationalVector}中，用{@link equation.RationalVector#order()}排序后再按顺序放回原来的对象，
+     * 整个过程中比较元素不会创建任何对象；否则使用{@link equation.Equation#compare(Number, Number)}作为比较器排序。排序是不稳定的。
+     * </p>
+     * <blockquote><pre>
+Number[] values = { new Fraction(3, 4), new Fraction(1, 3), new Fraction(1, 2) };
+Equation.sort(values); // [1/3, 1/2, 3/4]
+     * </pre></blockquote>
+     * @param values - Number[] - 需要排序的数组
+     * @see equation.RationalVector#sort()
+     */
+    public static void sort(Number[] values) {
+        RationalVector vector = new RationalVector(values.length);
+        for(int i = 0; i < values.length; i++) {
+            if(!RationalMath.load(values[i], vector.numerators, vector.denominators, i)) {
+                Arrays.sort(values, Equation::compare);
+                return;
+            }
+        }
+        int[] order = vector.order();
+        Number[] copy = values.clone();
+        for(int i = 0; i < values.length; i++) {
+            values[i] = copy[order[i]];
+        }
+    }
+
+    /**
+     * toDouble方法 - 将Number对象正确舍入为double类型。
+     * <p>您可以直接使用该方法，也可以使用Number对象内置的方法。</p>
+     * <blockquote><pre>
+Equation.toDouble(new Fraction(1, 2)); // 0.5
+Equation.toDouble(new Fraction(1, 3)); // 0.3333333333333333
+     * </pre></blockquote>
+     * @param num - Number - 需要转化的数
+     * @return double - 最接近num的double
+     * @see equation.Number#toDouble()
+     */
+    public static double toDouble(Number num) {
+        return num.toDouble();
+    }
+
+    /**
+     * toFloat方法 - 将Number对象正确舍入为float类型。
+     * @param num - Number - 需要转化的数
+     * @return float - 最接近num的float
+     * @see equation.Number#toFloat()
+     */
+    public static float toFloat(Number num) {
+        return num.toFloat();
+    }
+
+    /**
+     * toBigDecimal方法 - 将Number对象按照context的精度和舍入模式转化为BigDecimal。
+     * @param num - Number - 需要转化的数
+     * @param context - MathContext - 精度和舍入模式
+     * @return BigDecimal - 舍入后的结果
+     * @see equation.Number#toBigDecimal(MathContext)
+     */
+    public static BigDecimal toBigDecimal(Number num, MathContext context) {
+        return num.toBigDecimal(context);
+    }
+
     /**
      * reciprocalOf方法 - 返回所传入分数的倒数。
      * <p>您可以直接使用该方法，也可以使用Fraction对象内置的方法。<p>
@@ -170,4 +377,133 @@ Fraction result2 = Equation.reciprocolOf(frac); //这里运算的结果和上面
     public static Fraction reciprocolOf(Fraction frac) {
         return frac.reciprocalOf();
     }
+
+    /**
+     * sum方法 - 求一组Number对象的和。
+     * <p>使用默认的顺序计算阈值{@link equation.Equation#DEFAULT_THRESHOLD}，详见{@link equation.Equation#sum(Collection, int)}。</p>
+     * <blockquote><pre>
+Equation.sum(Arrays.asList(new Fraction(1, 2), new Fraction(1, 3), new Fraction(1, 6))); // 1/1
+     * </pre></blockquote>
+     * @param values - Collection&lt;? extends Number&gt; - 需要求和的数
+     * @return Number - 所有数的和，实际上是一个HybridFraction对象；集合为空时返回 0/1
+     */
+    public static Number sum(Collection<? extends Number> values) {
+        return sum(values, DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * sum方法 - 使用fork-join树形归约求一组Number对象的和。
+     * <p>
+     * 数据会被不断对半拆分，直到每一段的长度不超过threshold，各段在不同的线程中顺序求和，最后两两合并。
+     * 与从左到右依次调用{@link equation.Equation#add(Number, Number)}相比，这样既能利用所有CPU核心，又能让合并时两边的分母大小相近，避免中间分母不断膨胀。
+     * 运算结果永远是精确的。
+     * </p>
+     * @param values - Collection&lt;? extends Number&gt; - 需要求和的数
+     * @param threshold - int - 顺序计算阈值，必须是正数
+     * @return Number - 所有数的和，实际上是一个HybridFraction对象；集合为空时返回 0/1
+     */
+    public static Number sum(Collection<? extends Number> values, int threshold) {
+        Number[] array = values.toArray(new Number[0]);
+        return new ReductionTask(ReductionTask.SUM, array, null, 0, array.length, threshold).invoke();
+    }
+
+    /**
+     * product方法 - 求一组Number对象的积。
+     * <p>使用默认的顺序计算阈值{@link equation.Equation#DEFAULT_THRESHOLD}，详见{@link equation.Equation#product(Collection, int)}。</p>
+     * @param values - Collection&lt;? extends Number&gt; - 需要求积的数
+     * @return Number - 所有数的积，实际上是一个HybridFraction对象；集合为空时返回 1/1
+     */
+    public static Number product(Collection<? extends Number> values) {
+        return product(values, DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * product方法 - 使用fork-join树形归约求一组Number对象的积。
+     * @param values - Collection&lt;? extends Number&gt; - 需要求积的数
+     * @param threshold - int - 顺序计算阈值，必须是正数
+     * @return Number - 所有数的积，实际上是一个HybridFraction对象；集合为空时返回 1/1
+     * @see equation.Equation#sum(Collection, int)
+     */
+    public static Number product(Collection<? extends Number> values, int threshold) {
+        Number[] array = values.toArray(new Number[0]);
+        return new ReductionTask(ReductionTask.PRODUCT, array, null, 0, array.length, threshold).invoke();
+    }
+
+    /**
+     * dot方法 - 求两组Number对象的点积，即所有对应元素乘积的和。
+     * <p>使用默认的顺序计算阈值{@link equation.Equation#DEFAULT_THRESHOLD}，详见{@link equation.Equation#dot(List, List, int)}。</p>
+     * @param values1 - List&lt;? extends Number&gt; - 第一组数
+     * @param values2 - List&lt;? extends Number&gt; - 第二组数，长度必须与第一组相同
+     * @return Number - 点积，实际上是一个HybridFraction对象
+     */
+    public static Number dot(List<? extends Number> values1, List<? extends Number> values2) {
+        return dot(values1, values2, DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * dot方法 - 使用fork-join树形归约求两组Number对象的点积。当两组数的长度不同时，会抛出UnexpectValueException。
+     * @param values1 - List&lt;? extends Number&gt; - 第一组数
+     * @param values2 - List&lt;? extends Number&gt; - 第二组数，长度必须与第一组相同
+     * @param threshold - int - 顺序计算阈值，必须是正数
+     * @return Number - 点积，实际上是一个HybridFraction对象
+     * @see equation.Equation#sum(Collection, int)
+     */
+    public static Number dot(List<? extends Number> values1, List<? extends Number> values2, int threshold) {
+        if(values1.size() != values2.size()) {
+            throw new UnexpectValueException("两组数的长度不相同。");
+        }
+        Number[] array1 = values1.toArray(new Number[0]);
+        Number[] array2 = values2.toArray(new Number[0]);
+        return new ReductionTask(ReductionTask.DOT, array1, array2, 0, array1.length, threshold).invoke();
+    }
+
+    /**
+     * summing方法 - 返回一个对Number对象求和的Collector，可以用于并行流。
+     * <p>每个线程使用一个{@link equation.RationalAccumulator}原地累加，只在合并时才创建新的对象。</p>
+     * <blockquote><pre>
+Number total = fractions.parallelStream().collect(Equation.summing());
+     * </pre></blockquote>
+     * @return Collector&lt;Number, ?, Number&gt; - 求和的Collector，结果实际上是一个HybridFraction对象
+     */
+    public static Collector<Number, ?, Number> summing() {
+        return Collector.of(
+                RationalAccumulator::new,
+                RationalAccumulator::addInPlace,
+                (total1, total2) -> total1.addInPlace(total2.toHybridFraction()),
+                total -> (Number) total.toHybridFraction(),
+                Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * multiplying方法 - 返回一个对Number对象求积的Collector，可以用于并行流。
+     * <blockquote><pre>
+Number total = fractions.parallelStream().collect(Equation.multiplying());
+     * </pre></blockquote>
+     * @return Collector&lt;Number, ?, Number&gt; - 求积的Collector，结果实际上是一个HybridFraction对象
+     */
+    public static Collector<Number, ?, Number> multiplying() {
+        return Collector.of(
+                () -> new RationalAccumulator().set(1, 1),
+                RationalAccumulator::mulInPlace,
+                (total1, total2) -> total1.mulInPlace(total2.toHybridFraction()),
+                total -> (Number) total.toHybridFraction(),
+                Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * solve方法 - 精确地求解线性方程组 coefficients * x = constants。
+     * <p>这是{@link equation.RationalMatrix#solve(Number[])}的简便写法。当方程组没有唯一解时，会抛出UnexpectValueException。</p>
+     * <blockquote><pre>
+// x/2 + y = 2
+// x - y/3 = 1/2
+Equation.solve(new Number[][] { { new Fraction(1, 2), new Fraction(1) }, { new Fraction(1), new Fraction(-1, 3) } },
+        new Number[] { new Fraction(2), new Fraction(1, 2) }); // [1/1, 3/2]
+     * </pre></blockquote>
+     * @param coefficients - Number[][] - 系数矩阵，按行排列
+     * @param constants - Number[] - 常数项
+     * @return BigFraction[] - 方程组的解
+     */
+    public static BigFraction[] solve(Number[][] coefficients, Number[] constants) {
+        return RationalMatrix.valueOf(coefficients).solve(constants);
+    }
 }
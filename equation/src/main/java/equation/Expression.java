@@ -0,0 +1,312 @@
+package equation;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Expression - 分数表达式的语法树。
+ * <p>
+ * 通过{@link equation.Expression#parse(String)}可以把形如<code>"(1/2 + 1/3) ^ 3 / x"</code>的字符串解析成语法树。
+ * 支持的语法包括：加减乘除（<code>+ - * /</code>）、负号、整数次幂（<code>^</code>，指数必须是整数，可以带负号）、括号、
+ * 整数和有限小数（例如<code>0.125</code>，会被精确地转化为分数）以及由字母、数字和下划线组成的变量名。
+ * </p>
+ * <p>
+ * 语法树可以直接求值，但每次求值都需要遍历整棵树。如果同一个表达式需要在不同的变量取值下反复求值，
+ * 请先用{@link equation.Expression#compile()}把它编译成{@link equation.CompiledExpression}，之后的每一次求值都不需要再解析或遍历语法树。
+ * </p>
+ * <blockquote><pre>
+Expression expr = Expression.parse("(1/2 + 1/3) ^ 3 / x");
+CompiledExpression compiled = expr.compile();
+compiled.evaluate(new Fraction(5)); // (5/6)^3 / 5 = 25/216
+compiled.evaluate(new Fraction(1, 2)); // (5/6)^3 / (1/2) = 125/108
+ * </pre></blockquote>
+ * @see equation.CompiledExpression
+ */
+public abstract class Expression {
+    /**
+     * Expression - 包内可见的构造函数。
+     * <p>语法树只能通过{@link equation.Expression#parse(String)}创建。</p>
+     */
+    Expression() {
+        super();
+    }
+
+    /**
+     * parse方法 - 将字符串解析为语法树。
+     * <p>当字符串不符合语法时，会抛出UnexpectValueException，错误信息中包含出错的位置。</p>
+     * @param text - String - 需要解析的表达式
+     * @return Expression - 解析得到的语法树
+     */
+    public static Expression parse(String text) {
+        return new ExpressionParser(text).parse();
+    }
+
+    /**
+     * compile方法 - 将语法树编译为可以反复求值的CompiledExpression。
+     * <p>编译时会预先计算所有不含变量的子表达式，例如 <code>(1/2 + 1/3) ^ 3</code> 会被直接编译为常数 125/216。</p>
+     * @return CompiledExpression - 编译后的表达式
+     */
+    public CompiledExpression compile() {
+        return new CompiledExpression(this);
+    }
+
+    /**
+     * getVariables方法 - 按第一次出现的顺序返回表达式中的所有变量名。
+     * <p>{@link equation.CompiledExpression#evaluate(Number...)}的参数也按这个顺序传入。</p>
+     * @return List&lt;String&gt; - 不可修改的变量名列表
+     */
+    public List<String> getVariables() {
+        List<String> variables = new ArrayList<String>();
+        collectVariables(variables);
+        return Collections.unmodifiableList(variables);
+    }
+
+    /**
+     * evaluate方法 - 直接遍历语法树求值。
+     * <p>求值过程使用{@link equation.BigFraction}，因此不会溢出。当缺少某个变量的取值时，会抛出UnexpectValueException。</p>
+     * @param bindings - Map&lt;String, ? extends Number&gt; - 变量名到取值的映射
+     * @return Number - 表达式的值，实际上是一个HybridFraction对象
+     */
+    public Number evaluate(Map<String, ? extends Number> bindings) {
+        return HybridFraction.valueOf(interpret(bindings));
+    }
+
+    /**
+     * interpret方法 - 使用BigFraction对语法树求值。
+     */
+    abstract BigFraction interpret(Map<String, ? extends Number> bindings);
+
+    /**
+     * collectVariables方法 - 将表达式中还没有出现在列表里的变量名依次加入列表。
+     */
+    abstract void collectVariables(List<String> variables);
+
+    /**
+     * isConstant方法 - 判断表达式中是否不含任何变量。
+     */
+    abstract boolean isConstant();
+
+    /**
+     * emit方法 - 将表达式编译为指令，写入builder。
+     */
+    abstract void emit(CompiledExpression.Builder builder);
+
+    /**
+     * Constant - 常数节点。
+     */
+    static final class Constant extends Expression {
+        final BigFraction value;
+
+        Constant(BigFraction value) {
+            super();
+            this.value = value;
+        }
+
+        BigFraction interpret(Map<String, ? extends Number> bindings) {
+            return value;
+        }
+
+        void collectVariables(List<String> variables) {
+        }
+
+        boolean isConstant() {
+            return true;
+        }
+
+        void emit(CompiledExpression.Builder builder) {
+            builder.constant(value);
+        }
+
+        public String toString() {
+            if(value.getDenominator().equals(BigInteger.ONE)) {
+                return value.getNumerator().toString();
+            }
+            return "(" + value.toString() + ")";
+        }
+    }
+
+    /**
+     * Variable - 变量节点。
+     */
+    static final class Variable extends Expression {
+        final String name;
+
+        Variable(String name) {
+            super();
+            this.name = name;
+        }
+
+        BigFraction interpret(Map<String, ? extends Number> bindings) {
+            Number value = bindings.get(name);
+            if(value == null) {
+                throw new UnexpectValueException("缺少变量" + name + "的取值。");
+            }
+            return BigFraction.valueOf(value);
+        }
+
+        void collectVariables(List<String> variables) {
+            if(!variables.contains(name)) {
+                variables.add(name);
+            }
+        }
+
+        boolean isConstant() {
+            return false;
+        }
+
+        void emit(CompiledExpression.Builder builder) {
+            builder.variable(name);
+        }
+
+        public String toString() {
+            return name;
+        }
+    }
+
+    /**
+     * Negate - 负号节点。
+     */
+    static final class Negate extends Expression {
+        final Expression operand;
+
+        Negate(Expression operand) {
+            super();
+            this.operand = operand;
+        }
+
+        BigFraction interpret(Map<String, ? extends Number> bindings) {
+            BigFraction value = operand.interpret(bindings);
+            return BigFraction.valueOf(value.getNumerator().negate(), value.getDenominator());
+        }
+
+        void collectVariables(List<String> variables) {
+            operand.collectVariables(variables);
+        }
+
+        boolean isConstant() {
+            return operand.isConstant();
+        }
+
+        void emit(CompiledExpression.Builder builder) {
+            if(isConstant()) {
+                builder.constant(interpret(Collections.<String, Number>emptyMap()));
+                return;
+            }
+            operand.emit(builder);
+            builder.instruction(CompiledExpression.NEGATE);
+        }
+
+        public String toString() {
+            return "(-" + operand + ")";
+        }
+    }
+
+    /**
+     * Binary - 加减乘除节点。
+     */
+    static final class Binary extends Expression {
+        final char operator;
+        final Expression left;
+        final Expression right;
+
+        Binary(char operator, Expression left, Expression right) {
+            super();
+            this.operator = operator;
+            this.left = left;
+            this.right = right;
+        }
+
+        BigFraction interpret(Map<String, ? extends Number> bindings) {
+            BigFraction a = left.interpret(bindings);
+            BigFraction b = right.interpret(bindings);
+            switch(operator) {
+                case '+':
+                    return (BigFraction) a.add(b);
+                case '-':
+                    return (BigFraction) a.sub(b);
+                case '*':
+                    return (BigFraction) a.mult(b);
+                default:
+                    return (BigFraction) a.div(b);
+            }
+        }
+
+        void collectVariables(List<String> variables) {
+            left.collectVariables(variables);
+            right.collectVariables(variables);
+        }
+
+        boolean isConstant() {
+            return left.isConstant() && right.isConstant();
+        }
+
+        void emit(CompiledExpression.Builder builder) {
+            if(isConstant()) {
+                builder.constant(interpret(Collections.<String, Number>emptyMap()));
+                return;
+            }
+            left.emit(builder);
+            right.emit(builder);
+            switch(operator) {
+                case '+':
+                    builder.instruction(CompiledExpression.ADD);
+                    break;
+                case '-':
+                    builder.instruction(CompiledExpression.SUB);
+                    break;
+                case '*':
+                    builder.instruction(CompiledExpression.MULT);
+                    break;
+                default:
+                    builder.instruction(CompiledExpression.DIV);
+                    break;
+            }
+        }
+
+        public String toString() {
+            return "(" + left + " " + operator + " " + right + ")";
+        }
+    }
+
+    /**
+     * Power - 整数次幂节点。
+     */
+    static final class Power extends Expression {
+        final Expression base;
+        final int exponent;
+
+        Power(Expression base, int exponent) {
+            super();
+            this.base = base;
+            this.exponent = exponent;
+        }
+
+        BigFraction interpret(Map<String, ? extends Number> bindings) {
+            return (BigFraction) base.interpret(bindings).power(exponent);
+        }
+
+        void collectVariables(List<String> variables) {
+            base.collectVariables(variables);
+        }
+
+        boolean isConstant() {
+            return base.isConstant();
+        }
+
+        void emit(CompiledExpression.Builder builder) {
+            if(isConstant()) {
+                builder.constant(interpret(Collections.<String, Number>emptyMap()));
+                return;
+            }
+            base.emit(builder);
+            builder.power(exponent);
+        }
+
+        public String toString() {
+            return "(" + base + " ^ " + exponent + ")";
+        }
+    }
+}
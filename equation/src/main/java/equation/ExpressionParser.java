@@ -0,0 +1,181 @@
+package equation;
+
+import java.math.BigInteger;
+
+/**
+ * ExpressionParser - 将字符串解析为{@link equation.Expression}的递归下降解析器。
+ * <p>语法如下（优先级从低到高）：</p>
+ * <blockquote><pre>
+expression := term (('+' | '-') term)*
+term       := unary (('*' | '/') unary)*
+unary      := '-' unary | power
+power      := primary ('^' ['-'] integer)?
+primary    := number | identifier | '(' expression ')'
+ * </pre></blockquote>
+ * <p>因此 <code>-x ^ 2</code> 等于 <code>-(x ^ 2)</code>。连续的乘方（例如 <code>x ^ 2 ^ 3</code>）有歧义，需要用括号写明。</p>
+ * @see equation.Expression#parse(String)
+ */
+final class ExpressionParser {
+    private final String text;
+    private int position;
+
+    /**
+     * ExpressionParser - 通过需要解析的字符串创建解析器。
+     * @param text - String - 需要解析的表达式
+     */
+    ExpressionParser(String text) {
+        super();
+        this.text = text;
+    }
+
+    /**
+     * parse方法 - 解析整个字符串。
+     * @return Expression - 解析得到的语法树
+     */
+    Expression parse() {
+        Expression result = expression();
+        skipWhitespace();
+        if(position < text.length()) {
+            throw error("多余的字符'" + text.charAt(position) + "'");
+        }
+        return result;
+    }
+
+    private Expression expression() {
+        Expression result = term();
+        while(true) {
+            char c = peek();
+            if(c == '+' || c == '-') {
+                position++;
+                result = new Expression.Binary(c, result, term());
+            } else {
+                return result;
+            }
+        }
+    }
+
+    private Expression term() {
+        Expression result = unary();
+        while(true) {
+            char c = peek();
+            if(c == '*' || c == '/') {
+                position++;
+                result = new Expression.Binary(c, result, unary());
+            } else {
+                return result;
+            }
+        }
+    }
+
+    private Expression unary() {
+        if(peek() == '-') {
+            position++;
+            return new Expression.Negate(unary());
+        }
+        return power();
+    }
+
+    private Expression power() {
+        Expression base = primary();
+        if(peek() != '^') {
+            return base;
+        }
+        position++;
+        boolean negative = false;
+        if(peek() == '-') {
+            position++;
+            negative = true;
+        }
+        skipWhitespace();
+        int start = position;
+        while(position < text.length() && isDigit(text.charAt(position))) {
+            position++;
+        }
+        if(start == position) {
+            throw error("指数必须是整数");
+        }
+        int exponent;
+        try {
+            exponent = Integer.parseInt(text.substring(start, position));
+        } catch (NumberFormatException err) {
+            position = start;
+            throw error("指数超出int的范围");
+        }
+        if(peek() == '^') {
+            throw error("连续的乘方有歧义，请使用括号");
+        }
+        return new Expression.Power(base, negative ? -exponent : exponent);
+    }
+
+    private Expression primary() {
+        char c = peek();
+        if(c == '(') {
+            position++;
+            Expression result = expression();
+            if(peek() != ')') {
+                throw error("缺少')'");
+            }
+            position++;
+            return result;
+        } else if(isDigit(c) || c == '.') {
+            return number();
+        } else if(Character.isLetter(c) || c == '_') {
+            int start = position;
+            while(position < text.length() && (Character.isLetterOrDigit(text.charAt(position)) || text.charAt(position) == '_')) {
+                position++;
+            }
+            return new Expression.Variable(text.substring(start, position));
+        } else if(c == 0) {
+            throw error("表达式意外结束");
+        }
+        throw error("无法识别的字符'" + c + "'");
+    }
+
+    private Expression number() {
+        int start = position;
+        StringBuilder digits = new StringBuilder();
+        int scale = -1;
+        while(position < text.length()) {
+            char c = text.charAt(position);
+            if(isDigit(c)) {
+                digits.append(c);
+                if(scale >= 0) {
+                    scale++;
+                }
+            } else if(c == '.' && scale < 0) {
+                scale = 0;
+            } else {
+                break;
+            }
+            position++;
+        }
+        if(digits.length() == 0) {
+            position = start;
+            throw error("无法识别的数字");
+        }
+        BigInteger numerator = new BigInteger(digits.toString());
+        return new Expression.Constant(BigFraction.valueOf(numerator, BigInteger.TEN.pow(Math.max(scale, 0))));
+    }
+
+    /**
+     * peek方法 - 跳过空白字符，返回下一个字符但不移动位置。到达末尾时返回0。
+     */
+    private char peek() {
+        skipWhitespace();
+        return position < text.length() ? text.charAt(position) : 0;
+    }
+
+    private void skipWhitespace() {
+        while(position < text.length() && Character.isWhitespace(text.charAt(position))) {
+            position++;
+        }
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private UnexpectValueException error(String message) {
+        return new UnexpectValueException("表达式\"" + text + "\"的第" + (position + 1) + "个字符处：" + message + "。");
+    }
+}
@@ -0,0 +1,391 @@
+package equation;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * FixedFraction - 固定分母的不可变分数，适用于金额等以固定单位计算的场景。
+ * <p>
+ * FixedFraction的值永远是 units/denominator，其中denominator在创建时选定（例如以1/100或1/10000为单位），之后所有的运算结果都保持这个分母。
+ * 与分母相同的FixedFraction相加减时只需要一次long加减法，不需要通分和化简；相乘、相除以及与其他分母的数运算时，
+ * 会先精确地计算结果，再按照roundingMode舍入到最近的单位。运算结果超出long的范围时，会抛出ArithmeticException。
+ * </p>
+ * <p>与其他Number对象比较时按数值比较，equals方法不考虑分母和舍入模式，例如 FixedFraction.valueOf(50, 100) 与 new Fraction(1, 2) 相等。</p>
+ * <blockquote><pre>
+FixedFraction price = FixedFraction.valueOf(1999, 100); // 19.99
+FixedFraction rate = FixedFraction.valueOf(8, 100); // 0.08
+price.add(price); // 3998/100
+price.mult(rate); // 19.99 * 0.08 = 1.5992，舍入后为 160/100
+price.div(new Fraction(3)); // 19.99 / 3 = 6.663...，舍入后为 666/100
+ * </pre></blockquote>
+ * @see java.math.RoundingMode
+ */
+public final class FixedFraction implements Number, Comparable<Number> {
+    /**
+     * DEFAULT_ROUNDING常量 - 默认的舍入模式，即银行家舍入（四舍六入五成双）。
+     */
+    public static final RoundingMode DEFAULT_ROUNDING = RoundingMode.HALF_EVEN;
+
+    private final long units;
+    private final long denominator;
+    private final RoundingMode roundingMode;
+
+    /**
+     * FixedFraction - 私有的构造函数。
+     */
+    private FixedFraction(long units, long denominator, RoundingMode roundingMode) {
+        super();
+        this.units = units;
+        this.denominator = denominator;
+        this.roundingMode = roundingMode;
+    }
+
+    /**
+     * valueOf方法 - 创建值为 units/denominator 的FixedFraction对象，使用默认的舍入模式。
+     * @param units - long - 以1/denominator为单位的数量
+     * @param denominator - long - 固定的分母，必须是正数
+     * @return FixedFraction - 对应的分数
+     * @see equation.FixedFraction#valueOf(long, long, RoundingMode)
+     */
+    public static FixedFraction valueOf(long units, long denominator) {
+        return valueOf(units, denominator, DEFAULT_ROUNDING);
+    }
+
+    /**
+     * valueOf方法 - 创建值为 units/denominator 的FixedFraction对象。
+     * <p>分数不会被化简，例如 50/100 会一直保持以1/100为单位。当分母不是正数时，会抛出UnexpectValueException。</p>
+     * @param units - long - 以1/denominator为单位的数量
+     * @param denominator - long - 固定的分母，必须是正数
+     * @param roundingMode - RoundingMode - 乘除运算的舍入模式
+     * @return FixedFraction - 对应的分数
+     */
+    public static FixedFraction valueOf(long units, long denominator, RoundingMode roundingMode) throws UnexpectValueException {
+        if(denominator <= 0) {
+            throw new UnexpectValueException("固定分母必须是正数。");
+        } else if(roundingMode == null) {
+            throw new UnexpectValueException("舍入模式不能为null。");
+        }
+        return new FixedFraction(units, denominator, roundingMode);
+    }
+
+    /**
+     * valueOf方法 - 将一个Number对象舍入到最近的 1/denominator。
+     * <blockquote><pre>
+FixedFraction.valueOf(new Fraction(1, 3), 100, RoundingMode.HALF_EVEN); // 33/100
+FixedFraction.valueOf(new Fraction(1, 4), 100, RoundingMode.UNNECESSARY); // 25/100
+     * </pre></blockquote>
+     * @param num - Number - 需要转化的数
+     * @param denominator - long - 固定的分母，必须是正数
+     * @param roundingMode - RoundingMode - 舍入模式；为RoundingMode.UNNECESSARY时，如果num不能精确表示，会抛出ArithmeticException
+     * @return FixedFraction - 转化后的分数
+     */
+    public static FixedFraction valueOf(Number num, long denominator, RoundingMode roundingMode) {
+        return (FixedFraction) valueOf(0, denominator, roundingMode).add(num);
+    }
+
+    /**
+     * getUnits方法 - 获取以1/denominator为单位的数量，即分子。
+     * @return long - 分子
+     */
+    public long getUnits() {
+        return units;
+    }
+
+    /**
+     * getDenominator方法 - 获取固定的分母。
+     * @return long - 分母
+     */
+    public long getDenominator() {
+        return denominator;
+    }
+
+    /**
+     * getRoundingMode方法 - 获取乘除运算的舍入模式。
+     * @return RoundingMode - 舍入模式
+     */
+    public RoundingMode getRoundingMode() {
+        return roundingMode;
+    }
+
+    /**
+     * withDenominator方法 - 使用当前的舍入模式，将值舍入到新的分母。
+     * <blockquote><pre>
+FixedFraction.valueOf(1999, 100).withDenominator(10); // 200/10
+     * </pre></blockquote>
+     * @param denominator - long - 新的分母，必须是正数
+     * @return FixedFraction - 转化后的分数
+     */
+    public FixedFraction withDenominator(long denominator) {
+        return valueOf(this, denominator, roundingMode);
+    }
+
+    /**
+     * withRoundingMode方法 - 返回值相同、但使用新舍入模式的FixedFraction对象。
+     * @param roundingMode - RoundingMode - 新的舍入模式
+     * @return FixedFraction - 新的分数
+     */
+    public FixedFraction withRoundingMode(RoundingMode roundingMode) {
+        return valueOf(units, denominator, roundingMode);
+    }
+
+    /**
+     * toFraction方法 - 将当前分数精确地转化为化简后的Fraction。当化简后的分子或分母超出int的范围时，会抛出ArithmeticException。
+     * @return Fraction - 转化后的分数
+     */
+    public Fraction toFraction() {
+        long gcd = RationalMath.gcd(units, denominator);
+        return new Fraction(Math.toIntExact(units / gcd), Math.toIntExact(denominator / gcd));
+    }
+
+    /**
+     * toBigFraction方法 - 将当前分数精确地转化为BigFraction。
+     * @return BigFraction - 转化后的分数
+     */
+    public BigFraction toBigFraction() {
+        return BigFraction.valueOf(units, denominator);
+    }
+
+    /**
+     * add方法 - 将两个Number对象相加，结果保持当前的分母。
+     * <p>当传入的是分母相同的FixedFraction时，只需要一次long加法；否则先精确地计算和，再舍入到最近的单位。</p>
+     * @param num - Number - 需要相加的数
+     * @return Number - 两个数相加的结果，实际上是一个FixedFraction对象
+     * @see equation.Equation#add(Number, Number)
+     */
+    public Number add(Number num) {
+        if(num instanceof FixedFraction && ((FixedFraction) num).denominator == denominator) {
+            return new FixedFraction(Math.addExact(units, ((FixedFraction) num).units), denominator, roundingMode);
+        }
+        return apply('+', num);
+    }
+
+    /**
+     * sub方法 - 将两个Number对象相减，结果保持当前的分母。
+     * <p>当传入的是分母相同的FixedFraction时，只需要一次long减法。</p>
+     * @param num - Number - 需要相减的数
+     * @return Number - 两个数相减的结果，实际上是一个FixedFraction对象
+     * @see equation.Equation#sub(Number, Number)
+     */
+    public Number sub(Number num) {
+        if(num instanceof FixedFraction && ((FixedFraction) num).denominator == denominator) {
+            return new FixedFraction(Math.subtractExact(units, ((FixedFraction) num).units), denominator, roundingMode);
+        }
+        return apply('-', num);
+    }
+
+    /**
+     * mult方法 - 将两个Number对象相乘，结果按照roundingMode舍入到当前的分母。
+     * @param num - Number - 需要相乘的数
+     * @return Number - 两个数相乘的结果，实际上是一个FixedFraction对象
+     * @see equation.Equation#mult(Number, Number)
+     */
+    public Number mult(Number num) {
+        return apply('*', num);
+    }
+
+    /**
+     * div方法 - 将两个Number对象相除，结果按照roundingMode舍入到当前的分母。当除数为0时，会抛出UnexpectValueException。
+     * @param num - Number - 需要相除的数
+     * @return Number - 两个数相除的结果，实际上是一个FixedFraction对象
+     * @see equation.Equation#div(Number, Number)
+     */
+    public Number div(Number num) {
+        return apply('/', num);
+    }
+
+    /**
+     * power方法 - 对自身的幂运算，先精确地计算乘方，再按照roundingMode舍入到当前的分母。
+     * @param index - int - 指数的大小
+     * @return Number - 进行乘方运算后的结果，实际上是一个FixedFraction对象
+     * @see equation.Equation#power(Number, int)
+     */
+    public Number power(int index) {
+        BigFraction value = (BigFraction) toBigFraction().power(index);
+        BigInteger dividend = value.getNumerator().multiply(BigInteger.valueOf(denominator));
+        return new FixedFraction(RationalMath.divide(dividend, value.getDenominator(), roundingMode), denominator, roundingMode);
+    }
+
+    /**
+     * toDouble方法 - 将FixedFraction对象转化成double类型。
+     * @return double - 转化后的小数
+     */
+    public double toDouble() {
+        return RationalMath.toDouble(units, denominator);
+    }
+
+    /**
+     * toFloat方法 - 将FixedFraction对象正确舍入为float类型。
+     * @return float - 最接近当前值的float
+     */
+    public float toFloat() {
+        return RationalMath.toFloat(units, denominator);
+    }
+
+    /**
+     * toBigDecimal方法 - 将FixedFraction对象按照context的精度和舍入模式转化为BigDecimal。
+     * <p>当分母是10的幂时（例如以1/100为单位），使用MathContext.UNLIMITED就能得到精确的结果，例如 1999/100 转化为 19.99。</p>
+     * @param context - MathContext - 精度和舍入模式
+     * @return BigDecimal - 舍入后的结果
+     */
+    public BigDecimal toBigDecimal(MathContext context) {
+        return RationalMath.toBigDecimal(units, denominator, context);
+    }
+
+    /**
+     * compareTo方法 - 比较当前对象与传入的Number对象的大小。分母相同时直接比较units。
+     * @param num - Number - 需要比较的对象
+     * @return int - 小于、等于、大于时分别返回负数、0、正数
+     */
+    public int compareTo(Number num) {
+        if(num instanceof FixedFraction) {
+            FixedFraction other = (FixedFraction) num;
+            if(other.denominator == denominator) {
+                return Long.compare(units, other.units);
+            }
+            return RationalMath.compare(units, denominator, other.units, other.denominator);
+        }
+        HybridFraction other = HybridFraction.valueOf(num);
+        if(other.big == null) {
+            return RationalMath.compare(units, denominator, other.numerator, other.denominator);
+        }
+        return toBigFraction().compareTo(other.big);
+    }
+
+    /**
+     * equals方法 - 判断两个对象是否相等。需要注意的是，如果传入的对象不是Number，将永远返回false。
+     * <p>按数值比较，不考虑分母和舍入模式，例如 FixedFraction.valueOf(50, 100) 与 FixedFraction.valueOf(5, 10) 相等。</p>
+     * @param object - Object - 需要比较的对象
+     * @return boolean - 是否相等
+     */
+    public boolean equals(Object object) {
+        if(object == this) {
+            return true;
+        } else if(object instanceof FixedFraction && ((FixedFraction) object).denominator == denominator) {
+            return units == ((FixedFraction) object).units;
+        }
+        return toBigFraction().equals(object);
+    }
+
+    /**
+     * hashCode方法 - 返回基于最简分数计算的hashCode，与数值相等的BigFraction、HybridFraction相同。
+     * @return int - hashCode
+     */
+    public int hashCode() {
+        long gcd = RationalMath.gcd(units, denominator);
+        return RationalMath.hashCode(units / gcd, denominator / gcd);
+    }
+
+    /**
+     * isGreaterThan方法 - 判断当前对象是否大于传入的Number对象。如果大于，返回true。否则返回false。
+     * @param num - Number - 需要比较的对象
+     * @return boolean - 是否大于
+     */
+    public boolean isGreaterThan(Number num) {
+        return compareTo(num) > 0;
+    }
+
+    /**
+     * isLessThan方法 - 判断当前对象是否小于传入的Number对象。如果小于，返回true。否则返回false。
+     * @param num - Number - 需要比较的对象
+     * @return boolean - 是否小于
+     */
+    public boolean isLessThan(Number num) {
+        return compareTo(num) < 0;
+    }
+
+    /**
+     * toString方法 - 返回分数的字符串形式（units/denominator），不会化简。
+     * @return String - 转化后的字符串
+     */
+    public String toString() {
+        return Long.toString(units) + "/" + Long.toString(denominator);
+    }
+
+    /**
+     * apply方法 - 精确地计算 this operator num，再舍入到当前的分母。
+     * <p>设num = n/d，则结果的units分别是：加 (units*d + n*denominator)/d，减 (units*d - n*denominator)/d，乘 units*n/d，除 units*d/n。</p>
+     */
+    private FixedFraction apply(char operator, Number num) {
+        long n;
+        long d;
+        if(num instanceof FixedFraction) {
+            n = ((FixedFraction) num).units;
+            d = ((FixedFraction) num).denominator;
+        } else {
+            HybridFraction other = HybridFraction.valueOf(num);
+            if(other.big != null) {
+                return applyBig(operator, other.big);
+            }
+            n = other.numerator;
+            d = other.denominator;
+        }
+        if(operator == '/' && n == 0) {
+            throw new UnexpectValueException("除数不能为0。");
+        }
+        try {
+            long dividend;
+            long divisor;
+            switch(operator) {
+                case '+':
+                    dividend = Math.addExact(Math.multiplyExact(units, d), Math.multiplyExact(n, denominator));
+                    divisor = d;
+                    break;
+                case '-':
+                    dividend = Math.subtractExact(Math.multiplyExact(units, d), Math.multiplyExact(n, denominator));
+                    divisor = d;
+                    break;
+                case '*':
+                    dividend = Math.multiplyExact(units, n);
+                    divisor = d;
+                    break;
+                default:
+                    dividend = Math.multiplyExact(units, d);
+                    divisor = n;
+                    if(divisor < 0) {
+                        dividend = Math.negateExact(dividend);
+                        divisor = Math.negateExact(divisor);
+                    }
+                    break;
+            }
+            return new FixedFraction(RationalMath.divide(dividend, divisor, roundingMode), denominator, roundingMode);
+        } catch (ArithmeticException err) {
+            // 中间结果溢出，改用BigInteger计算
+        }
+        return applyBig(operator, BigFraction.valueOf(n, d));
+    }
+
+    /**
+     * applyBig方法 - 使用BigInteger完成apply方法的计算。结果超出long的范围时抛出ArithmeticException。
+     */
+    private FixedFraction applyBig(char operator, BigFraction num) {
+        BigInteger u = BigInteger.valueOf(units);
+        BigInteger n = num.getNumerator();
+        BigInteger d = num.getDenominator();
+        BigInteger dividend;
+        BigInteger divisor;
+        switch(operator) {
+            case '+':
+                dividend = u.multiply(d).add(n.multiply(BigInteger.valueOf(denominator)));
+                divisor = d;
+                break;
+            case '-':
+                dividend = u.multiply(d).subtract(n.multiply(BigInteger.valueOf(denominator)));
+                divisor = d;
+                break;
+            case '*':
+                dividend = u.multiply(n);
+                divisor = d;
+                break;
+            default:
+                if(n.signum() == 0) {
+                    throw new UnexpectValueException("除数不能为0。");
+                }
+                dividend = u.multiply(d);
+                divisor = n;
+                break;
+        }
+        return new FixedFraction(RationalMath.divide(dividend, divisor, roundingMode), denominator, roundingMode);
+    }
+}
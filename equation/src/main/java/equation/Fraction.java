@@ -39,8 +39,10 @@ public class Fraction extends AbstractRationalNumber {
     /**
      * Fraction - 通过分子和分母创建Fraction对象。
      * <p>该构造函数会将传入的小数自动化为整数并化简。</p>
+     * <p>不是0但绝对值太小（小于约2.3e-10）的小数无法用int分数表示，无论它是分子还是分母，都会抛出ArithmeticException，例如 new Fraction(3.0, 1e-12)。</p>
      * @param numerator - double - 分数的分子
      * @param denominator - double - 分数的分母
+     * @see equation.AbstractRationalNumber#AbstractRationalNumber(double, double)
      * @see equation.Fraction#Fraction(int, int)
      * @see equation.Fraction#Fraction(int)
      * @see equation.Fraction#Fraction(double)
@@ -52,6 +54,7 @@ public class Fraction extends AbstractRationalNumber {
     /**
      * Fraction - 通过分子创建Fraction对象。
      * <p>首先，该构造函数会将分母初始化为1（当前该分数为 n/1）；接着，该构造函数会将传入的小数自动化为整数并化简。</p>
+     * <p>不是0但绝对值太小（小于约2.3e-10）的小数会抛出ArithmeticException，而不会悄悄变成 0/1，例如 new Fraction(1e-12)。</p>
      * @param numerator - double - 分数的分子
      * @see equation.Fraction#Fraction(int, int)
      * @see equation.Fraction#Fraction(int)
@@ -61,6 +64,54 @@ public class Fraction extends AbstractRationalNumber {
         super(numerator);
     }
 
+    /**
+     * valueOf方法 - 将double的精确值转化为Fraction对象。
+     * <p>
+     * 该方法直接从IEEE-754的位表示中取出有效数字和指数，不需要任何字符串转换，结果与传入的double完全相等，例如 0.375 会转化为 3/8。
+     * double的精确值的分母永远是2的幂，因此像 0.1 这样的小数无法用int精确表示，此时会抛出ArithmeticException；
+     * 如果想得到 1/10，请使用{@link equation.Fraction#approximate(double, int)}。当value是NaN或无穷大时，会抛出UnexpectValueException。
+     * </p>
+     * <blockquote><pre>
+Fraction.valueOf(0.375); // 3/8
+Fraction.valueOf(-2.5); // -5/2
+Fraction.valueOf(0.1); // ArithmeticException
+     * </pre></blockquote>
+     * @param value - double - 需要转化的小数
+     * @return Fraction - 与value完全相等的最简分数
+     * @see equation.Fraction#approximate(double, int)
+     * @see equation.BigFraction#valueOf(double)
+     */
+    public static Fraction valueOf(double value) {
+        long packed = RationalMath.decode(value);
+        if(packed == 0) {
+            throw new ArithmeticException("integer overflow");
+        }
+        return new Fraction(RationalMath.numeratorOf(packed), RationalMath.denominatorOf(packed));
+    }
+
+    /**
+     * approximate方法 - 求分母不超过maxDenominator的、最接近value的Fraction对象。
+     * <p>
+     * 该方法对double的精确值做连分数展开，只使用long的整数运算，并在最后一个渐近分数与对应的中间分数之间选择更接近的一个，
+     * 因此结果是所有分母不超过maxDenominator的分数中最接近value的一个（距离相等时选择分母较小的）。
+     * 结果的分子同样必须能放进int，因此整数部分很大时，结果是分子和分母都满足限制的分数中最接近value的一个。
+     * 当maxDenominator不是正数时，会抛出UnexpectValueException；当value的整数部分超出int的范围时，会抛出ArithmeticException。
+     * </p>
+     * <blockquote><pre>
+Fraction.approximate(0.1, 1000); // 1/10
+Fraction.approximate(Math.PI, 100); // 311/99
+Fraction.approximate(Math.PI, 1000); // 355/113
+     * </pre></blockquote>
+     * @param value - double - 需要逼近的小数
+     * @param maxDenominator - int - 分母的最大值
+     * @return Fraction - 最接近value的最简分数
+     * @see equation.Fraction#valueOf(double)
+     */
+    public static Fraction approximate(double value, int maxDenominator) {
+        long packed = RationalMath.approximate(value, maxDenominator);
+        return new Fraction(RationalMath.numeratorOf(packed), RationalMath.denominatorOf(packed));
+    }
+
     /**
      * reciprocalOf方法 - 返回当前分数的倒数。
      * <p>您可以直接使用Fraction对象内置的方法，或者也可以使用Equation对象的静态<code>reciprocalOf(Fraction num): Fraction</code>函数。<p>
@@ -76,11 +127,306 @@ Fraction result2 = Equation.reciprocolOf(frac); //这里运算的结果和上面
         return new Fraction(denominator, numerator);
     }
 
+    /**
+     * mediant方法 - 返回当前分数与num的中间分数（mediant），即 (a + c) / (b + d)。
+     * <p>
+     * 两个分数都会先化简为分母为正数的最简分数，结果不再化简。中间分数一定严格位于两个分数之间（两个分数相等时等于它们），
+     * 相邻的Farey分数和Stern-Brocot树中的节点都由中间分数产生。当结果超出int的范围时，会抛出ArithmeticException。
+     * </p>
+     * <blockquote><pre>
+new Fraction(1, 2).mediant(new Fraction(2, 3)); // 3/5
+new Fraction(2, 4).mediant(new Fraction(1, 1)); // 2/3，先把 2/4 化简为 1/2
+     * </pre></blockquote>
+     * @param num - Number - 另一个分数
+     * @return Fraction - 中间分数
+     */
+    public Fraction mediant(Number num) {
+        long[] n = new long[2];
+        long[] d = new long[2];
+        RationalMath.load(this, n, d, 0);
+        if(!RationalMath.load(num, n, d, 1)) {
+            throw new ArithmeticException("integer overflow");
+        }
+        return new Fraction(Math.toIntExact(n[0] + n[1]), Math.toIntExact(d[0] + d[1]));
+    }
+
+    /**
+     * farey方法 - 返回order阶的Farey序列，即0到1之间（包含两端）所有分母不超过order的最简分数，按从小到大的顺序排列。
+     * <p>
+     * 序列中相邻的两项 a/b、c/d 满足 bc - ad = 1，因此每一项都可以只用整数运算从前两项算出，不需要排序，也不需要化简。
+     * 结果保存在{@link equation.RationalVector}中，不会为每一项创建对象。序列的长度约为 0.304 * order^2，
+     * 当order不是正数或者序列长度超出数组的最大长度时，会抛出UnexpectValueException；只需要逐项遍历时，请使用{@link equation.Fraction#fareyNext(int)}。
+     * </p>
+     * <blockquote><pre>
+Fraction.farey(5); // [0/1, 1/5, 1/4, 1/3, 2/5, 1/2, 3/5, 2/3, 3/4, 4/5, 1/1]
+     * </pre></blockquote>
+     * @param order - int - Farey序列的阶数
+     * @return RationalVector - Farey序列
+     */
+    public static RationalVector farey(int order) {
+        if(order <= 0) {
+            throw new UnexpectValueException("Farey序列的阶数必须是正数。");
+        }
+        long length = fareyLength(order);
+        if(length > Integer.MAX_VALUE - 8) {
+            throw new UnexpectValueException(order + "阶Farey序列的长度超出了数组的最大长度。");
+        }
+        RationalVector result = new RationalVector((int) length);
+        long a = 0;
+        long b = 1;
+        long c = 1;
+        long d = order;
+        for(int i = 1; i < length; i++) {
+            result.numerators[i] = c;
+            result.denominators[i] = d;
+            long k = (order + b) / d;
+            long e = k * c - a;
+            long f = k * d - b;
+            a = c;
+            b = d;
+            c = e;
+            d = f;
+        }
+        return result;
+    }
+
+    /**
+     * fareyNext方法 - 返回order阶Farey序列中紧跟在当前分数之后的一项。
+     * <p>
+     * 当前分数必须在0到1之间，并且化简后的分母不超过order，否则抛出UnexpectValueException；当前分数是1时返回null。
+     * 下一项 c/d 是满足 bc - ad = 1 且 d &lt;= order 的分数中d最大的一个，通过一次扩展欧几里得算法求出，不需要知道序列中的其他项。
+     * </p>
+     * <blockquote><pre>
+Fraction frac = new Fraction(0, 1);
+while(frac != null) {
+    frac = frac.fareyNext(5); // 1/5, 1/4, 1/3, 2/5, 1/2, ..., 1/1, null
+}
+     * </pre></blockquote>
+     * @param order - int - Farey序列的阶数
+     * @return Fraction - 下一项
+     */
+    public Fraction fareyNext(int order) {
+        long[] n = new long[1];
+        long[] d = new long[1];
+        RationalMath.load(this, n, d, 0);
+        long a = n[0];
+        long b = d[0];
+        if(a < 0 || a > b) {
+            throw new UnexpectValueException("只有0到1之间的分数才在Farey序列中。");
+        } else if(b > order) {
+            throw new UnexpectValueException("分母" + b + "超过了Farey序列的阶数" + order + "。");
+        } else if(a == b) {
+            return null;
+        }
+        // 下一项的分母满足 a * next ≡ -1 (mod b)
+        long start = b == 1 ? 0 : b - modInverse(a, b);
+        long next = start + (order - start) / b * b;
+        return new Fraction((int) ((1 + a * next) / b), (int) next);
+    }
+
+    /**
+     * sternBrocotParent方法 - 返回当前分数在Stern-Brocot树中的父节点，当前分数是根节点 1/1 时返回null。
+     * <p>
+     * Stern-Brocot树包含所有正的最简分数，每个节点都是它左右两个祖先边界的中间分数。
+     * 与从根节点开始逐层查找不同，该方法通过一次扩展欧几里得算法直接求出两个边界 a/b、c/d（满足 bc - ad = 1），
+     * 父节点就是其中后产生的（分子与分母之和较大的）一个。当前分数不是正数时，会抛出UnexpectValueException。
+     * </p>
+     * <blockquote><pre>
+new Fraction(3, 5).sternBrocotParent(); // 2/3
+new Fraction(3, 5).sternBrocotLeft(); // 4/7
+new Fraction(3, 5).sternBrocotRight(); // 5/8
+     * </pre></blockquote>
+     * @return Fraction - 父节点
+     */
+    public Fraction sternBrocotParent() {
+        long[] bounds = sternBrocotBounds();
+        long left = bounds[0] + bounds[1];
+        long right = bounds[2] + bounds[3];
+        if(left == right) {
+            return null;
+        }
+        return left > right ? new Fraction((int) bounds[0], (int) bounds[1]) : new Fraction((int) bounds[2], (int) bounds[3]);
+    }
+
+    /**
+     * sternBrocotLeft方法 - 返回当前分数在Stern-Brocot树中的左子节点，即当前分数与左边界的中间分数。
+     * <p>当前分数不是正数时，会抛出UnexpectValueException；当结果超出int的范围时，会抛出ArithmeticException。</p>
+     * @return Fraction - 左子节点
+     * @see equation.Fraction#sternBrocotParent()
+     */
+    public Fraction sternBrocotLeft() {
+        long[] bounds = sternBrocotBounds();
+        return new Fraction(Math.toIntExact(bounds[0] + bounds[0] + bounds[2]), Math.toIntExact(bounds[1] + bounds[1] + bounds[3]));
+    }
+
+    /**
+     * sternBrocotRight方法 - 返回当前分数在Stern-Brocot树中的右子节点，即当前分数与右边界的中间分数。
+     * <p>当前分数不是正数时，会抛出UnexpectValueException；当结果超出int的范围时，会抛出ArithmeticException。</p>
+     * @return Fraction - 右子节点
+     * @see equation.Fraction#sternBrocotParent()
+     */
+    public Fraction sternBrocotRight() {
+        long[] bounds = sternBrocotBounds();
+        return new Fraction(Math.toIntExact(bounds[0] + bounds[2] + bounds[2]), Math.toIntExact(bounds[1] + bounds[3] + bounds[3]));
+    }
+
+    /**
+     * sternBrocotDepth方法 - 返回当前分数在Stern-Brocot树中的深度，根节点 1/1 的深度是0。
+     * <p>深度等于连分数展开的各项之和减一，例如 3/5 = [0; 1, 1, 2]，深度是3。当前分数不是正数时，会抛出UnexpectValueException。</p>
+     * @return long - 深度
+     */
+    public long sternBrocotDepth() {
+        long[] bounds = sternBrocotBounds();
+        long p = bounds[0] + bounds[2];
+        long q = bounds[1] + bounds[3];
+        long depth = -1;
+        while(q != 0) {
+            depth += p / q;
+            long r = p % q;
+            p = q;
+            q = r;
+        }
+        return depth;
+    }
+
+    /**
+     * simplestBetween方法 - 返回严格位于num1与num2之间的最简单的分数，即分母最小（分母相同时分子的绝对值最小）的分数。
+     * <p>
+     * 结果就是开区间内在Stern-Brocot树中深度最小的节点，通过同时展开两个端点的连分数求出，只需要O(log n)次整数运算。
+     * 两个端点的顺序可以任意；当两个端点相等时，会抛出UnexpectValueException；当结果超出int的范围时，会抛出ArithmeticException。
+     * </p>
+     * <blockquote><pre>
+Fraction.simplestBetween(new Fraction(1, 3), new Fraction(1, 2)); // 2/5
+Fraction.simplestBetween(new Fraction(3, 10), new Fraction(4, 10)); // 1/3
+Fraction.simplestBetween(new Fraction(-1, 2), new Fraction(7, 3)); // 0/1
+     * </pre></blockquote>
+     * @param num1 - Number - 区间的一个端点
+     * @param num2 - Number - 区间的另一个端点
+     * @return Fraction - 区间内最简单的分数
+     */
+    public static Fraction simplestBetween(Number num1, Number num2) {
+        long[] n = new long[2];
+        long[] d = new long[2];
+        if(!RationalMath.load(num1, n, d, 0) || !RationalMath.load(num2, n, d, 1)) {
+            throw new ArithmeticException("long overflow");
+        }
+        int c = RationalMath.compare(n[0], d[0], n[1], d[1]);
+        if(c == 0) {
+            throw new UnexpectValueException("区间的两个端点不能相等。");
+        }
+        int low = c < 0 ? 0 : 1;
+        int high = 1 - low;
+        if(n[low] < 0 && n[high] > 0) {
+            return new Fraction(0);
+        } else if(n[high] <= 0) {
+            // 区间在0的左边时，求相反区间中最简单的分数再取相反数
+            Fraction result = simplestBetween(-n[high], d[high], -n[low], d[low]);
+            return new Fraction(Math.negateExact(result.numerator), result.denominator);
+        }
+        return simplestBetween(n[low], d[low], n[high], d[high]);
+    }
+
+    /**
+     * simplestBetween方法 - 返回开区间 (a/b, c/d) 中最简单的分数，其中 0 &lt;= a/b &lt; c/d。
+     */
+    private static Fraction simplestBetween(long a, long b, long c, long d) {
+        long[] terms = new long[128];
+        int count = 0;
+        while(true) {
+            long floor = a / b;
+            // d为0时表示上界是无穷大
+            long rest = c - floor * d;
+            if(d == 0 || rest > d) {
+                terms[count++] = floor + 1;
+                break;
+            }
+            terms[count++] = floor;
+            long remainder = a - floor * b;
+            // 新的区间是 (1 / (c/d - floor), 1 / (a/b - floor))，remainder为0时上界是无穷大
+            c = b;
+            b = rest;
+            a = d;
+            d = remainder;
+        }
+        long numerator = terms[count - 1];
+        long denominator = 1;
+        for(int i = count - 2; i >= 0; i--) {
+            long temp = Math.addExact(Math.multiplyExact(terms[i], numerator), denominator);
+            denominator = numerator;
+            numerator = temp;
+        }
+        return new Fraction(Math.toIntExact(numerator), Math.toIntExact(denominator));
+    }
+
+    /**
+     * sternBrocotBounds方法 - 返回当前分数 p/q 在Stern-Brocot树中的左右边界 a/b、c/d，满足 a + c = p，b + d = q，bc - ad = 1。
+     * <p>左边界可能是 0/1，右边界可能是 1/0，它们不是树中的节点。</p>
+     */
+    private long[] sternBrocotBounds() {
+        long[] n = new long[1];
+        long[] d = new long[1];
+        RationalMath.load(this, n, d, 0);
+        long p = n[0];
+        long q = d[0];
+        if(p <= 0) {
+            throw new UnexpectValueException("只有正分数才在Stern-Brocot树中。");
+        }
+        // pb ≡ 1 (mod q)，并且 1 <= b <= q
+        long b = q == 1 ? 1 : modInverse(p % q, q);
+        long a = (p * b - 1) / q;
+        return new long[] { a, b, p - a, q - b };
+    }
+
+    /**
+     * modInverse方法 - 使用扩展欧几里得算法求a在模m下的逆元，a与m必须互质，结果在1到m - 1之间。
+     */
+    private static long modInverse(long a, long m) {
+        long r0 = m;
+        long r1 = a % m;
+        long s0 = 0;
+        long s1 = 1;
+        while(r1 != 0) {
+            long quotient = r0 / r1;
+            long r = r0 - quotient * r1;
+            r0 = r1;
+            r1 = r;
+            long s = s0 - quotient * s1;
+            s0 = s1;
+            s1 = s;
+        }
+        return s0 < 0 ? s0 + m : s0;
+    }
+
+    /**
+     * fareyLength方法 - 返回order阶Farey序列的长度 1 + φ(1) + φ(2) + ... + φ(order)，使用筛法求欧拉函数。
+     */
+    private static long fareyLength(int order) {
+        if(order > 100000) {
+            // 此时长度已经超过 3 * 10^9
+            return Long.MAX_VALUE;
+        }
+        int[] phi = new int[order + 1];
+        for(int i = 0; i <= order; i++) {
+            phi[i] = i;
+        }
+        long length = 1;
+        for(int i = 1; i <= order; i++) {
+            if(i > 1 && phi[i] == i) {
+                for(int j = i; j <= order; j += i) {
+                    phi[j] -= phi[j] / i;
+                }
+            }
+            length += phi[i];
+        }
+        return length;
+    }
+
     /**
      * toString方法 - 返回分数的字符串形式（a/b）。
+     * <p>需要把大量分数写入同一段文本时，请使用{@link equation.FractionFormat#format(StringBuilder, Number)}，它不会创建临时字符串。</p>
      * @return String - 转化后的字符串
      */
     public String toString() {
-        return Integer.toString(numerator) + "/" + Integer.toString(denominator);
+        return FractionFormat.format(new StringBuilder(23), numerator, denominator).toString();
     }
 }
@@ -0,0 +1,498 @@
+package equation;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * FractionCodec - 分数的紧凑二进制编码。
+ * <p>
+ * 每个分数都以分母为正数的最简分数形式编码：先写分母（无符号varint），再写分子（zigzag编码后的varint）。
+ * varint每个字节保存7位数据，最高位表示后面是否还有字节，因此绝对值较小的分子和分母只占很少的字节，例如 1/2 只需要2个字节，而文本 "1/2" 需要3个字节，
+ * 123456/7 只需要4个字节。合法的分母永远不会是0，因此分母为0表示后面是超出long范围的BigInteger形式：
+ * 分子和分母依次以“varint长度 + 二进制补码字节”的形式写出。
+ * </p>
+ * <blockquote><pre>
+分母(varint) != 0：  分母 | zigzag(分子)
+分母(varint) == 0：  0 | 分子字节数 | 分子字节 | 分母字节数 | 分母字节
+ * </pre></blockquote>
+ * <p>
+ * 读写{@link java.nio.ByteBuffer}、写入{@link java.io.DataOutput}以及计算encodedLength时直接使用分子和分母，不创建任何中间对象（BigInteger形式除外）。批量编码先写元素个数，再依次写出每个元素。
+ * 读到的数据总是会被重新化简，因此即使数据来自不受信任的来源，读到的向量也满足{@link equation.RationalVector}的要求。
+ * 数据中的长度不会被直接用来分配内存：读ByteBuffer时长度不能超过剩余的字节数，读DataInput时数组随着实际读到的数据逐步扩大，
+ * 因此几个字节的伪造长度不会导致巨大的内存分配。
+ * 当数据格式错误时，会抛出UnexpectValueException；当数据不完整时，ByteBuffer会抛出{@link java.nio.BufferUnderflowException}。
+ * </p>
+ * <blockquote><pre>
+ByteBuffer buffer = ByteBuffer.allocate(64);
+FractionCodec.write(buffer, new Fraction(1, 2));
+FractionCodec.write(buffer, new Fraction(-3, 4));
+buffer.flip();
+FractionCodec.read(buffer); // 1/2
+FractionCodec.read(buffer); // -3/4
+ * </pre></blockquote>
+ * @see equation.RationalVector
+ */
+public final class FractionCodec {
+    /**
+     * MAX_VARINT_LENGTH常量 - 一个long的varint最多占用的字节数。
+     */
+    public static final int MAX_VARINT_LENGTH = 10;
+
+    /**
+     * INITIAL_CAPACITY常量 - 从DataInput读取时数组的初始长度，之后随着读到的数据成倍扩大。
+     */
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * FractionCodec - 私有的构造函数。
+     * <p>因为该类不应该被初始化，所以它的构造函数是私有的。
+     */
+    private FractionCodec() {
+        super();
+    }
+
+    /**
+     * write方法 - 将一个分数编码后写入buffer。
+     * <p>传入的分数会先被化简。当buffer的空间不足时，会抛出{@link java.nio.BufferOverflowException}。</p>
+     * @param buffer - ByteBuffer - 写入的位置
+     * @param num - Number - 需要写入的分数
+     */
+    public static void write(ByteBuffer buffer, Number num) {
+        if(num instanceof HybridFraction && ((HybridFraction) num).big == null) {
+            HybridFraction hybrid = (HybridFraction) num;
+            writeReduced(buffer, hybrid.numerator, hybrid.denominator);
+        } else if(num instanceof Rational) {
+            Rational rational = (Rational) num;
+            writeReduced(buffer, rational.getNumerator(), rational.getDenominator());
+        } else if(num instanceof AbstractRationalNumber) {
+            AbstractRationalNumber rational = (AbstractRationalNumber) num;
+            write(buffer, rational.numerator, rational.denominator);
+        } else {
+            BigFraction big = BigFraction.valueOf(num);
+            write(buffer, big.getNumerator(), big.getDenominator());
+        }
+    }
+
+    /**
+     * write方法 - 将分数 numerator/denominator 编码后写入buffer。
+     * <p>传入的分数会先被化简，并把符号移到分子上。当分母为0时，会抛出UnexpectValueException。</p>
+     * @param buffer - ByteBuffer - 写入的位置
+     * @param numerator - long - 分子
+     * @param denominator - long - 分母
+     */
+    public static void write(ByteBuffer buffer, long numerator, long denominator) {
+        if(denominator == 0) {
+            throw new UnexpectValueException("不能将分母设置为0。");
+        } else if(numerator == Long.MIN_VALUE || denominator == Long.MIN_VALUE) {
+            BigFraction big = BigFraction.valueOf(numerator, denominator);
+            write(buffer, big.getNumerator(), big.getDenominator());
+            return;
+        }
+        long gcd = RationalMath.gcd(numerator, denominator);
+        if(denominator < 0) {
+            gcd = -gcd;
+        }
+        writeReduced(buffer, numerator / gcd, denominator / gcd);
+    }
+
+    /**
+     * write方法 - 将一个分数编码后写入out，格式与写入ByteBuffer时相同。
+     * @param out - DataOutput - 写入的位置
+     * @param num - Number - 需要写入的分数
+     * @throws IOException - out抛出的异常
+     */
+    public static void write(DataOutput out, Number num) throws IOException {
+        if(num instanceof HybridFraction && ((HybridFraction) num).big == null) {
+            HybridFraction hybrid = (HybridFraction) num;
+            writeReduced(out, hybrid.numerator, hybrid.denominator);
+        } else if(num instanceof Rational) {
+            Rational rational = (Rational) num;
+            writeReduced(out, rational.getNumerator(), rational.getDenominator());
+        } else if(num instanceof AbstractRationalNumber) {
+            AbstractRationalNumber rational = (AbstractRationalNumber) num;
+            long gcd = reducer(rational.numerator, rational.denominator);
+            writeReduced(out, rational.numerator / gcd, rational.denominator / gcd);
+        } else {
+            BigFraction big = BigFraction.valueOf(num);
+            if(fitsLong(big)) {
+                writeReduced(out, big.getNumerator().longValue(), big.getDenominator().longValue());
+                return;
+            }
+            writeVarint(out, 0);
+            writeBytes(out, big.getNumerator().toByteArray());
+            writeBytes(out, big.getDenominator().toByteArray());
+        }
+    }
+
+    /**
+     * read方法 - 从buffer中读出一个分数。
+     * @param buffer - ByteBuffer - 读取的位置
+     * @return HybridFraction - 读到的分数
+     */
+    public static HybridFraction read(ByteBuffer buffer) {
+        long denominator = readVarint(buffer);
+        if(denominator == 0) {
+            BigInteger numerator = new BigInteger(readBytes(buffer));
+            return HybridFraction.valueOf(BigFraction.valueOf(numerator, new BigInteger(readBytes(buffer))));
+        }
+        return HybridFraction.valueOf(unzigzag(readVarint(buffer)), checkDenominator(denominator));
+    }
+
+    /**
+     * read方法 - 从in中读出一个分数。
+     * @param in - DataInput - 读取的位置
+     * @return HybridFraction - 读到的分数
+     * @throws IOException - in抛出的异常，数据不完整时为{@link java.io.EOFException}
+     */
+    public static HybridFraction read(DataInput in) throws IOException {
+        long denominator = readVarint(in);
+        if(denominator == 0) {
+            BigInteger numerator = new BigInteger(readBytes(in));
+            return HybridFraction.valueOf(BigFraction.valueOf(numerator, new BigInteger(readBytes(in))));
+        }
+        return HybridFraction.valueOf(unzigzag(readVarint(in)), checkDenominator(denominator));
+    }
+
+    /**
+     * read方法 - 从buffer中读出一个分数，写入out的第index个元素，不创建任何对象。
+     * <p>当读到的分数超出long的范围时，会抛出ArithmeticException。</p>
+     * @param buffer - ByteBuffer - 读取的位置
+     * @param out - RationalVector - 存放结果的向量
+     * @param index - int - 元素的位置
+     */
+    public static void read(ByteBuffer buffer, RationalVector out, int index) {
+        long denominator = readVarint(buffer);
+        if(denominator == 0) {
+            throw new ArithmeticException("long overflow");
+        }
+        store(unzigzag(readVarint(buffer)), checkDenominator(denominator), out, index);
+    }
+
+    /**
+     * writeArray方法 - 将一组分数编码后写入buffer：先写元素个数，再依次写出每个分数。
+     * @param buffer - ByteBuffer - 写入的位置
+     * @param values - Number[] - 需要写入的分数，例如Fraction[]
+     * @see equation.FractionCodec#readFractions(ByteBuffer)
+     */
+    public static void writeArray(ByteBuffer buffer, Number[] values) {
+        writeVarint(buffer, values.length);
+        for(Number value : values) {
+            write(buffer, value);
+        }
+    }
+
+    /**
+     * readFractions方法 - 读出由{@link equation.FractionCodec#writeArray(ByteBuffer, Number[])}写入的一组分数。
+     * <p>当某个分数超出int的范围时，会抛出ArithmeticException。</p>
+     * @param buffer - ByteBuffer - 读取的位置
+     * @return Fraction[] - 读到的分数
+     */
+    public static Fraction[] readFractions(ByteBuffer buffer) {
+        Fraction[] result = new Fraction[readLength(buffer)];
+        long[] numerators = new long[1];
+        long[] denominators = new long[1];
+        for(int i = 0; i < result.length; i++) {
+            long denominator = readVarint(buffer);
+            if(denominator == 0) {
+                throw new ArithmeticException("integer overflow");
+            }
+            reduce(unzigzag(readVarint(buffer)), checkDenominator(denominator), numerators, denominators, 0);
+            result[i] = new Fraction(Math.toIntExact(numerators[0]), Math.toIntExact(denominators[0]));
+        }
+        return result;
+    }
+
+    /**
+     * writeVector方法 - 将一个向量编码后写入buffer：先写长度，再依次写出每个元素，不创建任何对象。
+     * @param buffer - ByteBuffer - 写入的位置
+     * @param vector - RationalVector - 需要写入的向量
+     * @see equation.FractionCodec#readVector(ByteBuffer)
+     */
+    public static void writeVector(ByteBuffer buffer, RationalVector vector) {
+        long[] numerators = vector.numerators;
+        long[] denominators = vector.denominators;
+        writeVarint(buffer, numerators.length);
+        for(int i = 0; i < numerators.length; i++) {
+            writeVarint(buffer, denominators[i]);
+            writeVarint(buffer, zigzag(numerators[i]));
+        }
+    }
+
+    /**
+     * writeVector方法 - 将一个向量编码后写入out，格式与写入ByteBuffer时相同。
+     * @param out - DataOutput - 写入的位置
+     * @param vector - RationalVector - 需要写入的向量
+     * @throws IOException - out抛出的异常
+     */
+    public static void writeVector(DataOutput out, RationalVector vector) throws IOException {
+        long[] numerators = vector.numerators;
+        long[] denominators = vector.denominators;
+        writeVarint(out, numerators.length);
+        for(int i = 0; i < numerators.length; i++) {
+            writeVarint(out, denominators[i]);
+            writeVarint(out, zigzag(numerators[i]));
+        }
+    }
+
+    /**
+     * readVector方法 - 读出由{@link equation.FractionCodec#writeVector(ByteBuffer, RationalVector)}写入的向量。
+     * <p>除了向量本身以外不创建任何对象。当某个元素超出long的范围时，会抛出ArithmeticException。</p>
+     * @param buffer - ByteBuffer - 读取的位置
+     * @return RationalVector - 读到的向量
+     */
+    public static RationalVector readVector(ByteBuffer buffer) {
+        RationalVector vector = new RationalVector(readLength(buffer));
+        for(int i = 0; i < vector.numerators.length; i++) {
+            read(buffer, vector, i);
+        }
+        return vector;
+    }
+
+    /**
+     * readVector方法 - 从in中读出一个向量。
+     * <p>DataInput无法知道剩余的数据量，因此向量的数组从较小的长度开始，随着读到的元素成倍扩大，直到数据中记录的长度。</p>
+     * @param in - DataInput - 读取的位置
+     * @return RationalVector - 读到的向量
+     * @throws IOException - in抛出的异常
+     */
+    public static RationalVector readVector(DataInput in) throws IOException {
+        long length = readVarint(in);
+        if(length < 0 || length > Integer.MAX_VALUE) {
+            throw new UnexpectValueException("数据格式错误：长度" + length + "无效。");
+        }
+        int capacity = (int) Math.min(length, INITIAL_CAPACITY);
+        long[] numerators = new long[capacity];
+        long[] denominators = new long[capacity];
+        for(int i = 0; i < length; i++) {
+            if(i == numerators.length) {
+                capacity = (int) Math.min(length, 2L * capacity);
+                numerators = Arrays.copyOf(numerators, capacity);
+                denominators = Arrays.copyOf(denominators, capacity);
+            }
+            long denominator = readVarint(in);
+            if(denominator == 0) {
+                throw new ArithmeticException("long overflow");
+            }
+            reduce(unzigzag(readVarint(in)), checkDenominator(denominator), numerators, denominators, i);
+        }
+        return new RationalVector(numerators, denominators);
+    }
+
+    /**
+     * encodedLength方法 - 计算一个分数编码后占用的字节数，可以用来预先分配buffer。
+     * @param num - Number - 需要编码的分数
+     * @return int - 字节数
+     */
+    public static int encodedLength(Number num) {
+        if(num instanceof HybridFraction && ((HybridFraction) num).big == null) {
+            HybridFraction hybrid = (HybridFraction) num;
+            return encodedLength(hybrid.numerator, hybrid.denominator);
+        } else if(num instanceof Rational) {
+            Rational rational = (Rational) num;
+            return encodedLength(rational.getNumerator(), rational.getDenominator());
+        } else if(num instanceof AbstractRationalNumber) {
+            AbstractRationalNumber rational = (AbstractRationalNumber) num;
+            long gcd = reducer(rational.numerator, rational.denominator);
+            return encodedLength(rational.numerator / gcd, rational.denominator / gcd);
+        }
+        BigFraction big = BigFraction.valueOf(num);
+        if(fitsLong(big)) {
+            return encodedLength(big.getNumerator().longValue(), big.getDenominator().longValue());
+        }
+        int numeratorLength = big.getNumerator().bitLength() / 8 + 1;
+        int denominatorLength = big.getDenominator().bitLength() / 8 + 1;
+        return 1 + varintLength(numeratorLength) + numeratorLength + varintLength(denominatorLength) + denominatorLength;
+    }
+
+    /**
+     * encodedLength方法 - 计算一个向量编码后占用的字节数。
+     * @param vector - RationalVector - 需要编码的向量
+     * @return int - 字节数
+     */
+    public static int encodedLength(RationalVector vector) {
+        int length = varintLength(vector.numerators.length);
+        for(int i = 0; i < vector.numerators.length; i++) {
+            length += varintLength(vector.denominators[i]) + varintLength(zigzag(vector.numerators[i]));
+        }
+        return length;
+    }
+
+    /**
+     * encodedLength方法 - 计算分母为正数的最简分数编码后占用的字节数。
+     */
+    private static int encodedLength(long numerator, long denominator) {
+        return varintLength(denominator) + varintLength(zigzag(numerator));
+    }
+
+    /**
+     * reducer方法 - 求化简int分数时需要除以的数：分子和分母的最大公约数，分母为负数时取负数，从而把符号移到分子上。
+     */
+    private static long reducer(int numerator, int denominator) {
+        long gcd = RationalMath.gcd((long) numerator, denominator);
+        return denominator < 0 ? -gcd : gcd;
+    }
+
+    private static boolean fitsLong(BigFraction big) {
+        return big.getNumerator().bitLength() < 64 && big.getDenominator().bitLength() < 64 && big.getNumerator().longValue() != Long.MIN_VALUE;
+    }
+
+    private static void writeReduced(DataOutput out, long numerator, long denominator) throws IOException {
+        writeVarint(out, denominator);
+        writeVarint(out, zigzag(numerator));
+    }
+
+    /**
+     * writeReduced方法 - 写入分母为正数的最简分数。
+     */
+    private static void writeReduced(ByteBuffer buffer, long numerator, long denominator) {
+        writeVarint(buffer, denominator);
+        writeVarint(buffer, zigzag(numerator));
+    }
+
+    /**
+     * write方法 - 写入BigInteger形式的最简分数，能放进long时仍然使用long的形式。
+     */
+    private static void write(ByteBuffer buffer, BigInteger numerator, BigInteger denominator) {
+        if(numerator.bitLength() < 64 && denominator.bitLength() < 64 && numerator.longValue() != Long.MIN_VALUE) {
+            writeReduced(buffer, numerator.longValue(), denominator.longValue());
+            return;
+        }
+        writeVarint(buffer, 0);
+        byte[] bytes = numerator.toByteArray();
+        writeVarint(buffer, bytes.length);
+        buffer.put(bytes);
+        bytes = denominator.toByteArray();
+        writeVarint(buffer, bytes.length);
+        buffer.put(bytes);
+    }
+
+    /**
+     * store方法 - 化简后写入向量。
+     */
+    private static void store(long numerator, long denominator, RationalVector out, int index) {
+        reduce(numerator, denominator, out.numerators, out.denominators, index);
+    }
+
+    private static void reduce(long numerator, long denominator, long[] numerators, long[] denominators, int index) {
+        if(numerator == Long.MIN_VALUE) {
+            throw new ArithmeticException("long overflow");
+        }
+        long gcd = RationalMath.gcd(numerator, denominator);
+        if(gcd != 1) {
+            // 正常写出的数据已经是最简分数，跳过两次long除法
+            numerator /= gcd;
+            denominator /= gcd;
+        }
+        numerators[index] = numerator;
+        denominators[index] = denominator;
+    }
+
+    /**
+     * checkDenominator方法 - 分母必须是正数（varint读出的分母超过Long.MAX_VALUE时是负数）。
+     */
+    private static long checkDenominator(long denominator) {
+        if(denominator < 0) {
+            throw new UnexpectValueException("数据格式错误：分母超出范围。");
+        }
+        return denominator;
+    }
+
+    private static int readLength(ByteBuffer buffer) {
+        long length = readVarint(buffer);
+        // 每个分数至少占用2个字节
+        if(length < 0 || length > buffer.remaining() / 2) {
+            throw new UnexpectValueException("数据格式错误：长度" + length + "无效。");
+        }
+        return (int) length;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static int varintLength(long value) {
+        int bits = 64 - Long.numberOfLeadingZeros(value | 1);
+        return (bits + 6) / 7;
+    }
+
+    private static void writeVarint(ByteBuffer buffer, long value) {
+        while((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static void writeVarint(DataOutput out, long value) throws IOException {
+        while((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarint(ByteBuffer buffer) {
+        long result = 0;
+        for(int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            result |= (long) (b & 0x7F) << shift;
+            if(b >= 0) {
+                return result;
+            }
+        }
+        throw new UnexpectValueException("数据格式错误：varint过长。");
+    }
+
+    private static long readVarint(DataInput in) throws IOException {
+        long result = 0;
+        for(int shift = 0; shift < 64; shift += 7) {
+            byte b = in.readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if(b >= 0) {
+                return result;
+            }
+        }
+        throw new UnexpectValueException("数据格式错误：varint过长。");
+    }
+
+    private static void writeBytes(DataOutput out, byte[] bytes) throws IOException {
+        writeVarint(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(ByteBuffer buffer) {
+        long length = readVarint(buffer);
+        if(length <= 0 || length > buffer.remaining()) {
+            throw new UnexpectValueException("数据格式错误：长度" + length + "无效。");
+        }
+        byte[] bytes = new byte[(int) length];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private static byte[] readBytes(DataInput in) throws IOException {
+        long length = readVarint(in);
+        if(length <= 0 || length > Integer.MAX_VALUE) {
+            throw new UnexpectValueException("数据格式错误：长度" + length + "无效。");
+        }
+        // 与readVector(DataInput)相同，随着读到的数据逐步扩大数组
+        int filled = 0;
+        byte[] bytes = new byte[(int) Math.min(length, INITIAL_CAPACITY)];
+        while(true) {
+            in.readFully(bytes, filled, bytes.length - filled);
+            filled = bytes.length;
+            if(filled == length) {
+                return bytes;
+            }
+            bytes = Arrays.copyOf(bytes, (int) Math.min(length, 2L * filled));
+        }
+    }
+}
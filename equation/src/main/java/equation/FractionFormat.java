@@ -0,0 +1,498 @@
+package equation;
+
+import java.io.IOException;
+import java.math.BigInteger;
+
+/**
+ * FractionFormat - 分数的文本解析与格式化。
+ * <p>
+ * 解析方法直接读取{@link java.lang.CharSequence}（例如String、StringBuilder或{@link java.nio.CharBuffer}）中的一段字符，
+ * 不会调用substring或split，也不会创建中间字符串。支持以下几种形式，前后的空白字符会被忽略：
+ * </p>
+ * <blockquote><pre>
+3          整数
+-3/4       分数（分子和分母都可以带符号，"/"两边可以有空格）
+1 1/2      带分数，等于 3/2；-1 1/2 等于 -3/2
+0.125      小数，等于 1/8；.5 和 5. 也是合法的
+0.1(6)     循环小数，括号中是循环节，等于 1/6
+ * </pre></blockquote>
+ * <p>
+ * 解析得到的分数会被化简。结果能放进long时只做long运算，只有超出long的范围时才会创建BigInteger。
+ * 当文本格式错误或分母为0时，会抛出UnexpectValueException。
+ * </p>
+ * <p>
+ * 格式化方法把分数追加到调用者提供的{@link java.lang.StringBuilder}或{@link java.lang.Appendable}中，分子和分母直接以数字字符写入，
+ * 不会像 <code>Integer.toString(n) + "/" + Integer.toString(d)</code> 那样创建三个临时字符串。
+ * </p>
+ * <blockquote><pre>
+FractionFormat.parse("1 1/2"); // 3/2
+FractionFormat.parse("0.(3)"); // 1/3
+FractionFormat.parse("a,-3/4,b", 2, 6); // -3/4
+StringBuilder builder = new StringBuilder();
+FractionFormat.format(builder, new Fraction(3, 2)).append(','); // "3/2,"
+FractionFormat.formatMixed(builder, new Fraction(-3, 2)); // "3/2,-1 1/2"
+ * </pre></blockquote>
+ * @see equation.FractionCodec
+ */
+public final class FractionFormat {
+    /**
+     * POWERS_OF_TEN常量 - long范围内10的幂。
+     */
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for(int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    /**
+     * FractionFormat - 私有的构造函数，该类只包含静态方法。
+     */
+    private FractionFormat() {
+        super();
+    }
+
+    /**
+     * parse方法 - 解析整个字符序列。
+     * @param text - CharSequence - 需要解析的文本
+     * @return HybridFraction - 解析得到的最简分数
+     * @see equation.FractionFormat#parse(CharSequence, int, int)
+     */
+    public static HybridFraction parse(CharSequence text) {
+        return parse(text, 0, text.length());
+    }
+
+    /**
+     * parse方法 - 解析字符序列中从start（包含）到end（不包含）的一段字符。
+     * <blockquote><pre>
+String line = "1/2,0.25,3";
+FractionFormat.parse(line, 4, 8); // 1/4
+     * </pre></blockquote>
+     * @param text - CharSequence - 需要解析的文本
+     * @param start - int - 起始位置（包含）
+     * @param end - int - 结束位置（不包含）
+     * @return HybridFraction - 解析得到的最简分数
+     */
+    public static HybridFraction parse(CharSequence text, int start, int end) {
+        return parse(text, start, end, null, null, 0);
+    }
+
+    /**
+     * parse方法 - 解析一段字符，并将结果化简后直接写入out的第index个位置，不创建任何对象。
+     * <p>当结果超出long的范围时，会抛出ArithmeticException，此时out不会被修改。</p>
+     * @param text - CharSequence - 需要解析的文本
+     * @param start - int - 起始位置（包含）
+     * @param end - int - 结束位置（不包含）
+     * @param out - RationalVector - 存放结果的向量
+     * @param index - int - 在向量中的位置
+     */
+    public static void parse(CharSequence text, int start, int end, RationalVector out, int index) {
+        parse(text, start, end, out.numerators, out.denominators, index);
+    }
+
+    /**
+     * parseFraction方法 - 解析一段字符，返回Fraction对象。
+     * <p>当结果的分子或分母超出int的范围时，会抛出ArithmeticException。</p>
+     * @param text - CharSequence - 需要解析的文本
+     * @param start - int - 起始位置（包含）
+     * @param end - int - 结束位置（不包含）
+     * @return Fraction - 解析得到的最简分数
+     */
+    public static Fraction parseFraction(CharSequence text, int start, int end) {
+        long[] numerator = new long[1];
+        long[] denominator = new long[1];
+        parse(text, start, end, numerator, denominator, 0);
+        return new Fraction(Math.toIntExact(numerator[0]), Math.toIntExact(denominator[0]));
+    }
+
+    /**
+     * parseVector方法 - 解析以separator分隔的一列分数，例如CSV文件中的一列。
+     * <p>每个字段都直接从text中解析，不会创建子字符串。字段的个数等于separator的个数加1，空字段会抛出UnexpectValueException。</p>
+     * <blockquote><pre>
+FractionFormat.parseVector("1/2, 0.25, 1 1/3", ','); // [1/2, 1/4, 4/3]
+     * </pre></blockquote>
+     * @param text - CharSequence - 需要解析的文本
+     * @param separator - char - 字段之间的分隔符
+     * @return RationalVector - 解析得到的向量
+     */
+    public static RationalVector parseVector(CharSequence text, char separator) {
+        int length = text.length();
+        int count = 1;
+        for(int i = 0; i < length; i++) {
+            if(text.charAt(i) == separator) {
+                count++;
+            }
+        }
+        RationalVector vector = new RationalVector(count);
+        int start = 0;
+        for(int i = 0; i < count; i++) {
+            int end = start;
+            while(end < length && text.charAt(end) != separator) {
+                end++;
+            }
+            parse(text, start, end, vector.numerators, vector.denominators, i);
+            start = end + 1;
+        }
+        return vector;
+    }
+
+    /**
+     * format方法 - 将分数以 n/d 的形式追加到builder的末尾，结果与num.toString()相同。
+     * <p>Fraction不会被化简，例如 new Fraction(2, 4) 会写成 2/4。</p>
+     * @param builder - StringBuilder - 存放结果的StringBuilder
+     * @param num - Number - 需要格式化的数
+     * @return StringBuilder - 传入的builder，以便继续追加
+     */
+    public static StringBuilder format(StringBuilder builder, Number num) {
+        if(num instanceof Rational) {
+            Rational rational = (Rational) num;
+            return format(builder, rational.getNumerator(), rational.getDenominator());
+        } else if(num instanceof HybridFraction) {
+            HybridFraction hybrid = (HybridFraction) num;
+            if(hybrid.big == null) {
+                return format(builder, hybrid.numerator, hybrid.denominator);
+            }
+            return builder.append(hybrid.big.getNumerator()).append('/').append(hybrid.big.getDenominator());
+        } else if(num instanceof AbstractRationalNumber) {
+            AbstractRationalNumber rational = (AbstractRationalNumber) num;
+            return format(builder, rational.numerator, rational.denominator);
+        } else if(num instanceof BigFraction) {
+            BigFraction big = (BigFraction) num;
+            return builder.append(big.getNumerator()).append('/').append(big.getDenominator());
+        }
+        return builder.append(num.toString());
+    }
+
+    /**
+     * format方法 - 将 numerator/denominator 追加到builder的末尾，不会化简。
+     * @param builder - StringBuilder - 存放结果的StringBuilder
+     * @param numerator - long - 分子
+     * @param denominator - long - 分母
+     * @return StringBuilder - 传入的builder，以便继续追加
+     */
+    public static StringBuilder format(StringBuilder builder, long numerator, long denominator) {
+        return builder.append(numerator).append('/').append(denominator);
+    }
+
+    /**
+     * format方法 - 将向量的第index个元素以 n/d 的形式追加到builder的末尾。
+     * @param builder - StringBuilder - 存放结果的StringBuilder
+     * @param vector - RationalVector - 向量
+     * @param index - int - 元素的位置
+     * @return StringBuilder - 传入的builder，以便继续追加
+     */
+    public static StringBuilder format(StringBuilder builder, RationalVector vector, int index) {
+        return format(builder, vector.numerators[index], vector.denominators[index]);
+    }
+
+    /**
+     * format方法 - 将分数以 n/d 的形式写入任意的Appendable，例如{@link java.io.Writer}。
+     * <p>分子和分母逐个字符写入，不会创建临时字符串（BigFraction除外）。</p>
+     * @param out - Appendable - 存放结果的Appendable
+     * @param num - Number - 需要格式化的数
+     * @throws IOException - out写入失败时抛出
+     */
+    public static void format(Appendable out, Number num) throws IOException {
+        if(out instanceof StringBuilder) {
+            format((StringBuilder) out, num);
+        } else if(num instanceof Rational) {
+            Rational rational = (Rational) num;
+            format(out, rational.getNumerator(), rational.getDenominator());
+        } else if(num instanceof HybridFraction && ((HybridFraction) num).big == null) {
+            HybridFraction hybrid = (HybridFraction) num;
+            format(out, hybrid.numerator, hybrid.denominator);
+        } else if(num instanceof AbstractRationalNumber) {
+            AbstractRationalNumber rational = (AbstractRationalNumber) num;
+            format(out, rational.numerator, rational.denominator);
+        } else {
+            out.append(num.toString());
+        }
+    }
+
+    /**
+     * format方法 - 将 numerator/denominator 写入任意的Appendable，不会化简。
+     * @param out - Appendable - 存放结果的Appendable
+     * @param numerator - long - 分子
+     * @param denominator - long - 分母
+     * @throws IOException - out写入失败时抛出
+     */
+    public static void format(Appendable out, long numerator, long denominator) throws IOException {
+        appendLong(out, numerator);
+        out.append('/');
+        appendLong(out, denominator);
+    }
+
+    /**
+     * formatMixed方法 - 将分数化简后以带分数的形式追加到builder的末尾，写出的文本可以被parse方法解析。
+     * <blockquote><pre>
+FractionFormat.formatMixed(builder, new Fraction(7, 2)); // 3 1/2
+FractionFormat.formatMixed(builder, new Fraction(-7, 2)); // -3 1/2
+FractionFormat.formatMixed(builder, new Fraction(1, 2)); // 1/2
+FractionFormat.formatMixed(builder, new Fraction(4, 2)); // 2
+     * </pre></blockquote>
+     * @param builder - StringBuilder - 存放结果的StringBuilder
+     * @param num - Number - 需要格式化的数
+     * @return StringBuilder - 传入的builder，以便继续追加
+     */
+    public static StringBuilder formatMixed(StringBuilder builder, Number num) {
+        HybridFraction hybrid = HybridFraction.valueOf(num);
+        if(hybrid.big != null) {
+            BigInteger numerator = hybrid.big.getNumerator();
+            BigInteger denominator = hybrid.big.getDenominator();
+            if(numerator.signum() < 0) {
+                builder.append('-');
+                numerator = numerator.negate();
+            }
+            BigInteger[] parts = numerator.divideAndRemainder(denominator);
+            if(parts[0].signum() != 0) {
+                builder.append(parts[0]).append(' ');
+            }
+            return builder.append(parts[1]).append('/').append(denominator);
+        }
+        long numerator = hybrid.numerator;
+        long denominator = hybrid.denominator;
+        if(denominator == 1) {
+            return builder.append(numerator);
+        } else if(numerator < 0) {
+            builder.append('-');
+        }
+        long whole = Math.abs(numerator / denominator);
+        if(whole != 0) {
+            builder.append(whole).append(' ');
+        }
+        // numerator不会是Long.MIN_VALUE，因此取绝对值不会溢出
+        return format(builder, Math.abs(numerator % denominator), denominator);
+    }
+
+    /**
+     * parse方法 - 解析的共同实现。
+     * <p>numerators为null时返回HybridFraction；否则将结果写入数组并返回null，此时结果超出long的范围会抛出ArithmeticException。</p>
+     */
+    private static HybridFraction parse(CharSequence text, int start, int end, long[] numerators, long[] denominators, int index) {
+        if(start < 0 || end > text.length() || start > end) {
+            throw new IndexOutOfBoundsException("start " + start + ", end " + end + ", length " + text.length());
+        }
+        int from = start;
+        int to = end;
+        while(from < to && Character.isWhitespace(text.charAt(from))) {
+            from++;
+        }
+        while(to > from && Character.isWhitespace(text.charAt(to - 1))) {
+            to--;
+        }
+        int position = from;
+        boolean negative = false;
+        if(position < to && (text.charAt(position) == '-' || text.charAt(position) == '+')) {
+            negative = text.charAt(position) == '-';
+            position++;
+        }
+        int wholeStart = position;
+        position = skipDigits(text, position, to);
+        int wholeEnd = position;
+        // 分数部分：分子的数字在[partStart, partEnd)，分母的数字在[denominatorStart, denominatorEnd)；
+        // 小数时分子是[partStart, partEnd)，循环节是[repeatStart, repeatEnd)，分母由它们的位数决定
+        int partStart = position;
+        int partEnd = position;
+        int repeatStart = position;
+        int repeatEnd = position;
+        int denominatorStart = position;
+        int denominatorEnd = position;
+        boolean decimal = false;
+        boolean negativeDenominator = false;
+        if(position < to) {
+            char c = text.charAt(position);
+            if(c == '.') {
+                decimal = true;
+                partStart = position + 1;
+                partEnd = skipDigits(text, partStart, to);
+                position = partEnd;
+                if(position < to && text.charAt(position) == '(') {
+                    repeatStart = position + 1;
+                    repeatEnd = skipDigits(text, repeatStart, to);
+                    if(repeatEnd == repeatStart || repeatEnd == to || text.charAt(repeatEnd) != ')') {
+                        throw malformed(text, start, end);
+                    }
+                    position = repeatEnd + 1;
+                } else {
+                    repeatStart = position;
+                    repeatEnd = position;
+                }
+                if(wholeStart == wholeEnd && partStart == partEnd && repeatStart == repeatEnd) {
+                    throw malformed(text, start, end);
+                }
+            } else if(c == '/' || Character.isWhitespace(c)) {
+                if(wholeStart == wholeEnd) {
+                    throw malformed(text, start, end);
+                }
+                position = skipWhitespace(text, position, to);
+                if(position < to && text.charAt(position) != '/') {
+                    // 带分数：整数部分之后是 分子/分母
+                    partStart = position;
+                    partEnd = skipDigits(text, partStart, to);
+                    position = skipWhitespace(text, partEnd, to);
+                } else {
+                    // 普通分数：整数部分就是分子
+                    partStart = wholeStart;
+                    partEnd = wholeEnd;
+                    wholeEnd = wholeStart;
+                }
+                if(partStart == partEnd || position == to || text.charAt(position) != '/') {
+                    throw malformed(text, start, end);
+                }
+                position = skipWhitespace(text, position + 1, to);
+                if(position < to && wholeStart == wholeEnd && (text.charAt(position) == '-' || text.charAt(position) == '+')) {
+                    negativeDenominator = text.charAt(position) == '-';
+                    position++;
+                }
+                denominatorStart = position;
+                denominatorEnd = skipDigits(text, position, to);
+                position = denominatorEnd;
+                if(denominatorStart == denominatorEnd) {
+                    throw malformed(text, start, end);
+                }
+            }
+        } else if(wholeStart == wholeEnd) {
+            throw malformed(text, start, end);
+        }
+        if(position != to) {
+            throw malformed(text, start, end);
+        }
+        if(negativeDenominator) {
+            negative = !negative;
+        }
+        long numerator;
+        long denominator;
+        try {
+            long whole = digits(text, wholeStart, wholeEnd);
+            long part = digits(text, partStart, partEnd);
+            if(decimal) {
+                denominator = powerOfTen(partEnd - partStart);
+                if(repeatStart < repeatEnd) {
+                    // 0.a(b) = (ab - a) / (10^|a| * (10^|b| - 1))
+                    int repeatLength = repeatEnd - repeatStart;
+                    long all = Math.addExact(Math.multiplyExact(part, powerOfTen(repeatLength)), digits(text, repeatStart, repeatEnd));
+                    part = all - part;
+                    denominator = Math.multiplyExact(denominator, powerOfTen(repeatLength) - 1);
+                }
+            } else {
+                denominator = denominatorStart == denominatorEnd ? 1 : digits(text, denominatorStart, denominatorEnd);
+            }
+            if(denominator == 0) {
+                throw new UnexpectValueException("不能将分母设置为0。");
+            }
+            numerator = Math.addExact(Math.multiplyExact(whole, denominator), part);
+        } catch(ArithmeticException e) {
+            if(numerators != null) {
+                throw e;
+            }
+            return parseBig(text, negative, wholeStart, wholeEnd, partStart, partEnd, repeatStart, repeatEnd,
+                    denominatorStart, denominatorEnd, decimal);
+        }
+        long gcd = RationalMath.gcd(numerator, denominator);
+        if(gcd != 1) {
+            numerator /= gcd;
+            denominator /= gcd;
+        }
+        if(negative) {
+            numerator = -numerator;
+        }
+        if(numerators == null) {
+            return HybridFraction.ofReduced(numerator, denominator);
+        }
+        numerators[index] = numerator;
+        denominators[index] = denominator;
+        return null;
+    }
+
+    /**
+     * parseBig方法 - 结果超出long的范围时，使用BigInteger重新计算。
+     */
+    private static HybridFraction parseBig(CharSequence text, boolean negative, int wholeStart, int wholeEnd, int partStart, int partEnd,
+            int repeatStart, int repeatEnd, int denominatorStart, int denominatorEnd, boolean decimal) {
+        BigInteger whole = bigDigits(text, wholeStart, wholeEnd);
+        BigInteger part = bigDigits(text, partStart, partEnd);
+        BigInteger denominator;
+        if(decimal) {
+            denominator = BigInteger.TEN.pow(partEnd - partStart);
+            if(repeatStart < repeatEnd) {
+                BigInteger power = BigInteger.TEN.pow(repeatEnd - repeatStart);
+                part = part.multiply(power).add(bigDigits(text, repeatStart, repeatEnd)).subtract(part);
+                denominator = denominator.multiply(power.subtract(BigInteger.ONE));
+            }
+        } else {
+            denominator = denominatorStart == denominatorEnd ? BigInteger.ONE : bigDigits(text, denominatorStart, denominatorEnd);
+        }
+        if(denominator.signum() == 0) {
+            throw new UnexpectValueException("不能将分母设置为0。");
+        }
+        BigInteger numerator = whole.multiply(denominator).add(part);
+        return HybridFraction.valueOf(BigFraction.valueOf(negative ? numerator.negate() : numerator, denominator));
+    }
+
+    /**
+     * digits方法 - 将[from, to)中的数字转化为long，超出long的范围时抛出ArithmeticException。
+     */
+    private static long digits(CharSequence text, int from, int to) {
+        long value = 0;
+        for(int i = from; i < to; i++) {
+            int digit = text.charAt(i) - '0';
+            if(value > (Long.MAX_VALUE - digit) / 10) {
+                throw new ArithmeticException("long overflow");
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static BigInteger bigDigits(CharSequence text, int from, int to) {
+        return from == to ? BigInteger.ZERO : new BigInteger(text.subSequence(from, to).toString());
+    }
+
+    /**
+     * powerOfTen方法 - 返回10的exponent次幂，超出long的范围时抛出ArithmeticException。
+     */
+    private static long powerOfTen(int exponent) {
+        if(exponent >= POWERS_OF_TEN.length) {
+            throw new ArithmeticException("long overflow");
+        }
+        return POWERS_OF_TEN[exponent];
+    }
+
+    private static int skipDigits(CharSequence text, int position, int end) {
+        while(position < end && text.charAt(position) >= '0' && text.charAt(position) <= '9') {
+            position++;
+        }
+        return position;
+    }
+
+    private static int skipWhitespace(CharSequence text, int position, int end) {
+        while(position < end && Character.isWhitespace(text.charAt(position))) {
+            position++;
+        }
+        return position;
+    }
+
+    /**
+     * appendLong方法 - 将value逐个字符写入out。在负数上计算，因此Long.MIN_VALUE也不会溢出。
+     */
+    private static void appendLong(Appendable out, long value) throws IOException {
+        if(value < 0) {
+            out.append('-');
+        } else {
+            value = -value;
+        }
+        long divisor = 1;
+        while(value / divisor <= -10) {
+            divisor *= 10;
+        }
+        for(; divisor > 0; divisor /= 10) {
+            out.append((char) ('0' - value / divisor % 10));
+        }
+    }
+
+    private static UnexpectValueException malformed(CharSequence text, int start, int end) {
+        return new UnexpectValueException("无法将\"" + text.subSequence(start, end) + "\"解析为分数。");
+    }
+}
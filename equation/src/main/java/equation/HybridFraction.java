@@ -0,0 +1,458 @@
+package equation;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+
+/**
+ * HybridFraction - 按需使用任意精度的不可变分数。
+ * <p>
+ * HybridFraction在分子和分母都能放进long时直接使用long运算，只有当<code>Math.multiplyExact</code>、<code>Math.addExact</code>等方法检测到溢出时，
+ * 才会改用{@link equation.BigFraction}计算；当之后的结果重新变小到能放进long时，又会自动回到long运算。
+ * 因此它与BigFraction一样永远是精确的，但在绝大多数运算中只需要付出long运算的代价。
+ * </p>
+ * <p>与{@link equation.Rational}相同，HybridFraction永远以分母为正数的最简分数形式保存，并且一旦创建就不能再被修改。</p>
+ * <blockquote><pre>
+HybridFraction num1 = HybridFraction.valueOf(1, 3); //这里表示分数 1/3
+HybridFraction num2 = (HybridFraction) num1.power(50); // 超出long的范围，自动改用BigInteger
+num2.isPromoted(); // true
+HybridFraction num3 = (HybridFraction) num2.div(num2); // 1/1，重新回到long运算
+num3.isPromoted(); // false
+ * </pre></blockquote>
+ * @see equation.BigFraction
+ * @see equation.Rational
+ */
+public final class HybridFraction implements Number, Comparable<Number> {
+    /**
+     * ZERO常量 - 表示 0/1。
+     */
+    public static final HybridFraction ZERO = new HybridFraction(0, 1);
+
+    /**
+     * ONE常量 - 表示 1/1。
+     */
+    public static final HybridFraction ONE = new HybridFraction(1, 1);
+
+    /**
+     * numerator属性 - 分数的分子，只在big为null时有效。
+     */
+    final long numerator;
+
+    /**
+     * denominator属性 - 分数的分母，只在big为null时有效。
+     */
+    final long denominator;
+
+    /**
+     * big属性 - 当分数超出long的范围时所使用的BigFraction，否则为null。
+     */
+    final BigFraction big;
+
+    /**
+     * HybridFraction - 私有的构造函数。
+     * <p>传入的分子和分母必须已经是分母为正数的最简分数，并且分子不能是Long.MIN_VALUE。</p>
+     */
+    private HybridFraction(long numerator, long denominator) {
+        super();
+        this.numerator = numerator;
+        this.denominator = denominator;
+        this.big = null;
+    }
+
+    /**
+     * HybridFraction - 私有的构造函数。
+     * <p>传入的分数必须超出long的范围。</p>
+     */
+    private HybridFraction(BigFraction big) {
+        super();
+        this.numerator = 0;
+        this.denominator = 1;
+        this.big = big;
+    }
+
+    /**
+     * valueOf方法 - 通过整数创建HybridFraction对象。
+     * @param numerator - long - 分数的分子，分母为1
+     * @return HybridFraction - 对应的分数
+     * @see equation.HybridFraction#valueOf(long, long)
+     */
+    public static HybridFraction valueOf(long numerator) {
+        return valueOf(numerator, 1);
+    }
+
+    /**
+     * valueOf方法 - 通过分子和分母创建HybridFraction对象。
+     * <p>传入的分数会被自动化简，并把符号移到分子上。当分母为0时，会抛出UnexpectValueException。</p>
+     * @param numerator - long - 分数的分子
+     * @param denominator - long - 分数的分母
+     * @return HybridFraction - 对应的分数
+     * @see equation.HybridFraction#valueOf(Number)
+     */
+    public static HybridFraction valueOf(long numerator, long denominator) {
+        if(denominator == 0) {
+            throw new UnexpectValueException("不能将分母设置为0。");
+        } else if(numerator == Long.MIN_VALUE || denominator == Long.MIN_VALUE) {
+            return valueOf(BigFraction.valueOf(numerator, denominator));
+        }
+        long gcd = RationalMath.gcd(numerator, denominator);
+        numerator = numerator / gcd;
+        denominator = denominator / gcd;
+        if(denominator < 0) {
+            return new HybridFraction(-numerator, -denominator);
+        }
+        return new HybridFraction(numerator, denominator);
+    }
+
+    /**
+     * valueOf方法 - 将double的精确值转化为HybridFraction对象。
+     * <p>
+     * 与{@link equation.BigFraction#valueOf(double)}相同，直接从IEEE-754的位表示中取出精确值；
+     * 只有当精确值的分子或分母超出long的范围时（例如非常大或非常小的数）才会创建BigInteger。
+     * </p>
+     * @param value - double - 需要转化的小数
+     * @return HybridFraction - 与value完全相等的分数
+     */
+    public static HybridFraction valueOf(double value) {
+        long significand = RationalMath.significandOf(value);
+        int exponent = RationalMath.exponentOf(value);
+        int bits = 64 - Long.numberOfLeadingZeros(Math.abs(significand));
+        if(exponent >= 0 && bits + exponent <= 63) {
+            return new HybridFraction(significand << exponent, 1);
+        } else if(exponent < 0 && exponent >= -62) {
+            return new HybridFraction(significand, 1L << -exponent);
+        }
+        return new HybridFraction(BigFraction.valueOf(value));
+    }
+
+    /**
+     * valueOf方法 - 将一个Number对象转化为HybridFraction对象。
+     * <p>当传入的对象本身就是HybridFraction时，会直接返回它。当传入的类型无法识别时，会抛出UnexpectValueException。</p>
+     * @param num - Number - 需要转化的数
+     * @return HybridFraction - 转化后的分数
+     */
+    public static HybridFraction valueOf(Number num) {
+        if(num instanceof HybridFraction) {
+            return (HybridFraction) num;
+        } else if(num instanceof BigFraction) {
+            return valueOf((BigFraction) num);
+        } else if(num instanceof Rational) {
+            Rational rational = (Rational) num;
+            return new HybridFraction(rational.getNumerator(), rational.getDenominator());
+        } else if(num instanceof AbstractRationalNumber) {
+            // int的分子和分母一定能放进long，只需要化简，不需要经过BigFraction
+            AbstractRationalNumber rational = (AbstractRationalNumber) num;
+            return valueOf(rational.numerator, rational.denominator);
+        } else if(num instanceof FixedFraction) {
+            FixedFraction fixed = (FixedFraction) num;
+            return valueOf(fixed.getUnits(), fixed.getDenominator());
+        } else if(num instanceof LazyNumber) {
+            return ((LazyNumber) num).evaluate();
+        }
+        return valueOf(BigFraction.valueOf(num));
+    }
+
+    /**
+     * ofReduced方法 - 通过已经化简的long分子和分母创建HybridFraction对象。
+     * <p>传入的分子和分母必须满足{@link equation.RationalMath#addExact(long, long, long, long, long[], long[], int)}对参数的要求。</p>
+     * @param numerator - long - 最简分数的分子
+     * @param denominator - long - 最简分数的分母，必须是正数
+     * @return HybridFraction - 对应的分数
+     */
+    static HybridFraction ofReduced(long numerator, long denominator) {
+        return new HybridFraction(numerator, denominator);
+    }
+
+    /**
+     * valueOf方法 - 将BigFraction转化为HybridFraction。能放进long时会自动降级为long表示。
+     * @param big - BigFraction - 需要转化的数
+     * @return HybridFraction - 转化后的分数
+     */
+    static HybridFraction valueOf(BigFraction big) {
+        BigInteger n = big.getNumerator();
+        BigInteger d = big.getDenominator();
+        if(n.bitLength() < 64 && d.bitLength() < 64 && n.longValue() != Long.MIN_VALUE) {
+            return new HybridFraction(n.longValue(), d.longValue());
+        }
+        return new HybridFraction(big);
+    }
+
+    /**
+     * isPromoted方法 - 判断当前分数是否超出了long的范围、正在使用BigInteger表示。
+     * @return boolean - 是否正在使用BigInteger表示
+     */
+    public boolean isPromoted() {
+        return big != null;
+    }
+
+    /**
+     * getNumerator方法 - 获取分数的分子。
+     * @return BigInteger - 分数的分子
+     */
+    public BigInteger getNumerator() {
+        return big == null ? BigInteger.valueOf(numerator) : big.getNumerator();
+    }
+
+    /**
+     * getDenominator方法 - 获取分数的分母，永远是正数。
+     * @return BigInteger - 分数的分母
+     */
+    public BigInteger getDenominator() {
+        return big == null ? BigInteger.valueOf(denominator) : big.getDenominator();
+    }
+
+    /**
+     * toBigFraction方法 - 将当前分数转化为BigFraction。
+     * @return BigFraction - 转化后的分数
+     */
+    public BigFraction toBigFraction() {
+        return big == null ? BigFraction.valueOf(numerator, denominator) : big;
+    }
+
+    /**
+     * add方法 - 将两个Number对象相加。
+     * <p>两个操作数都能放进long时使用long运算，溢出时自动改用BigInteger，结果永远是精确的。</p>
+     * @param num - Number - 需要相加的数
+     * @return Number - 两个数相加的结果，实际上是一个HybridFraction对象
+     * @see equation.Equation#add(Number, Number)
+     */
+    public Number add(Number num) {
+        HybridFraction other = valueOf(num);
+        if(big == null && other.big == null) {
+            try {
+                return add(numerator, denominator, other.numerator, other.denominator);
+            } catch (ArithmeticException err) {
+                // 溢出，改用BigInteger计算
+            }
+        }
+        return valueOf((BigFraction) toBigFraction().add(other.toBigFraction()));
+    }
+
+    /**
+     * sub方法 - 将两个Number对象相减。
+     * @param num - Number - 需要相减的数
+     * @return Number - 两个数相减的结果，实际上是一个HybridFraction对象
+     * @see equation.Equation#sub(Number, Number)
+     */
+    public Number sub(Number num) {
+        HybridFraction other = valueOf(num);
+        if(big == null && other.big == null) {
+            try {
+                return add(numerator, denominator, -other.numerator, other.denominator);
+            } catch (ArithmeticException err) {
+                // 溢出，改用BigInteger计算
+            }
+        }
+        return valueOf((BigFraction) toBigFraction().sub(other.toBigFraction()));
+    }
+
+    /**
+     * mult方法 - 将两个Number对象相乘。
+     * @param num - Number - 需要相乘的数
+     * @return Number - 两个数相乘的结果，实际上是一个HybridFraction对象
+     * @see equation.Equation#mult(Number, Number)
+     */
+    public Number mult(Number num) {
+        HybridFraction other = valueOf(num);
+        if(big == null && other.big == null) {
+            try {
+                return multiply(numerator, denominator, other.numerator, other.denominator);
+            } catch (ArithmeticException err) {
+                // 溢出，改用BigInteger计算
+            }
+        }
+        return valueOf((BigFraction) toBigFraction().mult(other.toBigFraction()));
+    }
+
+    /**
+     * div方法 - 将两个Number对象相除。当除数为0时，会抛出UnexpectValueException。
+     * @param num - Number - 需要相除的数
+     * @return Number - 两个数相除的结果，实际上是一个HybridFraction对象
+     * @see equation.Equation#div(Number, Number)
+     */
+    public Number div(Number num) {
+        HybridFraction other = valueOf(num);
+        if(big == null && other.big == null) {
+            if(other.numerator == 0) {
+                throw new UnexpectValueException("除数不能为0。");
+            }
+            try {
+                if(other.numerator < 0) {
+                    return multiply(numerator, denominator, -other.denominator, -other.numerator);
+                }
+                return multiply(numerator, denominator, other.denominator, other.numerator);
+            } catch (ArithmeticException err) {
+                // 溢出，改用BigInteger计算
+            }
+        }
+        return valueOf((BigFraction) toBigFraction().div(other.toBigFraction()));
+    }
+
+    /**
+     * power方法 - 对自身的幂运算。
+     * <p>使用平方求幂，并支持0和负数次幂。溢出时自动改用BigInteger。</p>
+     * @param index - int - 指数的大小
+     * @return Number - 进行乘方运算后的结果，实际上是一个HybridFraction对象
+     * @see equation.Equation#power(Number, int)
+     */
+    public Number power(int index) {
+        if(big == null) {
+            try {
+                long exponent = Math.abs((long) index);
+                long n = RationalMath.powExact(numerator, exponent);
+                long d = RationalMath.powExact(denominator, exponent);
+                if(index >= 0) {
+                    return small(n, d);
+                } else if(n == 0) {
+                    throw new UnexpectValueException("0不能进行负数次幂运算。");
+                } else if(n < 0) {
+                    return small(-d, Math.negateExact(n));
+                }
+                return small(d, n);
+            } catch (ArithmeticException err) {
+                // 溢出，改用BigInteger计算
+            }
+        }
+        return valueOf((BigFraction) toBigFraction().power(index));
+    }
+
+    /**
+     * toDouble方法 - 将HybridFraction对象转化成double类型。
+     * @return double - 转化后的小数
+     */
+    public double toDouble() {
+        if(big == null) {
+            return RationalMath.toDouble(numerator, denominator);
+        }
+        return big.toDouble();
+    }
+
+    /**
+     * toFloat方法 - 将HybridFraction对象正确舍入为float类型。
+     * @return float - 最接近当前值的float
+     */
+    public float toFloat() {
+        if(big == null) {
+            return RationalMath.toFloat(numerator, denominator);
+        }
+        return big.toFloat();
+    }
+
+    /**
+     * toBigDecimal方法 - 将HybridFraction对象按照context的精度和舍入模式转化为BigDecimal。
+     * @param context - MathContext - 精度和舍入模式
+     * @return BigDecimal - 舍入后的结果
+     */
+    public BigDecimal toBigDecimal(MathContext context) {
+        if(big == null) {
+            return RationalMath.toBigDecimal(numerator, denominator, context);
+        }
+        return big.toBigDecimal(context);
+    }
+
+    /**
+     * compareTo方法 - 比较当前对象与传入的Number对象的大小。
+     * <p>两个操作数都能放进long时，通过交叉相乘直接比较，不会创建任何对象。</p>
+     * @param num - Number - 需要比较的对象
+     * @return int - 小于、等于、大于时分别返回负数、0、正数
+     */
+    public int compareTo(Number num) {
+        HybridFraction other = valueOf(num);
+        if(big == null && other.big == null) {
+            return RationalMath.compare(numerator, denominator, other.numerator, other.denominator);
+        }
+        return toBigFraction().compareTo(other.toBigFraction());
+    }
+
+    /**
+     * equals方法 - 判断两个对象是否相等。需要注意的是，如果传入的对象不是Number，将永远返回false。
+     * @param object - Object - 需要比较的对象
+     * @return boolean - 是否相等
+     */
+    public boolean equals(Object object) {
+        if(object == this) {
+            return true;
+        } else if(object instanceof HybridFraction) {
+            HybridFraction other = (HybridFraction) object;
+            if(big == null && other.big == null) {
+                return numerator == other.numerator && denominator == other.denominator;
+            }
+            return big != null && big.equals(other.big);
+        }
+        return toBigFraction().equals(object);
+    }
+
+    /**
+     * hashCode方法 - 返回基于最简分数计算的hashCode，与数值相等的BigFraction相同。
+     * @return int - hashCode
+     */
+    public int hashCode() {
+        if(big == null) {
+            return RationalMath.hashCode(numerator, denominator);
+        }
+        return big.hashCode();
+    }
+
+    /**
+     * isGreaterThan方法 - 判断当前对象是否大于传入的Number对象。如果大于，返回true。否则返回false。
+     * @param num - Number - 需要比较的对象
+     * @return boolean - 是否大于
+     */
+    public boolean isGreaterThan(Number num) {
+        return compareTo(num) > 0;
+    }
+
+    /**
+     * isLessThan方法 - 判断当前对象是否小于传入的Number对象。如果小于，返回true。否则返回false。
+     * @param num - Number - 需要比较的对象
+     * @return boolean - 是否小于
+     */
+    public boolean isLessThan(Number num) {
+        return compareTo(num) < 0;
+    }
+
+    /**
+     * toString方法 - 返回分数的字符串形式（a/b）。
+     * @return String - 转化后的字符串
+     */
+    public String toString() {
+        if(big == null) {
+            return FractionFormat.format(new StringBuilder(41), numerator, denominator).toString();
+        }
+        return big.toString();
+    }
+
+    /**
+     * add方法 - 使用long计算 n1/d1 + n2/d2，溢出时抛出ArithmeticException。
+     * <p>两个分数都必须是分母为正数的最简分数，计算方法与{@link equation.RationalMath#add(int, int, int, int)}相同。</p>
+     */
+    private static HybridFraction add(long n1, long d1, long n2, long d2) {
+        long g1 = RationalMath.gcd(d1, d2);
+        if(g1 == 1) {
+            long n = Math.addExact(Math.multiplyExact(n1, d2), Math.multiplyExact(n2, d1));
+            return small(n, Math.multiplyExact(d1, d2));
+        }
+        long t = Math.addExact(Math.multiplyExact(n1, d2 / g1), Math.multiplyExact(n2, d1 / g1));
+        long g2 = RationalMath.gcd(t, g1);
+        return small(t / g2, Math.multiplyExact(d1 / g1, d2 / g2));
+    }
+
+    /**
+     * multiply方法 - 使用long计算 n1/d1 * n2/d2，溢出时抛出ArithmeticException。
+     * <p>两个分数都必须是分母为正数的最简分数，计算方法与{@link equation.RationalMath#multiply(int, int, int, int)}相同。</p>
+     */
+    private static HybridFraction multiply(long n1, long d1, long n2, long d2) {
+        long g1 = RationalMath.gcd(n1, d2);
+        long g2 = RationalMath.gcd(n2, d1);
+        return small(Math.multiplyExact(n1 / g1, n2 / g2), Math.multiplyExact(d1 / g2, d2 / g1));
+    }
+
+    /**
+     * small方法 - 通过已经化简的long分子和分母创建HybridFraction对象。分子为Long.MIN_VALUE时抛出ArithmeticException。
+     */
+    private static HybridFraction small(long numerator, long denominator) {
+        if(numerator == Long.MIN_VALUE) {
+            throw new ArithmeticException("long overflow");
+        }
+        return new HybridFraction(numerator, denominator);
+    }
+}
@@ -0,0 +1,694 @@
+package equation;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Arrays;
+
+/**
+ * LazyNumber - 延迟求值的不可变分数。
+ * <p>
+ * LazyNumber的add、sub、mult、div、power方法不会立即计算，而是把运算记录为一个有向无环图（DAG），直到第一次需要具体的值
+ * （例如调用<code>toDouble()</code>、<code>compareTo()</code>、<code>toString()</code>或{@link equation.LazyNumber#evaluate()}）时才一次性求值。
+ * 求值的结果会被缓存，之后的调用不会重复计算。
+ * </p>
+ * <p>
+ * 记录运算时会直接应用一些代数化简：x+0、x-0、x*1、x/1、x^1都直接返回x，--x返回x，x-(-y)改写为x+y，(x^a)^b合并为x^(ab)等。
+ * 求值时会先把DAG展开为按拓扑顺序排列的指令，结构相同的子表达式（交换律下相同的加法和乘法也算相同）只会计算一次。
+ * </p>
+ * <p>
+ * 中间结果以未化简的long分子和分母保存：分母相同的加法直接相加分子，其它运算只要乘积一定不会溢出就直接交叉相乘，
+ * 只有当操作数变得太大时才求最大公约数进行化简，最后只对结果化简一次。运算过程中不会创建任何中间对象；
+ * 当化简后仍然超出long的范围时，整个表达式会改用{@link equation.BigFraction}重新计算，结果永远是精确的。
+ * </p>
+ * <p>
+ * 记录和展开每个节点的代价与一次小分数的运算相近，因此当每个子表达式只计算一次、并且分子和分母都很小时，逐步求值的{@link equation.HybridFraction}通常更快。
+ * LazyNumber适合子表达式会被重复构造（例如在循环中重复写出不变的部分）、或者只有部分结果真正需要求值的场景。
+ * </p>
+ * <blockquote><pre>
+LazyNumber x = LazyNumber.of(1, 3);
+Number y = x.add(new Fraction(1, 6)).mult(x.add(new Fraction(1, 6))).sub(LazyNumber.of(1, 4)); // 只记录运算，x+1/6只会计算一次
+y.toString(); // 0/1
+ * </pre></blockquote>
+ * @see equation.HybridFraction
+ * @see equation.CompiledExpression
+ */
+public final class LazyNumber implements Number, Comparable<Number> {
+    private static final int CONSTANT = 0;
+    private static final int ADD = 1;
+    private static final int SUB = 2;
+    private static final int MULT = 3;
+    private static final int DIV = 4;
+    private static final int NEGATE = 5;
+    private static final int POWER = 6;
+
+    /**
+     * MAX_WEIGHT常量 - 求值时预先分配的最大指令数。
+     */
+    private static final int MAX_WEIGHT = 1 << 16;
+
+    /**
+     * ZERO常量 - 表示 0/1。
+     */
+    public static final LazyNumber ZERO = new LazyNumber(HybridFraction.ZERO);
+
+    /**
+     * ONE常量 - 表示 1/1。
+     */
+    public static final LazyNumber ONE = new LazyNumber(HybridFraction.ONE);
+
+    private final int operator;
+    private final LazyNumber left;
+    private final LazyNumber right;
+    private final int exponent;
+
+    /**
+     * weight属性 - 把子表达式展开成树以后的节点个数，超过MAX_WEIGHT时取MAX_WEIGHT。求值时用来预先分配数组。
+     */
+    private final int weight;
+
+    /**
+     * binding属性 - 最近一次展开该节点的Program中对应的槽，只在求值时使用。
+     * <p>多个线程同时求值共享的子表达式时可能互相覆盖，此时只会重复展开该节点，结构相同的指令仍然会被合并，不影响结果。</p>
+     */
+    private Binding binding;
+
+    /**
+     * total属性 - 子表达式中没有除法和负数次幂，求值时一定不会抛出异常。只有这样的表达式才能化简 x*0 和 x-x。
+     */
+    private final boolean total;
+
+    /**
+     * value属性 - 常数的值或已经求出的值，尚未求值时为null。
+     */
+    private volatile HybridFraction value;
+
+    /**
+     * LazyNumber - 私有的构造函数，创建一个常数。
+     */
+    private LazyNumber(HybridFraction value) {
+        super();
+        this.operator = CONSTANT;
+        this.left = null;
+        this.right = null;
+        this.exponent = 0;
+        this.weight = 1;
+        this.total = true;
+        this.value = value;
+    }
+
+    /**
+     * LazyNumber - 私有的构造函数，记录一次运算。right只在二元运算中使用，exponent只在幂运算中使用。
+     */
+    private LazyNumber(int operator, LazyNumber left, LazyNumber right, int exponent) {
+        super();
+        this.operator = operator;
+        this.left = left;
+        this.right = right;
+        this.exponent = exponent;
+        this.weight = Math.min(left.weight + (right == null ? 0 : right.weight) + 1, MAX_WEIGHT);
+        this.total = left.total && (right == null || right.total)
+                && operator != DIV && !(operator == POWER && exponent < 0);
+    }
+
+    /**
+     * of方法 - 将一个Number对象转化为LazyNumber常数。
+     * <p>当传入的对象本身就是LazyNumber时，会直接返回它。可变的Fraction会在调用时被复制，之后对它的修改不会影响LazyNumber。</p>
+     * @param num - Number - 需要转化的数
+     * @return LazyNumber - 对应的常数
+     */
+    public static LazyNumber of(Number num) {
+        if(num instanceof LazyNumber) {
+            return (LazyNumber) num;
+        }
+        return new LazyNumber(HybridFraction.valueOf(num));
+    }
+
+    /**
+     * of方法 - 通过分子和分母创建LazyNumber常数。当分母为0时，会抛出UnexpectValueException。
+     * @param numerator - long - 分数的分子
+     * @param denominator - long - 分数的分母
+     * @return LazyNumber - 对应的常数
+     */
+    public static LazyNumber of(long numerator, long denominator) {
+        return new LazyNumber(HybridFraction.valueOf(numerator, denominator));
+    }
+
+    /**
+     * add方法 - 记录两个Number对象的加法。
+     * @param num - Number - 需要相加的数
+     * @return Number - 尚未求值的和，实际上是一个LazyNumber对象
+     */
+    public Number add(Number num) {
+        LazyNumber other = of(num);
+        if(other.isConstant(HybridFraction.ZERO)) {
+            return this;
+        } else if(isConstant(HybridFraction.ZERO)) {
+            return other;
+        } else if(other.operator == NEGATE) {
+            return new LazyNumber(SUB, this, other.left, 0);
+        }
+        return new LazyNumber(ADD, this, other, 0);
+    }
+
+    /**
+     * sub方法 - 记录两个Number对象的减法。
+     * @param num - Number - 需要相减的数
+     * @return Number - 尚未求值的差，实际上是一个LazyNumber对象
+     */
+    public Number sub(Number num) {
+        LazyNumber other = of(num);
+        if(other.isConstant(HybridFraction.ZERO)) {
+            return this;
+        } else if(other == this && total) {
+            return ZERO;
+        } else if(isConstant(HybridFraction.ZERO)) {
+            return other.negate();
+        } else if(other.operator == NEGATE) {
+            return new LazyNumber(ADD, this, other.left, 0);
+        }
+        return new LazyNumber(SUB, this, other, 0);
+    }
+
+    /**
+     * mult方法 - 记录两个Number对象的乘法。
+     * @param num - Number - 需要相乘的数
+     * @return Number - 尚未求值的积，实际上是一个LazyNumber对象
+     */
+    public Number mult(Number num) {
+        LazyNumber other = of(num);
+        if(other.isConstant(HybridFraction.ONE)) {
+            return this;
+        } else if(isConstant(HybridFraction.ONE)) {
+            return other;
+        } else if((other.isConstant(HybridFraction.ZERO) && total) || (isConstant(HybridFraction.ZERO) && other.total)) {
+            return ZERO;
+        }
+        return new LazyNumber(MULT, this, other, 0);
+    }
+
+    /**
+     * div方法 - 记录两个Number对象的除法。除数为0时，会在求值时抛出UnexpectValueException。
+     * @param num - Number - 需要相除的数
+     * @return Number - 尚未求值的商，实际上是一个LazyNumber对象
+     */
+    public Number div(Number num) {
+        LazyNumber other = of(num);
+        if(other.isConstant(HybridFraction.ONE)) {
+            return this;
+        }
+        return new LazyNumber(DIV, this, other, 0);
+    }
+
+    /**
+     * power方法 - 记录对自身的幂运算。0的负数次幂会在求值时抛出UnexpectValueException。
+     * @param index - int - 指数的大小
+     * @return Number - 尚未求值的乘方，实际上是一个LazyNumber对象
+     */
+    public Number power(int index) {
+        if(index == 1 || isConstant(HybridFraction.ONE)) {
+            return this;
+        } else if(index == 0 && total) {
+            return ONE;
+        } else if(operator == POWER && (exponent > 0 || index > 0)) {
+            // 至少有一个指数是正数时 (x^a)^b = x^(ab) 对 x = 0 也成立
+            long combined = (long) exponent * index;
+            if(combined == (int) combined) {
+                return left.power((int) combined);
+            }
+        }
+        return new LazyNumber(POWER, this, null, index);
+    }
+
+    /**
+     * negate方法 - 记录取相反数的运算。
+     * @return LazyNumber - 尚未求值的相反数
+     */
+    public LazyNumber negate() {
+        if(operator == NEGATE) {
+            return left;
+        } else if(operator == CONSTANT) {
+            return new LazyNumber((HybridFraction) HybridFraction.ZERO.sub(value));
+        }
+        return new LazyNumber(NEGATE, this, null, 0);
+    }
+
+    /**
+     * evaluate方法 - 计算当前表达式的值。
+     * <p>第一次调用时会计算整个DAG并缓存结果，之后直接返回缓存的结果。除数为0或0的负数次幂时，会抛出UnexpectValueException。</p>
+     * @return HybridFraction - 表达式的值
+     */
+    public HybridFraction evaluate() {
+        HybridFraction result = value;
+        if(result == null) {
+            result = new Program(this).run();
+            value = result;
+        }
+        return result;
+    }
+
+    /**
+     * isEvaluated方法 - 判断当前表达式是否已经求值（常数永远返回true）。
+     * @return boolean - 是否已经求值
+     */
+    public boolean isEvaluated() {
+        return value != null;
+    }
+
+    /**
+     * getNodeCount方法 - 获取合并相同的子表达式之后，求值时需要计算的节点个数（包括常数）。已经求值的子表达式只算作一个节点。
+     * @return int - 节点个数
+     */
+    public int getNodeCount() {
+        return new Program(this).size;
+    }
+
+    private boolean isConstant(HybridFraction constant) {
+        return operator == CONSTANT && value.equals(constant);
+    }
+
+    /**
+     * toDouble方法 - 求值并正确舍入为double类型。
+     * @return double - 最接近当前值的double
+     */
+    public double toDouble() {
+        return evaluate().toDouble();
+    }
+
+    /**
+     * toFloat方法 - 求值并正确舍入为float类型。
+     * @return float - 最接近当前值的float
+     */
+    public float toFloat() {
+        return evaluate().toFloat();
+    }
+
+    /**
+     * toBigDecimal方法 - 求值并按照context的精度和舍入模式转化为BigDecimal。
+     * @param context - MathContext - 精度和舍入模式
+     * @return BigDecimal - 舍入后的结果
+     */
+    public BigDecimal toBigDecimal(MathContext context) {
+        return evaluate().toBigDecimal(context);
+    }
+
+    /**
+     * compareTo方法 - 求值并比较当前对象与传入的Number对象的大小。
+     * @param num - Number - 需要比较的对象
+     * @return int - 小于、等于、大于时分别返回负数、0、正数
+     */
+    public int compareTo(Number num) {
+        return evaluate().compareTo(num);
+    }
+
+    /**
+     * equals方法 - 求值并判断两个对象是否相等。需要注意的是，如果传入的对象不是Number，将永远返回false。
+     * @param object - Object - 需要比较的对象
+     * @return boolean - 是否相等
+     */
+    public boolean equals(Object object) {
+        if(object == this) {
+            return true;
+        } else if(object instanceof LazyNumber) {
+            return evaluate().equals(((LazyNumber) object).evaluate());
+        }
+        return evaluate().equals(object);
+    }
+
+    /**
+     * hashCode方法 - 返回求值结果的hashCode，与数值相等的其它分数相同。
+     * @return int - hashCode
+     */
+    public int hashCode() {
+        return evaluate().hashCode();
+    }
+
+    /**
+     * isGreaterThan方法 - 判断当前对象是否大于传入的Number对象。如果大于，返回true。否则返回false。
+     * @param num - Number - 需要比较的对象
+     * @return boolean - 是否大于
+     */
+    public boolean isGreaterThan(Number num) {
+        return compareTo(num) > 0;
+    }
+
+    /**
+     * isLessThan方法 - 判断当前对象是否小于传入的Number对象。如果小于，返回true。否则返回false。
+     * @param num - Number - 需要比较的对象
+     * @return boolean - 是否小于
+     */
+    public boolean isLessThan(Number num) {
+        return compareTo(num) < 0;
+    }
+
+    /**
+     * toString方法 - 求值并返回分数的字符串形式（a/b）。
+     * @return String - 转化后的字符串
+     */
+    public String toString() {
+        return evaluate().toString();
+    }
+
+    /**
+     * Binding - 节点在某个Program中对应的槽。
+     */
+    private static final class Binding {
+        private final Object token;
+        private final int slot;
+
+        private Binding(Object token, int slot) {
+            this.token = token;
+            this.slot = slot;
+        }
+    }
+
+    /**
+     * Program - 按拓扑顺序排列的指令，每条指令的结果保存在与它下标相同的槽中。
+     * <p>
+     * 展开DAG时使用显式的栈，因此很长的运算链也不会导致栈溢出。展开后的节点会在binding中记录自己的槽，
+     * 被多个节点共享的子表达式只会展开一次；结构相同的指令保存在开放寻址的散列表中，因此只会计算一次。
+     * </p>
+     */
+    private static final class Program {
+        private int size;
+        private int result;
+        private int[] operators;
+        private int[] lefts;
+        private int[] rights;
+        private int[] exponents;
+        private int[] hashes;
+        private HybridFraction[] constants;
+
+        /**
+         * lastUses属性 - 每个槽最后一次被读取的指令，runBig执行完这条指令后就释放这个槽，结果所在的槽永远不会被释放。
+         */
+        private int[] lastUses;
+
+        /**
+         * small属性 - 所有常数是否都能放进long。
+         */
+        private boolean small = true;
+
+        /**
+         * table属性 - 按结构散列的指令，保存槽的下标加1，0表示空位。
+         */
+        private int[] table;
+
+        /**
+         * token属性 - 区分不同Program写入节点的binding，每个Program都不相同。
+         */
+        private final Object token = new Object();
+
+        private Program(LazyNumber root) {
+            // 展开成树以后的节点个数是指令数的上限，通常也很接近
+            int capacity = root.weight;
+            operators = new int[capacity];
+            lefts = new int[capacity];
+            rights = new int[capacity];
+            exponents = new int[capacity];
+            hashes = new int[capacity];
+            constants = new HybridFraction[capacity];
+            table = new int[Integer.highestOneBit(capacity) * 4];
+            // frames是待展开的节点，expanded表示它的子节点是否已经入栈；slots保存已经展开的节点对应的槽
+            LazyNumber[] frames = new LazyNumber[16];
+            boolean[] expanded = new boolean[16];
+            int[] slots = new int[16];
+            int top = 0;
+            int count = 0;
+            frames[top++] = root;
+            while(top > 0) {
+                LazyNumber node = frames[top - 1];
+                int slot;
+                if(expanded[top - 1]) {
+                    int right = node.right == null ? -1 : slots[--count];
+                    int left = slots[--count];
+                    slot = intern(node.operator, left, right, node.exponent, null);
+                    expanded[--top] = false;
+                } else {
+                    Binding binding = node.binding;
+                    HybridFraction known = node.value;
+                    if(binding != null && binding.token == token) {
+                        slot = binding.slot;
+                    } else if(known != null) {
+                        slot = intern(CONSTANT, -1, -1, 0, known);
+                    } else {
+                        if(top + 2 > frames.length) {
+                            frames = Arrays.copyOf(frames, frames.length * 2);
+                            expanded = Arrays.copyOf(expanded, expanded.length * 2);
+                        }
+                        // 先展开左边的操作数，它的槽先入栈
+                        expanded[top - 1] = true;
+                        if(node.right != null) {
+                            frames[top++] = node.right;
+                        }
+                        frames[top++] = node.left;
+                        continue;
+                    }
+                    top--;
+                }
+                frames[top] = null;
+                node.binding = new Binding(token, slot);
+                if(count == slots.length) {
+                    slots = Arrays.copyOf(slots, slots.length * 2);
+                }
+                slots[count++] = slot;
+            }
+            result = slots[0];
+            lastUses = new int[size];
+            for(int i = 0; i < size; i++) {
+                if(lefts[i] >= 0) {
+                    lastUses[lefts[i]] = i;
+                }
+                if(rights[i] >= 0) {
+                    lastUses[rights[i]] = i;
+                }
+            }
+            lastUses[result] = size;
+        }
+
+        /**
+         * intern方法 - 返回指令对应的槽。结构相同的指令已经存在时直接返回它的槽，否则追加一条新的指令。
+         * <p>加法和乘法满足交换律，因此先把两个操作数按槽的顺序排列。known不为null时表示常数。</p>
+         */
+        private int intern(int operator, int left, int right, int exponent, HybridFraction known) {
+            if((operator == ADD || operator == MULT) && left > right) {
+                int temp = left;
+                left = right;
+                right = temp;
+            }
+            int hash = known != null ? hash(CONSTANT, known.hashCode(), 0, 0) : hash(operator, left, right, exponent);
+            int mask = table.length - 1;
+            int i = hash & mask;
+            for(int slot = table[i] - 1; slot >= 0; slot = table[i] - 1) {
+                if(hashes[slot] == hash && operators[slot] == operator && (known != null ? known.equals(constants[slot])
+                        : lefts[slot] == left && rights[slot] == right && exponents[slot] == exponent)) {
+                    return slot;
+                }
+                i = (i + 1) & mask;
+            }
+            if(size == operators.length) {
+                int capacity = size * 2;
+                operators = Arrays.copyOf(operators, capacity);
+                lefts = Arrays.copyOf(lefts, capacity);
+                rights = Arrays.copyOf(rights, capacity);
+                exponents = Arrays.copyOf(exponents, capacity);
+                hashes = Arrays.copyOf(hashes, capacity);
+                constants = Arrays.copyOf(constants, capacity);
+            }
+            operators[size] = operator;
+            lefts[size] = left;
+            rights[size] = right;
+            exponents[size] = exponent;
+            hashes[size] = hash;
+            constants[size] = known;
+            if(known != null && known.big != null) {
+                small = false;
+            }
+            table[i] = size + 1;
+            if((size + 1) * 2 > table.length) {
+                table = new int[table.length * 2];
+                mask = table.length - 1;
+                for(int slot = 0; slot <= size; slot++) {
+                    int j = hashes[slot] & mask;
+                    while(table[j] != 0) {
+                        j = (j + 1) & mask;
+                    }
+                    table[j] = slot + 1;
+                }
+            }
+            return size++;
+        }
+
+        private static int hash(int operator, int left, int right, int exponent) {
+            long h = (((long) operator << 32) | left) * 0x9E3779B97F4A7C15L + (((long) right << 32) | (exponent & 0xFFFFFFFFL));
+            h ^= h >>> 32;
+            h *= 0xD6E8FEB86659FD93L;
+            h ^= h >>> 32;
+            return (int) h;
+        }
+
+        /**
+         * run方法 - 执行所有指令。先尝试使用long运算，溢出时改用BigFraction重新计算。
+         */
+        private HybridFraction run() {
+            if(small) {
+                long[] numerators = new long[size];
+                long[] denominators = new long[size];
+                try {
+                    runLong(numerators, denominators);
+                    return HybridFraction.valueOf(numerators[result], denominators[result]);
+                } catch (ArithmeticException err) {
+                    // 溢出，改用BigInteger计算
+                }
+            }
+            return HybridFraction.valueOf(runBig());
+        }
+
+        /**
+         * runLong方法 - 使用未化简的long分数执行所有指令。所有分母都保持为正数，溢出时抛出ArithmeticException。
+         */
+        private void runLong(long[] n, long[] d) {
+            for(int i = 0; i < size; i++) {
+                int l = lefts[i];
+                int r = rights[i];
+                switch(operators[i]) {
+                    case CONSTANT:
+                        n[i] = constants[i].numerator;
+                        d[i] = constants[i].denominator;
+                        break;
+                    case ADD:
+                        add(n, d, i, l, n[r], d[r]);
+                        break;
+                    case SUB:
+                        if(n[r] == Long.MIN_VALUE) {
+                            reduce(n, d, r);
+                        }
+                        add(n, d, i, l, -n[r], d[r]);
+                        break;
+                    case MULT:
+                        if(RationalMath.multiplyFits(n[l], n[r]) && RationalMath.multiplyFits(d[l], d[r])) {
+                            n[i] = n[l] * n[r];
+                            d[i] = d[l] * d[r];
+                        } else {
+                            reduce(n, d, l);
+                            reduce(n, d, r);
+                            RationalMath.multiplyExact(n[l], d[l], n[r], d[r], n, d, i);
+                        }
+                        break;
+                    case DIV:
+                        if(n[r] == 0) {
+                            throw new UnexpectValueException("除数不能为0。");
+                        } else if(RationalMath.multiplyFits(n[l], d[r]) && RationalMath.multiplyFits(d[l], n[r])) {
+                            long numerator = n[l] * d[r];
+                            long denominator = d[l] * n[r];
+                            n[i] = denominator < 0 ? -numerator : numerator;
+                            d[i] = Math.abs(denominator);
+                        } else {
+                            reduce(n, d, l);
+                            reduce(n, d, r);
+                            RationalMath.divideExact(n[l], d[l], n[r], d[r], n, d, i);
+                        }
+                        break;
+                    case NEGATE:
+                        if(n[l] == Long.MIN_VALUE) {
+                            reduce(n, d, l);
+                        }
+                        n[i] = -n[l];
+                        d[i] = d[l];
+                        break;
+                    case POWER:
+                        reduce(n, d, l);
+                        RationalMath.powerExact(n[l], d[l], exponents[i], n, d, i);
+                        break;
+                    default:
+                        throw new IllegalStateException();
+                }
+            }
+        }
+
+        /**
+         * add方法 - 计算第l个槽与 numerator/denominator 的和，写入第i个槽。
+         */
+        private static void add(long[] n, long[] d, int i, int l, long numerator, long denominator) {
+            long n1 = n[l];
+            long d1 = d[l];
+            if(d1 == denominator) {
+                long sum = n1 + numerator;
+                if(((n1 ^ sum) & (numerator ^ sum)) >= 0) {
+                    n[i] = sum;
+                    d[i] = d1;
+                    return;
+                }
+            } else if(RationalMath.multiplyFits(n1, denominator) && RationalMath.multiplyFits(numerator, d1)
+                    && RationalMath.multiplyFits(d1, denominator)) {
+                long a = n1 * denominator;
+                long b = numerator * d1;
+                long sum = a + b;
+                if(((a ^ sum) & (b ^ sum)) >= 0) {
+                    n[i] = sum;
+                    d[i] = d1 * denominator;
+                    return;
+                }
+            }
+            // 化简两个操作数后再计算；numerator可能来自另一个槽，因此先把它化简到第i个槽中
+            if(!RationalMath.reduce(numerator, denominator, n, d, i)) {
+                throw new ArithmeticException("long overflow");
+            }
+            reduce(n, d, l);
+            RationalMath.addExact(n[l], d[l], n[i], d[i], n, d, i);
+        }
+
+        /**
+         * reduce方法 - 在原位置化简第i个槽中的分数，化简后仍然超出long的范围时抛出ArithmeticException。
+         */
+        private static void reduce(long[] n, long[] d, int i) {
+            if(!RationalMath.reduce(n[i], d[i], n, d, i)) {
+                throw new ArithmeticException("long overflow");
+            }
+        }
+
+        /**
+         * runBig方法 - 使用BigFraction执行所有指令。
+         * <p>BigInteger求最大公约数的代价随位数平方增长，推迟化简反而更慢，因此这里每一步都化简。</p>
+         * <p>每个槽在最后一次被读取后立即释放，因此同时存在的BigFraction只有仍然会被用到的那些，与逐步求值时相同，而不会随整个DAG的大小增长。</p>
+         */
+        private BigFraction runBig() {
+            BigFraction[] values = new BigFraction[size];
+            for(int i = 0; i < size; i++) {
+                int l = lefts[i];
+                int r = rights[i];
+                switch(operators[i]) {
+                    case CONSTANT:
+                        values[i] = constants[i].toBigFraction();
+                        break;
+                    case ADD:
+                        values[i] = (BigFraction) values[l].add(values[r]);
+                        break;
+                    case SUB:
+                        values[i] = (BigFraction) values[l].sub(values[r]);
+                        break;
+                    case MULT:
+                        values[i] = (BigFraction) values[l].mult(values[r]);
+                        break;
+                    case DIV:
+                        values[i] = (BigFraction) values[l].div(values[r]);
+                        break;
+                    case NEGATE:
+                        values[i] = (BigFraction) BigFraction.ZERO.sub(values[l]);
+                        break;
+                    case POWER:
+                        values[i] = (BigFraction) values[l].power(exponents[i]);
+                        break;
+                    default:
+                        throw new IllegalStateException();
+                }
+                if(l >= 0 && lastUses[l] == i) {
+                    values[l] = null;
+                }
+                if(r >= 0 && lastUses[r] == i) {
+                    values[r] = null;
+                }
+            }
+            return values[result];
+        }
+    }
+}
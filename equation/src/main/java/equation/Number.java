@@ -1,5 +1,8 @@
 package equation;
 
+import java.math.BigDecimal;
+import java.math.MathContext;
+
 /**
  * Number接口 - 实现基本运算的基础。
  * <p>该接口要求子类实现5种基本运算：加、减、乘、除、幂运算。您可以这样使用Number的子类去进行运算：</p>
@@ -110,6 +113,46 @@ double num2 = Equation.toDouble(num); //这里运算的结果与上面相等
      */
     public double toDouble();
 
+    /**
+     * toFloat方法 - 将Number对象正确舍入为float类型。
+     * <p>结果直接由分子和分母舍入得到，而不是先转化为double再转化为float，因此只有一次舍入。</p>
+     * <p>
+     * 默认实现通过{@link equation.Equation#toBigFraction(Number)}取得精确值后舍入，本类库中的实现都会覆盖它。
+     * 对于Equation无法识别的外部实现，默认实现会退化为 (float) toDouble()，可能舍入两次。
+     * </p>
+     * @return float - 最接近当前值的float
+     * @see equation.Number#toDouble()
+     */
+    public default float toFloat() {
+        BigFraction frac = Equation.toBigFraction(this);
+        if(frac == null) {
+            return (float) toDouble();
+        }
+        return frac.toFloat();
+    }
+
+    /**
+     * toBigDecimal方法 - 将Number对象按照context的精度和舍入模式转化为BigDecimal。
+     * <p>当context的精度为0（例如MathContext.UNLIMITED）而当前值是无限小数（例如 1/3）时，会抛出ArithmeticException。</p>
+     * <blockquote><pre>
+new Fraction(1, 3).toBigDecimal(MathContext.DECIMAL64); // 0.3333333333333333
+new Fraction(1, 8).toBigDecimal(MathContext.UNLIMITED); // 0.125
+     * </pre></blockquote>
+     * <p>
+     * 默认实现通过{@link equation.Equation#toBigFraction(Number)}取得精确值后舍入，本类库中的实现都会覆盖它。
+     * 对于Equation无法识别的外部实现，默认实现会把toDouble()的结果按照context舍入。
+     * </p>
+     * @param context - MathContext - 精度和舍入模式
+     * @return BigDecimal - 舍入后的结果
+     */
+    public default BigDecimal toBigDecimal(MathContext context) {
+        BigFraction frac = Equation.toBigFraction(this);
+        if(frac == null) {
+            return new BigDecimal(toDouble(), context);
+        }
+        return frac.toBigDecimal(context);
+    }
+
     /**
      * toString方法 - 返回Number对象的字符串形式。
      * @return String - 转化后的字符串
@@ -0,0 +1,401 @@
+package equation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * OperationCache - 缓存四则运算和乘方结果的有界LRU缓存，可以被多个线程同时使用。
+ * <p>
+ * 当程序反复对少数几组相同的操作数做运算时（例如用几个固定的税率乘以数量），可以把运算交给OperationCache：
+ * 缓存的键是运算符、两个操作数的类型和化简后的值，因此 2/4 + 1/3 与 1/2 + 1/3 会命中同一个结果。
+ * 缓存被分成若干段（stripe），每一段是一个按访问顺序排列的{@link java.util.LinkedHashMap}，由自己的锁保护，
+ * 不同段上的操作互不阻塞；运算本身在锁外进行。每一段最多保存 maximumSize / stripes 个结果，超出时淘汰最久没有被访问的结果。
+ * </p>
+ * <p>
+ * 只有{@link equation.Fraction}、{@link equation.Rational}、{@link equation.HybridFraction}和{@link equation.BigFraction}的运算会被缓存，
+ * 它们的结果只取决于操作数的类型和数值；其他类型（例如结果还取决于分母和舍入模式的{@link equation.FixedFraction}）
+ * 以及超出long范围的操作数会直接计算，并计入未命中次数。Fraction是可变的，因此命中时返回的是缓存结果的副本。
+ * 运算抛出的异常不会被缓存。
+ * </p>
+ * <blockquote><pre>
+OperationCache cache = new OperationCache(1024);
+Equation.mult(rate, quantity, cache); // 第一次计算，未命中
+Equation.mult(rate, quantity, cache); // 命中
+Equation.mult(rate, quantity, null); // 不使用缓存
+cache.hitRate(); // 0.5
+ * </pre></blockquote>
+ * @see equation.Equation#mult(Number, Number, OperationCache)
+ */
+public final class OperationCache {
+    /**
+     * DEFAULT_STRIPES常量 - 默认的分段数。
+     */
+    public static final int DEFAULT_STRIPES = 16;
+
+    private static final int ADD = 0;
+    private static final int SUB = 1;
+    private static final int MULT = 2;
+    private static final int DIV = 3;
+    private static final int POWER = 4;
+
+    /**
+     * stripes属性 - 各个分段，数量是2的幂。
+     */
+    private final Stripe[] stripes;
+
+    /**
+     * maximumSize属性 - 整个缓存最多保存的结果个数。
+     */
+    private final int maximumSize;
+
+    /**
+     * enabled属性 - 为false时所有运算都直接计算，不读写缓存，也不更新统计。
+     */
+    private volatile boolean enabled = true;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * OperationCache - 创建一个最多保存maximumSize个结果、分为DEFAULT_STRIPES段的缓存。
+     * @param maximumSize - int - 最多保存的结果个数
+     * @see equation.OperationCache#OperationCache(int, int)
+     */
+    public OperationCache(int maximumSize) {
+        this(maximumSize, DEFAULT_STRIPES);
+    }
+
+    /**
+     * OperationCache - 创建一个最多保存maximumSize个结果的缓存。
+     * <p>stripes会被向上取为2的幂，但不会超过maximumSize。当maximumSize或stripes不是正数时，会抛出UnexpectValueException。</p>
+     * @param maximumSize - int - 最多保存的结果个数
+     * @param stripes - int - 分段数，越大并发性能越好，但每一段的LRU越不精确
+     */
+    public OperationCache(int maximumSize, int stripes) {
+        super();
+        if(maximumSize <= 0) {
+            throw new UnexpectValueException("缓存的大小必须是正数。");
+        } else if(stripes <= 0) {
+            throw new UnexpectValueException("分段数必须是正数。");
+        }
+        int count = Integer.highestOneBit(stripes);
+        if(count < stripes && count < (1 << 30)) {
+            count <<= 1;
+        }
+        while(count > maximumSize) {
+            count >>= 1;
+        }
+        this.maximumSize = maximumSize;
+        this.stripes = new Stripe[count];
+        for(int i = 0; i < count; i++) {
+            int capacity = maximumSize / count + (i < maximumSize % count ? 1 : 0);
+            this.stripes[i] = new Stripe(capacity, evictions);
+        }
+    }
+
+    /**
+     * add方法 - 求 num1 + num2，结果与{@link equation.Equation#add(Number, Number)}相同。
+     * @param num1 - Number - 需要相加的数
+     * @param num2 - Number - 需要相加的数
+     * @return Number - 两个数相加的结果
+     */
+    public Number add(Number num1, Number num2) {
+        return compute(ADD, num1, num2, 0);
+    }
+
+    /**
+     * sub方法 - 求 num1 - num2，结果与{@link equation.Equation#sub(Number, Number)}相同。
+     * @param num1 - Number - 被减数
+     * @param num2 - Number - 减数
+     * @return Number - 两个数相减的结果
+     */
+    public Number sub(Number num1, Number num2) {
+        return compute(SUB, num1, num2, 0);
+    }
+
+    /**
+     * mult方法 - 求 num1 * num2，结果与{@link equation.Equation#mult(Number, Number)}相同。
+     * @param num1 - Number - 需要相乘的数
+     * @param num2 - Number - 需要相乘的数
+     * @return Number - 两个数相乘的结果
+     */
+    public Number mult(Number num1, Number num2) {
+        return compute(MULT, num1, num2, 0);
+    }
+
+    /**
+     * div方法 - 求 num1 / num2，结果与{@link equation.Equation#div(Number, Number)}相同。
+     * @param num1 - Number - 被除数
+     * @param num2 - Number - 除数
+     * @return Number - 两个数相除的结果
+     */
+    public Number div(Number num1, Number num2) {
+        return compute(DIV, num1, num2, 0);
+    }
+
+    /**
+     * power方法 - 求 num ^ index，结果与{@link equation.Equation#power(Number, int)}相同。
+     * @param num - Number - 底数
+     * @param index - int - 指数
+     * @return Number - 乘方的结果
+     */
+    public Number power(Number num, int index) {
+        return compute(POWER, num, null, index);
+    }
+
+    /**
+     * setEnabled方法 - 打开或关闭缓存。关闭后所有运算都直接计算，已经缓存的结果保留，重新打开后仍然可以命中。
+     * @param enabled - boolean - 是否使用缓存
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * isEnabled方法 - 返回缓存是否打开。
+     * @return boolean - 是否使用缓存
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * size方法 - 返回当前缓存的结果个数。
+     * @return int - 结果个数
+     */
+    public int size() {
+        int size = 0;
+        for(Stripe stripe : stripes) {
+            synchronized(stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * getMaximumSize方法 - 返回缓存最多保存的结果个数。
+     * @return int - 最多保存的结果个数
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * clear方法 - 清空所有缓存的结果，统计数据不变。
+     */
+    public void clear() {
+        for(Stripe stripe : stripes) {
+            synchronized(stripe) {
+                stripe.clear();
+            }
+        }
+    }
+
+    /**
+     * hitCount方法 - 返回命中的次数。
+     * @return long - 命中的次数
+     */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * missCount方法 - 返回未命中的次数，包括无法缓存而直接计算的次数。
+     * @return long - 未命中的次数
+     */
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * evictionCount方法 - 返回因为超出大小而被淘汰的结果个数。
+     * @return long - 被淘汰的结果个数
+     */
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * hitRate方法 - 返回命中率。还没有任何请求时返回1.0。
+     * @return double - 命中次数 / 请求次数
+     */
+    public double hitRate() {
+        long hit = hits.sum();
+        long total = hit + misses.sum();
+        return total == 0 ? 1.0 : (double) hit / total;
+    }
+
+    /**
+     * resetStatistics方法 - 将命中、未命中和淘汰的次数清零。
+     */
+    public void resetStatistics() {
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+
+    /**
+     * toString方法 - 返回缓存的大小和统计数据。
+     * @return String - 例如 OperationCache[size=3/1024, hits=10, misses=3, evictions=0]
+     */
+    public String toString() {
+        return "OperationCache[size=" + size() + "/" + maximumSize + ", hits=" + hits.sum() + ", misses=" + misses.sum()
+                + ", evictions=" + evictions.sum() + "]";
+    }
+
+    /**
+     * compute方法 - 查找缓存，未命中时在锁外计算并保存结果。
+     */
+    private Number compute(int operator, Number num1, Number num2, int index) {
+        if(!enabled) {
+            return apply(operator, num1, num2, index);
+        }
+        Key key = Key.of(operator, num1, num2, index);
+        if(key == null) {
+            misses.increment();
+            return apply(operator, num1, num2, index);
+        }
+        Stripe stripe = stripes[key.hashCode() & (stripes.length - 1)];
+        Number cached;
+        synchronized(stripe) {
+            cached = stripe.get(key);
+        }
+        if(cached != null) {
+            hits.increment();
+            return copyOf(cached);
+        }
+        misses.increment();
+        Number result = apply(operator, num1, num2, index);
+        if(isCacheable(result)) {
+            Number stored = copyOf(result);
+            synchronized(stripe) {
+                stripe.put(key, stored);
+            }
+        }
+        return result;
+    }
+
+    private static Number apply(int operator, Number num1, Number num2, int index) {
+        switch(operator) {
+            case ADD:
+                return num1.add(num2);
+            case SUB:
+                return num1.sub(num2);
+            case MULT:
+                return num1.mult(num2);
+            case DIV:
+                return num1.div(num2);
+            default:
+                return num1.power(index);
+        }
+    }
+
+    /**
+     * isCacheable方法 - 判断操作数或结果是否只由类型和数值决定。Fraction的子类可能带有额外的状态，因此只接受Fraction本身。
+     */
+    private static boolean isCacheable(Number num) {
+        return num instanceof Rational || num instanceof HybridFraction || num instanceof BigFraction
+                || (num != null && num.getClass() == Fraction.class);
+    }
+
+    /**
+     * copyOf方法 - 可变的Fraction需要复制，其他可以缓存的类型都是不可变的。
+     */
+    private static Number copyOf(Number num) {
+        if(num instanceof Fraction) {
+            Fraction frac = (Fraction) num;
+            return new Fraction(frac.getNumerator(), frac.getDenominator());
+        }
+        return num;
+    }
+
+    /**
+     * Key - 缓存的键：运算符、两个操作数的类型和化简后的值。乘方时second为null，secondNumerator保存指数。
+     */
+    private static final class Key {
+        private final int operator;
+        private final Class<?> first;
+        private final Class<?> second;
+        private final long firstNumerator;
+        private final long firstDenominator;
+        private final long secondNumerator;
+        private final long secondDenominator;
+        private final int hash;
+
+        private Key(int operator, Class<?> first, Class<?> second, long[] numerators, long[] denominators) {
+            this.operator = operator;
+            this.first = first;
+            this.second = second;
+            this.firstNumerator = numerators[0];
+            this.firstDenominator = denominators[0];
+            this.secondNumerator = numerators[1];
+            this.secondDenominator = denominators[1];
+            int h = 31 * operator + RationalMath.hashCode(firstNumerator, firstDenominator);
+            h = 31 * h + RationalMath.hashCode(secondNumerator, secondDenominator);
+            h = 31 * h + first.hashCode() + (second == null ? 0 : second.hashCode());
+            // 打散高位，使hash & (stripes - 1)也能均匀分布
+            this.hash = h ^ (h >>> 16);
+        }
+
+        /**
+         * of方法 - 创建键。操作数不能被缓存或者超出long的范围时返回null。
+         */
+        static Key of(int operator, Number num1, Number num2, int index) {
+            if(!isCacheable(num1) || (num2 != null && !isCacheable(num2))) {
+                return null;
+            }
+            long[] numerators = new long[2];
+            long[] denominators = { 1, 1 };
+            if(!RationalMath.load(num1, numerators, denominators, 0)) {
+                return null;
+            }
+            if(num2 == null) {
+                numerators[1] = index;
+            } else if(!RationalMath.load(num2, numerators, denominators, 1)) {
+                return null;
+            }
+            return new Key(operator, num1.getClass(), num2 == null ? null : num2.getClass(), numerators, denominators);
+        }
+
+        public boolean equals(Object object) {
+            if(!(object instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) object;
+            return operator == key.operator && first == key.first && second == key.second
+                    && firstNumerator == key.firstNumerator && firstDenominator == key.firstDenominator
+                    && secondNumerator == key.secondNumerator && secondDenominator == key.secondDenominator;
+        }
+
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Stripe - 一段按访问顺序排列的LRU表。调用者必须持有它自己的锁。
+     */
+    private static final class Stripe extends LinkedHashMap<Key, Number> {
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+        private final transient LongAdder evictions;
+
+        Stripe(int capacity, LongAdder evictions) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+            this.evictions = evictions;
+        }
+
+        protected boolean removeEldestEntry(Map.Entry<Key, Number> eldest) {
+            if(size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
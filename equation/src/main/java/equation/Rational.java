@@ -0,0 +1,356 @@
+package equation;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * Rational - 不可变的分数。
+ * <p>
+ * 与{@link equation.Fraction}不同，Rational对象一旦创建就不能再被修改，因此可以安全地在多个线程之间共享，也不需要防御性地复制。
+ * Rational永远以分母为正数的最简分数形式保存，并缓存了自己的hashCode。
+ * </p>
+ * <p>
+ * Rational没有公开的构造函数，请使用<code>valueOf</code>系列方法创建。常用的值（0、±1、-128到127之间的整数、±1/2到±1/64的单位分数）会被预先创建并重复使用，
+ * 因此在循环中得到这些结果时不会创建新的对象。
+ * </p>
+ * <blockquote><pre>
+Rational num1 = Rational.valueOf(1, 2); //这里表示分数 1/2
+Rational num2 = Rational.valueOf(2, 6); //自动化简为 1/3
+Number num3 = num1.add(num2); // 1/2 + 1/3 = 5/6
+Rational.valueOf(2, 4) == Rational.valueOf(1, 2); // true，两者是同一个缓存对象
+ * </pre></blockquote>
+ * @see equation.Fraction
+ * @see equation.Number
+ */
+public final class Rational implements Number, Comparable<Number> {
+    private static final int INTEGER_CACHE_LOW = -128;
+    private static final int INTEGER_CACHE_HIGH = 127;
+    private static final int UNIT_CACHE_HIGH = 64;
+
+    private static final Rational[] INTEGER_CACHE = new Rational[INTEGER_CACHE_HIGH - INTEGER_CACHE_LOW + 1];
+    private static final Rational[] POSITIVE_UNIT_CACHE = new Rational[UNIT_CACHE_HIGH + 1];
+    private static final Rational[] NEGATIVE_UNIT_CACHE = new Rational[UNIT_CACHE_HIGH + 1];
+
+    static {
+        for(int i = 0; i < INTEGER_CACHE.length; i++) {
+            INTEGER_CACHE[i] = new Rational(i + INTEGER_CACHE_LOW, 1);
+        }
+        POSITIVE_UNIT_CACHE[1] = INTEGER_CACHE[1 - INTEGER_CACHE_LOW];
+        NEGATIVE_UNIT_CACHE[1] = INTEGER_CACHE[-1 - INTEGER_CACHE_LOW];
+        for(int i = 2; i <= UNIT_CACHE_HIGH; i++) {
+            POSITIVE_UNIT_CACHE[i] = new Rational(1, i);
+            NEGATIVE_UNIT_CACHE[i] = new Rational(-1, i);
+        }
+    }
+
+    /**
+     * ZERO常量 - 表示 0/1。
+     */
+    public static final Rational ZERO = valueOf(0);
+
+    /**
+     * ONE常量 - 表示 1/1。
+     */
+    public static final Rational ONE = valueOf(1);
+
+    /**
+     * MINUS_ONE常量 - 表示 -1/1。
+     */
+    public static final Rational MINUS_ONE = valueOf(-1);
+
+    /**
+     * ONE_HALF常量 - 表示 1/2。
+     */
+    public static final Rational ONE_HALF = valueOf(1, 2);
+
+    private final int numerator;
+    private final int denominator;
+
+    /**
+     * hash属性 - 缓存的hashCode，为0时表示还没有计算过。
+     */
+    private int hash;
+
+    /**
+     * Rational - 私有的构造函数。
+     * <p>传入的分子和分母必须已经是分母为正数的最简分数。</p>
+     */
+    private Rational(int numerator, int denominator) {
+        super();
+        this.numerator = numerator;
+        this.denominator = denominator;
+    }
+
+    /**
+     * valueOf方法 - 通过整数创建Rational对象。
+     * <blockquote><pre>
+Rational.valueOf(3); // 3/1
+     * </pre></blockquote>
+     * @param numerator - int - 分数的分子，分母为1
+     * @return Rational - 对应的分数
+     * @see equation.Rational#valueOf(int, int)
+     */
+    public static Rational valueOf(int numerator) {
+        if(numerator >= INTEGER_CACHE_LOW && numerator <= INTEGER_CACHE_HIGH) {
+            return INTEGER_CACHE[numerator - INTEGER_CACHE_LOW];
+        }
+        return new Rational(numerator, 1);
+    }
+
+    /**
+     * valueOf方法 - 通过分子和分母创建Rational对象。
+     * <p>传入的分数会被自动化简，并把符号移到分子上。当分母为0时，会抛出UnexpectValueException。</p>
+     * <blockquote><pre>
+Rational.valueOf(2, -4); // -1/2
+     * </pre></blockquote>
+     * @param numerator - int - 分数的分子
+     * @param denominator - int - 分数的分母
+     * @return Rational - 对应的分数
+     * @see equation.Rational#valueOf(int)
+     * @see equation.Rational#valueOf(Number)
+     */
+    public static Rational valueOf(int numerator, int denominator) {
+        if(denominator == 0) {
+            throw new UnexpectValueException("不能将分母设置为0。");
+        }
+        long gcd = RationalMath.gcd((long) numerator, denominator);
+        long n = numerator / gcd;
+        long d = denominator / gcd;
+        if(d < 0) {
+            n = -n;
+            d = -d;
+        }
+        return ofPacked(RationalMath.pack(n, d));
+    }
+
+    /**
+     * valueOf方法 - 将一个Number对象转化为Rational对象。
+     * <p>当传入的对象本身就是Rational时，会直接返回它。当传入的类型无法识别时，会抛出UnexpectValueException。</p>
+     * <blockquote><pre>
+Rational.valueOf(new Fraction(2, 4)); // 1/2
+     * </pre></blockquote>
+     * @param num - Number - 需要转化的数
+     * @return Rational - 转化后的分数
+     * @see equation.Equation#toFraction(Number)
+     */
+    public static Rational valueOf(Number num) {
+        if(num instanceof Rational) {
+            return (Rational) num;
+        }
+        Fraction frac = Equation.toFraction(num);
+        if(frac == null) {
+            throw RationalMath.unrecognized(num);
+        }
+        return valueOf(frac.numerator, frac.denominator);
+    }
+
+    /**
+     * ofPacked方法 - 通过打包的最简分数创建Rational对象，命中缓存时不会创建新的对象。
+     * @param packed - long - 打包后的最简分数，分母为正数
+     * @return Rational - 对应的分数
+     * @see equation.RationalMath#pack(long, long)
+     */
+    static Rational ofPacked(long packed) {
+        int numerator = RationalMath.numeratorOf(packed);
+        int denominator = RationalMath.denominatorOf(packed);
+        if(denominator == 1) {
+            return valueOf(numerator);
+        } else if(denominator <= UNIT_CACHE_HIGH) {
+            if(numerator == 1) {
+                return POSITIVE_UNIT_CACHE[denominator];
+            } else if(numerator == -1) {
+                return NEGATIVE_UNIT_CACHE[denominator];
+            }
+        }
+        return new Rational(numerator, denominator);
+    }
+
+    /**
+     * getNumerator方法 - 获取分数的分子。
+     * @return int - 分数的分子
+     */
+    public int getNumerator() {
+        return numerator;
+    }
+
+    /**
+     * getDenominator方法 - 获取分数的分母，永远是正数。
+     * @return int - 分数的分母
+     */
+    public int getDenominator() {
+        return denominator;
+    }
+
+    /**
+     * add方法 - 将两个Number对象相加。
+     * <p>该方法不会修改当前对象，而是返回一个新的（或缓存的）Rational对象。当结果超出int的范围时，会抛出ArithmeticException。</p>
+     * @param num - Number - 需要相加的数
+     * @return Number - 两个数相加的结果，实际上是一个Rational对象
+     * @see equation.Equation#add(Number, Number)
+     */
+    public Number add(Number num) {
+        Rational other = valueOf(num);
+        return ofPacked(RationalMath.add(numerator, denominator, other.numerator, other.denominator));
+    }
+
+    /**
+     * sub方法 - 将两个Number对象相减。
+     * @param num - Number - 需要相减的数
+     * @return Number - 两个数相减的结果，实际上是一个Rational对象
+     * @see equation.Equation#sub(Number, Number)
+     */
+    public Number sub(Number num) {
+        Rational other = valueOf(num);
+        return ofPacked(RationalMath.subtract(numerator, denominator, other.numerator, other.denominator));
+    }
+
+    /**
+     * mult方法 - 将两个Number对象相乘。
+     * @param num - Number - 需要相乘的数
+     * @return Number - 两个数相乘的结果，实际上是一个Rational对象
+     * @see equation.Equation#mult(Number, Number)
+     */
+    public Number mult(Number num) {
+        Rational other = valueOf(num);
+        return ofPacked(RationalMath.multiply(numerator, denominator, other.numerator, other.denominator));
+    }
+
+    /**
+     * div方法 - 将两个Number对象相除。当除数为0时，会抛出UnexpectValueException。
+     * @param num - Number - 需要相除的数
+     * @return Number - 两个数相除的结果，实际上是一个Rational对象
+     * @see equation.Equation#div(Number, Number)
+     */
+    public Number div(Number num) {
+        Rational other = valueOf(num);
+        if(other.numerator == 0) {
+            throw new UnexpectValueException("除数不能为0。");
+        }
+        return ofPacked(RationalMath.multiply(numerator, denominator, other.denominator, other.numerator));
+    }
+
+    /**
+     * power方法 - 对自身的幂运算。
+     * <p>与{@link equation.AbstractRationalNumber#power(int)}相同，使用平方求幂，并支持0和负数次幂。</p>
+     * @param index - int - 指数的大小
+     * @return Number - 进行乘方运算后的结果，实际上是一个Rational对象
+     * @see equation.Equation#power(Number, int)
+     */
+    public Number power(int index) {
+        long exponent = Math.abs((long) index);
+        long n = RationalMath.powExact(numerator, exponent);
+        long d = RationalMath.powExact(denominator, exponent);
+        if(index >= 0) {
+            return ofPacked(RationalMath.pack(n, d));
+        } else if(n == 0) {
+            throw new UnexpectValueException("0不能进行负数次幂运算。");
+        } else if(n < 0) {
+            return ofPacked(RationalMath.pack(-d, -n));
+        }
+        return ofPacked(RationalMath.pack(d, n));
+    }
+
+    /**
+     * reciprocalOf方法 - 返回当前分数的倒数。当前分数为0时，会抛出UnexpectValueException。
+     * @return Rational - 当前分数的倒数
+     */
+    public Rational reciprocalOf() {
+        return valueOf(denominator, numerator);
+    }
+
+    /**
+     * toDouble方法 - 将Rational对象转化成double类型。
+     * @return double - 转化后的小数
+     */
+    public double toDouble() {
+        return RationalMath.toDouble(numerator, denominator);
+    }
+
+    /**
+     * toFloat方法 - 将Rational对象正确舍入为float类型。
+     * @return float - 最接近当前值的float
+     */
+    public float toFloat() {
+        return RationalMath.toFloat(numerator, denominator);
+    }
+
+    /**
+     * toBigDecimal方法 - 将Rational对象按照context的精度和舍入模式转化为BigDecimal。
+     * @param context - MathContext - 精度和舍入模式
+     * @return BigDecimal - 舍入后的结果
+     */
+    public BigDecimal toBigDecimal(MathContext context) {
+        return RationalMath.toBigDecimal(numerator, denominator, context);
+    }
+
+    /**
+     * compareTo方法 - 比较当前对象与传入的Number对象的大小。
+     * @param num - Number - 需要比较的对象
+     * @return int - 小于、等于、大于时分别返回负数、0、正数
+     * @see equation.AbstractRationalNumber#compareTo(Number)
+     */
+    public int compareTo(Number num) {
+        if(num instanceof Rational) {
+            Rational other = (Rational) num;
+            return RationalMath.compare(numerator, denominator, other.numerator, other.denominator);
+        }
+        return RationalMath.compare(numerator, denominator, num);
+    }
+
+    /**
+     * equals方法 - 判断两个对象是否相等。需要注意的是，如果传入的对象不是Number，将永远返回false。
+     * <p>与其他Number对象比较时按数值比较，例如 Rational.valueOf(1, 2) 与 new Fraction(2, 4) 相等。</p>
+     * @param object - Object - 需要比较的对象
+     * @return boolean - 是否相等
+     */
+    public boolean equals(Object object) {
+        if(object == this) {
+            return true;
+        } else if(object instanceof Rational) {
+            Rational other = (Rational) object;
+            return numerator == other.numerator && denominator == other.denominator;
+        } else if(!(object instanceof Number) || !RationalMath.isExact((Number) object)) {
+            return false;
+        }
+        return compareTo((Number) object) == 0;
+    }
+
+    /**
+     * hashCode方法 - 返回基于最简分数计算的hashCode。第一次计算后会被缓存。
+     * @return int - hashCode
+     */
+    public int hashCode() {
+        int h = hash;
+        if(h == 0) {
+            h = RationalMath.hashCode(numerator, denominator);
+            hash = h;
+        }
+        return h;
+    }
+
+    /**
+     * isGreaterThan方法 - 判断当前对象是否大于传入的Number对象。如果大于，返回true。否则返回false。
+     * @param num - Number - 需要比较的对象
+     * @return boolean - 是否大于
+     */
+    public boolean isGreaterThan(Number num) {
+        return compareTo(num) > 0;
+    }
+
+    /**
+     * isLessThan方法 - 判断当前对象是否小于传入的Number对象。如果小于，返回true。否则返回false。
+     * @param num - Number - 需要比较的对象
+     * @return boolean - 是否小于
+     */
+    public boolean isLessThan(Number num) {
+        return compareTo(num) < 0;
+    }
+
+    /**
+     * toString方法 - 返回分数的字符串形式（a/b）。
+     * @return String - 转化后的字符串
+     */
+    public String toString() {
+        return FractionFormat.format(new StringBuilder(23), numerator, denominator).toString();
+    }
+}
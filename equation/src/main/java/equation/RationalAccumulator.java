@@ -0,0 +1,448 @@
+package equation;
+
+/**
+ * RationalAccumulator - 可变的分数累加器，用于在循环中原地进行分数运算。
+ * <p>
+ * {@link equation.Number}的add、mult等方法每次都会创建一个新对象，并且每一步都要求最大公约数。
+ * RationalAccumulator把当前的值保存在两个long字段里，每次运算都直接修改这两个字段，不会创建任何对象；
+ * 运算结果也不会立即化简，只有当分子或分母的位数超过threshold、发生溢出或者调用{@link equation.RationalAccumulator#reduce()}时才化简一次。
+ * 当化简后仍然溢出时，会自动改用{@link equation.BigFraction}，因此结果永远是精确的。
+ * </p>
+ * <p>只有在调用{@link equation.RationalAccumulator#toFraction()}等方法时才会创建新的对象。RationalAccumulator不是线程安全的。</p>
+ * <blockquote><pre>
+RationalAccumulator total = new RationalAccumulator();
+for(int i = 0; i &lt; prices.length; i++) {
+    total.fma(prices[i], quantities[i]); // total += prices[i] * quantities[i]
+}
+Fraction result = total.toFraction();
+ * </pre></blockquote>
+ * @see equation.Equation#summing()
+ */
+public final class RationalAccumulator {
+    /**
+     * DEFAULT_THRESHOLD常量 - 默认的化简阈值。
+     * <p>分子和分母都不超过32位时，两个分数交叉相乘的结果不会超出long的范围，因此大部分运算都不会因为溢出而化简。</p>
+     */
+    public static final int DEFAULT_THRESHOLD = 32;
+
+    /**
+     * numerator属性 - 当前值的分子，只在big为null时有效。不一定是最简分数。
+     */
+    private long numerator;
+
+    /**
+     * denominator属性 - 当前值的分母，永远是正数，只在big为null时有效。
+     */
+    private long denominator;
+
+    /**
+     * big属性 - 当前值超出long的范围时所使用的BigFraction，否则为null。
+     */
+    private BigFraction big;
+
+    private final int threshold;
+
+    /**
+     * numerators和denominators属性 - 存放操作数和中间结果的临时数组，避免每次运算都创建新的数组。
+     */
+    private final long[] numerators = new long[2];
+    private final long[] denominators = new long[2];
+
+    /**
+     * RationalAccumulator - 创建一个值为 0/1、使用默认化简阈值的累加器。
+     * @see equation.RationalAccumulator#RationalAccumulator(int)
+     */
+    public RationalAccumulator() {
+        this(DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * RationalAccumulator - 创建一个值为 0/1 的累加器。
+     * <p>当分子或分母的位数超过threshold时，会自动化简。threshold越大化简越少，但越容易因为溢出而被迫化简。threshold必须在1到62之间，否则会抛出UnexpectValueException。</p>
+     * @param threshold - int - 化简阈值（位数）
+     */
+    public RationalAccumulator(int threshold) throws UnexpectValueException {
+        super();
+        if(threshold < 1 || threshold > 62) {
+            throw new UnexpectValueException("threshold必须在1到62之间。");
+        }
+        this.threshold = threshold;
+        this.numerator = 0;
+        this.denominator = 1;
+    }
+
+    /**
+     * set方法 - 将累加器的值设置为传入的Number对象。
+     * @param num - Number - 新的值
+     * @return RationalAccumulator - 当前累加器
+     */
+    public RationalAccumulator set(Number num) {
+        big = null;
+        if(load(num, 0)) {
+            numerator = numerators[0];
+            denominator = denominators[0];
+        } else {
+            big = BigFraction.valueOf(num);
+        }
+        return this;
+    }
+
+    /**
+     * set方法 - 将累加器的值设置为 numerator/denominator。当分母为0时，会抛出UnexpectValueException。
+     * @param numerator - long - 分子
+     * @param denominator - long - 分母
+     * @return RationalAccumulator - 当前累加器
+     */
+    public RationalAccumulator set(long numerator, long denominator) throws UnexpectValueException {
+        if(denominator == 0) {
+            throw new UnexpectValueException("不能将分母设置为0。");
+        }
+        big = null;
+        if(numerator == Long.MIN_VALUE || denominator == Long.MIN_VALUE) {
+            big = BigFraction.valueOf(numerator, denominator);
+        } else if(denominator < 0) {
+            this.numerator = -numerator;
+            this.denominator = -denominator;
+        } else {
+            this.numerator = numerator;
+            this.denominator = denominator;
+        }
+        return this;
+    }
+
+    /**
+     * clear方法 - 将累加器的值重置为 0/1。
+     * @return RationalAccumulator - 当前累加器
+     */
+    public RationalAccumulator clear() {
+        big = null;
+        numerator = 0;
+        denominator = 1;
+        return this;
+    }
+
+    /**
+     * addInPlace方法 - 将传入的Number对象加到累加器上。
+     * <blockquote><pre>
+RationalAccumulator total = new RationalAccumulator();
+total.addInPlace(new Fraction(1, 2)).addInPlace(new Fraction(1, 3)); // 5/6
+     * </pre></blockquote>
+     * @param num - Number - 需要相加的数
+     * @return RationalAccumulator - 当前累加器
+     */
+    public RationalAccumulator addInPlace(Number num) {
+        if(load(num, 0)) {
+            add(numerators[0], denominators[0]);
+        } else {
+            promote();
+            big = (BigFraction) big.add(num);
+        }
+        return this;
+    }
+
+    /**
+     * addInPlace方法 - 将 numerator/denominator 加到累加器上。当分母为0时，会抛出UnexpectValueException。
+     * <p>当分母与累加器当前的分母相同时（例如所有数都以1/100为单位），只需要一次long加法。</p>
+     * @param numerator - long - 分子
+     * @param denominator - long - 分母
+     * @return RationalAccumulator - 当前累加器
+     */
+    public RationalAccumulator addInPlace(long numerator, long denominator) throws UnexpectValueException {
+        if(denominator == 0) {
+            throw new UnexpectValueException("不能将分母设置为0。");
+        } else if(numerator == Long.MIN_VALUE || denominator == Long.MIN_VALUE) {
+            promote();
+            big = (BigFraction) big.add(BigFraction.valueOf(numerator, denominator));
+        } else if(denominator < 0) {
+            add(-numerator, -denominator);
+        } else {
+            add(numerator, denominator);
+        }
+        return this;
+    }
+
+    /**
+     * subInPlace方法 - 从累加器中减去传入的Number对象。
+     * @param num - Number - 需要减去的数
+     * @return RationalAccumulator - 当前累加器
+     */
+    public RationalAccumulator subInPlace(Number num) {
+        if(load(num, 0)) {
+            add(-numerators[0], denominators[0]);
+        } else {
+            promote();
+            big = (BigFraction) big.sub(num);
+        }
+        return this;
+    }
+
+    /**
+     * mulInPlace方法 - 将累加器乘以传入的Number对象。
+     * @param num - Number - 需要相乘的数
+     * @return RationalAccumulator - 当前累加器
+     */
+    public RationalAccumulator mulInPlace(Number num) {
+        if(load(num, 0)) {
+            multiply(numerators[0], denominators[0]);
+        } else {
+            promote();
+            big = (BigFraction) big.mult(num);
+        }
+        return this;
+    }
+
+    /**
+     * mulInPlace方法 - 将累加器乘以 numerator/denominator。当分母为0时，会抛出UnexpectValueException。
+     * @param numerator - long - 分子
+     * @param denominator - long - 分母
+     * @return RationalAccumulator - 当前累加器
+     */
+    public RationalAccumulator mulInPlace(long numerator, long denominator) throws UnexpectValueException {
+        if(denominator == 0) {
+            throw new UnexpectValueException("不能将分母设置为0。");
+        } else if(numerator == Long.MIN_VALUE || denominator == Long.MIN_VALUE) {
+            promote();
+            big = (BigFraction) big.mult(BigFraction.valueOf(numerator, denominator));
+        } else if(denominator < 0) {
+            multiply(-numerator, -denominator);
+        } else {
+            multiply(numerator, denominator);
+        }
+        return this;
+    }
+
+    /**
+     * divInPlace方法 - 将累加器除以传入的Number对象。当除数为0时，会抛出UnexpectValueException。
+     * @param num - Number - 除数
+     * @return RationalAccumulator - 当前累加器
+     */
+    public RationalAccumulator divInPlace(Number num) throws UnexpectValueException {
+        if(load(num, 0)) {
+            long n = numerators[0];
+            long d = denominators[0];
+            if(n == 0) {
+                throw new UnexpectValueException("除数不能为0。");
+            }
+            multiply(n < 0 ? -d : d, Math.abs(n));
+        } else {
+            promote();
+            big = (BigFraction) big.div(num);
+        }
+        return this;
+    }
+
+    /**
+     * fma方法 - 将 num1 * num2 加到累加器上，中间的乘积不会创建任何对象。
+     * <p>适合计算点积、加权和等“先乘后加”的循环。</p>
+     * <blockquote><pre>
+RationalAccumulator total = new RationalAccumulator();
+total.fma(new Fraction(1, 2), new Fraction(2, 3)); // 1/3
+total.fma(new Fraction(1, 4), new Fraction(2)); // 1/3 + 1/2 = 5/6
+     * </pre></blockquote>
+     * @param num1 - Number - 第一个因数
+     * @param num2 - Number - 第二个因数
+     * @return RationalAccumulator - 当前累加器
+     */
+    public RationalAccumulator fma(Number num1, Number num2) {
+        if(load(num1, 0) && load(num2, 1)) {
+            long n1 = numerators[0];
+            long d1 = denominators[0];
+            long n2 = numerators[1];
+            long d2 = denominators[1];
+            try {
+                add(Math.multiplyExact(n1, n2), Math.multiplyExact(d1, d2));
+                return this;
+            } catch (ArithmeticException err) {
+                // 乘积溢出，先交叉约分再试一次
+            }
+            try {
+                RationalMath.multiplyExact(n1, d1, n2, d2, numerators, denominators, 0);
+                add(numerators[0], denominators[0]);
+                return this;
+            } catch (ArithmeticException err) {
+                // 仍然溢出，改用BigFraction计算
+            }
+            promote();
+            big = (BigFraction) big.add(BigFraction.valueOf(n1, d1).mult(BigFraction.valueOf(n2, d2)));
+        } else {
+            promote();
+            big = (BigFraction) big.add(BigFraction.valueOf(num1).mult(num2));
+        }
+        return this;
+    }
+
+    /**
+     * reduce方法 - 立即化简累加器的值。
+     * <p>化简后分母为正数。如果当前正在使用BigFraction并且化简后的值能放进long，会自动回到long运算。</p>
+     * @return RationalAccumulator - 当前累加器
+     */
+    public RationalAccumulator reduce() {
+        if(big == null) {
+            long gcd = RationalMath.gcd(numerator, denominator);
+            numerator = numerator / gcd;
+            denominator = denominator / gcd;
+        } else if(RationalMath.load(big, numerators, denominators, 0)) {
+            numerator = numerators[0];
+            denominator = denominators[0];
+            big = null;
+        }
+        return this;
+    }
+
+    /**
+     * isPromoted方法 - 判断累加器的值是否超出了long的范围、正在使用BigInteger表示。
+     * @return boolean - 是否正在使用BigInteger表示
+     */
+    public boolean isPromoted() {
+        return big != null;
+    }
+
+    /**
+     * toFraction方法 - 化简累加器的值，并创建一个与之相等的Fraction对象。
+     * <p>当化简后的分子或分母超出int的范围时，会抛出ArithmeticException。之后仍然可以继续使用这个累加器。</p>
+     * @return Fraction - 与累加器的值相等的最简分数
+     */
+    public Fraction toFraction() {
+        reduce();
+        if(big != null) {
+            throw new ArithmeticException("integer overflow");
+        }
+        return new Fraction(Math.toIntExact(numerator), Math.toIntExact(denominator));
+    }
+
+    /**
+     * toHybridFraction方法 - 创建一个与累加器的值相等的HybridFraction对象。
+     * @return HybridFraction - 与累加器的值相等的分数
+     */
+    public HybridFraction toHybridFraction() {
+        if(big == null) {
+            return HybridFraction.valueOf(numerator, denominator);
+        }
+        return HybridFraction.valueOf(big);
+    }
+
+    /**
+     * toDouble方法 - 将累加器的值转化成double类型。
+     * @return double - 转化后的小数
+     */
+    public double toDouble() {
+        if(big == null) {
+            return RationalMath.toDouble(numerator, denominator);
+        }
+        return big.toDouble();
+    }
+
+    /**
+     * toString方法 - 返回累加器当前值的字符串形式（a/b），不会化简。
+     * @return String - 转化后的字符串
+     */
+    public String toString() {
+        if(big == null) {
+            return Long.toString(numerator) + "/" + Long.toString(denominator);
+        }
+        return big.toString();
+    }
+
+    /**
+     * load方法 - 将Number对象写入临时数组的index位置。Fraction不会被化简，以节省一次求最大公约数。
+     * @return boolean - 当传入的数超出long的范围时返回false
+     */
+    private boolean load(Number num, int index) {
+        if(num instanceof AbstractRationalNumber) {
+            AbstractRationalNumber rational = (AbstractRationalNumber) num;
+            if(rational.denominator == 0) {
+                throw new UnexpectValueException("不能将分母设置为0。");
+            }
+            long n = rational.numerator;
+            long d = rational.denominator;
+            numerators[index] = d < 0 ? -n : n;
+            denominators[index] = Math.abs(d);
+            return true;
+        }
+        return RationalMath.load(num, numerators, denominators, index);
+    }
+
+    /**
+     * add方法 - 将 n/d 加到累加器上。d必须是正数。
+     * <p>先不化简地直接交叉相乘；溢出时化简后使用{@link equation.RationalMath#addExact(long, long, long, long, long[], long[], int)}再试一次；仍然溢出时改用BigFraction。</p>
+     */
+    private void add(long n, long d) {
+        if(big == null && n != Long.MIN_VALUE) {
+            try {
+                if(d == denominator) {
+                    numerator = Math.addExact(numerator, n);
+                } else {
+                    long a = Math.multiplyExact(numerator, d);
+                    long b = Math.multiplyExact(n, denominator);
+                    long c = Math.multiplyExact(denominator, d);
+                    numerator = Math.addExact(a, b);
+                    denominator = c;
+                }
+                checkGrowth();
+                return;
+            } catch (ArithmeticException err) {
+                // 溢出，化简后再试一次
+            }
+            reduce();
+            long gcd = RationalMath.gcd(n, d);
+            try {
+                RationalMath.addExact(numerator, denominator, n / gcd, d / gcd, numerators, denominators, 1);
+                numerator = numerators[1];
+                denominator = denominators[1];
+                return;
+            } catch (ArithmeticException err) {
+                // 仍然溢出，改用BigFraction计算
+            }
+        }
+        promote();
+        big = (BigFraction) big.add(BigFraction.valueOf(n, d));
+    }
+
+    /**
+     * multiply方法 - 将累加器乘以 n/d。d必须是正数。溢出时的处理与add方法相同。
+     */
+    private void multiply(long n, long d) {
+        if(big == null && n != Long.MIN_VALUE) {
+            try {
+                long a = Math.multiplyExact(numerator, n);
+                long b = Math.multiplyExact(denominator, d);
+                numerator = a;
+                denominator = b;
+                checkGrowth();
+                return;
+            } catch (ArithmeticException err) {
+                // 溢出，化简后再试一次
+            }
+            reduce();
+            long gcd = RationalMath.gcd(n, d);
+            try {
+                RationalMath.multiplyExact(numerator, denominator, n / gcd, d / gcd, numerators, denominators, 1);
+                numerator = numerators[1];
+                denominator = denominators[1];
+                return;
+            } catch (ArithmeticException err) {
+                // 仍然溢出，改用BigFraction计算
+            }
+        }
+        promote();
+        big = (BigFraction) big.mult(BigFraction.valueOf(n, d));
+    }
+
+    /**
+     * checkGrowth方法 - 当分子或分母的位数超过threshold时化简。
+     */
+    private void checkGrowth() {
+        if(64 - Long.numberOfLeadingZeros(Math.abs(numerator) | denominator) > threshold) {
+            reduce();
+        }
+    }
+
+    /**
+     * promote方法 - 改用BigFraction表示当前的值。
+     */
+    private void promote() {
+        if(big == null) {
+            big = BigFraction.valueOf(numerator, denominator);
+        }
+    }
+}
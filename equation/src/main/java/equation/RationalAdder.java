@@ -0,0 +1,162 @@
+package equation;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * RationalAdder - 适合大量线程同时累加的分数求和器。
+ * <p>
+ * 与{@link java.util.concurrent.atomic.LongAdder}的思路相同：内部有多个单元，每个单元保存一部分和。
+ * 每个线程优先使用自己的单元，单元被其他线程占用时不会等待，而是换到另一个单元，因此很多线程同时调用add时几乎不会互相阻塞。
+ * 读取时才把所有单元的部分和合并起来。每个单元都是一个{@link equation.RationalAccumulator}，在long上延迟化简，溢出后改用BigFraction，
+ * 因此结果永远是精确的，不会像{@link equation.AtomicRational}那样受到int范围的限制。
+ * </p>
+ * <p>
+ * 与LongAdder一样，{@link equation.RationalAdder#sum()}不是一个原子的快照：读取过程中其他线程的累加可能只被合并了一部分。
+ * 它适合统计请求指标这类写多读少的场景。
+ * </p>
+ * <blockquote><pre>
+RationalAdder total = new RationalAdder();
+// 在多个线程中
+total.add(new Fraction(1, 3));
+// 汇总时
+Number sum = total.sum();
+ * </pre></blockquote>
+ * @see equation.AtomicRational
+ * @see equation.RationalAccumulator
+ */
+public final class RationalAdder {
+    /**
+     * MAX_ATTEMPTS常量 - 连续换多少个单元都失败后，在当前单元上等待。
+     */
+    private static final int MAX_ATTEMPTS = 4;
+
+    /**
+     * PROBE属性 - 每个线程当前使用的单元的哈希值，冲突时会被重新生成。
+     */
+    private static final ThreadLocal<int[]> PROBE = new ThreadLocal<int[]>() {
+        protected int[] initialValue() {
+            int h = (int) Thread.currentThread().getId() * 0x9E3779B9;
+            return new int[] { h == 0 ? 1 : h };
+        }
+    };
+
+    private final Cell[] cells;
+
+    /**
+     * RationalAdder - 创建一个和为0的RationalAdder对象，单元的个数是不小于CPU核心数的2的幂。
+     */
+    public RationalAdder() {
+        super();
+        int count = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1));
+        cells = new Cell[count];
+        for(int i = 0; i < count; i++) {
+            cells[i] = new Cell();
+        }
+    }
+
+    /**
+     * add方法 - 加上num。
+     * @param num - Number - 需要加上的数
+     */
+    public void add(Number num) {
+        int[] probe = PROBE.get();
+        int h = probe[0];
+        for(int attempt = 0; ; attempt++) {
+            Cell cell = cells[h & (cells.length - 1)];
+            if(attempt >= MAX_ATTEMPTS) {
+                cell.lock();
+            } else if(!cell.tryLock()) {
+                // xorshift，换一个单元
+                h ^= h << 13;
+                h ^= h >>> 17;
+                h ^= h << 5;
+                probe[0] = h;
+                continue;
+            }
+            try {
+                cell.accumulator.addInPlace(num);
+            } finally {
+                cell.unlock();
+            }
+            return;
+        }
+    }
+
+    /**
+     * sum方法 - 合并所有单元，返回当前的和。
+     * @return HybridFraction - 所有单元的部分和之和
+     */
+    public HybridFraction sum() {
+        RationalAccumulator total = new RationalAccumulator();
+        for(Cell cell : cells) {
+            HybridFraction part;
+            cell.lock();
+            try {
+                part = cell.accumulator.toHybridFraction();
+            } finally {
+                cell.unlock();
+            }
+            total.addInPlace(part);
+        }
+        return total.toHybridFraction();
+    }
+
+    /**
+     * reset方法 - 将所有单元清零。
+     */
+    public void reset() {
+        for(Cell cell : cells) {
+            cell.lock();
+            try {
+                cell.accumulator.clear();
+            } finally {
+                cell.unlock();
+            }
+        }
+    }
+
+    /**
+     * sumThenReset方法 - 合并所有单元并将它们清零，返回清零之前的和。每个单元的读取和清零是原子的，因此不会丢失任何一次累加。
+     * @return HybridFraction - 清零之前的和
+     */
+    public HybridFraction sumThenReset() {
+        RationalAccumulator total = new RationalAccumulator();
+        for(Cell cell : cells) {
+            HybridFraction part;
+            cell.lock();
+            try {
+                part = cell.accumulator.toHybridFraction();
+                cell.accumulator.clear();
+            } finally {
+                cell.unlock();
+            }
+            total.addInPlace(part);
+        }
+        return total.toHybridFraction();
+    }
+
+    /**
+     * toDouble方法 - 返回当前的和对应的double。
+     * @return double - 转化后的小数
+     */
+    public double toDouble() {
+        return sum().toDouble();
+    }
+
+    /**
+     * toString方法 - 返回当前的和的字符串形式。
+     * @return String - 转化后的字符串
+     */
+    public String toString() {
+        return sum().toString();
+    }
+
+    /**
+     * Cell - 一个由自己的锁保护的部分和。
+     */
+    private static final class Cell extends ReentrantLock {
+        private static final long serialVersionUID = 1L;
+
+        private final transient RationalAccumulator accumulator = new RationalAccumulator();
+    }
+}
@@ -0,0 +1,534 @@
+package equation;
+
+import java.math.BigInteger;
+import java.nio.LongBuffer;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * RationalColumn - {@link equation.RationalColumnFile}中的一列分数。
+ * <p>
+ * 与{@link equation.RationalVector}相同，一列分数以两个平行的long数组保存分子和分母，所有元素都是分母为正数的最简分数。
+ * 不同的是，这两个数组不在堆中，而是直接映射到文件上：读取某个元素只是从映射的内存中读出两个long，不会复制数据，也不会创建Fraction对象，
+ * 因此可以扫描比堆大得多的数据集。求和、点积、比较等批量运算都直接在映射的内存上完成。
+ * </p>
+ * <p>
+ * 只读打开的文件中的列不能被修改，调用set或write方法时会抛出{@link java.nio.ReadOnlyBufferException}。
+ * 多个线程可以同时读取同一列，但不能在读取的同时修改它。
+ * </p>
+ * <blockquote><pre>
+try (RationalColumnFile file = RationalColumnFile.open(path)) {
+    RationalColumn prices = file.getColumn("price");
+    RationalColumn quantities = file.getColumn("quantity");
+    Number total = prices.dot(quantities);
+    RationalColumn.Cursor cursor = prices.cursor();
+    while(cursor.next()) {
+        long numerator = cursor.getNumerator();
+        long denominator = cursor.getDenominator();
+    }
+}
+ * </pre></blockquote>
+ * @see equation.RationalColumnFile
+ * @see equation.RationalVector
+ */
+public final class RationalColumn implements Iterable<Number> {
+    /**
+     * CHUNK_SHIFT常量 - 每一段映射最多包含 2^CHUNK_SHIFT 个long（1GB）。
+     * <p>一个MappedByteBuffer最多只能映射2GB，因此较长的列被分成多段映射。</p>
+     */
+    static final int CHUNK_SHIFT = 27;
+
+    static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final String name;
+    private final long size;
+    private final LongBuffer[] numerators;
+    private final LongBuffer[] denominators;
+
+    /**
+     * RationalColumn - 通过已经映射好的分段创建一列，只由RationalColumnFile调用。
+     */
+    RationalColumn(String name, long size, LongBuffer[] numerators, LongBuffer[] denominators) {
+        super();
+        this.name = name;
+        this.size = size;
+        this.numerators = numerators;
+        this.denominators = denominators;
+    }
+
+    /**
+     * getName方法 - 返回列名。
+     * @return String - 列名
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * size方法 - 返回列中元素的个数。
+     * @return long - 元素的个数
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * getNumerator方法 - 获取第row个元素的分子。
+     * @param row - long - 元素的位置
+     * @return long - 分子
+     */
+    public long getNumerator(long row) {
+        checkIndex(row);
+        return numerators[(int) (row >>> CHUNK_SHIFT)].get((int) row & CHUNK_MASK);
+    }
+
+    /**
+     * getDenominator方法 - 获取第row个元素的分母，永远是正数。
+     * @param row - long - 元素的位置
+     * @return long - 分母
+     */
+    public long getDenominator(long row) {
+        checkIndex(row);
+        return denominators[(int) (row >>> CHUNK_SHIFT)].get((int) row & CHUNK_MASK);
+    }
+
+    /**
+     * get方法 - 获取第row个元素。
+     * @param row - long - 元素的位置
+     * @return HybridFraction - 对应的分数
+     */
+    public HybridFraction get(long row) {
+        checkIndex(row);
+        int chunk = (int) (row >>> CHUNK_SHIFT);
+        int offset = (int) row & CHUNK_MASK;
+        return HybridFraction.ofReduced(numerators[chunk].get(offset), denominators[chunk].get(offset));
+    }
+
+    /**
+     * set方法 - 设置第row个元素。传入的分数会被自动化简。
+     * @param row - long - 元素的位置
+     * @param numerator - long - 分子
+     * @param denominator - long - 分母，不能为0
+     */
+    public void set(long row, long numerator, long denominator) {
+        set(row, HybridFraction.valueOf(numerator, denominator));
+    }
+
+    /**
+     * set方法 - 设置第row个元素。当传入的数超出long的范围时，会抛出ArithmeticException。
+     * @param row - long - 元素的位置
+     * @param num - Number - 新的值
+     */
+    public void set(long row, Number num) {
+        checkIndex(row);
+        long[] numerator = new long[1];
+        long[] denominator = new long[1];
+        if(!RationalMath.load(num, numerator, denominator, 0)) {
+            throw new ArithmeticException("long overflow");
+        }
+        int chunk = (int) (row >>> CHUNK_SHIFT);
+        int offset = (int) row & CHUNK_MASK;
+        numerators[chunk].put(offset, numerator[0]);
+        denominators[chunk].put(offset, denominator[0]);
+    }
+
+    /**
+     * read方法 - 从第from个元素开始，将out.length()个元素复制到out中。
+     * @param from - long - 起始位置
+     * @param out - RationalVector - 存放结果的向量
+     * @return RationalVector - 即out，便于链式调用
+     */
+    public RationalVector read(long from, RationalVector out) {
+        checkRange(from, from + out.length());
+        transfer(from, out.numerators, out.denominators, out.length(), false);
+        return out;
+    }
+
+    /**
+     * write方法 - 将values中的所有元素写入从第from个元素开始的位置。
+     * <p>RationalVector中的元素已经是最简分数，因此只是两次批量复制。</p>
+     * @param from - long - 起始位置
+     * @param values - RationalVector - 需要写入的向量
+     */
+    public void write(long from, RationalVector values) {
+        checkRange(from, from + values.length());
+        transfer(from, values.numerators, values.denominators, values.length(), true);
+    }
+
+    /**
+     * sum方法 - 求整列的和。
+     * @return Number - 所有元素的和，实际上是一个HybridFraction对象
+     * @see equation.RationalColumn#sum(long, long)
+     */
+    public Number sum() {
+        return sum(0, size);
+    }
+
+    /**
+     * sum方法 - 求从from（包含）到to（不包含）的元素的和。
+     * <p>
+     * 求和直接读取映射的内存，部分和的分母始终是已经读到的所有分母的最小公倍数：当元素的分母整除当前的分母时（例如以1/100为单位的金额列），
+     * 只需要一次乘法和一次加法，不需要求最大公约数。当部分和超出long的范围时，改用{@link equation.RationalAccumulator}继续计算，因此结果永远是精确的。
+     * </p>
+     * @param from - long - 起始位置（包含）
+     * @param to - long - 结束位置（不包含）
+     * @return Number - 这些元素的和，实际上是一个HybridFraction对象
+     */
+    public Number sum(long from, long to) {
+        checkRange(from, to);
+        long[] partial = { 0, 1 };
+        RationalAccumulator total = null;
+        long row = from;
+        while(row < to) {
+            int chunk = (int) (row >>> CHUNK_SHIFT);
+            int offset = (int) row & CHUNK_MASK;
+            int end = (int) Math.min(CHUNK_SIZE, offset + (to - row));
+            LongBuffer n = numerators[chunk];
+            LongBuffer d = denominators[chunk];
+            for(int i = offset; i < end; i++) {
+                if(total != null) {
+                    total.addInPlace(n.get(i), d.get(i));
+                } else if(!addToSum(partial, n.get(i), d.get(i))) {
+                    total = new RationalAccumulator().set(partial[0], partial[1]).addInPlace(n.get(i), d.get(i));
+                }
+            }
+            row += end - offset;
+        }
+        return total == null ? HybridFraction.valueOf(partial[0], partial[1]) : total.toHybridFraction();
+    }
+
+    /**
+     * dot方法 - 求两列的点积，即所有对应元素乘积的和。
+     * <p>
+     * 与{@link equation.RationalVector#dot(RationalVector)}相同，结果永远是精确的，部分和的处理方法与{@link equation.RationalColumn#sum(long, long)}相同。
+     * 两列的长度必须相同，否则抛出UnexpectValueException。
+     * </p>
+     * @param other - RationalColumn - 另一列
+     * @return Number - 点积，实际上是一个HybridFraction对象
+     */
+    public Number dot(RationalColumn other) {
+        checkSize(other);
+        long[] partial = { 0, 1 };
+        long[] productNumerator = new long[1];
+        long[] productDenominator = new long[1];
+        RationalAccumulator total = null;
+        for(int chunk = 0; chunk < numerators.length; chunk++) {
+            LongBuffer n1 = numerators[chunk];
+            LongBuffer d1 = denominators[chunk];
+            LongBuffer n2 = other.numerators[chunk];
+            LongBuffer d2 = other.denominators[chunk];
+            int end = n1.limit();
+            for(int i = 0; i < end; i++) {
+                try {
+                    RationalMath.multiplyExact(n1.get(i), d1.get(i), n2.get(i), d2.get(i), productNumerator, productDenominator, 0);
+                } catch (ArithmeticException err) {
+                    // 乘积超出long的范围，改用BigFraction计算这一项
+                    if(total == null) {
+                        total = new RationalAccumulator().set(partial[0], partial[1]);
+                    }
+                    total.addInPlace(BigFraction.multiply(BigInteger.valueOf(n1.get(i)), BigInteger.valueOf(d1.get(i)),
+                            BigInteger.valueOf(n2.get(i)), BigInteger.valueOf(d2.get(i))));
+                    continue;
+                }
+                if(total != null) {
+                    total.addInPlace(productNumerator[0], productDenominator[0]);
+                } else if(!addToSum(partial, productNumerator[0], productDenominator[0])) {
+                    total = new RationalAccumulator().set(partial[0], partial[1]).addInPlace(productNumerator[0], productDenominator[0]);
+                }
+            }
+        }
+        return total == null ? HybridFraction.valueOf(partial[0], partial[1]) : total.toHybridFraction();
+    }
+
+    /**
+     * compare方法 - 从第from个元素开始，逐个比较两列的out.length个元素，比较结果写入out。
+     * <p>out[i]为-1、0、1时，分别表示this的第from+i个元素小于、等于、大于other的第from+i个元素。比较通过交叉相乘完成，不会创建任何对象。</p>
+     * @param other - RationalColumn - 需要比较的列，长度必须相同
+     * @param from - long - 起始位置
+     * @param out - int[] - 存放比较结果的数组
+     * @return int[] - 即out，便于链式调用
+     */
+    public int[] compare(RationalColumn other, long from, int[] out) {
+        checkSize(other);
+        checkRange(from, from + out.length);
+        for(int i = 0; i < out.length; i++) {
+            long row = from + i;
+            int chunk = (int) (row >>> CHUNK_SHIFT);
+            int offset = (int) row & CHUNK_MASK;
+            out[i] = Integer.signum(RationalMath.compare(numerators[chunk].get(offset), denominators[chunk].get(offset),
+                    other.numerators[chunk].get(offset), other.denominators[chunk].get(offset)));
+        }
+        return out;
+    }
+
+    /**
+     * countGreaterThan方法 - 统计整列中大于threshold的元素个数。
+     * <p>threshold只被转化一次，之后每个元素只需要一次交叉相乘的比较。</p>
+     * @param threshold - Number - 阈值，必须能放进long
+     * @return long - 大于threshold的元素个数
+     */
+    public long countGreaterThan(Number threshold) {
+        long[] numerator = new long[1];
+        long[] denominator = new long[1];
+        if(!RationalMath.load(threshold, numerator, denominator, 0)) {
+            throw new ArithmeticException("long overflow");
+        }
+        long n2 = numerator[0];
+        long d2 = denominator[0];
+        long count = 0;
+        for(int chunk = 0; chunk < numerators.length; chunk++) {
+            LongBuffer n1 = numerators[chunk];
+            LongBuffer d1 = denominators[chunk];
+            int end = n1.limit();
+            for(int i = 0; i < end; i++) {
+                if(RationalMath.compare(n1.get(i), d1.get(i), n2, d2) > 0) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * min方法 - 返回整列中最小的元素。当列为空时，会抛出UnexpectValueException。
+     * @return HybridFraction - 最小的元素
+     */
+    public HybridFraction min() {
+        return get(extreme(-1));
+    }
+
+    /**
+     * max方法 - 返回整列中最大的元素。当列为空时，会抛出UnexpectValueException。
+     * @return HybridFraction - 最大的元素
+     */
+    public HybridFraction max() {
+        return get(extreme(1));
+    }
+
+    /**
+     * cursor方法 - 返回一个从头开始的游标。
+     * <p>游标逐个读取元素的分子和分母，不会创建任何对象，适合需要自己编写扫描逻辑的场景。</p>
+     * @return Cursor - 新的游标
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * iterator方法 - 返回逐个元素的迭代器。每个元素都会创建一个HybridFraction对象；不需要对象时请使用{@link equation.RationalColumn#cursor()}。
+     * @return Iterator&lt;Number&gt; - 迭代器
+     */
+    public Iterator<Number> iterator() {
+        final Cursor cursor = new Cursor();
+        return new Iterator<Number>() {
+            private boolean ready;
+
+            public boolean hasNext() {
+                if(!ready) {
+                    ready = cursor.next();
+                }
+                return ready;
+            }
+
+            public Number next() {
+                if(!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                ready = false;
+                return cursor.get();
+            }
+        };
+    }
+
+    /**
+     * toString方法 - 返回列名和元素个数，例如 price[1000000]。
+     * @return String - 转化后的字符串
+     */
+    public String toString() {
+        return name + "[" + size + "]";
+    }
+
+    /**
+     * addToSum方法 - 将 n/d 加到部分和 sum[0]/sum[1] 上，sum[1]保持为所有分母的最小公倍数。
+     * <p>d必须是正数。溢出时返回false，此时sum不会被修改。</p>
+     */
+    private static boolean addToSum(long[] sum, long n, long d) {
+        long numerator = sum[0];
+        long denominator = sum[1];
+        try {
+            if(d == denominator) {
+                sum[0] = Math.addExact(numerator, n);
+            } else if(denominator % d == 0) {
+                sum[0] = Math.addExact(numerator, Math.multiplyExact(n, denominator / d));
+            } else {
+                long gcd = RationalMath.gcd(denominator, d);
+                long factor = d / gcd;
+                long next = Math.addExact(Math.multiplyExact(numerator, factor), Math.multiplyExact(n, denominator / gcd));
+                sum[1] = Math.multiplyExact(denominator, factor);
+                sum[0] = next;
+            }
+            return true;
+        } catch (ArithmeticException err) {
+            return false;
+        }
+    }
+
+    /**
+     * fillDenominators方法 - 将所有分母设置为1，使新创建的列中所有元素都是 0/1。
+     */
+    void fillDenominators() {
+        for(LongBuffer d : denominators) {
+            int end = d.limit();
+            for(int i = 0; i < end; i++) {
+                d.put(i, 1);
+            }
+        }
+    }
+
+    /**
+     * extreme方法 -返回最小（sign为-1）或最大（sign为1）的元素的位置。
+     */
+    private long extreme(int sign) {
+        if(size == 0) {
+            throw new UnexpectValueException("列中没有元素。");
+        }
+        long best = 0;
+        long bestNumerator = numerators[0].get(0);
+        long bestDenominator = denominators[0].get(0);
+        for(int chunk = 0; chunk < numerators.length; chunk++) {
+            LongBuffer n = numerators[chunk];
+            LongBuffer d = denominators[chunk];
+            int end = n.limit();
+            for(int i = 0; i < end; i++) {
+                if(Integer.signum(RationalMath.compare(n.get(i), d.get(i), bestNumerator, bestDenominator)) == sign) {
+                    best = ((long) chunk << CHUNK_SHIFT) + i;
+                    bestNumerator = n.get(i);
+                    bestDenominator = d.get(i);
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * transfer方法 - 在映射的内存与数组之间批量复制length个元素，write为true时写入文件。
+     */
+    private void transfer(long from, long[] n, long[] d, int length, boolean write) {
+        int done = 0;
+        while(done < length) {
+            long row = from + done;
+            int chunk = (int) (row >>> CHUNK_SHIFT);
+            int offset = (int) row & CHUNK_MASK;
+            int count = Math.min(length - done, CHUNK_SIZE - offset);
+            LongBuffer numeratorView = numerators[chunk].duplicate();
+            LongBuffer denominatorView = denominators[chunk].duplicate();
+            numeratorView.position(offset);
+            denominatorView.position(offset);
+            if(write) {
+                numeratorView.put(n, done, count);
+                denominatorView.put(d, done, count);
+            } else {
+                numeratorView.get(n, done, count);
+                denominatorView.get(d, done, count);
+            }
+            done += count;
+        }
+    }
+
+    private void checkIndex(long row) {
+        if(row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("row " + row + ", size " + size);
+        }
+    }
+
+    private void checkRange(long from, long to) {
+        if(from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException("from " + from + ", to " + to + ", size " + size);
+        }
+    }
+
+    private void checkSize(RationalColumn other) {
+        if(other.size != size) {
+            throw new UnexpectValueException("两列的长度不相同。");
+        }
+    }
+
+    /**
+     * Cursor - 在一列上逐个移动的游标，不会创建任何对象。
+     * <p>游标创建时位于第一个元素之前，读取元素之前必须先调用next方法。</p>
+     * <blockquote><pre>
+RationalColumn.Cursor cursor = column.cursor();
+while(cursor.next()) {
+    if(cursor.getDenominator() == 1) {
+        // 整数
+    }
+}
+     * </pre></blockquote>
+     */
+    public final class Cursor {
+        private long row = -1;
+        private int offset = CHUNK_MASK;
+        private LongBuffer n;
+        private LongBuffer d;
+
+        /**
+         * Cursor - 只能通过{@link equation.RationalColumn#cursor()}创建。
+         */
+        private Cursor() {
+            super();
+        }
+
+        /**
+         * next方法 - 移动到下一个元素。
+         * @return boolean - 是否还有元素；返回false时游标已经到达末尾
+         */
+        public boolean next() {
+            if(row + 1 >= size) {
+                row = size;
+                return false;
+            }
+            row++;
+            if(++offset == CHUNK_SIZE) {
+                int chunk = (int) (row >>> CHUNK_SHIFT);
+                n = numerators[chunk];
+                d = denominators[chunk];
+                offset = (int) row & CHUNK_MASK;
+            }
+            return true;
+        }
+
+        /**
+         * getRow方法 - 返回当前元素的位置。
+         * @return long - 当前元素的位置
+         */
+        public long getRow() {
+            return row;
+        }
+
+        /**
+         * getNumerator方法 - 返回当前元素的分子。
+         * @return long - 分子
+         */
+        public long getNumerator() {
+            return n.get(offset);
+        }
+
+        /**
+         * getDenominator方法 - 返回当前元素的分母，永远是正数。
+         * @return long - 分母
+         */
+        public long getDenominator() {
+            return d.get(offset);
+        }
+
+        /**
+         * get方法 - 返回当前元素。
+         * @return HybridFraction - 当前元素
+         */
+        public HybridFraction get() {
+            return HybridFraction.ofReduced(n.get(offset), d.get(offset));
+        }
+    }
+}
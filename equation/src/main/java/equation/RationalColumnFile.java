@@ -0,0 +1,300 @@
+package equation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * RationalColumnFile - 以列式存储大量分数的内存映射文件。
+ * <p>
+ * 文件由若干等长的列组成，每一列保存为两个连续的定长long数组（先是所有分子，然后是所有分母），所有元素都是分母为正数的最简分数。
+ * 打开文件时只读取文件头，列中的数据通过{@link java.nio.MappedByteBuffer}直接映射到内存，由操作系统按需换入换出，
+ * 因此可以处理比Java堆大得多的数据集，读取时也不会复制数据或创建Fraction对象。每一列由一个{@link equation.RationalColumn}表示。
+ * </p>
+ * <blockquote><pre>
+偏移 0    int    魔数 "RCOL"
+偏移 4    int    版本号，当前为1
+偏移 8    long   行数
+偏移 16   int    列数
+偏移 20   每一列的列名：int字节数 + UTF-8字节
+对齐到8字节后：第0列的分子[行数]、第0列的分母[行数]、第1列的分子[行数]……
+ * </pre></blockquote>
+ * <p>
+ * 所有整数都以小端字节序保存。新创建的文件中所有元素都是 0/1。
+ * Java 8中无法主动解除映射，close方法关闭文件之后，映射的内存要等到对应的对象被垃圾回收时才会释放。
+ * </p>
+ * <blockquote><pre>
+try (RationalColumnFile file = RationalColumnFile.create(path, 1000000, "price", "quantity")) {
+    file.getColumn("price").write(0, prices);
+    file.getColumn("quantity").write(0, quantities);
+}
+try (RationalColumnFile file = RationalColumnFile.open(path)) {
+    Number total = file.getColumn("price").dot(file.getColumn("quantity"));
+}
+ * </pre></blockquote>
+ * @see equation.RationalColumn
+ * @see equation.FractionCodec
+ */
+public final class RationalColumnFile implements Closeable {
+    /**
+     * MAGIC常量 - 文件开头的魔数，按小端字节序写出后是 "RCOL"。
+     */
+    static final int MAGIC = 0x4C4F4352;
+
+    /**
+     * VERSION常量 - 当前的文件格式版本。
+     */
+    static final int VERSION = 1;
+
+    private static final int FIXED_HEADER_LENGTH = 20;
+
+    private final FileChannel channel;
+    private final long rows;
+    private final RationalColumn[] columns;
+
+    /**
+     * RationalColumnFile - 私有的构造函数，映射文件头之后的所有列。
+     */
+    private RationalColumnFile(FileChannel channel, FileChannel.MapMode mode, long rows, String[] names, long dataOffset)
+            throws IOException {
+        super();
+        this.channel = channel;
+        this.rows = rows;
+        this.columns = new RationalColumn[names.length];
+        long position = dataOffset;
+        for(int i = 0; i < names.length; i++) {
+            LongBuffer[] numerators = map(channel, mode, position, rows);
+            position += rows * 8;
+            LongBuffer[] denominators = map(channel, mode, position, rows);
+            position += rows * 8;
+            columns[i] = new RationalColumn(names[i], rows, numerators, denominators);
+        }
+    }
+
+    /**
+     * create方法 - 创建（或覆盖）一个文件，其中每一列都有rows个 0/1。
+     * <p>列名不能重复，否则抛出UnexpectValueException。文件以读写方式映射，可以通过列的set和write方法写入数据。</p>
+     * @param path - Path - 文件路径
+     * @param rows - long - 行数
+     * @param names - String... - 所有列的列名
+     * @return RationalColumnFile - 新创建的文件
+     * @throws IOException - 文件无法创建或映射时抛出
+     */
+    public static RationalColumnFile create(Path path, long rows, String... names) throws IOException {
+        if(rows < 0) {
+            throw new UnexpectValueException("行数不能是负数。");
+        }
+        Set<String> seen = new HashSet<String>();
+        int headerLength = FIXED_HEADER_LENGTH;
+        byte[][] encodedNames = new byte[names.length][];
+        for(int i = 0; i < names.length; i++) {
+            if(!seen.add(names[i])) {
+                throw new UnexpectValueException("列名" + names[i] + "重复。");
+            }
+            encodedNames[i] = names[i].getBytes(StandardCharsets.UTF_8);
+            headerLength += 4 + encodedNames[i].length;
+        }
+        ByteBuffer header = ByteBuffer.allocate(headerLength).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putLong(rows).putInt(names.length);
+        for(byte[] name : encodedNames) {
+            header.putInt(name.length).put(name);
+        }
+        header.flip();
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            while(header.hasRemaining()) {
+                channel.write(header);
+            }
+            RationalColumnFile file = new RationalColumnFile(channel, FileChannel.MapMode.READ_WRITE, rows, names.clone(),
+                    align(headerLength));
+            for(RationalColumn column : file.columns) {
+                column.fillDenominators();
+            }
+            return file;
+        } catch (IOException | RuntimeException err) {
+            channel.close();
+            throw err;
+        }
+    }
+
+    /**
+     * open方法 - 以只读方式打开一个已有的文件。
+     * <p>只读取文件头，不会读取任何数据。当文件格式错误时，会抛出UnexpectValueException。</p>
+     * @param path - Path - 文件路径
+     * @return RationalColumnFile - 打开的文件
+     * @throws IOException - 文件无法读取或映射时抛出
+     * @see equation.RationalColumnFile#open(Path, boolean)
+     */
+    public static RationalColumnFile open(Path path) throws IOException {
+        return open(path, false);
+    }
+
+    /**
+     * open方法 - 打开一个已有的文件。
+     * <p>writable为true时以读写方式映射，对列的修改会直接写回文件。</p>
+     * @param path - Path - 文件路径
+     * @param writable - boolean - 是否允许修改
+     * @return RationalColumnFile - 打开的文件
+     * @throws IOException - 文件无法读取或映射时抛出
+     */
+    public static RationalColumnFile open(Path path, boolean writable) throws IOException {
+        FileChannel channel = writable ? FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = read(channel, 0, FIXED_HEADER_LENGTH);
+            if(header.getInt() != MAGIC) {
+                throw new UnexpectValueException("数据格式错误：不是分数列文件。");
+            }
+            int version = header.getInt();
+            if(version != VERSION) {
+                throw new UnexpectValueException("数据格式错误：不支持的版本" + version + "。");
+            }
+            long rows = header.getLong();
+            int count = header.getInt();
+            if(rows < 0 || count < 0) {
+                throw new UnexpectValueException("数据格式错误：行数或列数无效。");
+            }
+            String[] names = new String[count];
+            long position = FIXED_HEADER_LENGTH;
+            for(int i = 0; i < count; i++) {
+                int length = read(channel, position, 4).getInt();
+                if(length < 0 || position + 4 + length > channel.size()) {
+                    throw new UnexpectValueException("数据格式错误：列名长度" + length + "无效。");
+                }
+                ByteBuffer name = read(channel, position + 4, length);
+                names[i] = new String(name.array(), 0, length, StandardCharsets.UTF_8);
+                position += 4 + length;
+            }
+            long dataOffset = align(position);
+            if(rows > 0 && (channel.size() - dataOffset) / 16 / rows < count) {
+                throw new UnexpectValueException("数据格式错误：文件长度不足。");
+            }
+            return new RationalColumnFile(channel, writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY,
+                    rows, names, dataOffset);
+        } catch (IOException | RuntimeException err) {
+            channel.close();
+            throw err;
+        }
+    }
+
+    /**
+     * write方法 - 创建一个文件，并把每个向量写入对应的列。所有向量的长度必须相同，否则抛出UnexpectValueException。
+     * @param path - Path - 文件路径
+     * @param names - String[] - 所有列的列名
+     * @param vectors - RationalVector... - 每一列的数据
+     * @throws IOException - 文件无法创建或写入时抛出
+     */
+    public static void write(Path path, String[] names, RationalVector... vectors) throws IOException {
+        if(names.length != vectors.length) {
+            throw new UnexpectValueException("列名的个数与列的个数不相同。");
+        }
+        int rows = vectors.length == 0 ? 0 : vectors[0].length();
+        for(RationalVector vector : vectors) {
+            if(vector.length() != rows) {
+                throw new UnexpectValueException("向量的长度不相同。");
+            }
+        }
+        try (RationalColumnFile file = create(path, rows, names)) {
+            for(int i = 0; i < vectors.length; i++) {
+                file.columns[i].write(0, vectors[i]);
+            }
+            file.force();
+        }
+    }
+
+    /**
+     * rows方法 - 返回行数，即每一列的元素个数。
+     * @return long - 行数
+     */
+    public long rows() {
+        return rows;
+    }
+
+    /**
+     * columnCount方法 - 返回列数。
+     * @return int - 列数
+     */
+    public int columnCount() {
+        return columns.length;
+    }
+
+    /**
+     * getColumn方法 - 返回第index列。
+     * @param index - int - 列的位置
+     * @return RationalColumn - 对应的列
+     */
+    public RationalColumn getColumn(int index) {
+        return columns[index];
+    }
+
+    /**
+     * getColumn方法 - 返回名为name的列。当没有这一列时，会抛出UnexpectValueException。
+     * @param name - String - 列名
+     * @return RationalColumn - 对应的列
+     */
+    public RationalColumn getColumn(String name) {
+        for(RationalColumn column : columns) {
+            if(column.getName().equals(name)) {
+                return column;
+            }
+        }
+        throw new UnexpectValueException("没有名为" + name + "的列。");
+    }
+
+    /**
+     * force方法 - 将所有修改写回磁盘。只读打开的文件调用该方法没有任何效果。
+     * @throws IOException - 写入失败时抛出
+     */
+    public void force() throws IOException {
+        channel.force(false);
+    }
+
+    /**
+     * close方法 - 关闭文件。
+     * @throws IOException - 关闭失败时抛出
+     */
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * map方法 - 将从position开始的count个long映射到内存，每段最多{@link equation.RationalColumn#CHUNK_SIZE}个long。
+     */
+    private static LongBuffer[] map(FileChannel channel, FileChannel.MapMode mode, long position, long count) throws IOException {
+        LongBuffer[] chunks = new LongBuffer[(int) ((count + RationalColumn.CHUNK_SIZE - 1) >>> RationalColumn.CHUNK_SHIFT)];
+        for(int i = 0; i < chunks.length; i++) {
+            long length = Math.min(RationalColumn.CHUNK_SIZE, count - ((long) i << RationalColumn.CHUNK_SHIFT));
+            MappedByteBuffer buffer = channel.map(mode, position + ((long) i << RationalColumn.CHUNK_SHIFT) * 8, length * 8);
+            chunks[i] = buffer.order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+        }
+        return chunks;
+    }
+
+    /**
+     * read方法 - 从position开始读取length个字节，数据不完整时抛出UnexpectValueException。
+     */
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while(buffer.hasRemaining()) {
+            if(channel.read(buffer, position + buffer.position()) < 0) {
+                throw new UnexpectValueException("数据格式错误：文件长度不足。");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static long align(long position) {
+        return (position + 7) & ~7L;
+    }
+}
@@ -0,0 +1,516 @@
+package equation;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+
+/**
+ * RationalHashMap - 以分数为键的开放寻址哈希表。
+ * <p>
+ * 与以Fraction为键的{@link java.util.HashMap}不同，RationalHashMap不保存键对象，也不创建Entry对象：
+ * 键被化简为分母为正数的最简分数后，分子和分母直接保存在两个平行的long数组中，值保存在一个Object数组中，
+ * 冲突时使用线性探测，删除时把后面的元素向前移动，不留下删除标记。每个元素只占用两个long和一个引用，
+ * 查找时也不需要调用equals或hashCode，适合对几千万个分数去重或分组。
+ * </p>
+ * <p>
+ * 键按数值比较，例如 1/2、2/4 和 new Fraction(-1, -2) 是同一个键。键必须能放进long（分子不能是Long.MIN_VALUE），
+ * 否则put方法会抛出ArithmeticException；get、containsKey和remove遇到这样的键时直接返回，因为它不可能在表中。值可以是null。
+ * RationalHashMap不是线程安全的。
+ * </p>
+ * <blockquote><pre>
+RationalHashMap&lt;String&gt; map = new RationalHashMap&lt;String&gt;();
+map.put(1, 2, "half");
+map.get(2, 4); // half
+map.get(new Fraction(1, 2)); // half
+map.put(Rational.valueOf(1, 3), "third");
+RationalHashMap.Cursor&lt;String&gt; cursor = map.cursor();
+while(cursor.next()) {
+    long numerator = cursor.getNumerator();
+    String value = cursor.getValue();
+}
+ * </pre></blockquote>
+ * @param <V> - 值的类型
+ * @see equation.RationalTreeIndex
+ */
+public final class RationalHashMap<V> {
+    /**
+     * DEFAULT_CAPACITY常量 - 默认的初始容量。
+     */
+    public static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * MAXIMUM_CAPACITY常量 - 数组的最大长度。
+     */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * LOAD_FACTOR常量 - 元素个数超过容量的这个比例时扩容。
+     */
+    private static final double LOAD_FACTOR = 0.75;
+
+    /**
+     * numerators和denominators属性 - 每个位置上的键，分母为0表示这个位置是空的。
+     */
+    private long[] numerators;
+    private long[] denominators;
+    private Object[] values;
+
+    private int size;
+    private int threshold;
+
+    /**
+     * modCount属性 - 增加或删除元素的次数，用于让游标发现表在遍历期间被修改。
+     */
+    private int modCount;
+
+    /**
+     * keyNumerator和keyDenominator属性 - 化简后的键，避免每次查找都创建数组。
+     */
+    private final long[] keyNumerator = new long[1];
+    private final long[] keyDenominator = new long[1];
+
+    /**
+     * RationalHashMap - 创建一个初始容量为DEFAULT_CAPACITY的空表。
+     */
+    public RationalHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * RationalHashMap - 创建一个能够保存expectedSize个元素而不需要扩容的空表。
+     * <p>当expectedSize是负数时，会抛出UnexpectValueException。</p>
+     * @param expectedSize - int - 预计的元素个数
+     */
+    public RationalHashMap(int expectedSize) {
+        super();
+        if(expectedSize < 0) {
+            throw new UnexpectValueException("元素个数不能是负数。");
+        }
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * size方法 - 返回表中元素的个数。
+     * @return int - 元素的个数
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * isEmpty方法 - 判断表是否为空。
+     * @return boolean - 是否为空
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * get方法 - 返回键 numerator/denominator 对应的值，没有这个键时返回null。
+     * @param numerator - long - 键的分子
+     * @param denominator - long - 键的分母，不能为0
+     * @return V - 对应的值
+     */
+    public V get(long numerator, long denominator) {
+        if(!RationalMath.reduce(numerator, denominator, keyNumerator, keyDenominator, 0)) {
+            return null;
+        }
+        return valueAt(find(keyNumerator[0], keyDenominator[0]));
+    }
+
+    /**
+     * get方法 - 返回键num对应的值，没有这个键时返回null。
+     * @param num - Number - 键
+     * @return V - 对应的值
+     */
+    public V get(Number num) {
+        if(!RationalMath.load(num, keyNumerator, keyDenominator, 0)) {
+            return null;
+        }
+        return valueAt(find(keyNumerator[0], keyDenominator[0]));
+    }
+
+    /**
+     * containsKey方法 - 判断表中是否有键 numerator/denominator。
+     * @param numerator - long - 键的分子
+     * @param denominator - long - 键的分母，不能为0
+     * @return boolean - 是否有这个键
+     */
+    public boolean containsKey(long numerator, long denominator) {
+        return RationalMath.reduce(numerator, denominator, keyNumerator, keyDenominator, 0) && find(keyNumerator[0], keyDenominator[0]) >= 0;
+    }
+
+    /**
+     * containsKey方法 - 判断表中是否有键num。
+     * @param num - Number - 键
+     * @return boolean - 是否有这个键
+     */
+    public boolean containsKey(Number num) {
+        return RationalMath.load(num, keyNumerator, keyDenominator, 0) && find(keyNumerator[0], keyDenominator[0]) >= 0;
+    }
+
+    /**
+     * put方法 - 将键 numerator/denominator 对应的值设置为value。
+     * @param numerator - long - 键的分子
+     * @param denominator - long - 键的分母，不能为0
+     * @param value - V - 新的值
+     * @return V - 原来的值，没有这个键时返回null
+     */
+    public V put(long numerator, long denominator, V value) {
+        if(!RationalMath.reduce(numerator, denominator, keyNumerator, keyDenominator, 0)) {
+            throw new ArithmeticException("long overflow");
+        }
+        return insert(keyNumerator[0], keyDenominator[0], value, true);
+    }
+
+    /**
+     * put方法 - 将键num对应的值设置为value。当num超出long的范围时，会抛出ArithmeticException。
+     * @param num - Number - 键
+     * @param value - V - 新的值
+     * @return V - 原来的值，没有这个键时返回null
+     */
+    public V put(Number num, V value) {
+        if(!RationalMath.load(num, keyNumerator, keyDenominator, 0)) {
+            throw new ArithmeticException("long overflow");
+        }
+        return insert(keyNumerator[0], keyDenominator[0], value, true);
+    }
+
+    /**
+     * putIfAbsent方法 - 只有当表中没有键 numerator/denominator 时才放入value，用于去重。
+     * @param numerator - long - 键的分子
+     * @param denominator - long - 键的分母，不能为0
+     * @param value - V - 新的值
+     * @return V - 已有的值；原来没有这个键时返回null
+     */
+    public V putIfAbsent(long numerator, long denominator, V value) {
+        if(!RationalMath.reduce(numerator, denominator, keyNumerator, keyDenominator, 0)) {
+            throw new ArithmeticException("long overflow");
+        }
+        return insert(keyNumerator[0], keyDenominator[0], value, false);
+    }
+
+    /**
+     * putIfAbsent方法 - 只有当表中没有键num时才放入value。当num超出long的范围时，会抛出ArithmeticException。
+     * @param num - Number - 键
+     * @param value - V - 新的值
+     * @return V - 已有的值；原来没有这个键时返回null
+     */
+    public V putIfAbsent(Number num, V value) {
+        if(!RationalMath.load(num, keyNumerator, keyDenominator, 0)) {
+            throw new ArithmeticException("long overflow");
+        }
+        return insert(keyNumerator[0], keyDenominator[0], value, false);
+    }
+
+    /**
+     * remove方法 - 删除键 numerator/denominator。
+     * @param numerator - long - 键的分子
+     * @param denominator - long - 键的分母，不能为0
+     * @return V - 被删除的值，没有这个键时返回null
+     */
+    public V remove(long numerator, long denominator) {
+        if(!RationalMath.reduce(numerator, denominator, keyNumerator, keyDenominator, 0)) {
+            return null;
+        }
+        return removeAt(find(keyNumerator[0], keyDenominator[0]));
+    }
+
+    /**
+     * remove方法 - 删除键num。
+     * @param num - Number - 键
+     * @return V - 被删除的值，没有这个键时返回null
+     */
+    public V remove(Number num) {
+        if(!RationalMath.load(num, keyNumerator, keyDenominator, 0)) {
+            return null;
+        }
+        return removeAt(find(keyNumerator[0], keyDenominator[0]));
+    }
+
+    /**
+     * clear方法 - 删除所有元素，容量保持不变。
+     */
+    public void clear() {
+        Arrays.fill(denominators, 0);
+        Arrays.fill(values, null);
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * keys方法 - 将所有的键按照遍历的顺序写入一个新的向量。
+     * @return RationalVector - 所有的键
+     */
+    public RationalVector keys() {
+        RationalVector result = new RationalVector(size);
+        int j = 0;
+        for(int i = 0; i < denominators.length; i++) {
+            if(denominators[i] != 0) {
+                result.numerators[j] = numerators[i];
+                result.denominators[j] = denominators[i];
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * cursor方法 - 返回一个遍历所有元素的游标，遍历的顺序是不确定的。
+     * @return Cursor - 位于第一个元素之前的游标
+     */
+    public Cursor<V> cursor() {
+        return new Cursor<V>(this);
+    }
+
+    /**
+     * toString方法 - 返回 {1/2=half, 1/3=third} 形式的字符串。
+     * @return String - 转化后的字符串
+     */
+    public String toString() {
+        StringBuilder builder = new StringBuilder().append('{');
+        for(int i = 0; i < denominators.length; i++) {
+            if(denominators[i] != 0) {
+                if(builder.length() > 1) {
+                    builder.append(", ");
+                }
+                FractionFormat.format(builder, numerators[i], denominators[i]).append('=').append(values[i]);
+            }
+        }
+        return builder.append('}').toString();
+    }
+
+    /**
+     * find方法 - 返回键所在的位置，没有这个键时返回-1。
+     */
+    private int find(long numerator, long denominator) {
+        int mask = denominators.length - 1;
+        int i = slot(numerator, denominator, mask);
+        while(denominators[i] != 0) {
+            if(numerators[i] == numerator && denominators[i] == denominator) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * insert方法 - 放入一个化简后的键，replace为false时不覆盖已有的值。
+     */
+    @SuppressWarnings("unchecked")
+    private V insert(long numerator, long denominator, V value, boolean replace) {
+        int mask = denominators.length - 1;
+        int i = slot(numerator, denominator, mask);
+        while(denominators[i] != 0) {
+            if(numerators[i] == numerator && denominators[i] == denominator) {
+                V old = (V) values[i];
+                if(replace) {
+                    values[i] = value;
+                }
+                return old;
+            }
+            i = (i + 1) & mask;
+        }
+        if(size >= threshold) {
+            if(denominators.length == MAXIMUM_CAPACITY) {
+                throw new UnexpectValueException("元素个数超出了RationalHashMap的最大容量。");
+            }
+            rehash(denominators.length << 1);
+            return insert(numerator, denominator, value, replace);
+        }
+        numerators[i] = numerator;
+        denominators[i] = denominator;
+        values[i] = value;
+        size++;
+        modCount++;
+        return null;
+    }
+
+    /**
+     * removeAt方法 - 删除位置i上的元素，并把之后同一段连续元素中可以前移的元素前移，使查找不会在空位上提前结束。
+     */
+    @SuppressWarnings("unchecked")
+    private V removeAt(int i) {
+        if(i < 0) {
+            return null;
+        }
+        V old = (V) values[i];
+        int mask = denominators.length - 1;
+        int gap = i;
+        int j = (i + 1) & mask;
+        while(denominators[j] != 0) {
+            int home = slot(numerators[j], denominators[j], mask);
+            // 位置j上的元素可以移到gap，当且仅当home不在 (gap, j] 之间
+            if(((j - home) & mask) >= ((j - gap) & mask)) {
+                numerators[gap] = numerators[j];
+                denominators[gap] = denominators[j];
+                values[gap] = values[j];
+                gap = j;
+            }
+            j = (j + 1) & mask;
+        }
+        denominators[gap] = 0;
+        values[gap] = null;
+        size--;
+        modCount++;
+        return old;
+    }
+
+    private V valueAt(int i) {
+        @SuppressWarnings("unchecked")
+        V value = i < 0 ? null : (V) values[i];
+        return value;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldNumerators = numerators;
+        long[] oldDenominators = denominators;
+        Object[] oldValues = values;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for(int i = 0; i < oldDenominators.length; i++) {
+            if(oldDenominators[i] != 0) {
+                int j = slot(oldNumerators[i], oldDenominators[i], mask);
+                while(denominators[j] != 0) {
+                    j = (j + 1) & mask;
+                }
+                numerators[j] = oldNumerators[i];
+                denominators[j] = oldDenominators[i];
+                values[j] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        numerators = new long[capacity];
+        denominators = new long[capacity];
+        values = new Object[capacity];
+        threshold = capacity == MAXIMUM_CAPACITY ? capacity - 1 : (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int capacityFor(int expectedSize) {
+        long needed = (long) Math.ceil(expectedSize / LOAD_FACTOR) + 1;
+        if(needed >= MAXIMUM_CAPACITY) {
+            return MAXIMUM_CAPACITY;
+        }
+        return Math.max(DEFAULT_CAPACITY, Integer.highestOneBit((int) needed - 1) << 1);
+    }
+
+    /**
+     * slot方法 - 计算键的初始位置。
+     * <p>分子和分母通常都很小、并且分布很不均匀，因此先用乘法和移位把所有的位打散，再取高位，避免相邻的分数落在同一段位置上。</p>
+     */
+    private static int slot(long numerator, long denominator, int mask) {
+        long h = numerator * 0x9E3779B97F4A7C15L + denominator;
+        h ^= h >>> 32;
+        h *= 0xD6E8FEB86659FD93L;
+        h ^= h >>> 32;
+        return (int) h & mask;
+    }
+
+    /**
+     * Cursor - 遍历RationalHashMap中所有元素的游标，不会创建任何对象。
+     * <p>
+     * 游标创建时位于第一个元素之前，读取元素之前必须先调用next方法。遍历期间可以通过setValue方法修改值，
+     * 但不能增加或删除元素（删除会把后面的元素向前移动），否则next方法会抛出{@link java.util.ConcurrentModificationException}。
+     * 需要删除时，可以先通过{@link equation.RationalHashMap#keys()}取得所有的键。
+     * </p>
+     * <blockquote><pre>
+RationalHashMap.Cursor&lt;List&lt;Row&gt;&gt; cursor = buckets.cursor();
+while(cursor.next()) {
+    total += cursor.getValue().size();
+}
+     * </pre></blockquote>
+     * @param <V> - 值的类型
+     */
+    public static final class Cursor<V> {
+        private final RationalHashMap<V> map;
+        private int index = -1;
+        private final int expectedModCount;
+
+        /**
+         * Cursor - 只能通过{@link equation.RationalHashMap#cursor()}创建。
+         */
+        private Cursor(RationalHashMap<V> map) {
+            super();
+            this.map = map;
+            this.expectedModCount = map.modCount;
+        }
+
+        /**
+         * next方法 - 移动到下一个元素。
+         * @return boolean - 是否还有元素；返回false时游标已经到达末尾
+         */
+        public boolean next() {
+            if(map.modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            long[] denominators = map.denominators;
+            int i = index + 1;
+            while(i < denominators.length) {
+                if(denominators[i] != 0) {
+                    index = i;
+                    return true;
+                }
+                i++;
+            }
+            index = denominators.length;
+            return false;
+        }
+
+        /**
+         * getNumerator方法 - 返回当前元素的键的分子。
+         * @return long - 分子
+         */
+        public long getNumerator() {
+            check();
+            return map.numerators[index];
+        }
+
+        /**
+         * getDenominator方法 - 返回当前元素的键的分母，永远是正数。
+         * @return long - 分母
+         */
+        public long getDenominator() {
+            check();
+            return map.denominators[index];
+        }
+
+        /**
+         * getKey方法 - 返回当前元素的键。
+         * @return HybridFraction - 键
+         */
+        public HybridFraction getKey() {
+            check();
+            return HybridFraction.ofReduced(map.numerators[index], map.denominators[index]);
+        }
+
+        /**
+         * getValue方法 - 返回当前元素的值。
+         * @return V - 值
+         */
+        public V getValue() {
+            check();
+            return map.valueAt(index);
+        }
+
+        /**
+         * setValue方法 - 修改当前元素的值。
+         * @param value - V - 新的值
+         * @return V - 原来的值
+         */
+        public V setValue(V value) {
+            check();
+            V old = map.valueAt(index);
+            map.values[index] = value;
+            return old;
+        }
+
+        private void check() {
+            if(index < 0 || index >= map.denominators.length) {
+                throw new NoSuchElementException();
+            }
+        }
+    }
+}
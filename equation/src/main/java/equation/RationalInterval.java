@@ -0,0 +1,680 @@
+package equation;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+
+/**
+ * RationalInterval - 以两个小分母分数为端点的不可变闭区间 [lower, upper]。
+ * <p>
+ * 精确的分数在反复运算后分子和分母会迅速变大，而很多场景只需要一个可靠的范围。RationalInterval的每次运算都先用long精确地求出结果区间的端点，
+ * 再把下界向下、上界向上舍入到分母不超过maxDenominator、分子在int范围内的最接近的分数（即这个数在Farey序列中两侧的邻居），
+ * 因此真实的结果一定包含在区间内，而端点始终是小分数，运算的代价不会随着运算次数增长。
+ * </p>
+ * <p>
+ * 运算结果的maxDenominator与当前对象相同。与精确的Number运算时，直接使用对方的精确值计算，只对结果的端点舍入一次，
+ * 因此 x.add(num) 与先计算精确值再调用{@link equation.RationalInterval#valueOf(Number, int)}得到的区间相同。
+ * 区间不是一个精确的数，其它Number的实现不会把它悄悄转化为某个点：{@link equation.Equation#toBigFraction(Number)}对它返回null，
+ * 它与任何精确的数都不相等，以它为操作数的精确运算（例如 new Fraction(1, 1).add(interval)）会抛出UnexpectValueException。
+ * 需要混合运算时，请把区间放在左边，或者先用{@link equation.RationalInterval#valueOf(Number)}把另一个数转化为区间。
+ * 当端点超出int的范围时，会抛出ArithmeticException。
+ * </p>
+ * <p>
+ * 两个区间重叠时无法确定它们的大小关系：{@link equation.RationalInterval#compare(Number)}此时返回{@link #INDEFINITE}，
+ * isGreaterThan和isLessThan只在结果确定时才返回true。
+ * </p>
+ * <blockquote><pre>
+RationalInterval x = RationalInterval.valueOf(new Fraction(1, 3), 100); // [1/3, 1/3]
+x.add(BigFraction.valueOf(1, 7)).mult(x); // [10/63, 10/63]，分母没有超过100，结果仍然是精确的
+x.mult(BigFraction.valueOf(1, 7)).div(new Fraction(7)); // [0/1, 1/100]，精确值 1/147 的分母超过了100
+RationalInterval.of(new Fraction(1, 3), new Fraction(1, 2)).compare(new Fraction(2, 5)); // INDEFINITE
+ * </pre></blockquote>
+ * @see equation.ContinuedFraction#approximate(long)
+ * @see equation.Fraction#approximate(double, int)
+ */
+public final class RationalInterval implements Number {
+    /**
+     * DEFAULT_MAX_DENOMINATOR常量 - 没有指定时端点分母的上限。
+     */
+    public static final int DEFAULT_MAX_DENOMINATOR = 1000000;
+
+    /**
+     * INDEFINITE常量 - compare方法在两个区间重叠、无法确定大小关系时的返回值。
+     */
+    public static final int INDEFINITE = 2;
+
+    private final int lowerNumerator;
+    private final int lowerDenominator;
+    private final int upperNumerator;
+    private final int upperDenominator;
+    private final int maxDenominator;
+
+    /**
+     * RationalInterval - 私有的构造函数。
+     * <p>传入的端点必须是分母为正数的最简分数，并且已经满足maxDenominator的限制。</p>
+     */
+    private RationalInterval(long lower, long upper, int maxDenominator) {
+        super();
+        this.lowerNumerator = RationalMath.numeratorOf(lower);
+        this.lowerDenominator = RationalMath.denominatorOf(lower);
+        this.upperNumerator = RationalMath.numeratorOf(upper);
+        this.upperDenominator = RationalMath.denominatorOf(upper);
+        this.maxDenominator = maxDenominator;
+    }
+
+    /**
+     * valueOf方法 - 创建包含num的最小区间，端点分母的上限为{@value #DEFAULT_MAX_DENOMINATOR}。
+     * <p>当num本身就是RationalInterval时，会直接返回它。</p>
+     * @param num - Number - 需要包含的数
+     * @return RationalInterval - 包含num的区间
+     * @see equation.RationalInterval#valueOf(Number, int)
+     */
+    public static RationalInterval valueOf(Number num) {
+        if(num instanceof RationalInterval) {
+            return (RationalInterval) num;
+        }
+        return valueOf(num, DEFAULT_MAX_DENOMINATOR);
+    }
+
+    /**
+     * valueOf方法 - 创建包含num、端点分母不超过maxDenominator的最小区间。
+     * <p>
+     * 当num的分母不超过maxDenominator时，结果只包含num一个点；否则结果的两个端点是分母不超过maxDenominator的分数中紧挨着num的两个。
+     * 当num是RationalInterval时，会按新的上限重新舍入它的端点。当maxDenominator不是正数时，会抛出UnexpectValueException。
+     * </p>
+     * <blockquote><pre>
+RationalInterval.valueOf(new Fraction(1, 3), 100); // [1/3, 1/3]
+RationalInterval.valueOf(HybridFraction.valueOf(Math.PI), 100); // [311/99, 22/7]
+     * </pre></blockquote>
+     * @param num - Number - 需要包含的数
+     * @param maxDenominator - int - 端点分母的上限
+     * @return RationalInterval - 包含num的区间
+     */
+    public static RationalInterval valueOf(Number num, int maxDenominator) {
+        if(maxDenominator < 1) {
+            throw new UnexpectValueException("最大分母必须是正数。");
+        }
+        if(num instanceof RationalInterval) {
+            RationalInterval interval = (RationalInterval) num;
+            if(interval.maxDenominator <= maxDenominator) {
+                return interval.maxDenominator == maxDenominator ? interval : new RationalInterval(interval.lower(), interval.upper(), maxDenominator);
+            }
+            return new RationalInterval(round(interval.lowerNumerator, interval.lowerDenominator, maxDenominator, false),
+                    round(interval.upperNumerator, interval.upperDenominator, maxDenominator, true), maxDenominator);
+        }
+        long[] numerators = new long[1];
+        long[] denominators = new long[1];
+        if(RationalMath.load(num, numerators, denominators, 0)) {
+            return new RationalInterval(round(numerators[0], denominators[0], maxDenominator, false),
+                    round(numerators[0], denominators[0], maxDenominator, true), maxDenominator);
+        }
+        BigFraction big = BigFraction.valueOf(num);
+        return new RationalInterval(round(big.getNumerator(), big.getDenominator(), maxDenominator, false),
+                round(big.getNumerator(), big.getDenominator(), maxDenominator, true), maxDenominator);
+    }
+
+    /**
+     * of方法 - 创建包含[lower, upper]的最小区间，端点分母的上限为{@value #DEFAULT_MAX_DENOMINATOR}。
+     * @param lower - Number - 下界
+     * @param upper - Number - 上界
+     * @return RationalInterval - 包含[lower, upper]的区间
+     * @see equation.RationalInterval#of(Number, Number, int)
+     */
+    public static RationalInterval of(Number lower, Number upper) {
+        return of(lower, upper, DEFAULT_MAX_DENOMINATOR);
+    }
+
+    /**
+     * of方法 - 创建包含[lower, upper]、端点分母不超过maxDenominator的最小区间。
+     * <p>下界会向下舍入，上界会向上舍入。当lower大于upper时，会抛出UnexpectValueException。</p>
+     * @param lower - Number - 下界
+     * @param upper - Number - 上界
+     * @param maxDenominator - int - 端点分母的上限
+     * @return RationalInterval - 包含[lower, upper]的区间
+     */
+    public static RationalInterval of(Number lower, Number upper, int maxDenominator) {
+        RationalInterval low = valueOf(lower, maxDenominator);
+        RationalInterval high = valueOf(upper, maxDenominator);
+        if(RationalMath.compare(low.lowerNumerator, low.lowerDenominator, high.upperNumerator, high.upperDenominator) > 0) {
+            throw new UnexpectValueException("区间的下界不能大于上界。");
+        }
+        return new RationalInterval(low.lower(), high.upper(), maxDenominator);
+    }
+
+    /**
+     * getLower方法 - 获取区间的下界。
+     * @return Fraction - 下界，是分母为正数的最简分数
+     */
+    public Fraction getLower() {
+        return new Fraction(lowerNumerator, lowerDenominator);
+    }
+
+    /**
+     * getUpper方法 - 获取区间的上界。
+     * @return Fraction - 上界，是分母为正数的最简分数
+     */
+    public Fraction getUpper() {
+        return new Fraction(upperNumerator, upperDenominator);
+    }
+
+    /**
+     * getMaxDenominator方法 - 获取端点分母的上限。
+     * @return int - 端点分母的上限
+     */
+    public int getMaxDenominator() {
+        return maxDenominator;
+    }
+
+    /**
+     * getMidpoint方法 - 获取区间的中点。
+     * @return HybridFraction - 区间的中点
+     */
+    public HybridFraction getMidpoint() {
+        Number sum = HybridFraction.valueOf(lowerNumerator, lowerDenominator).add(HybridFraction.valueOf(upperNumerator, upperDenominator));
+        return (HybridFraction) sum.div(HybridFraction.valueOf(2));
+    }
+
+    /**
+     * width方法 - 获取区间的宽度 upper - lower。
+     * @return HybridFraction - 区间的宽度
+     */
+    public HybridFraction width() {
+        return (HybridFraction) HybridFraction.valueOf(upperNumerator, upperDenominator).sub(HybridFraction.valueOf(lowerNumerator, lowerDenominator));
+    }
+
+    /**
+     * isPoint方法 - 判断区间是否只包含一个点，即运算结果是否仍然是精确的。
+     * @return boolean - 是否只包含一个点
+     */
+    public boolean isPoint() {
+        return lowerNumerator == upperNumerator && lowerDenominator == upperDenominator;
+    }
+
+    /**
+     * contains方法 - 判断num是否在区间内（包括端点）。
+     * <p>当num是RationalInterval时，判断它是否整个在当前区间内。</p>
+     * @param num - Number - 需要判断的数
+     * @return boolean - 是否在区间内
+     */
+    public boolean contains(Number num) {
+        if(num instanceof RationalInterval) {
+            RationalInterval other = (RationalInterval) num;
+            return RationalMath.compare(lowerNumerator, lowerDenominator, other.lowerNumerator, other.lowerDenominator) <= 0
+                    && RationalMath.compare(other.upperNumerator, other.upperDenominator, upperNumerator, upperDenominator) <= 0;
+        }
+        return compareEndpoint(lowerNumerator, lowerDenominator, num) <= 0 && compareEndpoint(upperNumerator, upperDenominator, num) >= 0;
+    }
+
+    /**
+     * add方法 - 计算两个区间的和 [a + c, b + d]，端点向外舍入。num不是区间时使用它的精确值，只对结果舍入一次。
+     * @param num - Number - 需要相加的数
+     * @return Number - 包含两者之和的区间，实际上是一个RationalInterval对象
+     */
+    public Number add(Number num) {
+        if(!(num instanceof RationalInterval)) {
+            return exact(num, '+');
+        }
+        RationalInterval other = (RationalInterval) num;
+        long[] numerators = new long[2];
+        long[] denominators = new long[2];
+        RationalMath.addExact(lowerNumerator, lowerDenominator, other.lowerNumerator, other.lowerDenominator, numerators, denominators, 0);
+        RationalMath.addExact(upperNumerator, upperDenominator, other.upperNumerator, other.upperDenominator, numerators, denominators, 1);
+        return create(numerators[0], denominators[0], numerators[1], denominators[1]);
+    }
+
+    /**
+     * sub方法 - 计算两个区间的差 [a - d, b - c]，端点向外舍入。num不是区间时使用它的精确值，只对结果舍入一次。
+     * @param num - Number - 需要相减的数
+     * @return Number - 包含两者之差的区间，实际上是一个RationalInterval对象
+     */
+    public Number sub(Number num) {
+        if(!(num instanceof RationalInterval)) {
+            return exact(num, '-');
+        }
+        RationalInterval other = (RationalInterval) num;
+        long[] numerators = new long[2];
+        long[] denominators = new long[2];
+        RationalMath.addExact(lowerNumerator, lowerDenominator, -(long) other.upperNumerator, other.upperDenominator, numerators, denominators, 0);
+        RationalMath.addExact(upperNumerator, upperDenominator, -(long) other.lowerNumerator, other.lowerDenominator, numerators, denominators, 1);
+        return create(numerators[0], denominators[0], numerators[1], denominators[1]);
+    }
+
+    /**
+     * mult方法 - 计算两个区间的积，即四个端点乘积中的最小值和最大值，端点向外舍入。num不是区间时使用它的精确值，只对结果舍入一次。
+     * @param num - Number - 需要相乘的数
+     * @return Number - 包含两者之积的区间，实际上是一个RationalInterval对象
+     */
+    public Number mult(Number num) {
+        if(!(num instanceof RationalInterval)) {
+            return exact(num, '*');
+        }
+        return combine((RationalInterval) num, false);
+    }
+
+    /**
+     * div方法 - 计算两个区间的商，即四个端点商中的最小值和最大值，端点向外舍入。num不是区间时使用它的精确值，只对结果舍入一次。
+     * 当除数区间包含0或者除数为0时，会抛出UnexpectValueException。
+     * @param num - Number - 需要相除的数
+     * @return Number - 包含两者之商的区间，实际上是一个RationalInterval对象
+     */
+    public Number div(Number num) {
+        if(!(num instanceof RationalInterval)) {
+            return exact(num, '/');
+        }
+        RationalInterval other = (RationalInterval) num;
+        if(other.lowerNumerator <= 0 && other.upperNumerator >= 0) {
+            throw new UnexpectValueException("除数区间不能包含0。");
+        }
+        return combine(other, true);
+    }
+
+    /**
+     * power方法 - 计算区间的幂 {x^index | x在区间内}，端点向外舍入。
+     * <p>
+     * 偶数次幂的结果不会是负数：例如 [-1, 2]^2 = [0, 4]，而不是 [-2, 4]。幂使用反复平方计算，每一步都向外舍入，因此指数很大时也只需要O(log index)次运算。
+     * 当index是负数并且区间包含0时，会抛出UnexpectValueException。
+     * </p>
+     * @param index - int - 指数的大小
+     * @return Number - 包含所有幂的区间，实际上是一个RationalInterval对象
+     */
+    public Number power(int index) {
+        if(index >= 0) {
+            return power((long) index);
+        } else if(lowerNumerator <= 0 && upperNumerator >= 0) {
+            throw new UnexpectValueException("0不能进行负数次幂运算。");
+        }
+        // 先取倒数再求幂，避免很小的幂被舍入成0。取倒数后上下界互换，倒数的分母可能超出限制，需要重新舍入
+        RationalInterval inverse = new RationalInterval(reciprocal(upper(), false), reciprocal(lower(), true), maxDenominator);
+        return inverse.power(-(long) index);
+    }
+
+    /**
+     * compare方法 - 比较当前区间与num的大小。
+     * <p>
+     * 当前区间整个小于num时返回-1，整个大于num时返回1，两者都是同一个点时返回0；
+     * 两者有重叠、无法确定大小关系时返回{@link #INDEFINITE}。num不是RationalInterval时按它的精确值比较。
+     * </p>
+     * <blockquote><pre>
+RationalInterval.of(new Fraction(1, 3), new Fraction(1, 2)).compare(new Fraction(3, 4)); // -1
+RationalInterval.of(new Fraction(1, 3), new Fraction(1, 2)).compare(new Fraction(2, 5)); // INDEFINITE
+     * </pre></blockquote>
+     * @param num - Number - 需要比较的数
+     * @return int - -1、0、1或INDEFINITE
+     */
+    public int compare(Number num) {
+        int lowerResult;
+        int upperResult;
+        if(num instanceof RationalInterval) {
+            RationalInterval other = (RationalInterval) num;
+            if(RationalMath.compare(upperNumerator, upperDenominator, other.lowerNumerator, other.lowerDenominator) < 0) {
+                return -1;
+            } else if(RationalMath.compare(lowerNumerator, lowerDenominator, other.upperNumerator, other.upperDenominator) > 0) {
+                return 1;
+            }
+            return isPoint() && other.isPoint() && lowerNumerator == other.lowerNumerator && lowerDenominator == other.lowerDenominator ? 0 : INDEFINITE;
+        }
+        upperResult = compareEndpoint(upperNumerator, upperDenominator, num);
+        if(upperResult < 0) {
+            return -1;
+        }
+        lowerResult = compareEndpoint(lowerNumerator, lowerDenominator, num);
+        if(lowerResult > 0) {
+            return 1;
+        }
+        return lowerResult == 0 && upperResult == 0 ? 0 : INDEFINITE;
+    }
+
+    /**
+     * toDouble方法 - 将区间的中点转化为最接近的double。
+     * @return double - 中点的double值
+     */
+    public double toDouble() {
+        return getMidpoint().toDouble();
+    }
+
+    /**
+     * toFloat方法 - 将区间的中点转化为最接近的float。
+     * @return float - 中点的float值
+     */
+    public float toFloat() {
+        return getMidpoint().toFloat();
+    }
+
+    /**
+     * toBigDecimal方法 - 将区间的中点按照context的精度和舍入模式转化为BigDecimal。
+     * @param context - MathContext - 精度和舍入模式
+     * @return BigDecimal - 舍入后的中点
+     */
+    public BigDecimal toBigDecimal(MathContext context) {
+        return getMidpoint().toBigDecimal(context);
+    }
+
+    /**
+     * equals方法 - 判断两个区间的端点是否相同。传入的对象不是RationalInterval时永远返回false。
+     * @param object - Object - 需要比较的对象
+     * @return boolean - 是否相等
+     */
+    public boolean equals(Object object) {
+        if(object == this) {
+            return true;
+        } else if(!(object instanceof RationalInterval)) {
+            return false;
+        }
+        RationalInterval other = (RationalInterval) object;
+        return lowerNumerator == other.lowerNumerator && lowerDenominator == other.lowerDenominator
+                && upperNumerator == other.upperNumerator && upperDenominator == other.upperDenominator;
+    }
+
+    /**
+     * hashCode方法 - 与equals保持一致的hashCode。
+     * @return int - hashCode
+     */
+    public int hashCode() {
+        return 31 * RationalMath.hashCode(lowerNumerator, lowerDenominator) + RationalMath.hashCode(upperNumerator, upperDenominator);
+    }
+
+    /**
+     * isGreaterThan方法 - 判断当前区间是否确定大于传入的Number对象，即整个区间都大于它。
+     * @param num - Number - 需要比较的对象
+     * @return boolean - 是否确定大于
+     */
+    public boolean isGreaterThan(Number num) {
+        return compare(num) == 1;
+    }
+
+    /**
+     * isLessThan方法 - 判断当前区间是否确定小于传入的Number对象，即整个区间都小于它。
+     * @param num - Number - 需要比较的对象
+     * @return boolean - 是否确定小于
+     */
+    public boolean isLessThan(Number num) {
+        return compare(num) == -1;
+    }
+
+    /**
+     * toString方法 - 返回区间的字符串形式（[a/b, c/d]）。
+     * @return String - 转化后的字符串
+     */
+    public String toString() {
+        StringBuilder builder = new StringBuilder(48).append('[');
+        FractionFormat.format(builder, lowerNumerator, lowerDenominator).append(", ");
+        return FractionFormat.format(builder, upperNumerator, upperDenominator).append(']').toString();
+    }
+
+    private long lower() {
+        return RationalMath.pack(lowerNumerator, lowerDenominator);
+    }
+
+    private long upper() {
+        return RationalMath.pack(upperNumerator, upperDenominator);
+    }
+
+    /**
+     * create方法 - 把精确的端点向外舍入后创建区间。
+     */
+    private RationalInterval create(long lowerNumerator, long lowerDenominator, long upperNumerator, long upperDenominator) {
+        return new RationalInterval(round(lowerNumerator, lowerDenominator, maxDenominator, false),
+                round(upperNumerator, upperDenominator, maxDenominator, true), maxDenominator);
+    }
+
+    /**
+     * power方法 - 计算区间的非负整数次幂。
+     */
+    private RationalInterval power(long exponent) {
+        long lower;
+        long upper;
+        if(exponent == 0) {
+            lower = RationalMath.pack(1, 1);
+            upper = lower;
+        } else if((exponent & 1) == 1 || lowerNumerator >= 0) {
+            // 单调递增
+            lower = signedPower(lowerNumerator, lowerDenominator, exponent, false);
+            upper = signedPower(upperNumerator, upperDenominator, exponent, true);
+        } else if(upperNumerator <= 0) {
+            // 偶数次幂，单调递减
+            lower = signedPower(-upperNumerator, upperDenominator, exponent, false);
+            upper = signedPower(-lowerNumerator, lowerDenominator, exponent, true);
+        } else {
+            // 偶数次幂，区间包含0
+            lower = RationalMath.pack(0, 1);
+            boolean lowerLarger = RationalMath.compare(-(long) lowerNumerator, lowerDenominator, upperNumerator, upperDenominator) > 0;
+            upper = lowerLarger ? signedPower(-lowerNumerator, lowerDenominator, exponent, true) : signedPower(upperNumerator, upperDenominator, exponent, true);
+        }
+        return new RationalInterval(lower, upper, maxDenominator);
+    }
+
+    /**
+     * exact方法 - 计算当前区间与精确的数num的和、差、积或商（由operator指定），两个端点的精确结果只向外舍入一次。
+     * <p>num能放进long时只使用long运算，溢出或者num超出long的范围时使用BigFraction计算。乘数或除数是负数时，两个端点的结果会互换。</p>
+     */
+    private RationalInterval exact(Number num, char operator) {
+        long[] numerators = new long[2];
+        long[] denominators = new long[2];
+        if(RationalMath.load(num, numerators, denominators, 0)) {
+            long n = numerators[0];
+            long d = denominators[0];
+            try {
+                exact(lowerNumerator, lowerDenominator, n, d, operator, numerators, denominators, 0);
+                exact(upperNumerator, upperDenominator, n, d, operator, numerators, denominators, 1);
+                int low = RationalMath.compare(numerators[0], denominators[0], numerators[1], denominators[1]) <= 0 ? 0 : 1;
+                return create(numerators[low], denominators[low], numerators[1 - low], denominators[1 - low]);
+            } catch (ArithmeticException err) {
+                // 超出long的范围，改用BigFraction计算
+            }
+        }
+        BigFraction other = BigFraction.valueOf(num);
+        BigFraction lower = exact(BigFraction.valueOf(lowerNumerator, lowerDenominator), other, operator);
+        BigFraction upper = exact(BigFraction.valueOf(upperNumerator, upperDenominator), other, operator);
+        if(lower.compareTo(upper) > 0) {
+            BigFraction swap = lower;
+            lower = upper;
+            upper = swap;
+        }
+        return new RationalInterval(round(lower.getNumerator(), lower.getDenominator(), maxDenominator, false),
+                round(upper.getNumerator(), upper.getDenominator(), maxDenominator, true), maxDenominator);
+    }
+
+    private static void exact(long n1, long d1, long n2, long d2, char operator, long[] numerators, long[] denominators, int index) {
+        switch(operator) {
+            case '+':
+                RationalMath.addExact(n1, d1, n2, d2, numerators, denominators, index);
+                break;
+            case '-':
+                RationalMath.addExact(n1, d1, -n2, d2, numerators, denominators, index);
+                break;
+            case '*':
+                RationalMath.multiplyExact(n1, d1, n2, d2, numerators, denominators, index);
+                break;
+            default:
+                RationalMath.divideExact(n1, d1, n2, d2, numerators, denominators, index);
+        }
+    }
+
+    private static BigFraction exact(BigFraction endpoint, BigFraction num, char operator) {
+        switch(operator) {
+            case '+':
+                return (BigFraction) endpoint.add(num);
+            case '-':
+                return (BigFraction) endpoint.sub(num);
+            case '*':
+                return (BigFraction) endpoint.mult(num);
+            default:
+                return (BigFraction) endpoint.div(num);
+        }
+    }
+
+    /**
+     * combine方法 - 计算两个区间端点的所有乘积（divide为true时是商），以其中的最小值和最大值为端点创建区间。
+     */
+    private RationalInterval combine(RationalInterval other, boolean divide) {
+        long[] numerators = new long[4];
+        long[] denominators = new long[4];
+        int count = 0;
+        // 单点区间的两个端点相同，只需要计算一次
+        for(int i = isPoint() ? 1 : 0; i < 2; i++) {
+            long n1 = i == 0 ? lowerNumerator : upperNumerator;
+            long d1 = i == 0 ? lowerDenominator : upperDenominator;
+            for(int j = other.isPoint() ? 1 : 0; j < 2; j++) {
+                long n2 = j == 0 ? other.lowerNumerator : other.upperNumerator;
+                long d2 = j == 0 ? other.lowerDenominator : other.upperDenominator;
+                if(divide) {
+                    RationalMath.divideExact(n1, d1, n2, d2, numerators, denominators, count++);
+                } else {
+                    RationalMath.multiplyExact(n1, d1, n2, d2, numerators, denominators, count++);
+                }
+            }
+        }
+        int min = 0;
+        int max = 0;
+        for(int i = 1; i < count; i++) {
+            if(RationalMath.compare(numerators[i], denominators[i], numerators[min], denominators[min]) < 0) {
+                min = i;
+            }
+            if(RationalMath.compare(numerators[i], denominators[i], numerators[max], denominators[max]) > 0) {
+                max = i;
+            }
+        }
+        return create(numerators[min], denominators[min], numerators[max], denominators[max]);
+    }
+
+    /**
+     * signedPower方法 - 计算 (numerator/denominator)^exponent 并向下（up为false时）或向上舍入，结果以打包的形式返回。
+     */
+    private long signedPower(int numerator, int denominator, long exponent, boolean up) {
+        if(numerator >= 0) {
+            return positivePower(numerator, denominator, exponent, up);
+        }
+        // 奇数次幂：负数的幂向下舍入等于它的绝对值向上舍入后取负数
+        long packed = positivePower(-numerator, denominator, exponent, !up);
+        return RationalMath.pack(-(long) RationalMath.numeratorOf(packed), RationalMath.denominatorOf(packed));
+    }
+
+    private long positivePower(long numerator, long denominator, long exponent, boolean up) {
+        long result = RationalMath.pack(1, 1);
+        long base = RationalMath.pack(numerator, denominator);
+        while(true) {
+            if((exponent & 1) == 1) {
+                result = round((long) RationalMath.numeratorOf(result) * RationalMath.numeratorOf(base),
+                        (long) RationalMath.denominatorOf(result) * RationalMath.denominatorOf(base), maxDenominator, up);
+            }
+            exponent >>>= 1;
+            if(exponent == 0) {
+                return result;
+            }
+            long n = RationalMath.numeratorOf(base);
+            long d = RationalMath.denominatorOf(base);
+            base = round(n * n, d * d, maxDenominator, up);
+        }
+    }
+
+    /**
+     * reciprocal方法 - 计算打包分数的倒数并向下（up为false时）或向上舍入。分数不能是0。
+     */
+    private long reciprocal(long packed, boolean up) {
+        long numerator = RationalMath.numeratorOf(packed);
+        long denominator = RationalMath.denominatorOf(packed);
+        return numerator < 0 ? round(-denominator, -numerator, maxDenominator, up) : round(denominator, numerator, maxDenominator, up);
+    }
+
+    /**
+     * compareEndpoint方法 - 比较端点与num的精确值。
+     */
+    private static int compareEndpoint(int numerator, int denominator, Number num) {
+        long[] numerators = new long[1];
+        long[] denominators = new long[1];
+        if(RationalMath.load(num, numerators, denominators, 0)) {
+            return RationalMath.compare(numerator, denominator, numerators[0], denominators[0]);
+        }
+        return BigFraction.valueOf(numerator, denominator).compareTo(BigFraction.valueOf(num));
+    }
+
+    /**
+     * round方法 - 求分母不超过maxDenominator、分子的绝对值不超过Integer.MAX_VALUE的分数中，不大于（up为false时）或不小于（up为true时）p/q的最接近的一个。
+     * <p>
+     * q必须是正数，p/q不必是最简分数。结果以打包的形式返回，并且是最简分数。
+     * 当p/q本身满足限制时结果就是它，否则结果是p/q在连分数展开中被截断的位置上的渐近分数或中间分数，它们与p/q的距离都比任何满足限制的分数更近。
+     * 当结果超出int的范围时，会抛出ArithmeticException。
+     * </p>
+     */
+    static long round(long p, long q, int maxDenominator, boolean up) {
+        if(p < 0) {
+            if(p == Long.MIN_VALUE) {
+                return round(BigInteger.valueOf(p), BigInteger.valueOf(q), maxDenominator, up);
+            }
+            long packed = round(-p, q, maxDenominator, !up);
+            return RationalMath.pack(-(long) RationalMath.numeratorOf(packed), RationalMath.denominatorOf(packed));
+        }
+        if(q <= maxDenominator && p <= Integer.MAX_VALUE) {
+            // 已经满足限制，不需要舍入，但p/q可能是两个端点的乘积，需要化简
+            long gcd = RationalMath.gcd(p, q);
+            return RationalMath.pack(p / gcd, q / gcd);
+        }
+        return roundPositive(p, q, null, null, maxDenominator, up);
+    }
+
+    /**
+     * round方法 - 与{@link equation.RationalInterval#round(long, long, int, boolean)}相同，用于超出long范围的分数。
+     */
+    static long round(BigInteger p, BigInteger q, int maxDenominator, boolean up) {
+        if(p.signum() < 0) {
+            long packed = round(p.negate(), q, maxDenominator, !up);
+            return RationalMath.pack(-(long) RationalMath.numeratorOf(packed), RationalMath.denominatorOf(packed));
+        } else if(p.bitLength() < 64 && q.bitLength() < 64) {
+            return round(p.longValue(), q.longValue(), maxDenominator, up);
+        }
+        return roundPositive(0, 0, p, q, maxDenominator, up);
+    }
+
+    /**
+     * roundPositive方法 - 对非负数p/q（bigP不为null时是bigP/bigQ）做辗转相除，同时递推渐近分数。
+     * <p>
+     * 每读入一项a，先求出在两个限制下这一项最多能取到的j。a不超过j时继续递推；否则中间分数 (j*h1 + h0)/(j*k1 + k0) 与渐近分数 h1/k1
+     * 分别位于p/q的两侧，并且在Farey序列中相邻，它们之间的任何分数的分子和分母都至少是两者之和，一定超出限制，所以它们就是所求的下界和上界。
+     * </p>
+     */
+    private static long roundPositive(long p, long q, BigInteger bigP, BigInteger bigQ, int maxDenominator, boolean up) {
+        long h0 = 0;
+        long k0 = 1;
+        long h1 = 1;
+        long k1 = 0;
+        while(true) {
+            long a;
+            if(bigP == null) {
+                a = p / q;
+                long r = p - a * q;
+                p = q;
+                q = r;
+            } else {
+                BigInteger[] parts = bigP.divideAndRemainder(bigQ);
+                // 超出long的项一定大于j，饱和为Long.MAX_VALUE即可
+                a = parts[0].bitLength() < 64 ? parts[0].longValue() : Long.MAX_VALUE;
+                bigP = bigQ;
+                bigQ = parts[1];
+                if(bigP.bitLength() < 64 && bigQ.bitLength() < 64) {
+                    p = bigP.longValue();
+                    q = bigQ.longValue();
+                    bigP = null;
+                }
+            }
+            long j = Math.min(k1 == 0 ? Long.MAX_VALUE : (maxDenominator - k0) / k1, h1 == 0 ? Long.MAX_VALUE : (Integer.MAX_VALUE - h0) / h1);
+            if(a > j) {
+                long h = j * h1 + h0;
+                long k = j * k1 + k0;
+                if(k1 == 0 || k == 0) {
+                    throw new ArithmeticException("integer overflow");
+                }
+                boolean semiconvergentAbove = RationalMath.compare(h, k, h1, k1) > 0;
+                return up == semiconvergentAbove ? RationalMath.pack(h, k) : RationalMath.pack(h1, k1);
+            }
+            long h = a * h1 + h0;
+            long k = a * k1 + k0;
+            h0 = h1;
+            k0 = k1;
+            h1 = h;
+            k1 = k;
+            if(bigP == null && q == 0) {
+                return RationalMath.pack(h1, k1);
+            }
+        }
+    }
+}
@@ -0,0 +1,890 @@
+package equation;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * RationalMath - 分数运算内部使用的基础算法。
+ * <p>该类只在equation包内部使用，所有方法都直接作用在分子和分母的主数据类型上，不会创建任何对象（溢出时的回退路径除外）。</p>
+ */
+final class RationalMath {
+    /**
+     * RationalMath - 私有的构造函数。
+     * <p>因为该类不应该被初始化，所以它的构造函数是私有的。
+     */
+    private RationalMath() {
+        super();
+    }
+
+    /**
+     * compare方法 - 通过交叉相乘比较 n1/d1 与 n2/d2 的大小。
+     * <p>分母可以是负数。当乘积可能超出long的范围时，会回退到BigInteger计算，因此结果永远是精确的。</p>
+     * @param n1 - long - 第一个分数的分子
+     * @param d1 - long - 第一个分数的分母
+     * @param n2 - long - 第二个分数的分子
+     * @param d2 - long - 第二个分数的分母
+     * @return int - 小于、等于、大于时分别返回负数、0、正数
+     */
+    static int compare(long n1, long d1, long n2, long d2) {
+        int result;
+        if(multiplyFits(n1, d2) && multiplyFits(n2, d1)) {
+            result = Long.compare(n1 * d2, n2 * d1);
+        } else {
+            result = BigInteger.valueOf(n1).multiply(BigInteger.valueOf(d2))
+                    .compareTo(BigInteger.valueOf(n2).multiply(BigInteger.valueOf(d1)));
+        }
+        return (d1 < 0) == (d2 < 0) ? result : -result;
+    }
+
+    /**
+     * multiplyFits方法 - 判断两个long相乘是否一定不会溢出。
+     * <p>该判断是保守的：返回true时一定不会溢出，返回false时也可能不会溢出。</p>
+     * @param a - long - 第一个因数
+     * @param b - long - 第二个因数
+     * @return boolean - 是否一定不会溢出
+     */
+    static boolean multiplyFits(long a, long b) {
+        return Long.numberOfLeadingZeros(Math.abs(a)) + Long.numberOfLeadingZeros(Math.abs(b)) >= 65;
+    }
+
+    /**
+     * powExact方法 - 通过平方求幂计算 base^exponent。
+     * <p>只需要O(log exponent)次乘法。当结果超出long的范围时，会抛出ArithmeticException。</p>
+     * @param base - long - 底数
+     * @param exponent - long - 指数，不能是负数
+     * @return long - 乘方的结果
+     */
+    static long powExact(long base, long exponent) {
+        long result = 1;
+        while(exponent != 0) {
+            if((exponent & 1) != 0) {
+                result = Math.multiplyExact(result, base);
+            }
+            exponent >>>= 1;
+            if(exponent != 0) {
+                base = Math.multiplyExact(base, base);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * gcd方法 - 使用二进制GCD（Stein算法）求两个int的最大公约数。
+     * <p>
+     * 该算法只使用移位和减法，不需要任何除法。结果永远不是负数；当两个参数都为0时返回0。
+     * 唯一的例外是结果为2^31时（例如两个参数都是Integer.MIN_VALUE），此时返回Integer.MIN_VALUE。
+     * </p>
+     * @param a - int - 第一个数
+     * @param b - int - 第二个数
+     * @return int - 最大公约数
+     */
+    static int gcd(int a, int b) {
+        a = Math.abs(a);
+        b = Math.abs(b);
+        if(a == 0) {
+            return b;
+        } else if(b == 0) {
+            return a;
+        }
+        int shift = Integer.numberOfTrailingZeros(a | b);
+        a >>>= Integer.numberOfTrailingZeros(a);
+        do {
+            b >>>= Integer.numberOfTrailingZeros(b);
+            if(Integer.compareUnsigned(a, b) > 0) {
+                int temp = a;
+                a = b;
+                b = temp;
+            }
+            b -= a;
+        } while(b != 0);
+        return a << shift;
+    }
+
+    /**
+     * gcd方法 - 使用二进制GCD（Stein算法）求两个long的最大公约数。
+     * <p>与{@link equation.RationalMath#gcd(int, int)}相同，只是作用在long上。结果为2^63时返回Long.MIN_VALUE。</p>
+     * @param a - long - 第一个数
+     * @param b - long - 第二个数
+     * @return long - 最大公约数
+     */
+    static long gcd(long a, long b) {
+        a = Math.abs(a);
+        b = Math.abs(b);
+        if(a == 0) {
+            return b;
+        } else if(b == 0) {
+            return a;
+        }
+        int shift = Long.numberOfTrailingZeros(a | b);
+        a >>>= Long.numberOfTrailingZeros(a);
+        do {
+            b >>>= Long.numberOfTrailingZeros(b);
+            if(Long.compareUnsigned(a, b) > 0) {
+                long temp = a;
+                a = b;
+                b = temp;
+            }
+            b -= a;
+        } while(b != 0);
+        return a << shift;
+    }
+
+    /**
+     * pack方法 - 将分子和分母打包进一个long，高32位是分子，低32位是分母。
+     * <p>这样int分数的运算结果就可以不创建任何中间对象地返回。</p>
+     * @param numerator - long - 分子，必须在int的范围内，否则抛出ArithmeticException
+     * @param denominator - long - 分母，必须在int的范围内，否则抛出ArithmeticException
+     * @return long - 打包后的分数
+     * @see equation.RationalMath#numeratorOf(long)
+     * @see equation.RationalMath#denominatorOf(long)
+     */
+    static long pack(long numerator, long denominator) {
+        return ((long) Math.toIntExact(numerator) << 32) | (Math.toIntExact(denominator) & 0xFFFFFFFFL);
+    }
+
+    /**
+     * numeratorOf方法 - 取出打包分数的分子。
+     * @param packed - long - 打包后的分数
+     * @return int - 分子
+     * @see equation.RationalMath#pack(long, long)
+     */
+    static int numeratorOf(long packed) {
+        return (int) (packed >> 32);
+    }
+
+    /**
+     * denominatorOf方法 - 取出打包分数的分母。
+     * @param packed - long - 打包后的分数
+     * @return int - 分母
+     * @see equation.RationalMath#pack(long, long)
+     */
+    static int denominatorOf(long packed) {
+        return (int) packed;
+    }
+
+    /**
+     * add方法 - 计算 n1/d1 + n2/d2，结果以打包的形式返回。
+     * <p>
+     * 使用Knuth的方法：先求两个分母的最大公约数g1，分别约去后再交叉相乘，最后只需要再用g1约一次。
+     * 这样中间结果始终很小；当两个操作数都是最简分数时，结果也是分母为正数的最简分数。
+     * 当结果超出int的范围时，会抛出ArithmeticException。
+     * </p>
+     * @param n1 - int - 第一个分数的分子
+     * @param d1 - int - 第一个分数的分母
+     * @param n2 - int - 第二个分数的分子
+     * @param d2 - int - 第二个分数的分母
+     * @return long - 打包后的和
+     * @see equation.RationalMath#pack(long, long)
+     */
+    static long add(int n1, int d1, int n2, int d2) {
+        return addWide(n1, d1, n2, d2);
+    }
+
+    /**
+     * subtract方法 - 计算 n1/d1 - n2/d2，结果以打包的形式返回。
+     * @param n1 - int - 被减数的分子
+     * @param d1 - int - 被减数的分母
+     * @param n2 - int - 减数的分子
+     * @param d2 - int - 减数的分母
+     * @return long - 打包后的差
+     * @see equation.RationalMath#add(int, int, int, int)
+     */
+    static long subtract(int n1, int d1, int n2, int d2) {
+        return addWide(n1, d1, -(long) n2, d2);
+    }
+
+    /**
+     * addWide方法 - add与subtract的共同实现。分子分母的绝对值都不能超过2^31，这样所有乘积都不会超出long的范围。
+     */
+    private static long addWide(long n1, long d1, long n2, long d2) {
+        if(d1 < 0) {
+            n1 = -n1;
+            d1 = -d1;
+        }
+        if(d2 < 0) {
+            n2 = -n2;
+            d2 = -d2;
+        }
+        long g1 = gcd(d1, d2);
+        if(g1 == 1) {
+            return pack(Math.addExact(n1 * d2, n2 * d1), d1 * d2);
+        }
+        long t = Math.addExact(n1 * (d2 / g1), n2 * (d1 / g1));
+        long g2 = gcd(t, g1);
+        return pack(t / g2, (d1 / g1) * (d2 / g2));
+    }
+
+    /**
+     * multiply方法 - 计算 n1/d1 * n2/d2，结果以打包的形式返回。
+     * <p>
+     * 相乘之前先交叉约分（n1与d2、n2与d1），因此中间结果始终很小；当两个操作数都是最简分数时，结果也是分母为正数的最简分数。
+     * 当结果超出int的范围时，会抛出ArithmeticException。
+     * </p>
+     * @param n1 - int - 第一个分数的分子
+     * @param d1 - int - 第一个分数的分母
+     * @param n2 - int - 第二个分数的分子
+     * @param d2 - int - 第二个分数的分母
+     * @return long - 打包后的积
+     * @see equation.RationalMath#pack(long, long)
+     */
+    static long multiply(int n1, int d1, int n2, int d2) {
+        long g1 = gcd((long) n1, d2);
+        long g2 = gcd((long) n2, d1);
+        long numerator = (n1 / g1) * (n2 / g2);
+        long denominator = (d1 / g2) * (d2 / g1);
+        if(denominator < 0) {
+            return pack(-numerator, -denominator);
+        }
+        return pack(numerator, denominator);
+    }
+
+    /**
+     * significandOf方法 - 直接从IEEE-754的位表示中取出double的有效数字。
+     * <p>
+     * 返回的有效数字已经去掉了末尾的0（二进制），因此它是奇数（value为0时返回0），并且带有value的符号。
+     * 与{@link equation.RationalMath#exponentOf(double)}一起满足 value = significandOf(value) * 2^exponentOf(value)，这个等式是精确的。
+     * 当value是NaN或无穷大时，会抛出UnexpectValueException。
+     * </p>
+     * @param value - double - 需要分解的小数
+     * @return long - 有效数字，绝对值小于2^53
+     * @see equation.RationalMath#exponentOf(double)
+     */
+    static long significandOf(double value) {
+        long bits = Double.doubleToRawLongBits(value);
+        int biased = (int) (bits >>> 52) & 0x7FF;
+        if(biased == 0x7FF) {
+            throw new UnexpectValueException("无法将NaN或无穷大转化为分数。");
+        }
+        long significand = bits & 0xFFFFFFFFFFFFFL;
+        if(biased != 0) {
+            significand |= 1L << 52;
+        }
+        significand >>>= Long.numberOfTrailingZeros(significand);
+        return bits < 0 ? -significand : significand;
+    }
+
+    /**
+     * exponentOf方法 - 直接从IEEE-754的位表示中取出double的二进制指数。
+     * <p>value为0时返回0。NaN和无穷大没有意义，请先调用{@link equation.RationalMath#significandOf(double)}检查。</p>
+     * @param value - double - 需要分解的小数
+     * @return int - 二进制指数，范围是 -1074 到 971
+     * @see equation.RationalMath#significandOf(double)
+     */
+    static int exponentOf(double value) {
+        long bits = Double.doubleToRawLongBits(value);
+        int biased = (int) (bits >>> 52) & 0x7FF;
+        long significand = bits & 0xFFFFFFFFFFFFFL;
+        if(biased != 0) {
+            significand |= 1L << 52;
+        } else if(significand == 0) {
+            return 0;
+        }
+        return Math.max(biased, 1) - 1075 + Long.numberOfTrailingZeros(significand);
+    }
+
+    /**
+     * decode方法 - 将double的精确值转化为int分数，结果以打包的形式返回。
+     * <p>
+     * double的精确值是一个分母为2的幂的分数，例如 0.375 = 3/8。该方法直接使用它的位表示，不需要任何字符串转换或浮点运算。
+     * 结果是分母为正数的最简分数；当精确值的分子或分母超出int的范围时（例如 0.1 的精确值是 3602879701896397/2^55），返回0。
+     * 因为合法的打包分数的分母不会是0，所以0可以作为“无法精确表示”的标记。
+     * </p>
+     * @param value - double - 需要转化的小数
+     * @return long - 打包后的分数，无法用int精确表示时返回0
+     * @see equation.RationalMath#fromDouble(double)
+     */
+    static long decode(double value) {
+        long significand = significandOf(value);
+        int exponent = exponentOf(value);
+        int bits = 64 - Long.numberOfLeadingZeros(Math.abs(significand));
+        if(exponent >= 0 && (bits + exponent <= 31 || isIntMinValue(significand, exponent))) {
+            return pack(significand << exponent, 1);
+        } else if(exponent < 0 && exponent >= -30 && bits <= 31) {
+            return pack(significand, 1L << -exponent);
+        }
+        return 0;
+    }
+
+    /**
+     * isIntMinValue方法 - 判断 significand * 2^exponent 是否恰好是Integer.MIN_VALUE。它的绝对值是2^31，但仍然能放进int。
+     */
+    private static boolean isIntMinValue(long significand, int exponent) {
+        // 有效数字已经去掉了末尾的0，所以 -2^31 只能表示为 -1 * 2^31
+        return significand == -1 && exponent == 31;
+    }
+
+    /**
+     * fromDouble方法 - 将double转化为int分数，结果以打包的形式返回。
+     * <p>
+     * 当double的精确值能放进int时直接返回精确值，例如 0.375 会转化为 3/8；
+     * 否则返回分母不超过Integer.MAX_VALUE的最佳逼近，例如 0.1 会转化为 1/10，0.1 + 0.2 会转化为 3/10。
+     * 整数部分很大时（例如 1e9 + 0.1），逼近同时受到分子的限制，结果是分子和分母都能放进int的分数中最接近value的一个。
+     * 当整数部分超出int的范围时，会抛出ArithmeticException("integer overflow")；
+     * 当value不是0但绝对值太小（小于约2.3e-10）、最佳逼近变成了0时，会抛出ArithmeticException("integer underflow")。
+     * 因此非0的小数永远不会悄悄变成0。
+     * </p>
+     * @param value - double - 需要转化的小数
+     * @return long - 打包后的分数
+     * @see equation.RationalMath#decode(double)
+     * @see equation.RationalMath#approximate(double, int)
+     */
+    static long fromDouble(double value) {
+        long packed = decode(value);
+        if(packed != 0) {
+            return packed;
+        }
+        packed = approximate(value, Integer.MAX_VALUE);
+        if(numeratorOf(packed) == 0) {
+            // 精确值无法用int表示，最接近的分数是0
+            throw new ArithmeticException("integer underflow");
+        }
+        return packed;
+    }
+
+    /**
+     * approximate方法 - 使用连分数求分母不超过maxDenominator的、最接近value的分数，结果以打包的形式返回。
+     * <p>
+     * 连分数展开直接作用在double的精确值 m/2^k 上，只使用long的整数运算，不会产生任何浮点误差，也不会创建任何对象。
+     * 展开到分母即将超过maxDenominator时，会在最后一个渐近分数与对应的中间分数（semiconvergent）之间选择更接近的一个；
+     * 两者距离相等时选择分母较小的渐近分数。分子同样受到限制：正数的分子不超过Integer.MAX_VALUE，负数的分子不小于Integer.MIN_VALUE，
+     * 因此结果是所有满足这两个限制的分数中最接近value的一个。结果是分母为正数的最简分数。
+     * </p>
+     * <p>当maxDenominator不是正数时，会抛出UnexpectValueException；当value的整数部分超出int的范围时，会抛出ArithmeticException。</p>
+     * @param value - double - 需要逼近的小数
+     * @param maxDenominator - int - 分母的最大值
+     * @return long - 打包后的分数
+     * @see equation.RationalMath#pack(long, long)
+     */
+    static long approximate(double value, int maxDenominator) {
+        if(maxDenominator < 1) {
+            throw new UnexpectValueException("最大分母必须是正数。");
+        }
+        long significand = significandOf(value);
+        int exponent = exponentOf(value);
+        long m = Math.abs(significand);
+        if(exponent >= 0) {
+            if(64 - Long.numberOfLeadingZeros(m) + exponent > 31 && !isIntMinValue(significand, exponent)) {
+                throw new ArithmeticException("integer overflow");
+            }
+            return pack(significand << exponent, 1);
+        }
+        // 分子绝对值的上限，负数可以取到 -2^31
+        long maxNumerator = significand < 0 ? 1L << 31 : Integer.MAX_VALUE;
+        // |value| = m / 2^k，m是奇数
+        int k = -exponent;
+        long whole = k < 64 ? m >>> k : 0;
+        if(whole > maxNumerator) {
+            throw new ArithmeticException("integer overflow");
+        }
+        long q = k < 64 ? m & ((1L << k) - 1) : m;
+        // 第一个完全商是 2^k / q，2^k可能超出long的范围，所以逐位做长除法
+        long a;
+        long r;
+        if(k <= 62) {
+            a = (1L << k) / q;
+            r = (1L << k) % q;
+        } else {
+            a = (1L << 62) / q;
+            r = (1L << 62) % q;
+            for(int i = 62; i < k; i++) {
+                if(a > 1L << 40) {
+                    // 已经远远超过任何int分母，之后不会再用到余数
+                    a = Long.MAX_VALUE;
+                    break;
+                }
+                a <<= 1;
+                r <<= 1;
+                if(r >= q) {
+                    r -= q;
+                    a++;
+                }
+            }
+        }
+        long h2 = 1;
+        long k2 = 0;
+        long h1 = whole;
+        long k1 = 1;
+        while(true) {
+            // 分母和分子都不能超出限制；整数部分为0时第一个渐近分数的分子是0，不限制j
+            long j = Math.min((maxDenominator - k2) / k1, h1 == 0 ? Long.MAX_VALUE : (maxNumerator - h2) / h1);
+            if(a > j) {
+                // 中间分数 (j*h1+h2)/(j*k1+k2) 比渐近分数 h1/k1 更接近，当且仅当完全商小于 2j + k2/k1
+                long t = a - 2 * j;
+                if(t < 0 || (t == 0 && compare(r, q, k2, k1) < 0)) {
+                    h1 = j * h1 + h2;
+                    k1 = j * k1 + k2;
+                }
+                break;
+            }
+            long h = a * h1 + h2;
+            long d = a * k1 + k2;
+            h2 = h1;
+            k2 = k1;
+            h1 = h;
+            k1 = d;
+            if(r == 0) {
+                break;
+            }
+            a = q / r;
+            long next = q % r;
+            q = r;
+            r = next;
+        }
+        return pack(significand < 0 ? -h1 : h1, k1);
+    }
+
+    /**
+     * toDouble方法 - 将 numerator/denominator 正确舍入为double（向最近的值舍入，距离相等时向偶数舍入）。
+     * <p>
+     * 分子和分母的绝对值都不超过2^53时，它们都能被double精确表示，而IEEE-754的除法本身就是正确舍入的，因此一次浮点除法就能得到正确的结果；
+     * 否则使用{@link equation.RationalMath#toDouble(BigInteger, BigInteger)}在二进制位上精确舍入。
+     * </p>
+     * @param numerator - long - 分子
+     * @param denominator - long - 分母，可以是负数，不能为0
+     * @return double - 最接近 numerator/denominator 的double，分子为0时永远是0.0而不是-0.0
+     */
+    static double toDouble(long numerator, long denominator) {
+        if(numerator == 0) {
+            // 分母是负数时浮点除法会得到-0.0
+            return 0.0;
+        } else if(fitsBits(numerator, 53) && fitsBits(denominator, 53)) {
+            return (double) numerator / denominator;
+        }
+        return toDouble(BigInteger.valueOf(numerator), BigInteger.valueOf(denominator));
+    }
+
+    /**
+     * toDouble方法 - 将 numerator/denominator 正确舍入为double。
+     * <p>
+     * 先求出带有55或56位有效数字的整数商和是否有余数，再按照IEEE-754的规则舍入到53位（非正规数时更少），
+     * 因此即使分子和分母远远超出double的范围，结果也只有一次舍入。超出double的范围时返回无穷大。
+     * </p>
+     * @param numerator - BigInteger - 分子
+     * @param denominator - BigInteger - 分母，可以是负数，不能为0
+     * @return double - 最接近 numerator/denominator 的double，分子为0时永远是0.0而不是-0.0
+     */
+    static double toDouble(BigInteger numerator, BigInteger denominator) {
+        if(numerator.signum() == 0) {
+            return 0.0;
+        } else if(numerator.bitLength() <= 53 && denominator.bitLength() <= 53) {
+            return numerator.doubleValue() / denominator.doubleValue();
+        }
+        return round(numerator, denominator, 53, -1022);
+    }
+
+    /**
+     * toFloat方法 - 将 numerator/denominator 正确舍入为float。
+     * <p>先转化为double再转化为float会舍入两次，可能得到错误的结果，因此不能在double的结果上直接转换。</p>
+     * @param numerator - long - 分子
+     * @param denominator - long - 分母，可以是负数，不能为0
+     * @return float - 最接近 numerator/denominator 的float，分子为0时永远是0.0f而不是-0.0f
+     */
+    static float toFloat(long numerator, long denominator) {
+        if(numerator == 0) {
+            return 0.0f;
+        } else if(fitsBits(numerator, 24) && fitsBits(denominator, 24)) {
+            return (float) numerator / denominator;
+        }
+        return toFloat(BigInteger.valueOf(numerator), BigInteger.valueOf(denominator));
+    }
+
+    /**
+     * toFloat方法 - 将 numerator/denominator 正确舍入为float。
+     * @param numerator - BigInteger - 分子
+     * @param denominator - BigInteger - 分母，可以是负数，不能为0
+     * @return float - 最接近 numerator/denominator 的float
+     */
+    static float toFloat(BigInteger numerator, BigInteger denominator) {
+        return (float) round(numerator, denominator, 24, -126);
+    }
+
+    /**
+     * toBigDecimal方法 - 将 numerator/denominator 按照context舍入为BigDecimal。
+     * <p>当context的精度为0（例如MathContext.UNLIMITED）而结果是无限小数时，会抛出ArithmeticException。</p>
+     * @param numerator - BigInteger - 分子
+     * @param denominator - BigInteger - 分母，不能为0
+     * @param context - MathContext - 精度和舍入模式
+     * @return BigDecimal - 舍入后的结果
+     */
+    static BigDecimal toBigDecimal(BigInteger numerator, BigInteger denominator, MathContext context) {
+        if(denominator.equals(BigInteger.ONE)) {
+            return new BigDecimal(numerator, context);
+        }
+        return new BigDecimal(numerator).divide(new BigDecimal(denominator), context);
+    }
+
+    /**
+     * toBigDecimal方法 - 将 numerator/denominator 按照context舍入为BigDecimal。
+     * @param numerator - long - 分子
+     * @param denominator - long - 分母，不能为0
+     * @param context - MathContext - 精度和舍入模式
+     * @return BigDecimal - 舍入后的结果
+     * @see equation.RationalMath#toBigDecimal(BigInteger, BigInteger, MathContext)
+     */
+    static BigDecimal toBigDecimal(long numerator, long denominator, MathContext context) {
+        if(denominator == 1) {
+            return new BigDecimal(numerator, context);
+        }
+        return BigDecimal.valueOf(numerator).divide(BigDecimal.valueOf(denominator), context);
+    }
+
+    /**
+     * fitsBits方法 - 判断value的绝对值是否不超过2^bits。
+     */
+    private static boolean fitsBits(long value, int bits) {
+        return value >= -(1L << bits) && value <= 1L << bits;
+    }
+
+    /**
+     * round方法 - 将 numerator/denominator 舍入为precision位有效数字的二进制浮点数，minExponent是最小的正规数指数。
+     * <p>结果以double返回，precision为24、minExponent为-126时，结果可以被float精确表示。</p>
+     */
+    private static double round(BigInteger numerator, BigInteger denominator, int precision, int minExponent) {
+        if(numerator.signum() == 0) {
+            return 0.0;
+        }
+        boolean negative = numerator.signum() != denominator.signum();
+        BigInteger a = numerator.abs();
+        BigInteger b = denominator.abs();
+        // 选择shift使得 a * 2^shift / b 在 [2^(precision + 1), 2^(precision + 3)) 之间
+        int shift = precision + 2 - (a.bitLength() - b.bitLength());
+        BigInteger[] division = shift >= 0 ? a.shiftLeft(shift).divideAndRemainder(b) : a.divideAndRemainder(b.shiftLeft(-shift));
+        long quotient = division[0].longValue();
+        boolean sticky = division[1].signum() != 0;
+        int bits = 64 - Long.numberOfLeadingZeros(quotient);
+        int exponent = bits - 1 - shift;
+        // 非正规数的有效数字更少，keep可能是0或负数
+        int keep = exponent >= minExponent ? precision : precision - (minExponent - exponent);
+        int drop = bits - keep;
+        if(drop >= 64) {
+            return negative ? -0.0 : 0.0;
+        }
+        long significand = quotient >>> drop;
+        long remainder = quotient & ((1L << drop) - 1);
+        long half = 1L << (drop - 1);
+        if(remainder > half || (remainder == half && (sticky || (significand & 1) == 1))) {
+            significand++;
+        }
+        // significand * 2^(drop - shift) 可以被精确表示（或者超出范围成为无穷大），因此scalb不会再次舍入
+        double result = Math.scalb((double) significand, drop - shift);
+        return negative ? -result : result;
+    }
+
+    /**
+     * divide方法 - 计算 dividend / divisor，并按照指定的舍入模式舍入为整数。
+     * <p>
+     * 舍入模式的含义与{@link java.math.BigDecimal#setScale(int, RoundingMode)}相同。
+     * 当舍入模式为RoundingMode.UNNECESSARY而结果不是整数时，会抛出ArithmeticException。
+     * </p>
+     * @param dividend - long - 被除数
+     * @param divisor - long - 除数，必须是正数
+     * @param mode - RoundingMode - 舍入模式
+     * @return long - 舍入后的商
+     */
+    static long divide(long dividend, long divisor, RoundingMode mode) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if(remainder == 0) {
+            return quotient;
+        }
+        int sign = dividend < 0 ? -1 : 1;
+        boolean away;
+        switch(mode) {
+            case UNNECESSARY:
+                throw new ArithmeticException("Rounding necessary");
+            case DOWN:
+                away = false;
+                break;
+            case UP:
+                away = true;
+                break;
+            case FLOOR:
+                away = sign < 0;
+                break;
+            case CEILING:
+                away = sign > 0;
+                break;
+            default:
+                // 比较余数与除数的一半，divisor - |remainder|不会溢出
+                int half = Long.compare(Math.abs(remainder), divisor - Math.abs(remainder));
+                if(half != 0) {
+                    away = half > 0;
+                } else if(mode == RoundingMode.HALF_UP) {
+                    away = true;
+                } else if(mode == RoundingMode.HALF_DOWN) {
+                    away = false;
+                } else {
+                    away = (quotient & 1) != 0;
+                }
+                break;
+        }
+        return away ? quotient + sign : quotient;
+    }
+
+    /**
+     * divide方法 - 计算 dividend / divisor，并按照指定的舍入模式舍入为long。
+     * <p>与{@link equation.RationalMath#divide(long, long, RoundingMode)}相同，用于乘积超出long范围时的回退路径。当结果超出long的范围时，会抛出ArithmeticException。</p>
+     * @param dividend - BigInteger - 被除数
+     * @param divisor - BigInteger - 除数，不能为0
+     * @param mode - RoundingMode - 舍入模式
+     * @return long - 舍入后的商
+     */
+    static long divide(BigInteger dividend, BigInteger divisor, RoundingMode mode) {
+        return new BigDecimal(dividend).divide(new BigDecimal(divisor), 0, mode).longValueExact();
+    }
+
+    /**
+     * hashCode方法 - 计算最简分数 numerator/denominator 的hashCode。
+     * <p>所有按数值判断相等的Number实现都应该对化简后、分母为正数的分子和分母使用该方法，这样相等的对象才会有相同的hashCode。</p>
+     * @param numerator - long - 最简分数的分子
+     * @param denominator - long - 最简分数的分母，必须是正数
+     * @return int - hashCode
+     */
+    static int hashCode(long numerator, long denominator) {
+        return 31 * Long.hashCode(numerator) + Long.hashCode(denominator);
+    }
+
+    /**
+     * addExact方法 - 使用long计算 n1/d1 + n2/d2，并把结果写入numerators[index]和denominators[index]。
+     * <p>
+     * 两个分数都必须是分母为正数的最简分数，并且分子不能是Long.MIN_VALUE；结果同样满足这些条件。
+     * 计算方法与{@link equation.RationalMath#add(int, int, int, int)}相同。溢出时抛出ArithmeticException，此时数组不会被修改。
+     * </p>
+     * @param n1 - long - 第一个分数的分子
+     * @param d1 - long - 第一个分数的分母
+     * @param n2 - long - 第二个分数的分子
+     * @param d2 - long - 第二个分数的分母
+     * @param numerators - long[] - 存放结果分子的数组
+     * @param denominators - long[] - 存放结果分母的数组
+     * @param index - int - 结果在数组中的位置
+     */
+    static void addExact(long n1, long d1, long n2, long d2, long[] numerators, long[] denominators, int index) {
+        long g1 = gcd(d1, d2);
+        long numerator;
+        long denominator;
+        if(g1 == 1) {
+            numerator = Math.addExact(Math.multiplyExact(n1, d2), Math.multiplyExact(n2, d1));
+            denominator = Math.multiplyExact(d1, d2);
+        } else {
+            long t = Math.addExact(Math.multiplyExact(n1, d2 / g1), Math.multiplyExact(n2, d1 / g1));
+            long g2 = gcd(t, g1);
+            numerator = t / g2;
+            denominator = Math.multiplyExact(d1 / g1, d2 / g2);
+        }
+        store(numerator, denominator, numerators, denominators, index);
+    }
+
+    /**
+     * multiplyExact方法 - 使用long计算 n1/d1 * n2/d2，并把结果写入numerators[index]和denominators[index]。
+     * <p>对参数的要求与{@link equation.RationalMath#addExact(long, long, long, long, long[], long[], int)}相同。溢出时抛出ArithmeticException。</p>
+     * @param n1 - long - 第一个分数的分子
+     * @param d1 - long - 第一个分数的分母
+     * @param n2 - long - 第二个分数的分子
+     * @param d2 - long - 第二个分数的分母
+     * @param numerators - long[] - 存放结果分子的数组
+     * @param denominators - long[] - 存放结果分母的数组
+     * @param index - int - 结果在数组中的位置
+     */
+    static void multiplyExact(long n1, long d1, long n2, long d2, long[] numerators, long[] denominators, int index) {
+        long g1 = gcd(n1, d2);
+        long g2 = gcd(n2, d1);
+        store(Math.multiplyExact(n1 / g1, n2 / g2), Math.multiplyExact(d1 / g2, d2 / g1), numerators, denominators, index);
+    }
+
+    /**
+     * divideExact方法 - 使用long计算 (n1/d1) / (n2/d2)，并把结果写入numerators[index]和denominators[index]。
+     * <p>对参数的要求与{@link equation.RationalMath#addExact(long, long, long, long, long[], long[], int)}相同。除数为0时抛出UnexpectValueException，溢出时抛出ArithmeticException。</p>
+     * @param n1 - long - 被除数的分子
+     * @param d1 - long - 被除数的分母
+     * @param n2 - long - 除数的分子
+     * @param d2 - long - 除数的分母
+     * @param numerators - long[] - 存放结果分子的数组
+     * @param denominators - long[] - 存放结果分母的数组
+     * @param index - int - 结果在数组中的位置
+     */
+    static void divideExact(long n1, long d1, long n2, long d2, long[] numerators, long[] denominators, int index) {
+        if(n2 == 0) {
+            throw new UnexpectValueException("除数不能为0。");
+        } else if(n2 < 0) {
+            multiplyExact(n1, d1, -d2, -n2, numerators, denominators, index);
+        } else {
+            multiplyExact(n1, d1, d2, n2, numerators, denominators, index);
+        }
+    }
+
+    /**
+     * powerExact方法 - 使用long计算 (n/d)^exponent，并把结果写入numerators[index]和denominators[index]。
+     * <p>对参数的要求与{@link equation.RationalMath#addExact(long, long, long, long, long[], long[], int)}相同。0的负数次幂抛出UnexpectValueException，溢出时抛出ArithmeticException。</p>
+     * @param n - long - 底数的分子
+     * @param d - long - 底数的分母
+     * @param exponent - int - 指数
+     * @param numerators - long[] - 存放结果分子的数组
+     * @param denominators - long[] - 存放结果分母的数组
+     * @param index - int - 结果在数组中的位置
+     */
+    static void powerExact(long n, long d, int exponent, long[] numerators, long[] denominators, int index) {
+        long e = Math.abs((long) exponent);
+        long numerator = powExact(n, e);
+        long denominator = powExact(d, e);
+        if(exponent >= 0) {
+            store(numerator, denominator, numerators, denominators, index);
+        } else if(numerator == 0) {
+            throw new UnexpectValueException("0不能进行负数次幂运算。");
+        } else if(numerator < 0) {
+            store(-denominator, Math.negateExact(numerator), numerators, denominators, index);
+        } else {
+            store(denominator, numerator, numerators, denominators, index);
+        }
+    }
+
+    /**
+     * store方法 - 将已经化简的结果写入数组。分子为Long.MIN_VALUE时抛出ArithmeticException，以保证之后取负数时不会溢出。
+     */
+    private static void store(long numerator, long denominator, long[] numerators, long[] denominators, int index) {
+        if(numerator == Long.MIN_VALUE) {
+            throw new ArithmeticException("long overflow");
+        }
+        numerators[index] = numerator;
+        denominators[index] = denominator;
+    }
+
+    /**
+     * reduce方法 - 将 numerator/denominator 化简为分母为正数的最简分数，并写入numerators[index]和denominators[index]。
+     * <p>写入的分数满足{@link equation.RationalMath#addExact(long, long, long, long, long[], long[], int)}对参数的要求。当分母为0时，会抛出UnexpectValueException。</p>
+     * @param numerator - long - 分子
+     * @param denominator - long - 分母
+     * @param numerators - long[] - 存放分子的数组
+     * @param denominators - long[] - 存放分母的数组
+     * @param index - int - 在数组中的位置
+     * @return boolean - 当化简后的分数不能放进long（分子不能是Long.MIN_VALUE）时返回false，此时数组不会被修改
+     */
+    static boolean reduce(long numerator, long denominator, long[] numerators, long[] denominators, int index) {
+        if(denominator == 0) {
+            throw new UnexpectValueException("分母不能为0。");
+        }
+        long gcd = gcd(numerator, denominator);
+        if(gcd == Long.MIN_VALUE) {
+            // 分子和分母都是±2^63，或者分子是0、分母是-2^63
+            numerator = numerator == 0 ? 0 : 1;
+            denominator = 1;
+        } else if(gcd != 1) {
+            numerator /= gcd;
+            denominator /= gcd;
+        }
+        if(denominator < 0) {
+            if(numerator == Long.MIN_VALUE || denominator == Long.MIN_VALUE) {
+                return false;
+            }
+            numerator = -numerator;
+            denominator = -denominator;
+        } else if(numerator == Long.MIN_VALUE) {
+            return false;
+        }
+        numerators[index] = numerator;
+        denominators[index] = denominator;
+        return true;
+    }
+
+    /**
+     * load方法 - 将一个Number对象化简后写入numerators[index]和denominators[index]。
+     * <p>写入的分数满足{@link equation.RationalMath#addExact(long, long, long, long, long[], long[], int)}对参数的要求。</p>
+     * @param num - Number - 需要写入的数
+     * @param numerators - long[] - 存放分子的数组
+     * @param denominators - long[] - 存放分母的数组
+     * @param index - int - 在数组中的位置
+     * @return boolean - 当传入的数超出long的范围时返回false，此时数组不会被修改
+     */
+    static boolean load(Number num, long[] numerators, long[] denominators, int index) {
+        if(num instanceof LazyNumber) {
+            num = ((LazyNumber) num).evaluate();
+        }
+        if(num instanceof Rational) {
+            Rational rational = (Rational) num;
+            numerators[index] = rational.getNumerator();
+            denominators[index] = rational.getDenominator();
+            return true;
+        } else if(num instanceof HybridFraction) {
+            HybridFraction hybrid = (HybridFraction) num;
+            if(hybrid.big != null) {
+                return false;
+            }
+            numerators[index] = hybrid.numerator;
+            denominators[index] = hybrid.denominator;
+            return true;
+        } else if(num instanceof AbstractRationalNumber) {
+            AbstractRationalNumber rational = (AbstractRationalNumber) num;
+            long gcd = gcd((long) rational.numerator, rational.denominator);
+            long numerator = rational.numerator / gcd;
+            long denominator = rational.denominator / gcd;
+            numerators[index] = denominator < 0 ? -numerator : numerator;
+            denominators[index] = Math.abs(denominator);
+            return true;
+        }
+        BigFraction big = BigFraction.valueOf(num);
+        if(big.getNumerator().bitLength() >= 64 || big.getDenominator().bitLength() >= 64
+                || big.getNumerator().longValue() == Long.MIN_VALUE) {
+            return false;
+        }
+        numerators[index] = big.getNumerator().longValue();
+        denominators[index] = big.getDenominator().longValue();
+        return true;
+    }
+
+    /**
+     * isExact方法 - 判断num是否是能精确转化为分数的类型，即{@link equation.Equation#toBigFraction(Number)}不会返回null。
+     * @param num - Number - 需要判断的数
+     * @return boolean - 是否能精确转化为分数
+     */
+    static boolean isExact(Number num) {
+        return num instanceof AbstractRationalNumber || num instanceof Rational || num instanceof HybridFraction
+                || num instanceof BigFraction || num instanceof FixedFraction || num instanceof LazyNumber;
+    }
+
+    /**
+     * compare方法 - 比较 numerator/denominator 与num的精确值。
+     * <p>
+     * AbstractRationalNumber、Rational以及long形式的HybridFraction直接读取分子和分母交叉相乘，不创建任何对象；
+     * 其它类型能放进long时同样交叉相乘比较，否则使用BigFraction比较，因此不会因为num超出int或long的范围而抛出ArithmeticException。
+     * 当num的类型无法识别时，会抛出UnexpectValueException。
+     * </p>
+     * @param numerator - long - 分子
+     * @param denominator - long - 分母，可以是负数，不能为0
+     * @param num - Number - 需要比较的数
+     * @return int - 小于、等于、大于时分别返回负数、0、正数
+     * @see equation.RationalMath#compare(long, long, long, long)
+     */
+    static int compare(long numerator, long denominator, Number num) {
+        if(num instanceof AbstractRationalNumber) {
+            // 分母可以是负数，compare(long, long, long, long)会处理符号，不需要先化简
+            AbstractRationalNumber rational = (AbstractRationalNumber) num;
+            return compare(numerator, denominator, rational.numerator, rational.denominator);
+        } else if(num instanceof Rational) {
+            Rational rational = (Rational) num;
+            return compare(numerator, denominator, rational.getNumerator(), rational.getDenominator());
+        } else if(num instanceof HybridFraction && ((HybridFraction) num).big == null) {
+            HybridFraction hybrid = (HybridFraction) num;
+            return compare(numerator, denominator, hybrid.numerator, hybrid.denominator);
+        }
+        long[] numerators = new long[1];
+        long[] denominators = new long[1];
+        if(load(num, numerators, denominators, 0)) {
+            return compare(numerator, denominator, numerators[0], denominators[0]);
+        }
+        return BigFraction.valueOf(numerator, denominator).compareTo(num);
+    }
+
+    /**
+     * unrecognized方法 - 创建num无法精确转化为分数时抛出的异常。
+     * <p>RationalInterval表示一个范围而不是一个精确的数，因此会提示先用{@link equation.RationalInterval#valueOf(Number)}把另一个操作数转化为区间。</p>
+     * @param num - Number - 无法转化的数
+     * @return UnexpectValueException - 需要抛出的异常
+     */
+    static UnexpectValueException unrecognized(Number num) {
+        if(num instanceof RationalInterval) {
+            return new UnexpectValueException("RationalInterval不是精确的数，请先用RationalInterval.valueOf把另一个操作数转化为区间后再运算。");
+        }
+        return new UnexpectValueException("无法识别的Number类型：" + num.getClass().getName());
+    }
+}
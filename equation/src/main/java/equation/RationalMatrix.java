@@ -0,0 +1,406 @@
+package equation;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * RationalMatrix - 不可变的分数矩阵，可以精确地求解线性方程组、行列式、逆矩阵和秩。
+ * <p>
+ * 矩阵中的每个元素都是一个{@link equation.BigFraction}，因此所有运算都不会溢出，结果永远是精确的。
+ * 求解时先把每一行乘以该行所有分母的最小公倍数，使矩阵变成整数矩阵，再使用Bareiss无分数消元法：
+ * 每一步消元都是 (a*p - b*c) / 上一个主元，这个除法永远是整除，因此整个过程中只有整数运算，不需要任何最大公约数，
+ * 并且中间结果的大小不会超过矩阵子式的大小。只有最后的回代结果才会被化简为分数。
+ * </p>
+ * <blockquote><pre>
+// x + 2y = 5
+// 3x - y = 1
+RationalMatrix a = RationalMatrix.valueOf(new long[][] { { 1, 2 }, { 3, -1 } });
+a.solve(new Number[] { new Fraction(5), new Fraction(1) }); // [1, 2]
+a.determinant(); // -7/1
+a.inverse(); // [[1/7, 2/7], [3/7, -1/7]]
+ * </pre></blockquote>
+ * @see equation.Equation#solve(Number[][], Number[])
+ */
+public final class RationalMatrix {
+    private final int rows;
+    private final int columns;
+
+    /**
+     * entries属性 - 按行存储的所有元素。
+     */
+    private final BigFraction[] entries;
+
+    /**
+     * RationalMatrix - 私有的构造函数。
+     */
+    private RationalMatrix(int rows, int columns, BigFraction[] entries) {
+        super();
+        this.rows = rows;
+        this.columns = columns;
+        this.entries = entries;
+    }
+
+    /**
+     * valueOf方法 - 通过二维Number数组创建矩阵。
+     * <p>当数组为空或者每一行的长度不相同时，会抛出UnexpectValueException。</p>
+     * @param values - Number[][] - 按行排列的元素
+     * @return RationalMatrix - 对应的矩阵
+     */
+    public static RationalMatrix valueOf(Number[][] values) {
+        int columns = checkShape(values.length, values.length == 0 ? 0 : values[0].length);
+        BigFraction[] entries = new BigFraction[values.length * columns];
+        for(int i = 0; i < values.length; i++) {
+            if(values[i].length != columns) {
+                throw new UnexpectValueException("矩阵的每一行长度必须相同。");
+            }
+            for(int j = 0; j < columns; j++) {
+                entries[i * columns + j] = BigFraction.valueOf(values[i][j]);
+            }
+        }
+        return new RationalMatrix(values.length, columns, entries);
+    }
+
+    /**
+     * valueOf方法 - 通过二维long数组创建整数矩阵。
+     * @param values - long[][] - 按行排列的元素
+     * @return RationalMatrix - 对应的矩阵
+     * @see equation.RationalMatrix#valueOf(Number[][])
+     */
+    public static RationalMatrix valueOf(long[][] values) {
+        int columns = checkShape(values.length, values.length == 0 ? 0 : values[0].length);
+        BigFraction[] entries = new BigFraction[values.length * columns];
+        for(int i = 0; i < values.length; i++) {
+            if(values[i].length != columns) {
+                throw new UnexpectValueException("矩阵的每一行长度必须相同。");
+            }
+            for(int j = 0; j < columns; j++) {
+                entries[i * columns + j] = BigFraction.valueOf(values[i][j]);
+            }
+        }
+        return new RationalMatrix(values.length, columns, entries);
+    }
+
+    /**
+     * identity方法 - 创建size阶单位矩阵。
+     * @param size - int - 矩阵的阶数，必须是正数
+     * @return RationalMatrix - 单位矩阵
+     */
+    public static RationalMatrix identity(int size) {
+        checkShape(size, size);
+        BigFraction[] entries = new BigFraction[size * size];
+        Arrays.fill(entries, BigFraction.ZERO);
+        for(int i = 0; i < size; i++) {
+            entries[i * size + i] = BigFraction.ONE;
+        }
+        return new RationalMatrix(size, size, entries);
+    }
+
+    /**
+     * getRows方法 - 返回矩阵的行数。
+     * @return int - 行数
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * getColumns方法 - 返回矩阵的列数。
+     * @return int - 列数
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * get方法 - 获取第row行、第column列的元素（从0开始）。
+     * @param row - int - 行号
+     * @param column - int - 列号
+     * @return BigFraction - 对应的元素
+     */
+    public BigFraction get(int row, int column) {
+        if(row < 0 || row >= rows || column < 0 || column >= columns) {
+            throw new IndexOutOfBoundsException("(" + row + ", " + column + ")");
+        }
+        return entries[row * columns + column];
+    }
+
+    /**
+     * multiply方法 - 计算矩阵乘积 this * other。当this的列数与other的行数不同时，会抛出UnexpectValueException。
+     * @param other - RationalMatrix - 右边的矩阵
+     * @return RationalMatrix - 乘积
+     */
+    public RationalMatrix multiply(RationalMatrix other) {
+        if(columns != other.rows) {
+            throw new UnexpectValueException("矩阵的大小不匹配。");
+        }
+        BigFraction[] result = new BigFraction[rows * other.columns];
+        for(int i = 0; i < rows; i++) {
+            for(int j = 0; j < other.columns; j++) {
+                BigFraction total = BigFraction.ZERO;
+                for(int k = 0; k < columns; k++) {
+                    BigFraction a = entries[i * columns + k];
+                    if(a.getNumerator().signum() != 0) {
+                        total = (BigFraction) total.add(a.mult(other.entries[k * other.columns + j]));
+                    }
+                }
+                result[i * other.columns + j] = total;
+            }
+        }
+        return new RationalMatrix(rows, other.columns, result);
+    }
+
+    /**
+     * transpose方法 - 返回转置矩阵。
+     * @return RationalMatrix - 转置矩阵
+     */
+    public RationalMatrix transpose() {
+        BigFraction[] result = new BigFraction[entries.length];
+        for(int i = 0; i < rows; i++) {
+            for(int j = 0; j < columns; j++) {
+                result[j * rows + i] = entries[i * columns + j];
+            }
+        }
+        return new RationalMatrix(columns, rows, result);
+    }
+
+    /**
+     * determinant方法 - 使用Bareiss消元法求行列式。当矩阵不是方阵时，会抛出UnexpectValueException。
+     * @return BigFraction - 行列式的值
+     */
+    public BigFraction determinant() {
+        checkSquare();
+        BigInteger[] scales = new BigInteger[rows];
+        BigInteger[][] m = toIntegerRows(scales, 0);
+        Echelon echelon = eliminate(m, columns);
+        if(echelon.rank < rows) {
+            return BigFraction.ZERO;
+        }
+        BigInteger numerator = m[rows - 1][columns - 1];
+        if(echelon.negative) {
+            numerator = numerator.negate();
+        }
+        BigInteger denominator = BigInteger.ONE;
+        for(BigInteger scale : scales) {
+            denominator = denominator.multiply(scale);
+        }
+        return BigFraction.valueOf(numerator, denominator);
+    }
+
+    /**
+     * rank方法 - 使用Bareiss消元法求矩阵的秩。
+     * @return int - 矩阵的秩
+     */
+    public int rank() {
+        return eliminate(toIntegerRows(new BigInteger[rows], 0), columns).rank;
+    }
+
+    /**
+     * inverse方法 - 求逆矩阵。当矩阵不是方阵或者不可逆时，会抛出UnexpectValueException。
+     * @return RationalMatrix - 逆矩阵
+     */
+    public RationalMatrix inverse() {
+        checkSquare();
+        BigInteger[] scales = new BigInteger[rows];
+        BigInteger[][] m = toIntegerRows(scales, rows);
+        for(int i = 0; i < rows; i++) {
+            // 每一行乘以了scales[i]，右边的单位矩阵也要乘以同样的数
+            m[i][columns + i] = scales[i];
+        }
+        return new RationalMatrix(rows, rows, backSubstitute(m, rows));
+    }
+
+    /**
+     * solve方法 - 精确地求解线性方程组 this * x = constants。
+     * <p>当系数矩阵不是方阵、constants的长度与行数不同或者方程组没有唯一解时，会抛出UnexpectValueException。</p>
+     * @param constants - Number[] - 常数项
+     * @return BigFraction[] - 方程组的解
+     */
+    public BigFraction[] solve(Number[] constants) {
+        checkSquare();
+        if(constants.length != rows) {
+            throw new UnexpectValueException("常数项的个数与方程的个数不相同。");
+        }
+        BigInteger[] scales = new BigInteger[rows];
+        BigFraction[] values = new BigFraction[rows];
+        for(int i = 0; i < rows; i++) {
+            values[i] = BigFraction.valueOf(constants[i]);
+        }
+        BigInteger[][] m = toIntegerRows(scales, 1, values);
+        return backSubstitute(m, 1);
+    }
+
+    /**
+     * equals方法 - 判断两个矩阵的大小和所有元素是否都相等。
+     * @param object - Object - 需要比较的对象
+     * @return boolean - 是否相等
+     */
+    public boolean equals(Object object) {
+        if(object == this) {
+            return true;
+        } else if(!(object instanceof RationalMatrix)) {
+            return false;
+        }
+        RationalMatrix other = (RationalMatrix) object;
+        return rows == other.rows && columns == other.columns && Arrays.equals(entries, other.entries);
+    }
+
+    /**
+     * hashCode方法 - 返回基于所有元素计算的hashCode。
+     * @return int - hashCode
+     */
+    public int hashCode() {
+        return 31 * rows + Arrays.hashCode(entries);
+    }
+
+    /**
+     * toString方法 - 返回矩阵的字符串形式，例如[[1/2, 0/1], [0/1, 1/2]]。
+     * @return String - 转化后的字符串
+     */
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        for(int i = 0; i < rows; i++) {
+            builder.append(i > 0 ? ", [" : "[");
+            for(int j = 0; j < columns; j++) {
+                if(j > 0) {
+                    builder.append(", ");
+                }
+                builder.append(entries[i * columns + j]);
+            }
+            builder.append(']');
+        }
+        return builder.append(']').toString();
+    }
+
+    /**
+     * toIntegerRows方法 - 把每一行乘以该行所有分母的最小公倍数，得到整数矩阵，右边再留出extra列。
+     * @param scales - BigInteger[] - 存放每一行所乘的数
+     * @param extra - int - 右边额外的列数
+     * @param values - BigFraction[] - 当extra为1时，放在最后一列的常数项（与系数一起通分）
+     * @return BigInteger[][] - 整数矩阵
+     */
+    private BigInteger[][] toIntegerRows(BigInteger[] scales, int extra, BigFraction... values) {
+        BigInteger[][] m = new BigInteger[rows][columns + extra];
+        for(int i = 0; i < rows; i++) {
+            BigInteger lcm = BigInteger.ONE;
+            for(int j = 0; j < columns; j++) {
+                lcm = lcm(lcm, entries[i * columns + j].getDenominator());
+            }
+            if(values.length > 0) {
+                lcm = lcm(lcm, values[i].getDenominator());
+            }
+            for(int j = 0; j < columns; j++) {
+                BigFraction entry = entries[i * columns + j];
+                m[i][j] = entry.getNumerator().multiply(lcm.divide(entry.getDenominator()));
+            }
+            Arrays.fill(m[i], columns, columns + extra, BigInteger.ZERO);
+            if(values.length > 0) {
+                m[i][columns] = values[i].getNumerator().multiply(lcm.divide(values[i].getDenominator()));
+            }
+            scales[i] = lcm;
+        }
+        return m;
+    }
+
+    /**
+     * backSubstitute方法 - 对[A | B]做Bareiss消元后无分数地回代，求 A * X = B 的解，按行存储。
+     * <p>设d为最后一个主元（即行列式），则 y = d * x 都是整数：y[i] = (d * b[i] - Σ a[i][j] * y[j]) / a[i][i]，这个除法永远是整除。</p>
+     */
+    private BigFraction[] backSubstitute(BigInteger[][] m, int extra) {
+        Echelon echelon = eliminate(m, columns);
+        if(echelon.rank < rows) {
+            throw new UnexpectValueException("系数矩阵是奇异矩阵，方程组没有唯一解。");
+        }
+        BigInteger d = m[rows - 1][columns - 1];
+        BigFraction[] result = new BigFraction[rows * extra];
+        BigInteger[] y = new BigInteger[rows];
+        for(int t = 0; t < extra; t++) {
+            for(int i = rows - 1; i >= 0; i--) {
+                BigInteger total = d.multiply(m[i][columns + t]);
+                for(int j = i + 1; j < rows; j++) {
+                    if(m[i][j].signum() != 0) {
+                        total = total.subtract(m[i][j].multiply(y[j]));
+                    }
+                }
+                y[i] = total.divide(m[i][i]);
+                result[i * extra + t] = BigFraction.valueOf(y[i], d);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * eliminate方法 - 在前limit列中对整数矩阵做Bareiss无分数消元，把它化为阶梯形。
+     * <p>每一列选择绝对值位数最少的非零元素作为主元；整列为0时跳过该列。矩阵会被原地修改。</p>
+     * @param m - BigInteger[][] - 整数矩阵
+     * @param limit - int - 参与选主元的列数，右边的列只跟着做行变换
+     * @return Echelon - 秩以及行交换的奇偶性
+     */
+    private static Echelon eliminate(BigInteger[][] m, int limit) {
+        Echelon echelon = new Echelon();
+        BigInteger previous = BigInteger.ONE;
+        int width = m.length == 0 ? 0 : m[0].length;
+        for(int c = 0; c < limit && echelon.rank < m.length; c++) {
+            int r = echelon.rank;
+            int best = -1;
+            for(int i = r; i < m.length; i++) {
+                if(m[i][c].signum() != 0 && (best < 0 || m[i][c].bitLength() < m[best][c].bitLength())) {
+                    best = i;
+                }
+            }
+            if(best < 0) {
+                continue;
+            }
+            if(best != r) {
+                BigInteger[] temp = m[best];
+                m[best] = m[r];
+                m[r] = temp;
+                echelon.negative = !echelon.negative;
+            }
+            BigInteger pivot = m[r][c];
+            for(int i = r + 1; i < m.length; i++) {
+                BigInteger factor = m[i][c];
+                for(int j = c + 1; j < width; j++) {
+                    BigInteger value = m[i][j].multiply(pivot);
+                    if(factor.signum() != 0 && m[r][j].signum() != 0) {
+                        value = value.subtract(factor.multiply(m[r][j]));
+                    }
+                    m[i][j] = previous.equals(BigInteger.ONE) ? value : value.divide(previous);
+                }
+                m[i][c] = BigInteger.ZERO;
+            }
+            previous = pivot;
+            echelon.rank++;
+        }
+        return echelon;
+    }
+
+    private static BigInteger lcm(BigInteger a, BigInteger b) {
+        if(a.equals(BigInteger.ONE)) {
+            return b;
+        } else if(b.equals(BigInteger.ONE) || a.equals(b)) {
+            return a;
+        }
+        return a.divide(a.gcd(b)).multiply(b);
+    }
+
+    private static int checkShape(int rows, int columns) {
+        if(rows <= 0 || columns <= 0) {
+            throw new UnexpectValueException("矩阵的行数和列数必须是正数。");
+        }
+        return columns;
+    }
+
+    private void checkSquare() {
+        if(rows != columns) {
+            throw new UnexpectValueException("矩阵不是方阵。");
+        }
+    }
+
+    /**
+     * Echelon - 消元的结果：矩阵的秩以及行交换次数是否为奇数。
+     */
+    private static final class Echelon {
+        int rank;
+        boolean negative;
+    }
+}
@@ -0,0 +1,683 @@
+package equation;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * RationalPolynomial - 系数为分数的不可变一元多项式。
+ * <p>
+ * 系数按照次数从低到高保存为{@link equation.BigFraction}，因此所有运算都是精确的。为了减少分数运算，多项式在创建时还会保存一份
+ * 乘以所有分母的最小公倍数之后得到的整数系数：求值使用无分数的Horner算法，只在最后化简一次；
+ * 乘法在整数系数上进行，次数较高时使用Karatsuba算法。
+ * </p>
+ * <p>
+ * {@link equation.RationalPolynomial#isolateRoots()}使用Sturm序列找出所有实根：每个实根都被隔离在一个只包含这一个根的区间里，
+ * 区间可以继续二分到任意小的宽度。
+ * </p>
+ * <blockquote><pre>
+RationalPolynomial p = RationalPolynomial.valueOf(-2, 0, 1); // x^2 - 2
+p.evaluate(new Fraction(3, 2)); // 1/4
+p.derivative(); // 2*x
+p.countRealRoots(); // 2
+p.isolateRoots(new Fraction(1, 1000)); // 两个宽度不超过1/1000的区间，分别包含 -√2 和 √2
+ * </pre></blockquote>
+ * @see equation.RationalVector
+ */
+public final class RationalPolynomial {
+    /**
+     * ZERO常量 - 零多项式，它的次数是-1。
+     */
+    public static final RationalPolynomial ZERO = new RationalPolynomial(new BigFraction[0]);
+
+    /**
+     * ONE常量 - 常数多项式1。
+     */
+    public static final RationalPolynomial ONE = new RationalPolynomial(new BigFraction[] { BigFraction.ONE });
+
+    /**
+     * KARATSUBA_THRESHOLD常量 - 两个多项式的系数个数都不少于该值时，乘法使用Karatsuba算法。
+     */
+    static final int KARATSUBA_THRESHOLD = 32;
+
+    /**
+     * coefficients属性 - 按次数从低到高排列的系数，最高次项的系数不为0。
+     */
+    private final BigFraction[] coefficients;
+
+    /**
+     * integers属性 - 系数乘以scale之后得到的整数系数。
+     */
+    private final BigInteger[] integers;
+
+    /**
+     * scale属性 - 所有系数分母的最小公倍数。
+     */
+    private final BigInteger scale;
+
+    /**
+     * numerators和denominators属性 - 所有系数都能放进long时，供批量求值使用的long系数。
+     */
+    private final long[] numerators;
+    private final long[] denominators;
+    private final boolean fitsLong;
+
+    /**
+     * RationalPolynomial - 私有的构造函数。传入的数组最高次项的系数不能为0。
+     */
+    private RationalPolynomial(BigFraction[] coefficients) {
+        super();
+        this.coefficients = coefficients;
+        BigInteger lcm = BigInteger.ONE;
+        for(BigFraction coefficient : coefficients) {
+            BigInteger d = coefficient.getDenominator();
+            if(!d.equals(BigInteger.ONE) && !d.equals(lcm)) {
+                lcm = lcm.divide(lcm.gcd(d)).multiply(d);
+            }
+        }
+        scale = lcm;
+        integers = new BigInteger[coefficients.length];
+        numerators = new long[coefficients.length];
+        denominators = new long[coefficients.length];
+        boolean fits = true;
+        for(int i = 0; i < coefficients.length; i++) {
+            integers[i] = coefficients[i].getNumerator().multiply(lcm.divide(coefficients[i].getDenominator()));
+            fits &= RationalMath.load(coefficients[i], numerators, denominators, i);
+        }
+        fitsLong = fits;
+    }
+
+    /**
+     * valueOf方法 - 通过按次数从低到高排列的系数创建多项式。
+     * <blockquote><pre>
+RationalPolynomial.valueOf(new Fraction(1, 2), new Fraction(0), new Fraction(3)); // 3*x^2 + 1/2
+     * </pre></blockquote>
+     * @param coefficients - Number... - 常数项、一次项、二次项……的系数
+     * @return RationalPolynomial - 对应的多项式
+     */
+    public static RationalPolynomial valueOf(Number... coefficients) {
+        BigFraction[] values = new BigFraction[coefficients.length];
+        for(int i = 0; i < coefficients.length; i++) {
+            values[i] = BigFraction.valueOf(coefficients[i]);
+        }
+        return trim(values, values.length);
+    }
+
+    /**
+     * valueOf方法 - 通过按次数从低到高排列的整数系数创建多项式。
+     * @param coefficients - long... - 常数项、一次项、二次项……的系数
+     * @return RationalPolynomial - 对应的多项式
+     * @see equation.RationalPolynomial#valueOf(Number...)
+     */
+    public static RationalPolynomial valueOf(long... coefficients) {
+        BigFraction[] values = new BigFraction[coefficients.length];
+        for(int i = 0; i < coefficients.length; i++) {
+            values[i] = BigFraction.valueOf(coefficients[i]);
+        }
+        return trim(values, values.length);
+    }
+
+    /**
+     * degree方法 - 返回多项式的次数。零多项式的次数是-1。
+     * @return int - 多项式的次数
+     */
+    public int degree() {
+        return coefficients.length - 1;
+    }
+
+    /**
+     * getCoefficient方法 - 获取index次项的系数。index超过次数时返回0。
+     * @param index - int - 次数
+     * @return BigFraction - 对应的系数
+     */
+    public BigFraction getCoefficient(int index) {
+        if(index < 0) {
+            throw new IndexOutOfBoundsException(Integer.toString(index));
+        }
+        return index < coefficients.length ? coefficients[index] : BigFraction.ZERO;
+    }
+
+    /**
+     * evaluate方法 - 计算多项式在x处的值。
+     * <p>设x = n/d，使用无分数的Horner算法计算 d^degree * scale * p(n/d)，整个过程只有整数运算，最后化简一次。</p>
+     * @param x - Number - 自变量的值
+     * @return BigFraction - 多项式的值
+     */
+    public BigFraction evaluate(Number x) {
+        if(coefficients.length == 0) {
+            return BigFraction.ZERO;
+        }
+        BigFraction value = BigFraction.valueOf(x);
+        BigInteger total = horner(integers, value);
+        BigInteger power = value.getDenominator().pow(coefficients.length - 1);
+        return BigFraction.valueOf(total, power.multiply(scale));
+    }
+
+    /**
+     * evaluate方法 - 计算多项式在points中每一个点的值，结果写入out。
+     * <p>
+     * 每个点都在long上使用Horner算法计算，每一步都写回out中对应的位置，整个循环不会创建任何对象。out可以就是points本身。
+     * 当两个向量的长度不相同时，会抛出UnexpectValueException；当系数或者某一步的结果超出long的范围时，会抛出ArithmeticException。
+     * </p>
+     * <blockquote><pre>
+RationalPolynomial p = RationalPolynomial.valueOf(1, 1, 1); // x^2 + x + 1
+RationalVector xs = RationalVector.valueOf(new Fraction[] { new Fraction(0), new Fraction(1, 2), new Fraction(2) });
+p.evaluate(xs, xs); // [1/1, 7/4, 7/1]
+     * </pre></blockquote>
+     * @param points - RationalVector - 自变量的值
+     * @param out - RationalVector - 存放结果的向量
+     * @return RationalVector - out
+     */
+    public RationalVector evaluate(RationalVector points, RationalVector out) {
+        if(points.length() != out.length()) {
+            throw new UnexpectValueException("向量的长度不相同。");
+        } else if(!fitsLong) {
+            throw new ArithmeticException("long overflow");
+        }
+        long[] outNumerators = out.numerators;
+        long[] outDenominators = out.denominators;
+        int degree = coefficients.length - 1;
+        for(int i = 0; i < outNumerators.length; i++) {
+            long n = points.numerators[i];
+            long d = points.denominators[i];
+            if(degree < 0) {
+                outNumerators[i] = 0;
+                outDenominators[i] = 1;
+                continue;
+            }
+            outNumerators[i] = numerators[degree];
+            outDenominators[i] = denominators[degree];
+            for(int k = degree - 1; k >= 0; k--) {
+                RationalMath.multiplyExact(outNumerators[i], outDenominators[i], n, d, outNumerators, outDenominators, i);
+                if(numerators[k] != 0) {
+                    RationalMath.addExact(outNumerators[i], outDenominators[i], numerators[k], denominators[k], outNumerators, outDenominators, i);
+                }
+            }
+        }
+        return out;
+    }
+
+    /**
+     * add方法 - 将两个多项式相加。
+     * @param other - RationalPolynomial - 需要相加的多项式
+     * @return RationalPolynomial - 两个多项式的和
+     */
+    public RationalPolynomial add(RationalPolynomial other) {
+        return combine(other, false);
+    }
+
+    /**
+     * sub方法 - 将两个多项式相减。
+     * @param other - RationalPolynomial - 需要减去的多项式
+     * @return RationalPolynomial - 两个多项式的差
+     */
+    public RationalPolynomial sub(RationalPolynomial other) {
+        return combine(other, true);
+    }
+
+    /**
+     * mult方法 - 将两个多项式相乘。
+     * <p>乘法在整数系数上进行，最后再统一除以两个scale的乘积；两个多项式的项数都不少于32时使用Karatsuba算法，只需要大约n^1.58次整数乘法。</p>
+     * @param other - RationalPolynomial - 需要相乘的多项式
+     * @return RationalPolynomial - 两个多项式的积
+     */
+    public RationalPolynomial mult(RationalPolynomial other) {
+        if(coefficients.length == 0 || other.coefficients.length == 0) {
+            return ZERO;
+        }
+        BigInteger[] product = multiply(integers, other.integers);
+        BigInteger denominator = scale.multiply(other.scale);
+        BigFraction[] result = new BigFraction[product.length];
+        for(int i = 0; i < product.length; i++) {
+            result[i] = BigFraction.valueOf(product[i], denominator);
+        }
+        return trim(result, result.length);
+    }
+
+    /**
+     * mult方法 - 将多项式的每一项都乘以一个数。
+     * @param num - Number - 需要相乘的数
+     * @return RationalPolynomial - 乘积
+     */
+    public RationalPolynomial mult(Number num) {
+        BigFraction factor = BigFraction.valueOf(num);
+        BigFraction[] result = new BigFraction[coefficients.length];
+        for(int i = 0; i < result.length; i++) {
+            result[i] = (BigFraction) coefficients[i].mult(factor);
+        }
+        return trim(result, result.length);
+    }
+
+    /**
+     * divideAndRemainder方法 - 多项式带余除法，返回商和余数，余数的次数小于除数的次数。
+     * <p>当除数是零多项式时，会抛出UnexpectValueException。</p>
+     * <blockquote><pre>
+RationalPolynomial[] result = RationalPolynomial.valueOf(-1, 0, 1).divideAndRemainder(RationalPolynomial.valueOf(1, 2));
+// x^2 - 1 = (1/2*x - 1/4) * (2*x + 1) - 3/4
+     * </pre></blockquote>
+     * @param divisor - RationalPolynomial - 除数
+     * @return RationalPolynomial[] - 长度为2的数组，依次是商和余数
+     */
+    public RationalPolynomial[] divideAndRemainder(RationalPolynomial divisor) {
+        int m = divisor.coefficients.length;
+        if(m == 0) {
+            throw new UnexpectValueException("除数不能为0。");
+        } else if(coefficients.length < m) {
+            return new RationalPolynomial[] { ZERO, this };
+        }
+        BigFraction[] remainder = coefficients.clone();
+        BigFraction[] quotient = new BigFraction[coefficients.length - m + 1];
+        BigFraction lead = divisor.coefficients[m - 1];
+        for(int k = quotient.length - 1; k >= 0; k--) {
+            BigFraction q = (BigFraction) remainder[k + m - 1].div(lead);
+            quotient[k] = q;
+            if(q.getNumerator().signum() != 0) {
+                for(int j = 0; j < m; j++) {
+                    remainder[k + j] = (BigFraction) remainder[k + j].sub(q.mult(divisor.coefficients[j]));
+                }
+            }
+        }
+        return new RationalPolynomial[] { trim(quotient, quotient.length), trim(remainder, m - 1) };
+    }
+
+    /**
+     * gcd方法 - 求两个多项式的最大公因式，结果的最高次项系数为1。
+     * <p>
+     * 直接在分数系数上做欧几里得算法，余式系数的分母会随着次数迅速膨胀。这里改为在整数系数上计算本原伪余式序列：
+     * 每一步的伪余式都先除以所有系数的最大公约数，系数的大小始终受到控制，最后再化为首一多项式。两个多项式都是零多项式时返回零多项式。
+     * </p>
+     * @param other - RationalPolynomial - 另一个多项式
+     * @return RationalPolynomial - 首一的最大公因式
+     */
+    public RationalPolynomial gcd(RationalPolynomial other) {
+        BigInteger[] a = primitive(integers);
+        BigInteger[] b = primitive(other.integers);
+        while(b.length > 0) {
+            BigInteger[] r = primitive(pseudoRemainder(a, b));
+            a = b;
+            b = r;
+        }
+        if(a.length == 0) {
+            return ZERO;
+        }
+        BigFraction[] result = new BigFraction[a.length];
+        for(int i = 0; i < a.length; i++) {
+            result[i] = BigFraction.valueOf(a[i], a[a.length - 1]);
+        }
+        return new RationalPolynomial(result);
+    }
+
+    /**
+     * derivative方法 - 求导数。
+     * @return RationalPolynomial - 导数
+     */
+    public RationalPolynomial derivative() {
+        if(coefficients.length <= 1) {
+            return ZERO;
+        }
+        BigFraction[] result = new BigFraction[coefficients.length - 1];
+        for(int i = 1; i < coefficients.length; i++) {
+            result[i - 1] = (BigFraction) coefficients[i].mult(BigFraction.valueOf(i));
+        }
+        return trim(result, result.length);
+    }
+
+    /**
+     * countRealRoots方法 - 使用Sturm定理计算不同实根的个数（重根只计算一次）。当多项式是零多项式时，会抛出UnexpectValueException。
+     * @return int - 不同实根的个数
+     */
+    public int countRealRoots() {
+        BigInteger[][] sturm = sturmSequence(squareFree());
+        BigFraction bound = rootBound(sturm[0]);
+        return variations(sturm, negate(bound)) - variations(sturm, bound);
+    }
+
+    /**
+     * isolateRoots方法 - 使用Sturm序列隔离所有不同的实根。
+     * <p>
+     * 返回的每一个区间 [low, high] 都恰好包含一个实根，并且这个根满足 low &lt; x &lt;= high；当某个根是有理数并且恰好被二分到时，low等于high。
+     * 所有区间按从小到大的顺序排列、互不重叠。重根只返回一次。当多项式是零多项式时，会抛出UnexpectValueException。
+     * </p>
+     * @return BigFraction[][] - 每个元素是一个长度为2的数组 {low, high}
+     * @see equation.RationalPolynomial#isolateRoots(Number)
+     */
+    public BigFraction[][] isolateRoots() {
+        BigInteger[][] sturm = sturmSequence(squareFree());
+        BigFraction bound = rootBound(sturm[0]);
+        BigFraction low = negate(bound);
+        List<BigFraction[]> result = new ArrayList<BigFraction[]>();
+        isolate(sturm, low, bound, variations(sturm, low), variations(sturm, bound), null, result);
+        return result.toArray(new BigFraction[0][]);
+    }
+
+    /**
+     * isolateRoots方法 - 隔离所有不同的实根，并把每个区间继续二分到宽度不超过maxWidth。
+     * <p>返回值的含义与{@link equation.RationalPolynomial#isolateRoots()}相同。当maxWidth不是正数时，会抛出UnexpectValueException。</p>
+     * <blockquote><pre>
+RationalPolynomial.valueOf(-2, 0, 1).isolateRoots(new Fraction(1, 100)); // [[-363/256, -723/512], [723/512, 363/256]]
+     * </pre></blockquote>
+     * @param maxWidth - Number - 区间的最大宽度
+     * @return BigFraction[][] - 每个元素是一个长度为2的数组 {low, high}
+     */
+    public BigFraction[][] isolateRoots(Number maxWidth) {
+        BigFraction width = BigFraction.valueOf(maxWidth);
+        if(width.getNumerator().signum() <= 0) {
+            throw new UnexpectValueException("区间的宽度必须是正数。");
+        }
+        BigInteger[][] sturm = sturmSequence(squareFree());
+        BigFraction bound = rootBound(sturm[0]);
+        BigFraction low = negate(bound);
+        List<BigFraction[]> result = new ArrayList<BigFraction[]>();
+        isolate(sturm, low, bound, variations(sturm, low), variations(sturm, bound), width, result);
+        return result.toArray(new BigFraction[0][]);
+    }
+
+    /**
+     * equals方法 - 判断两个多项式的所有系数是否都相等。
+     * @param object - Object - 需要比较的对象
+     * @return boolean - 是否相等
+     */
+    public boolean equals(Object object) {
+        if(object == this) {
+            return true;
+        }
+        return object instanceof RationalPolynomial && Arrays.equals(coefficients, ((RationalPolynomial) object).coefficients);
+    }
+
+    /**
+     * hashCode方法 - 返回基于所有系数计算的hashCode。
+     * @return int - hashCode
+     */
+    public int hashCode() {
+        return Arrays.hashCode(coefficients);
+    }
+
+    /**
+     * toString方法 - 返回多项式的字符串形式，例如 3*x^2 - 1/2*x + 1。
+     * <p>返回的字符串可以直接用{@link equation.Expression#parse(String)}解析。</p>
+     * @return String - 转化后的字符串
+     */
+    public String toString() {
+        if(coefficients.length == 0) {
+            return "0";
+        }
+        StringBuilder builder = new StringBuilder();
+        for(int i = coefficients.length - 1; i >= 0; i--) {
+            BigFraction coefficient = coefficients[i];
+            int sign = coefficient.getNumerator().signum();
+            if(sign == 0) {
+                continue;
+            }
+            if(builder.length() == 0) {
+                builder.append(sign < 0 ? "-" : "");
+            } else {
+                builder.append(sign < 0 ? " - " : " + ");
+            }
+            BigInteger numerator = coefficient.getNumerator().abs();
+            boolean unit = numerator.equals(BigInteger.ONE) && coefficient.getDenominator().equals(BigInteger.ONE);
+            if(i == 0 || !unit) {
+                builder.append(numerator);
+                if(!coefficient.getDenominator().equals(BigInteger.ONE)) {
+                    builder.append('/').append(coefficient.getDenominator());
+                }
+                if(i > 0) {
+                    builder.append('*');
+                }
+            }
+            if(i == 1) {
+                builder.append('x');
+            } else if(i > 1) {
+                builder.append("x^").append(i);
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * horner方法 - 对整数系数c计算 d^degree * c(n/d)，只需要整数运算。
+     */
+    private static BigInteger horner(BigInteger[] integers, BigFraction x) {
+        BigInteger n = x.getNumerator();
+        BigInteger d = x.getDenominator();
+        BigInteger power = BigInteger.ONE;
+        BigInteger total = integers[integers.length - 1];
+        for(int i = integers.length - 2; i >= 0; i--) {
+            power = power.multiply(d);
+            total = total.multiply(n);
+            if(integers[i].signum() != 0) {
+                total = total.add(integers[i].multiply(power));
+            }
+        }
+        return total;
+    }
+
+    /**
+     * combine方法 - add与sub的共同实现。
+     */
+    private RationalPolynomial combine(RationalPolynomial other, boolean subtract) {
+        int length = Math.max(coefficients.length, other.coefficients.length);
+        BigFraction[] result = new BigFraction[length];
+        for(int i = 0; i < length; i++) {
+            BigFraction a = getCoefficient(i);
+            BigFraction b = other.getCoefficient(i);
+            result[i] = (BigFraction) (subtract ? a.sub(b) : a.add(b));
+        }
+        return trim(result, length);
+    }
+
+    /**
+     * squareFree方法 - 返回 p / gcd(p, p') 的整数系数，它与p有相同的根，但没有重根。
+     */
+    private BigInteger[] squareFree() {
+        if(coefficients.length == 0) {
+            throw new UnexpectValueException("零多项式有无穷多个根。");
+        }
+        RationalPolynomial g = gcd(derivative());
+        if(g.coefficients.length <= 1) {
+            return integers;
+        }
+        return divideAndRemainder(g)[0].integers;
+    }
+
+    /**
+     * sturmSequence方法 - 计算Sturm序列 p, p', -prem(p, p'), ...。
+     * <p>伪余式只比真正的余式多一个正的因子，每一项再除以正的容度，因此各项在任意一点的符号都与标准的Sturm序列相同。</p>
+     */
+    private static BigInteger[][] sturmSequence(BigInteger[] polynomial) {
+        List<BigInteger[]> sequence = new ArrayList<BigInteger[]>();
+        BigInteger[] previous = primitive(polynomial);
+        BigInteger[] current = new BigInteger[previous.length - 1];
+        for(int i = 1; i < previous.length; i++) {
+            current[i - 1] = previous[i].multiply(BigInteger.valueOf(i));
+        }
+        current = primitive(current);
+        sequence.add(previous);
+        while(current.length > 0) {
+            sequence.add(current);
+            BigInteger[] next = primitive(pseudoRemainder(previous, current));
+            for(int i = 0; i < next.length; i++) {
+                next[i] = next[i].negate();
+            }
+            previous = current;
+            current = next;
+        }
+        return sequence.toArray(new BigInteger[0][]);
+    }
+
+    /**
+     * rootBound方法 - Cauchy上界 1 + max|c_i / c_n|，所有实根的绝对值都严格小于它。
+     */
+    private static BigFraction rootBound(BigInteger[] integers) {
+        BigInteger max = BigInteger.ZERO;
+        for(int i = 0; i < integers.length - 1; i++) {
+            max = max.max(integers[i].abs());
+        }
+        BigInteger lead = integers[integers.length - 1].abs();
+        return BigFraction.valueOf(max.add(lead), lead);
+    }
+
+    /**
+     * signAt方法 - 返回整数系数多项式在x处的值的符号。
+     */
+    private static int signAt(BigInteger[] integers, BigFraction x) {
+        return integers.length == 0 ? 0 : horner(integers, x).signum();
+    }
+
+    /**
+     * pseudoRemainder方法 - 计算 k * a mod b，其中k是正整数。
+     * <p>每消去一次最高次项，都把余式乘以|lc(b)|而不是lc(b)，这样结果与真正的余式只差一个正的因子，不会改变符号。</p>
+     */
+    private static BigInteger[] pseudoRemainder(BigInteger[] a, BigInteger[] b) {
+        BigInteger[] remainder = a.clone();
+        int length = remainder.length;
+        int m = b.length;
+        BigInteger factor = b[m - 1].abs();
+        boolean negative = b[m - 1].signum() < 0;
+        while(length >= m) {
+            BigInteger top = remainder[length - 1];
+            int shift = length - m;
+            for(int i = 0; i < length - 1; i++) {
+                remainder[i] = remainder[i].multiply(factor);
+            }
+            for(int j = 0; j < m - 1; j++) {
+                BigInteger value = top.multiply(b[j]);
+                remainder[shift + j] = negative ? remainder[shift + j].add(value) : remainder[shift + j].subtract(value);
+            }
+            length--;
+            while(length > 0 && remainder[length - 1].signum() == 0) {
+                length--;
+            }
+        }
+        return Arrays.copyOf(remainder, length);
+    }
+
+    /**
+     * primitive方法 - 将整数系数除以它们的最大公约数（正数）。
+     */
+    private static BigInteger[] primitive(BigInteger[] integers) {
+        BigInteger content = BigInteger.ZERO;
+        for(int i = integers.length - 1; i >= 0 && !content.equals(BigInteger.ONE); i--) {
+            content = content.gcd(integers[i]);
+        }
+        if(integers.length == 0 || content.equals(BigInteger.ONE)) {
+            return integers;
+        }
+        BigInteger[] result = new BigInteger[integers.length];
+        for(int i = 0; i < integers.length; i++) {
+            result[i] = integers[i].divide(content);
+        }
+        return result;
+    }
+
+    /**
+     * variations方法 - Sturm序列在x处的变号次数（忽略0）。
+     */
+    private static int variations(BigInteger[][] sturm, BigFraction x) {
+        int count = 0;
+        int last = 0;
+        for(BigInteger[] polynomial : sturm) {
+            int sign = signAt(polynomial, x);
+            if(sign != 0) {
+                if(last != 0 && sign != last) {
+                    count++;
+                }
+                last = sign;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * isolate方法 - 递归地二分区间 (low, high]，直到每个区间只包含一个根；width不为null时继续二分到宽度不超过width。
+     */
+    private static void isolate(BigInteger[][] sturm, BigFraction low, BigFraction high, int lowCount, int highCount,
+            BigFraction width, List<BigFraction[]> result) {
+        int count = lowCount - highCount;
+        if(count == 0) {
+            return;
+        } else if(count == 1 && signAt(sturm[0], high) == 0) {
+            result.add(new BigFraction[] { high, high });
+            return;
+        } else if(count == 1 && (width == null || !high.sub(low).isGreaterThan(width))) {
+            result.add(new BigFraction[] { low, high });
+            return;
+        }
+        BigFraction middle = (BigFraction) low.add(high).mult(BigFraction.valueOf(1, 2));
+        int middleCount = variations(sturm, middle);
+        isolate(sturm, low, middle, lowCount, middleCount, width, result);
+        isolate(sturm, middle, high, middleCount, highCount, width, result);
+    }
+
+    private static BigFraction negate(BigFraction value) {
+        return BigFraction.valueOf(value.getNumerator().negate(), value.getDenominator());
+    }
+
+    /**
+     * trim方法 - 去掉最高次项的0，用前length个系数创建多项式。
+     */
+    private static RationalPolynomial trim(BigFraction[] values, int length) {
+        while(length > 0 && values[length - 1].getNumerator().signum() == 0) {
+            length--;
+        }
+        if(length == 0) {
+            return ZERO;
+        }
+        return new RationalPolynomial(length == values.length ? values : Arrays.copyOf(values, length));
+    }
+
+    /**
+     * multiply方法 - 整数系数多项式乘法。两个多项式的项数都不少于KARATSUBA_THRESHOLD时使用Karatsuba算法。
+     */
+    static BigInteger[] multiply(BigInteger[] a, BigInteger[] b) {
+        int half = Math.max(a.length, b.length) / 2;
+        if(a.length < KARATSUBA_THRESHOLD || b.length < KARATSUBA_THRESHOLD || a.length <= half || b.length <= half) {
+            return schoolbook(a, b);
+        }
+        // a = a0 + a1 * x^half，b = b0 + b1 * x^half
+        BigInteger[] a0 = Arrays.copyOfRange(a, 0, half);
+        BigInteger[] a1 = Arrays.copyOfRange(a, half, a.length);
+        BigInteger[] b0 = Arrays.copyOfRange(b, 0, half);
+        BigInteger[] b1 = Arrays.copyOfRange(b, half, b.length);
+        BigInteger[] z0 = multiply(a0, b0);
+        BigInteger[] z2 = multiply(a1, b1);
+        BigInteger[] z1 = multiply(sum(a0, a1), sum(b0, b1));
+        BigInteger[] result = new BigInteger[a.length + b.length - 1];
+        Arrays.fill(result, BigInteger.ZERO);
+        for(int i = 0; i < z0.length; i++) {
+            result[i] = result[i].add(z0[i]);
+            z1[i] = z1[i].subtract(z0[i]);
+        }
+        for(int i = 0; i < z2.length; i++) {
+            result[i + 2 * half] = result[i + 2 * half].add(z2[i]);
+            z1[i] = z1[i].subtract(z2[i]);
+        }
+        for(int i = 0; i < z1.length && i + half < result.length; i++) {
+            result[i + half] = result[i + half].add(z1[i]);
+        }
+        return result;
+    }
+
+    private static BigInteger[] schoolbook(BigInteger[] a, BigInteger[] b) {
+        BigInteger[] result = new BigInteger[a.length + b.length - 1];
+        Arrays.fill(result, BigInteger.ZERO);
+        for(int i = 0; i < a.length; i++) {
+            if(a[i].signum() == 0) {
+                continue;
+            }
+            for(int j = 0; j < b.length; j++) {
+                result[i + j] = result[i + j].add(a[i].multiply(b[j]));
+            }
+        }
+        return result;
+    }
+
+    private static BigInteger[] sum(BigInteger[] a, BigInteger[] b) {
+        BigInteger[] result = Arrays.copyOf(a.length >= b.length ? a : b, Math.max(a.length, b.length));
+        BigInteger[] shorter = a.length >= b.length ? b : a;
+        for(int i = 0; i < shorter.length; i++) {
+            result[i] = result[i].add(shorter[i]);
+        }
+        return result;
+    }
+}
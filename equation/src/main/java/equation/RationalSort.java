@@ -0,0 +1,283 @@
+package equation;
+
+/**
+ * RationalSort - 对平行的分子、分母数组按数值排序。
+ * <p>
+ * 排序前先把每个分数正确舍入为double作为排序键。正确舍入是单调的：a &lt; b 时一定有 double(a) &lt;= double(b)，
+ * 因此键不同时直接比较键就能得到正确的顺序，只有键相等时才需要比较分子和分母（相同的最简分数直接比较分子和分母，不同时交叉相乘）。
+ * 绝大多数比较只是一次double比较，不会创建任何对象。
+ * </p>
+ * <p>
+ * 较长的数组先对排序键做LSD基数排序：把double的位表示变换为按无符号整数比较时顺序不变的long，每次按8位分配，
+ * 所有元素在某8位上都相同时跳过这一轮，然后按排好的顺序一次性移动分子和分母。基数排序没有比较和分支预测失败，
+ * 代价是需要额外约24字节/元素的临时数组。最后只对排序键相等的连续区间按分子和分母精确排序，这些区间通常只包含重复的值。
+ * </p>
+ * <p>
+ * 较短的数组（以及排序键相等的区间）使用三路划分的快速排序，相等的元素只参与一次划分，因此有大量重复值时也很快；
+ * 递归过深时改用堆排序，最坏情况下也是O(n log n)。排序是不稳定的。
+ * </p>
+ * @see equation.RationalVector#sort()
+ * @see equation.RationalVector#order()
+ */
+final class RationalSort {
+    /**
+     * INSERTION_THRESHOLD常量 - 长度不超过该值的区间使用插入排序。
+     */
+    private static final int INSERTION_THRESHOLD = 32;
+
+    /**
+     * RADIX_THRESHOLD常量 - 长度不小于该值的数组使用基数排序。
+     */
+    private static final int RADIX_THRESHOLD = 1 << 12;
+
+    private final long[] numerators;
+    private final long[] denominators;
+
+    /**
+     * indexes属性 - 与元素一起移动的下标，不需要时为null。
+     */
+    private final int[] indexes;
+
+    /**
+     * keys属性 - 每个元素舍入后的double，keys[i - base]对应第i个元素。
+     */
+    private final double[] keys;
+    private final int base;
+
+    private RationalSort(long[] numerators, long[] denominators, int[] indexes, int from, int to) {
+        super();
+        this.numerators = numerators;
+        this.denominators = denominators;
+        this.indexes = indexes;
+        this.base = from;
+        this.keys = new double[to - from];
+        for(int i = from; i < to; i++) {
+            keys[i - from] = RationalMath.toDouble(numerators[i], denominators[i]);
+        }
+    }
+
+    /**
+     * sort方法 - 将numerators和denominators中从from到to的元素按从小到大的顺序排序。
+     * <p>所有分数都必须是分母为正数的最简分数。indexes不为null时，其中的元素会随着分数一起移动。</p>
+     * @param numerators - long[] - 分子
+     * @param denominators - long[] - 分母
+     * @param indexes - int[] - 随着分数一起移动的下标，可以为null
+     * @param from - int - 起始位置（包含）
+     * @param to - int - 结束位置（不包含）
+     */
+    static void sort(long[] numerators, long[] denominators, int[] indexes, int from, int to) {
+        if(to - from < 2) {
+            return;
+        }
+        RationalSort sorter = new RationalSort(numerators, denominators, indexes, from, to);
+        if(to - from >= RADIX_THRESHOLD) {
+            sorter.radixSort(from, to);
+        } else {
+            sorter.quickSort(from, to - 1, depthLimit(to - from));
+        }
+    }
+
+    /**
+     * radixSort方法 - 按排序键对[from, to)做基数排序，再对排序键相等的区间做精确排序。
+     */
+    private void radixSort(int from, int to) {
+        int length = to - from;
+        long[] source = new long[length];
+        int[] sourceOrder = new int[length];
+        int[][] counts = new int[8][256];
+        for(int i = 0; i < length; i++) {
+            long bits = Double.doubleToRawLongBits(keys[i]);
+            // 正数翻转符号位，负数翻转所有位，之后按无符号整数比较的顺序与double相同
+            long key = bits ^ ((bits >> 63) | Long.MIN_VALUE);
+            source[i] = key;
+            sourceOrder[i] = i;
+            for(int pass = 0; pass < 8; pass++) {
+                counts[pass][(int) (key >>> (pass * 8)) & 0xFF]++;
+            }
+        }
+        long[] target = new long[length];
+        int[] targetOrder = new int[length];
+        for(int pass = 0; pass < 8; pass++) {
+            int[] count = counts[pass];
+            int shift = pass * 8;
+            if(count[(int) (source[0] >>> shift) & 0xFF] == length) {
+                continue;
+            }
+            int position = 0;
+            for(int digit = 0; digit < 256; digit++) {
+                int c = count[digit];
+                count[digit] = position;
+                position += c;
+            }
+            for(int i = 0; i < length; i++) {
+                long key = source[i];
+                int j = count[(int) (key >>> shift) & 0xFF]++;
+                target[j] = key;
+                targetOrder[j] = sourceOrder[i];
+            }
+            long[] keyTemp = source;
+            source = target;
+            target = keyTemp;
+            int[] orderTemp = sourceOrder;
+            sourceOrder = targetOrder;
+            targetOrder = orderTemp;
+        }
+        // 按排好的顺序移动分子、分母和下标，target和targetOrder此时可以用作临时数组
+        for(int i = 0; i < length; i++) {
+            target[i] = numerators[from + sourceOrder[i]];
+        }
+        System.arraycopy(target, 0, numerators, from, length);
+        for(int i = 0; i < length; i++) {
+            target[i] = denominators[from + sourceOrder[i]];
+        }
+        System.arraycopy(target, 0, denominators, from, length);
+        if(indexes != null) {
+            for(int i = 0; i < length; i++) {
+                targetOrder[i] = indexes[from + sourceOrder[i]];
+            }
+            System.arraycopy(targetOrder, 0, indexes, from, length);
+        }
+        for(int i = 0; i < length; i++) {
+            long key = source[i];
+            keys[i] = Double.longBitsToDouble(key < 0 ? key ^ Long.MIN_VALUE : ~key);
+        }
+        int depth = depthLimit(length);
+        int start = 0;
+        for(int i = 1; i <= length; i++) {
+            if(i == length || source[i] != source[start]) {
+                if(i - start > 1) {
+                    quickSort(from + start, from + i - 1, depth);
+                }
+                start = i;
+            }
+        }
+    }
+
+    /**
+     * quickSort方法 - 对闭区间[low, high]排序，depth是还允许的划分次数。
+     */
+    private void quickSort(int low, int high, int depth) {
+        while(high - low >= INSERTION_THRESHOLD) {
+            if(depth-- == 0) {
+                heapSort(low, high);
+                return;
+            }
+            int middle = (low + high) >>> 1;
+            // 三数取中，把中位数放在low上作为基准
+            if(compare(middle, low) < 0) {
+                swap(middle, low);
+            }
+            if(compare(high, low) < 0) {
+                swap(high, low);
+            }
+            if(compare(high, middle) < 0) {
+                swap(high, middle);
+            }
+            swap(low, middle);
+            double pivotKey = keys[low - base];
+            long pivotNumerator = numerators[low];
+            long pivotDenominator = denominators[low];
+            int less = low;
+            int greater = high;
+            int i = low + 1;
+            while(i <= greater) {
+                int c = compare(i, pivotKey, pivotNumerator, pivotDenominator);
+                if(c < 0) {
+                    swap(less++, i++);
+                } else if(c > 0) {
+                    swap(i, greater--);
+                } else {
+                    i++;
+                }
+            }
+            // 先递归较短的一边，保证栈的深度不超过O(log n)
+            if(less - low < high - greater) {
+                quickSort(low, less - 1, depth);
+                low = greater + 1;
+            } else {
+                quickSort(greater + 1, high, depth);
+                high = less - 1;
+            }
+        }
+        insertionSort(low, high);
+    }
+
+    private static int depthLimit(int length) {
+        return 2 * (32 - Integer.numberOfLeadingZeros(length));
+    }
+
+    private void insertionSort(int low, int high) {
+        for(int i = low + 1; i <= high; i++) {
+            for(int j = i; j > low && compare(j, j - 1) < 0; j--) {
+                swap(j, j - 1);
+            }
+        }
+    }
+
+    private void heapSort(int low, int high) {
+        int length = high - low + 1;
+        for(int i = length / 2 - 1; i >= 0; i--) {
+            siftDown(low, i, length);
+        }
+        for(int end = length - 1; end > 0; end--) {
+            swap(low, low + end);
+            siftDown(low, 0, end);
+        }
+    }
+
+    private void siftDown(int low, int node, int length) {
+        while(true) {
+            int child = 2 * node + 1;
+            if(child >= length) {
+                return;
+            }
+            if(child + 1 < length && compare(low + child + 1, low + child) > 0) {
+                child++;
+            }
+            if(compare(low + node, low + child) >= 0) {
+                return;
+            }
+            swap(low + node, low + child);
+            node = child;
+        }
+    }
+
+    private int compare(int i, int j) {
+        return compare(i, keys[j - base], numerators[j], denominators[j]);
+    }
+
+    /**
+     * compare方法 - 比较第i个元素与 numerator/denominator，key是后者舍入后的double。
+     */
+    private int compare(int i, double key, long numerator, long denominator) {
+        double k = keys[i - base];
+        if(k < key) {
+            return -1;
+        } else if(k > key) {
+            return 1;
+        }
+        long n = numerators[i];
+        long d = denominators[i];
+        if(n == numerator && d == denominator) {
+            return 0;
+        }
+        return RationalMath.compare(n, d, numerator, denominator);
+    }
+
+    private void swap(int i, int j) {
+        long n = numerators[i];
+        numerators[i] = numerators[j];
+        numerators[j] = n;
+        long d = denominators[i];
+        denominators[i] = denominators[j];
+        denominators[j] = d;
+        double k = keys[i - base];
+        keys[i - base] = keys[j - base];
+        keys[j - base] = k;
+        if(indexes != null) {
+            int index = indexes[i];
+            indexes[i] = indexes[j];
+            indexes[j] = index;
+        }
+    }
+}
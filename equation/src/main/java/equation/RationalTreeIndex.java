@@ -0,0 +1,598 @@
+package equation;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * RationalTreeIndex - 按数值排序的分数多重集，支持范围查询。
+ * <p>
+ * RationalTreeIndex是一棵保存在平行数组中的树堆（treap）：每个节点的分子、分母、出现次数、子树中的总次数以及左右子节点都保存在
+ * long数组和int数组中，不会为每个元素创建对象。节点按分数的大小排列，同时按照随机的优先级保持堆的性质，
+ * 因此插入、删除、查找以及统计某个范围内元素个数的期望时间都是O(log n)，列出一个范围内的k个不同元素需要O(log n + k)。
+ * </p>
+ * <p>
+ * 相等的分数（例如 1/2 和 2/4）只保存一个节点，并记录它被加入的次数。所有的分数和查询的边界都必须能放进long，否则抛出ArithmeticException。
+ * RationalTreeIndex不是线程安全的。
+ * </p>
+ * <blockquote><pre>
+RationalTreeIndex index = new RationalTreeIndex();
+index.add(1, 4);
+index.add(2, 5);
+index.add(2, 5);
+index.add(3, 4);
+index.countBetween(Rational.valueOf(1, 3), Rational.valueOf(1, 2)); // 2，即两个 2/5
+index.range(Rational.valueOf(1, 3), Rational.valueOf(1, 2)); // [2/5]
+index.ceiling(Rational.valueOf(1, 2)); // 3/4
+ * </pre></blockquote>
+ * @see equation.RationalHashMap
+ */
+public final class RationalTreeIndex {
+    private static final int NIL = -1;
+
+    private long[] numerators;
+    private long[] denominators;
+
+    /**
+     * counts和totals属性 - 每个节点的出现次数，以及以它为根的子树中所有节点出现次数的和。
+     */
+    private long[] counts;
+    private long[] totals;
+
+    private int[] left;
+    private int[] right;
+    private int[] priorities;
+
+    private int root = NIL;
+
+    /**
+     * used属性 - 已经使用过的节点个数；free属性 - 被删除的节点组成的链表（通过left数组连接）。
+     */
+    private int used;
+    private int free = NIL;
+
+    private int size;
+    private int seed = 0x2545F491;
+
+    /**
+     * added属性 - 最近一次插入是否创建了新的节点。
+     */
+    private boolean added;
+
+    /**
+     * found属性 - 最近一次删除是否找到了元素。
+     */
+    private boolean found;
+
+    private final long[] keyNumerator = new long[1];
+    private final long[] keyDenominator = new long[1];
+
+    /**
+     * RationalTreeIndex - 创建一个空的索引。
+     */
+    public RationalTreeIndex() {
+        this(16);
+    }
+
+    /**
+     * RationalTreeIndex - 创建一个能够保存expectedSize个不同元素而不需要扩容的空索引。
+     * <p>当expectedSize是负数时，会抛出UnexpectValueException。</p>
+     * @param expectedSize - int - 预计的不同元素个数
+     */
+    public RationalTreeIndex(int expectedSize) {
+        super();
+        if(expectedSize < 0) {
+            throw new UnexpectValueException("元素个数不能是负数。");
+        }
+        allocate(Math.max(expectedSize, 1));
+    }
+
+    /**
+     * size方法 - 返回不同元素的个数。
+     * @return int - 不同元素的个数
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * total方法 - 返回所有元素出现次数的和。
+     * @return long - 所有元素出现次数的和
+     */
+    public long total() {
+        return root == NIL ? 0 : totals[root];
+    }
+
+    /**
+     * isEmpty方法 - 判断索引是否为空。
+     * @return boolean - 是否为空
+     */
+    public boolean isEmpty() {
+        return root == NIL;
+    }
+
+    /**
+     * add方法 - 加入分数 numerator/denominator 一次。传入的分数会被自动化简，化简后超出long的范围时抛出ArithmeticException。
+     * @param numerator - long - 分子
+     * @param denominator - long - 分母，不能为0
+     * @return boolean - 加入之前索引中是否没有这个数
+     */
+    public boolean add(long numerator, long denominator) {
+        if(!RationalMath.reduce(numerator, denominator, keyNumerator, keyDenominator, 0)) {
+            throw new ArithmeticException("long overflow");
+        }
+        added = false;
+        root = insert(root, keyNumerator[0], keyDenominator[0]);
+        return added;
+    }
+
+    /**
+     * add方法 - 加入num一次。
+     * @param num - Number - 需要加入的数
+     * @return boolean - 加入之前索引中是否没有这个数
+     */
+    public boolean add(Number num) {
+        load(num);
+        added = false;
+        root = insert(root, keyNumerator[0], keyDenominator[0]);
+        return added;
+    }
+
+    /**
+     * addAll方法 - 加入向量中的所有元素。
+     * @param vector - RationalVector - 需要加入的元素
+     */
+    public void addAll(RationalVector vector) {
+        for(int i = 0; i < vector.length(); i++) {
+            root = insert(root, vector.numerators[i], vector.denominators[i]);
+        }
+    }
+
+    /**
+     * remove方法 - 将num的出现次数减一，减到0时删除这个数。
+     * @param num - Number - 需要删除的数
+     * @return boolean - 索引中是否有这个数
+     */
+    public boolean remove(Number num) {
+        if(!RationalMath.load(num, keyNumerator, keyDenominator, 0)) {
+            return false;
+        }
+        found = false;
+        root = delete(root, keyNumerator[0], keyDenominator[0]);
+        return found;
+    }
+
+    /**
+     * contains方法 - 判断索引中是否有num。
+     * @param num - Number - 需要查找的数
+     * @return boolean - 是否有这个数
+     */
+    public boolean contains(Number num) {
+        return count(num) > 0;
+    }
+
+    /**
+     * count方法 - 返回num被加入的次数。
+     * @param num - Number - 需要查找的数
+     * @return long - 出现次数，没有这个数时返回0
+     */
+    public long count(Number num) {
+        if(!RationalMath.load(num, keyNumerator, keyDenominator, 0)) {
+            return 0;
+        }
+        long n = keyNumerator[0];
+        long d = keyDenominator[0];
+        int node = root;
+        while(node != NIL) {
+            int c = compare(n, d, node);
+            if(c == 0) {
+                return counts[node];
+            }
+            node = c < 0 ? left[node] : right[node];
+        }
+        return 0;
+    }
+
+    /**
+     * countBetween方法 - 返回大于等于from且小于等于to的元素的出现次数之和。from大于to时返回0。
+     * @param from - Number - 下界（包含）
+     * @param to - Number - 上界（包含）
+     * @return long - 范围内元素的出现次数之和
+     */
+    public long countBetween(Number from, Number to) {
+        load(from);
+        long fromNumerator = keyNumerator[0];
+        long fromDenominator = keyDenominator[0];
+        load(to);
+        long result = countBelow(keyNumerator[0], keyDenominator[0], true) - countBelow(fromNumerator, fromDenominator, false);
+        return Math.max(result, 0);
+    }
+
+    /**
+     * countLessThan方法 - 返回小于num的元素的出现次数之和。
+     * @param num - Number - 上界（不包含）
+     * @return long - 小于num的元素的出现次数之和
+     */
+    public long countLessThan(Number num) {
+        load(num);
+        return countBelow(keyNumerator[0], keyDenominator[0], false);
+    }
+
+    /**
+     * range方法 - 按从小到大的顺序返回大于等于from且小于等于to的所有不同元素。from大于to时返回空向量。
+     * @param from - Number - 下界（包含）
+     * @param to - Number - 上界（包含）
+     * @return RationalVector - 范围内的不同元素
+     */
+    public RationalVector range(Number from, Number to) {
+        load(from);
+        long fromNumerator = keyNumerator[0];
+        long fromDenominator = keyDenominator[0];
+        load(to);
+        long toNumerator = keyNumerator[0];
+        long toDenominator = keyDenominator[0];
+        long[] out = new long[16];
+        int count = 0;
+        // 中序遍历，用数组模拟栈；栈中只保存还没有输出、并且不小于from的节点
+        int[] stack = new int[64];
+        int depth = 0;
+        int node = root;
+        while(node != NIL || depth > 0) {
+            while(node != NIL) {
+                if(compare(fromNumerator, fromDenominator, node) > 0) {
+                    node = right[node];
+                } else {
+                    if(depth == stack.length) {
+                        stack = Arrays.copyOf(stack, depth * 2);
+                    }
+                    stack[depth++] = node;
+                    node = left[node];
+                }
+            }
+            if(depth == 0) {
+                break;
+            }
+            node = stack[--depth];
+            if(compare(toNumerator, toDenominator, node) < 0) {
+                break;
+            }
+            if(count * 2 == out.length) {
+                out = Arrays.copyOf(out, out.length * 2);
+            }
+            out[count * 2] = numerators[node];
+            out[count * 2 + 1] = denominators[node];
+            count++;
+            node = right[node];
+        }
+        RationalVector result = new RationalVector(count);
+        for(int i = 0; i < count; i++) {
+            result.numerators[i] = out[i * 2];
+            result.denominators[i] = out[i * 2 + 1];
+        }
+        return result;
+    }
+
+    /**
+     * toVector方法 - 按从小到大的顺序返回所有不同元素。
+     * @return RationalVector - 所有不同元素
+     */
+    public RationalVector toVector() {
+        return isEmpty() ? new RationalVector(0) : range(first(), last());
+    }
+
+    /**
+     * first方法 - 返回最小的元素。当索引为空时，会抛出NoSuchElementException。
+     * @return HybridFraction - 最小的元素
+     */
+    public HybridFraction first() {
+        if(root == NIL) {
+            throw new NoSuchElementException();
+        }
+        int node = root;
+        while(left[node] != NIL) {
+            node = left[node];
+        }
+        return HybridFraction.ofReduced(numerators[node], denominators[node]);
+    }
+
+    /**
+     * last方法 - 返回最大的元素。当索引为空时，会抛出NoSuchElementException。
+     * @return HybridFraction - 最大的元素
+     */
+    public HybridFraction last() {
+        if(root == NIL) {
+            throw new NoSuchElementException();
+        }
+        int node = root;
+        while(right[node] != NIL) {
+            node = right[node];
+        }
+        return HybridFraction.ofReduced(numerators[node], denominators[node]);
+    }
+
+    /**
+     * floor方法 - 返回小于等于num的最大元素，没有时返回null。
+     * @param num - Number - 需要查找的数
+     * @return HybridFraction - 小于等于num的最大元素
+     */
+    public HybridFraction floor(Number num) {
+        load(num);
+        long n = keyNumerator[0];
+        long d = keyDenominator[0];
+        int result = NIL;
+        int node = root;
+        while(node != NIL) {
+            int c = compare(n, d, node);
+            if(c == 0) {
+                result = node;
+                break;
+            } else if(c > 0) {
+                result = node;
+                node = right[node];
+            } else {
+                node = left[node];
+            }
+        }
+        return result == NIL ? null : HybridFraction.ofReduced(numerators[result], denominators[result]);
+    }
+
+    /**
+     * ceiling方法 - 返回大于等于num的最小元素，没有时返回null。
+     * @param num - Number - 需要查找的数
+     * @return HybridFraction - 大于等于num的最小元素
+     */
+    public HybridFraction ceiling(Number num) {
+        load(num);
+        long n = keyNumerator[0];
+        long d = keyDenominator[0];
+        int result = NIL;
+        int node = root;
+        while(node != NIL) {
+            int c = compare(n, d, node);
+            if(c == 0) {
+                result = node;
+                break;
+            } else if(c < 0) {
+                result = node;
+                node = left[node];
+            } else {
+                node = right[node];
+            }
+        }
+        return result == NIL ? null : HybridFraction.ofReduced(numerators[result], denominators[result]);
+    }
+
+    /**
+     * clear方法 - 删除所有元素，已经分配的数组保持不变。
+     */
+    public void clear() {
+        root = NIL;
+        used = 0;
+        free = NIL;
+        size = 0;
+    }
+
+    /**
+     * toString方法 - 按从小到大的顺序返回 [1/4, 2/5×2, 3/4] 形式的字符串，出现多次的元素会标出次数。
+     * @return String - 转化后的字符串
+     */
+    public String toString() {
+        StringBuilder builder = new StringBuilder().append('[');
+        appendTo(builder, root);
+        return builder.append(']').toString();
+    }
+
+    /**
+     * insert方法 - 在以node为根的子树中加入 n/d 一次，返回新的根。
+     */
+    private int insert(int node, long n, long d) {
+        if(node == NIL) {
+            added = true;
+            size++;
+            return newNode(n, d);
+        }
+        int c = compare(n, d, node);
+        if(c == 0) {
+            counts[node]++;
+            totals[node]++;
+            return node;
+        } else if(c < 0) {
+            int child = insert(left[node], n, d);
+            left[node] = child;
+            if(priorities[child] > priorities[node]) {
+                return rotateRight(node);
+            }
+        } else {
+            int child = insert(right[node], n, d);
+            right[node] = child;
+            if(priorities[child] > priorities[node]) {
+                return rotateLeft(node);
+            }
+        }
+        totals[node]++;
+        return node;
+    }
+
+    /**
+     * delete方法 - 在以node为根的子树中将 n/d 的出现次数减一，返回新的根。
+     */
+    private int delete(int node, long n, long d) {
+        if(node == NIL) {
+            return NIL;
+        }
+        int c = compare(n, d, node);
+        if(c < 0) {
+            left[node] = delete(left[node], n, d);
+        } else if(c > 0) {
+            right[node] = delete(right[node], n, d);
+        } else {
+            found = true;
+            if(--counts[node] == 0) {
+                int merged = merge(left[node], right[node]);
+                left[node] = free;
+                free = node;
+                size--;
+                return merged;
+            }
+        }
+        if(found) {
+            totals[node]--;
+        }
+        return node;
+    }
+
+    /**
+     * merge方法 - 合并两棵子树，a中的所有元素都小于b中的所有元素。
+     */
+    private int merge(int a, int b) {
+        if(a == NIL) {
+            return b;
+        } else if(b == NIL) {
+            return a;
+        } else if(priorities[a] > priorities[b]) {
+            right[a] = merge(right[a], b);
+            update(a);
+            return a;
+        }
+        left[b] = merge(a, left[b]);
+        update(b);
+        return b;
+    }
+
+    private int rotateRight(int node) {
+        int child = left[node];
+        left[node] = right[child];
+        right[child] = node;
+        update(node);
+        update(child);
+        return child;
+    }
+
+    private int rotateLeft(int node) {
+        int child = right[node];
+        right[node] = left[child];
+        left[child] = node;
+        update(node);
+        update(child);
+        return child;
+    }
+
+    private void update(int node) {
+        long total = counts[node];
+        if(left[node] != NIL) {
+            total += totals[left[node]];
+        }
+        if(right[node] != NIL) {
+            total += totals[right[node]];
+        }
+        totals[node] = total;
+    }
+
+    /**
+     * countBelow方法 - 返回小于 n/d（inclusive为true时是小于等于）的元素的出现次数之和。
+     */
+    private long countBelow(long n, long d, boolean inclusive) {
+        long result = 0;
+        int node = root;
+        while(node != NIL) {
+            int c = compare(n, d, node);
+            if(c > 0 || (c == 0 && inclusive)) {
+                result += totals[node] - (right[node] == NIL ? 0 : totals[right[node]]);
+                if(c == 0) {
+                    break;
+                }
+                node = right[node];
+            } else {
+                if(c == 0) {
+                    result += left[node] == NIL ? 0 : totals[left[node]];
+                    break;
+                }
+                node = left[node];
+            }
+        }
+        return result;
+    }
+
+    private int newNode(long n, long d) {
+        int node;
+        if(free != NIL) {
+            node = free;
+            free = left[node];
+        } else {
+            if(used == numerators.length) {
+                grow();
+            }
+            node = used++;
+        }
+        numerators[node] = n;
+        denominators[node] = d;
+        counts[node] = 1;
+        totals[node] = 1;
+        left[node] = NIL;
+        right[node] = NIL;
+        // xorshift随机数作为优先级
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        priorities[node] = seed;
+        return node;
+    }
+
+    private void grow() {
+        int capacity = numerators.length >= (1 << 29) ? Integer.MAX_VALUE - 8 : numerators.length * 2;
+        if(capacity <= numerators.length) {
+            throw new UnexpectValueException("元素个数超出了RationalTreeIndex的最大容量。");
+        }
+        numerators = Arrays.copyOf(numerators, capacity);
+        denominators = Arrays.copyOf(denominators, capacity);
+        counts = Arrays.copyOf(counts, capacity);
+        totals = Arrays.copyOf(totals, capacity);
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+        priorities = Arrays.copyOf(priorities, capacity);
+    }
+
+    private void allocate(int capacity) {
+        numerators = new long[capacity];
+        denominators = new long[capacity];
+        counts = new long[capacity];
+        totals = new long[capacity];
+        left = new int[capacity];
+        right = new int[capacity];
+        priorities = new int[capacity];
+    }
+
+    private void appendTo(StringBuilder builder, int node) {
+        if(node == NIL) {
+            return;
+        }
+        appendTo(builder, left[node]);
+        if(builder.length() > 1) {
+            builder.append(", ");
+        }
+        FractionFormat.format(builder, numerators[node], denominators[node]);
+        if(counts[node] > 1) {
+            builder.append('×').append(counts[node]);
+        }
+        appendTo(builder, right[node]);
+    }
+
+    /**
+     * compare方法 - 比较 n/d 与节点node上的分数。两者都是最简分数，因此相等时可以直接比较分子和分母。
+     */
+    private int compare(long n, long d, int node) {
+        long nodeDenominator = denominators[node];
+        if(d == nodeDenominator) {
+            return Long.compare(n, numerators[node]);
+        }
+        return RationalMath.compare(n, d, numerators[node], nodeDenominator);
+    }
+
+    /**
+     * load方法 - 将num化简后写入keyNumerator和keyDenominator，超出long的范围时抛出ArithmeticException。
+     */
+    private void load(Number num) {
+        if(!RationalMath.load(num, keyNumerator, keyDenominator, 0)) {
+            throw new ArithmeticException("long overflow");
+        }
+    }
+}
@@ -0,0 +1,380 @@
+package equation;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * RationalVector - 以列式存储的分数数组。
+ * <p>
+ * RationalVector用两个平行的long数组分别保存所有分数的分子和分母，而不是为每个分数创建一个对象，因此占用的内存只有Fraction数组的一小部分。
+ * 所有批量运算（add、sub、mult、div、scale）都把结果写入调用者提供的输出向量，输出向量可以是参与运算的向量本身，
+ * 整个循环中不会为任何一个元素创建对象，便于JIT编译器优化。
+ * </p>
+ * <p>
+ * 向量中的每个分数都以分母为正数的最简分数形式保存。与{@link equation.HybridFraction}不同，RationalVector中的元素必须能放进long，
+ * 当某个元素的运算结果溢出时，会抛出ArithmeticException（sum和dot除外，它们会自动改用BigInteger计算）。
+ * </p>
+ * <blockquote><pre>
+RationalVector prices = RationalVector.valueOf(new Fraction[] { new Fraction(1, 2), new Fraction(3, 4) });
+RationalVector rates = RationalVector.valueOf(new Fraction[] { new Fraction(1, 3), new Fraction(1, 5) });
+RationalVector out = new RationalVector(2);
+prices.mult(rates, out); // [1/6, 3/20]
+out.sum(); // 19/60
+prices.dot(rates); // 19/60
+ * </pre></blockquote>
+ * @see equation.HybridFraction
+ */
+public final class RationalVector {
+    final long[] numerators;
+    final long[] denominators;
+
+    /**
+     * RationalVector - 创建一个指定长度、所有元素都是 0/1 的向量。
+     * @param length - int - 向量的长度
+     */
+    public RationalVector(int length) {
+        super();
+        numerators = new long[length];
+        denominators = new long[length];
+        Arrays.fill(denominators, 1);
+    }
+
+    /**
+     * RationalVector - 直接使用传入的数组创建向量，不会复制。
+     * <p>两个数组的长度必须相同，其中的分数必须已经是分母为正数的最简分数。</p>
+     */
+    RationalVector(long[] numerators, long[] denominators) {
+        super();
+        this.numerators = numerators;
+        this.denominators = denominators;
+    }
+
+    /**
+     * valueOf方法 - 将Number数组转化为向量。
+     * <p>当某个数超出long的范围时，会抛出ArithmeticException；当传入的类型无法识别时，会抛出UnexpectValueException。</p>
+     * @param values - Number[] - 需要转化的数组，例如Fraction[]
+     * @return RationalVector - 转化后的向量
+     */
+    public static RationalVector valueOf(Number[] values) {
+        RationalVector vector = new RationalVector(values.length);
+        for(int i = 0; i < values.length; i++) {
+            vector.set(i, values[i]);
+        }
+        return vector;
+    }
+
+    /**
+     * length方法 - 返回向量的长度。
+     * @return int - 向量的长度
+     */
+    public int length() {
+        return numerators.length;
+    }
+
+    /**
+     * getNumerator方法 - 获取第index个元素的分子。
+     * @param index - int - 元素的位置
+     * @return long - 分子
+     */
+    public long getNumerator(int index) {
+        return numerators[index];
+    }
+
+    /**
+     * getDenominator方法 - 获取第index个元素的分母，永远是正数。
+     * @param index - int - 元素的位置
+     * @return long - 分母
+     */
+    public long getDenominator(int index) {
+        return denominators[index];
+    }
+
+    /**
+     * get方法 - 获取第index个元素。
+     * @param index - int - 元素的位置
+     * @return Number - 对应的分数，实际上是一个HybridFraction对象
+     */
+    public Number get(int index) {
+        return HybridFraction.ofReduced(numerators[index], denominators[index]);
+    }
+
+    /**
+     * set方法 - 设置第index个元素。传入的分数会被自动化简，化简后超出long的范围时抛出ArithmeticException。
+     * @param index - int - 元素的位置
+     * @param numerator - long - 分子
+     * @param denominator - long - 分母，不能为0
+     */
+    public void set(int index, long numerator, long denominator) {
+        if(denominator == 0) {
+            throw new UnexpectValueException("不能将分母设置为0。");
+        }
+        if(!RationalMath.reduce(numerator, denominator, numerators, denominators, index)) {
+            throw new ArithmeticException("long overflow");
+        }
+    }
+
+    /**
+     * set方法 - 设置第index个元素。当传入的数超出long的范围时，会抛出ArithmeticException。
+     * @param index - int - 元素的位置
+     * @param num - Number - 新的值
+     */
+    public void set(int index, Number num) {
+        if(!RationalMath.load(num, numerators, denominators, index)) {
+            throw new ArithmeticException("long overflow");
+        }
+    }
+
+    /**
+     * toFractionArray方法 - 将向量转化为Fraction数组。当某个元素超出int的范围时，会抛出ArithmeticException。
+     * @return Fraction[] - 转化后的数组
+     */
+    public Fraction[] toFractionArray() {
+        Fraction[] result = new Fraction[numerators.length];
+        for(int i = 0; i < result.length; i++) {
+            result[i] = new Fraction(Math.toIntExact(numerators[i]), Math.toIntExact(denominators[i]));
+        }
+        return result;
+    }
+
+    /**
+     * add方法 - 将两个向量逐个元素相加，结果写入out。
+     * <p>out可以是this或other本身。三个向量的长度必须相同，否则抛出UnexpectValueException。</p>
+     * @param other - RationalVector - 需要相加的向量
+     * @param out - RationalVector - 存放结果的向量
+     * @return RationalVector - 即out，便于链式调用
+     */
+    public RationalVector add(RationalVector other, RationalVector out) {
+        checkLength(other, out);
+        long[] n1 = numerators;
+        long[] d1 = denominators;
+        long[] n2 = other.numerators;
+        long[] d2 = other.denominators;
+        for(int i = 0; i < n1.length; i++) {
+            RationalMath.addExact(n1[i], d1[i], n2[i], d2[i], out.numerators, out.denominators, i);
+        }
+        return out;
+    }
+
+    /**
+     * sub方法 - 将两个向量逐个元素相减，结果写入out。
+     * @param other - RationalVector - 减数向量
+     * @param out - RationalVector - 存放结果的向量
+     * @return RationalVector - 即out，便于链式调用
+     * @see equation.RationalVector#add(RationalVector, RationalVector)
+     */
+    public RationalVector sub(RationalVector other, RationalVector out) {
+        checkLength(other, out);
+        long[] n1 = numerators;
+        long[] d1 = denominators;
+        long[] n2 = other.numerators;
+        long[] d2 = other.denominators;
+        for(int i = 0; i < n1.length; i++) {
+            RationalMath.addExact(n1[i], d1[i], -n2[i], d2[i], out.numerators, out.denominators, i);
+        }
+        return out;
+    }
+
+    /**
+     * mult方法 - 将两个向量逐个元素相乘，结果写入out。
+     * @param other - RationalVector - 需要相乘的向量
+     * @param out - RationalVector - 存放结果的向量
+     * @return RationalVector - 即out，便于链式调用
+     * @see equation.RationalVector#add(RationalVector, RationalVector)
+     */
+    public RationalVector mult(RationalVector other, RationalVector out) {
+        checkLength(other, out);
+        long[] n1 = numerators;
+        long[] d1 = denominators;
+        long[] n2 = other.numerators;
+        long[] d2 = other.denominators;
+        for(int i = 0; i < n1.length; i++) {
+            RationalMath.multiplyExact(n1[i], d1[i], n2[i], d2[i], out.numerators, out.denominators, i);
+        }
+        return out;
+    }
+
+    /**
+     * div方法 - 将两个向量逐个元素相除，结果写入out。当某个除数为0时，会抛出UnexpectValueException。
+     * @param other - RationalVector - 除数向量
+     * @param out - RationalVector - 存放结果的向量
+     * @return RationalVector - 即out，便于链式调用
+     * @see equation.RationalVector#add(RationalVector, RationalVector)
+     */
+    public RationalVector div(RationalVector other, RationalVector out) {
+        checkLength(other, out);
+        long[] n1 = numerators;
+        long[] d1 = denominators;
+        long[] n2 = other.numerators;
+        long[] d2 = other.denominators;
+        for(int i = 0; i < n1.length; i++) {
+            RationalMath.divideExact(n1[i], d1[i], n2[i], d2[i], out.numerators, out.denominators, i);
+        }
+        return out;
+    }
+
+    /**
+     * scale方法 - 将向量的每个元素都乘以同一个数，结果写入out。
+     * @param factor - Number - 乘数
+     * @param out - RationalVector - 存放结果的向量
+     * @return RationalVector - 即out，便于链式调用
+     */
+    public RationalVector scale(Number factor, RationalVector out) {
+        checkLength(this, out);
+        long[] factorNumerator = new long[1];
+        long[] factorDenominator = new long[1];
+        if(!RationalMath.load(factor, factorNumerator, factorDenominator, 0)) {
+            throw new ArithmeticException("long overflow");
+        }
+        long n2 = factorNumerator[0];
+        long d2 = factorDenominator[0];
+        for(int i = 0; i < numerators.length; i++) {
+            RationalMath.multiplyExact(numerators[i], denominators[i], n2, d2, out.numerators, out.denominators, i);
+        }
+        return out;
+    }
+
+    /**
+     * sum方法 - 求向量所有元素的和。
+     * <p>求和在long上进行，只有当部分和溢出时才会改用BigInteger继续计算，因此结果永远是精确的。</p>
+     * @return Number - 所有元素的和，实际上是一个HybridFraction对象
+     */
+    public Number sum() {
+        long[] sumNumerator = { 0 };
+        long[] sumDenominator = { 1 };
+        int i = 0;
+        try {
+            for(; i < numerators.length; i++) {
+                RationalMath.addExact(sumNumerator[0], sumDenominator[0], numerators[i], denominators[i], sumNumerator, sumDenominator, 0);
+            }
+            return HybridFraction.ofReduced(sumNumerator[0], sumDenominator[0]);
+        } catch (ArithmeticException err) {
+            // 溢出，改用BigFraction继续计算
+        }
+        BigFraction total = BigFraction.valueOf(sumNumerator[0], sumDenominator[0]);
+        for(; i < numerators.length; i++) {
+            total = BigFraction.add(total.getNumerator(), total.getDenominator(),
+                    BigInteger.valueOf(numerators[i]), BigInteger.valueOf(denominators[i]));
+        }
+        return HybridFraction.valueOf(total);
+    }
+
+    /**
+     * dot方法 - 求两个向量的点积，即所有对应元素乘积的和。
+     * <p>与{@link equation.RationalVector#sum()}相同，只有当中间结果溢出时才会改用BigInteger继续计算，因此结果永远是精确的。</p>
+     * @param other - RationalVector - 另一个向量，长度必须相同
+     * @return Number - 点积，实际上是一个HybridFraction对象
+     */
+    public Number dot(RationalVector other) {
+        checkLength(other, this);
+        long[] sumNumerator = { 0, 0 };
+        long[] sumDenominator = { 1, 1 };
+        int i = 0;
+        try {
+            for(; i < numerators.length; i++) {
+                RationalMath.multiplyExact(numerators[i], denominators[i], other.numerators[i], other.denominators[i],
+                        sumNumerator, sumDenominator, 1);
+                RationalMath.addExact(sumNumerator[0], sumDenominator[0], sumNumerator[1], sumDenominator[1], sumNumerator, sumDenominator, 0);
+            }
+            return HybridFraction.ofReduced(sumNumerator[0], sumDenominator[0]);
+        } catch (ArithmeticException err) {
+            // 溢出，改用BigFraction继续计算
+        }
+        BigFraction total = BigFraction.valueOf(sumNumerator[0], sumDenominator[0]);
+        for(; i < numerators.length; i++) {
+            BigFraction product = BigFraction.multiply(BigInteger.valueOf(numerators[i]), BigInteger.valueOf(denominators[i]),
+                    BigInteger.valueOf(other.numerators[i]), BigInteger.valueOf(other.denominators[i]));
+            total = BigFraction.add(total.getNumerator(), total.getDenominator(), product.getNumerator(), product.getDenominator());
+        }
+        return HybridFraction.valueOf(total);
+    }
+
+    /**
+     * compare方法 - 逐个元素比较两个向量，比较结果写入out。
+     * <p>out[i]为-1、0、1时，分别表示this的第i个元素小于、等于、大于other的第i个元素。比较通过交叉相乘完成，不会创建任何对象。</p>
+     * @param other - RationalVector - 需要比较的向量，长度必须相同
+     * @param out - int[] - 存放比较结果的数组，长度必须相同
+     * @return int[] - 即out，便于链式调用
+     */
+    public int[] compare(RationalVector other, int[] out) {
+        checkLength(other, this);
+        if(out.length != numerators.length) {
+            throw new UnexpectValueException("向量的长度不相同。");
+        }
+        for(int i = 0; i < numerators.length; i++) {
+            out[i] = Integer.signum(RationalMath.compare(numerators[i], denominators[i], other.numerators[i], other.denominators[i]));
+        }
+        return out;
+    }
+
+    /**
+     * sort方法 - 将向量中的元素按从小到大的顺序原地排序。
+     * <p>
+     * 排序时先把每个元素正确舍入为double作为排序键，只有舍入后相等的元素才交叉相乘比较，因此不会创建任何对象，
+     * 比用比较器对Number数组排序快得多。排序需要一个与向量等长的临时double数组。排序是不稳定的。
+     * </p>
+     * <blockquote><pre>
+RationalVector vector = RationalVector.valueOf(new Number[] { new Fraction(3, 4), new Fraction(1, 3), new Fraction(1, 2) });
+vector.sort(); // [1/3, 1/2, 3/4]
+     * </pre></blockquote>
+     * @return RationalVector - 即this，便于链式调用
+     * @see equation.RationalVector#order()
+     */
+    public RationalVector sort() {
+        return sort(0, numerators.length);
+    }
+
+    /**
+     * sort方法 - 将从from到to（不包含）的元素按从小到大的顺序原地排序，其他元素保持不变。
+     * @param from - int - 起始位置（包含）
+     * @param to - int - 结束位置（不包含）
+     * @return RationalVector - 即this，便于链式调用
+     */
+    public RationalVector sort(int from, int to) {
+        if(from < 0 || to > numerators.length || from > to) {
+            throw new IndexOutOfBoundsException("from " + from + ", to " + to + ", length " + numerators.length);
+        }
+        RationalSort.sort(numerators, denominators, null, from, to);
+        return this;
+    }
+
+    /**
+     * order方法 - 返回将向量从小到大排列时各个元素的下标，向量本身不会被修改。
+     * <p>即 get(order[0]) &lt;= get(order[1]) &lt;= ...，相等的元素之间的顺序是不确定的。适合需要按分数排名、同时保留原来位置的场景。</p>
+     * <blockquote><pre>
+RationalVector vector = RationalVector.valueOf(new Number[] { new Fraction(3, 4), new Fraction(1, 3), new Fraction(1, 2) });
+vector.order(); // [1, 2, 0]
+     * </pre></blockquote>
+     * @return int[] - 排序后的下标
+     */
+    public int[] order() {
+        long[] n = numerators.clone();
+        long[] d = denominators.clone();
+        int[] indexes = new int[n.length];
+        for(int i = 0; i < indexes.length; i++) {
+            indexes[i] = i;
+        }
+        RationalSort.sort(n, d, indexes, 0, n.length);
+        return indexes;
+    }
+
+    /**
+     * toString方法 - 返回向量的字符串形式，例如[1/2, 3/4]。
+     * @return String - 转化后的字符串
+     */
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        for(int i = 0; i < numerators.length; i++) {
+            if(i > 0) {
+                builder.append(", ");
+            }
+            builder.append(numerators[i]).append('/').append(denominators[i]);
+        }
+        return builder.append(']').toString();
+    }
+
+    private void checkLength(RationalVector other, RationalVector out) {
+        if(other.numerators.length != numerators.length || out.numerators.length != numerators.length) {
+            throw new UnexpectValueException("向量的长度不相同。");
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package equation;
+
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * ReductionTask - 对Number数组做树形归约（求和、求积、点积）的fork-join任务。
+ * <p>
+ * 数组会被不断对半拆分，直到长度不超过threshold，然后在每一段内顺序计算，最后两两合并。
+ * 这样不仅能利用所有CPU核心，而且合并时两边的分母大小相近，比从左到右依次累加更不容易产生巨大的中间分母。
+ * 段内的计算在long上进行，只有溢出时才改用{@link equation.HybridFraction}，因此结果永远是精确的。
+ * </p>
+ * @see equation.Equation#sum(java.util.Collection, int)
+ * @see equation.Equation#product(java.util.Collection, int)
+ * @see equation.Equation#dot(java.util.List, java.util.List, int)
+ */
+final class ReductionTask extends RecursiveTask<HybridFraction> {
+    static final int SUM = 0;
+    static final int PRODUCT = 1;
+    static final int DOT = 2;
+
+    private static final long serialVersionUID = 1L;
+
+    private final int operation;
+    private final Number[] left;
+    private final Number[] right;
+    private final int from;
+    private final int to;
+    private final int threshold;
+
+    /**
+     * ReductionTask - 创建一个归约任务。
+     * @param operation - int - SUM、PRODUCT或DOT
+     * @param left - Number[] - 需要归约的数组
+     * @param right - Number[] - 点积的第二个数组，其他运算时为null
+     * @param from - int - 起始位置（包含）
+     * @param to - int - 结束位置（不包含）
+     * @param threshold - int - 不再拆分的最大长度
+     */
+    ReductionTask(int operation, Number[] left, Number[] right, int from, int to, int threshold) {
+        super();
+        if(threshold < 1) {
+            throw new UnexpectValueException("threshold必须是正数。");
+        }
+        this.operation = operation;
+        this.left = left;
+        this.right = right;
+        this.from = from;
+        this.to = to;
+        this.threshold = threshold;
+    }
+
+    /**
+     * compute方法 - 拆分任务或在当前线程内顺序计算。
+     * @return HybridFraction - 这一段的归约结果
+     */
+    protected HybridFraction compute() {
+        if(to - from <= threshold) {
+            return computeDirectly();
+        }
+        int middle = (from + to) >>> 1;
+        ReductionTask first = new ReductionTask(operation, left, right, from, middle, threshold);
+        ReductionTask second = new ReductionTask(operation, left, right, middle, to, threshold);
+        first.fork();
+        HybridFraction result = second.compute();
+        return combine(first.join(), result);
+    }
+
+    /**
+     * combine方法 - 合并两段的结果。
+     */
+    private HybridFraction combine(HybridFraction a, HybridFraction b) {
+        if(operation == PRODUCT) {
+            return (HybridFraction) a.mult(b);
+        }
+        return (HybridFraction) a.add(b);
+    }
+
+    /**
+     * computeDirectly方法 - 在long上顺序计算这一段，溢出后改用HybridFraction继续计算。
+     */
+    private HybridFraction computeDirectly() {
+        long[] numerators = { operation == PRODUCT ? 1 : 0, 0 };
+        long[] denominators = { 1, 1 };
+        int i = from;
+        try {
+            for(; i < to; i++) {
+                if(!RationalMath.load(left[i], numerators, denominators, 1)) {
+                    break;
+                }
+                if(operation == SUM) {
+                    RationalMath.addExact(numerators[0], denominators[0], numerators[1], denominators[1], numerators, denominators, 0);
+                } else if(operation == PRODUCT) {
+                    RationalMath.multiplyExact(numerators[0], denominators[0], numerators[1], denominators[1], numerators, denominators, 0);
+                } else {
+                    long n = numerators[1];
+                    long d = denominators[1];
+                    if(!RationalMath.load(right[i], numerators, denominators, 1)) {
+                        break;
+                    }
+                    RationalMath.multiplyExact(n, d, numerators[1], denominators[1], numerators, denominators, 1);
+                    RationalMath.addExact(numerators[0], denominators[0], numerators[1], denominators[1], numerators, denominators, 0);
+                }
+            }
+        } catch (ArithmeticException err) {
+            // 溢出，改用HybridFraction继续计算
+        }
+        HybridFraction result = HybridFraction.ofReduced(numerators[0], denominators[0]);
+        for(; i < to; i++) {
+            if(operation == DOT) {
+                result = (HybridFraction) result.add(HybridFraction.valueOf(left[i]).mult(right[i]));
+            } else {
+                result = combine(result, HybridFraction.valueOf(left[i]));
+            }
+        }
+        return result;
+    }
+}
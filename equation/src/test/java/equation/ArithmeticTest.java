@@ -0,0 +1,78 @@
+package equation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * ArithmeticTest - 测试add、sub、mult、div方法的结果总是分母为正数的最简分数，即使操作数不是最简形式；以及RationalMath.gcd的正确性。
+ */
+class ArithmeticTest {
+    @Test
+    void resultsAreReducedEvenForUnreducedOperands() {
+        assertReduced(new Fraction(2, 4).mult(new Fraction(1, 1)), 1, 2);
+        assertReduced(new Fraction(2, 4).add(new Fraction(0, 1)), 1, 2);
+        assertReduced(new Fraction(2, 4).sub(new Fraction(0, 3)), 1, 2);
+        assertReduced(new Fraction(2, 4).div(new Fraction(-3, -3)), 1, 2);
+        assertReduced(new Fraction(1, 2).div(new Fraction(-1, 1)), -1, 2);
+    }
+
+    @Test
+    void cachedResultsAreReduced() {
+        OperationCache cache = new OperationCache(16);
+        assertReduced(cache.mult(new Fraction(2, 4), new Fraction(1, 1)), 1, 2);
+        assertReduced(cache.mult(new Fraction(1, 2), new Fraction(1, 1)), 1, 2);
+    }
+
+    @Test
+    void arithmeticAgreesWithBigFraction() {
+        Random random = new Random(42);
+        for(int i = 0; i < 10000; i++) {
+            int factor = random.nextInt(9) + 1;
+            Fraction a = new Fraction((random.nextInt(2001) - 1000) * factor, (random.nextInt(1000) + 1) * factor);
+            Fraction b = new Fraction(random.nextInt(2001) - 1000, -(random.nextInt(1000) + 1));
+            BigFraction bigA = BigFraction.valueOf(a.getNumerator(), a.getDenominator());
+            BigFraction bigB = BigFraction.valueOf(b.getNumerator(), b.getDenominator());
+            assertExact(bigA.add(bigB), a.add(b));
+            assertExact(bigA.sub(bigB), a.sub(b));
+            assertExact(bigA.mult(bigB), a.mult(b));
+            if(b.getNumerator() != 0) {
+                assertExact(bigA.div(bigB), a.div(b));
+            }
+        }
+    }
+
+    @Test
+    void gcdAgreesWithBigInteger() {
+        Random random = new Random(42);
+        for(int i = 0; i < 10000; i++) {
+            int a = random.nextInt();
+            int b = random.nextInt();
+            assertEquals(BigInteger.valueOf(a).gcd(BigInteger.valueOf(b)).intValue(), RationalMath.gcd(a, b));
+            long c = random.nextLong() >> 1;
+            long d = random.nextLong() >> 1;
+            assertEquals(BigInteger.valueOf(c).gcd(BigInteger.valueOf(d)).longValue(), RationalMath.gcd(c, d));
+        }
+        assertEquals(7, RationalMath.gcd(0, 7));
+        assertEquals(7, RationalMath.gcd(-14, 21));
+    }
+
+    private static void assertReduced(Number result, int numerator, int denominator) {
+        Fraction fraction = (Fraction) result;
+        assertEquals(numerator, fraction.getNumerator());
+        assertEquals(denominator, fraction.getDenominator());
+    }
+
+    private static void assertExact(Number expected, Number result) {
+        Fraction fraction = (Fraction) result;
+        assertTrue(fraction.getDenominator() > 0);
+        assertEquals(1, RationalMath.gcd(fraction.getNumerator(), fraction.getDenominator()));
+        BigFraction big = (BigFraction) expected;
+        assertEquals(big.getNumerator(), BigInteger.valueOf(fraction.getNumerator()));
+        assertEquals(big.getDenominator(), BigInteger.valueOf(fraction.getDenominator()));
+    }
+}
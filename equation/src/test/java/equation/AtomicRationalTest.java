@@ -0,0 +1,138 @@
+package equation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * AtomicRationalTest - 测试AtomicRational和RationalAdder的原子更新，以及多个线程同时累加时结果仍然精确。
+ */
+class AtomicRationalTest {
+    private static final int THREADS = 8;
+    private static final int ITERATIONS = 2000;
+
+    @Test
+    void documentedExamples() {
+        AtomicRational total = new AtomicRational();
+        assertEquals(Rational.valueOf(1, 2), total.addAndGet(new Fraction(1, 2)));
+        assertEquals(Rational.valueOf(5, 6), total.addAndGet(Rational.valueOf(1, 3)));
+        assertEquals(Rational.valueOf(5, 3), total.accumulateAndGet(Rational.valueOf(2), Equation::mult));
+        AtomicRational max = new AtomicRational();
+        assertEquals(Rational.valueOf(3, 4), max.accumulateAndGet(Rational.valueOf(3, 4), (a, b) -> ((Rational) a).isGreaterThan(b) ? a : b));
+        assertEquals(Rational.valueOf(3, 4), max.accumulateAndGet(Rational.valueOf(1, 4), (a, b) -> ((Rational) a).isGreaterThan(b) ? a : b));
+    }
+
+    @Test
+    void singleThreadedOperations() {
+        AtomicRational value = new AtomicRational(new Fraction(6, -8));
+        assertEquals("-3/4", value.toString());
+        assertEquals(-0.75, value.toDouble());
+        assertEquals(Rational.valueOf(-3, 4), value.getAndAdd(new Fraction(1, 4)));
+        assertEquals(Rational.valueOf(-1, 2), value.get());
+        assertEquals(Rational.valueOf(-1, 2), value.getAndSet(new Fraction(2, 6)));
+        assertTrue(value.compareAndSet(new Fraction(2, 6), Rational.valueOf(7)));
+        assertFalse(value.compareAndSet(new Fraction(1, 3), Rational.valueOf(8)));
+        assertEquals(Rational.valueOf(7), value.get());
+        assertEquals(Rational.valueOf(7, 2), value.multiplyAndGet(new Fraction(1, 2)));
+        assertEquals(Rational.valueOf(7, 2), value.addAndGet(new Fraction(0)));
+        assertEquals(Rational.valueOf(-7, 2), value.updateAndGet(x -> x.mult(new Fraction(-1))));
+        value.set(HybridFraction.valueOf(Integer.MIN_VALUE));
+        assertEquals(Rational.valueOf(Integer.MIN_VALUE), value.get());
+        assertEquals(Rational.ZERO, new AtomicRational().get());
+    }
+
+    @Test
+    void overflowLeavesValueUnchanged() {
+        AtomicRational value = new AtomicRational(new Fraction(Integer.MAX_VALUE));
+        assertThrows(ArithmeticException.class, () -> value.addAndGet(new Fraction(1)));
+        assertThrows(ArithmeticException.class, () -> value.multiplyAndGet(new Fraction(2)));
+        assertThrows(ArithmeticException.class, () -> value.set(HybridFraction.valueOf(1L << 40)));
+        assertThrows(ArithmeticException.class, () -> new AtomicRational(HybridFraction.valueOf(1, 1L << 40)));
+        assertEquals(Rational.valueOf(Integer.MAX_VALUE), value.get());
+    }
+
+    @Test
+    void concurrentAddsAreNotLost() throws Exception {
+        AtomicRational total = new AtomicRational();
+        RationalAdder adder = new RationalAdder();
+        runConcurrently(() -> {
+            for(int i = 0; i < ITERATIONS; i++) {
+                total.addAndGet(Rational.valueOf(1, 6));
+                adder.add(new Fraction(1, 6));
+            }
+        });
+        Rational expected = Rational.valueOf(THREADS * ITERATIONS, 6);
+        assertEquals(expected, total.get());
+        assertEquals(HybridFraction.valueOf(THREADS * ITERATIONS, 6), adder.sum());
+    }
+
+    @Test
+    void concurrentCompareAndSetCountsEveryUpdate() throws Exception {
+        AtomicRational counter = new AtomicRational();
+        runConcurrently(() -> {
+            for(int i = 0; i < ITERATIONS; i++) {
+                counter.updateAndGet(x -> x.add(Rational.ONE));
+            }
+        });
+        assertEquals(Rational.valueOf(THREADS * ITERATIONS), counter.get());
+    }
+
+    @Test
+    void adderSumAndReset() {
+        RationalAdder adder = new RationalAdder();
+        assertEquals(HybridFraction.ZERO, adder.sum());
+        adder.add(new Fraction(1, 2));
+        adder.add(Rational.valueOf(1, 3));
+        assertEquals(HybridFraction.valueOf(5, 6), adder.sum());
+        assertEquals("5/6", adder.toString());
+        assertEquals(5.0 / 6, adder.toDouble());
+        assertEquals(HybridFraction.valueOf(5, 6), adder.sumThenReset());
+        assertEquals(HybridFraction.ZERO, adder.sum());
+        adder.add(new Fraction(1));
+        adder.reset();
+        assertEquals(HybridFraction.ZERO, adder.sum());
+    }
+
+    @Test
+    void adderIsNotLimitedToInt() throws Exception {
+        RationalAdder adder = new RationalAdder();
+        HybridFraction large = HybridFraction.valueOf(Long.MAX_VALUE / 3, 7);
+        runConcurrently(() -> {
+            for(int i = 0; i < 100; i++) {
+                adder.add(large);
+            }
+        });
+        assertEquals(BigFraction.valueOf(large).mult(BigFraction.valueOf(THREADS * 100)), BigFraction.valueOf(adder.sum()));
+    }
+
+    private static void runConcurrently(Runnable task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for(int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for(Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
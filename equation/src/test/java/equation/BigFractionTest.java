@@ -0,0 +1,65 @@
+package equation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * BigFractionTest - 测试BigFraction的化简、运算以及double的精确转化。
+ */
+class BigFractionTest {
+    @Test
+    void valueOfReducesAndNormalizesSign() {
+        BigFraction value = BigFraction.valueOf(BigInteger.valueOf(6), BigInteger.valueOf(-8));
+        assertEquals(BigInteger.valueOf(-3), value.getNumerator());
+        assertEquals(BigInteger.valueOf(4), value.getDenominator());
+        assertEquals(BigFraction.ONE, BigFraction.valueOf(Long.MIN_VALUE, Long.MIN_VALUE));
+        assertEquals(BigFraction.valueOf(-(1L << 61), 1), BigFraction.valueOf(Long.MIN_VALUE, 4));
+        assertEquals(BigInteger.ONE.shiftLeft(63), BigFraction.valueOf(Long.MIN_VALUE, -1).getNumerator());
+        assertThrows(UnexpectValueException.class, () -> BigFraction.valueOf(1, 0));
+    }
+
+    @Test
+    void powerNeverOverflows() {
+        BigFraction power = (BigFraction) BigFraction.valueOf(1, 3).power(100);
+        assertEquals("1/515377520732011331036461129765621272702107522001", power.toString());
+        assertEquals(BigFraction.valueOf(-8, 1), BigFraction.valueOf(-1, 2).power(-3));
+        assertEquals(BigFraction.ONE, BigFraction.valueOf(7, 3).power(0));
+        assertThrows(UnexpectValueException.class, () -> BigFraction.ZERO.power(-1));
+        assertThrows(UnexpectValueException.class, () -> BigFraction.ONE.div(BigFraction.ZERO));
+    }
+
+    @Test
+    void arithmeticIsExact() {
+        BigFraction a = BigFraction.valueOf(BigInteger.TEN.pow(30), BigInteger.valueOf(7));
+        BigFraction b = BigFraction.valueOf(1, 3);
+        assertEquals(BigFraction.valueOf(BigInteger.TEN.pow(30).multiply(BigInteger.valueOf(3)).add(BigInteger.valueOf(7)), BigInteger.valueOf(21)), a.add(b));
+        assertEquals(b, a.sub(a).add(b));
+        assertEquals(BigFraction.ONE, a.div(a));
+        assertEquals(BigFraction.valueOf(BigInteger.TEN.pow(30), BigInteger.valueOf(21)), a.mult(b));
+        assertTrue(a.isGreaterThan(new Fraction(Integer.MAX_VALUE)));
+        assertEquals(b.reciprocalOf(), BigFraction.valueOf(3, 1));
+    }
+
+    @Test
+    void valueOfDoubleIsExact() {
+        BigFraction tenth = BigFraction.valueOf(0.1);
+        assertEquals(BigInteger.valueOf(3602879701896397L), tenth.getNumerator());
+        assertEquals(BigInteger.ONE.shiftLeft(55), tenth.getDenominator());
+        assertEquals(0.1, tenth.toDouble());
+        assertEquals(BigFraction.valueOf(-5, 2), BigFraction.valueOf(-2.5));
+        assertEquals(Double.MIN_VALUE, BigFraction.valueOf(Double.MIN_VALUE).toDouble());
+        assertThrows(UnexpectValueException.class, () -> BigFraction.valueOf(Double.POSITIVE_INFINITY));
+    }
+
+    @Test
+    void hashCodeMatchesSmallTypes() {
+        assertEquals(Rational.valueOf(-3, 4).hashCode(), BigFraction.valueOf(6, -8).hashCode());
+        assertEquals(HybridFraction.valueOf(-3, 4).hashCode(), BigFraction.valueOf(6, -8).hashCode());
+        assertEquals(new Fraction(-3, 4), BigFraction.valueOf(6, -8));
+    }
+}
@@ -0,0 +1,219 @@
+package equation;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * ContinuedFractionTest - 测试ContinuedFraction的展开、渐近分数、最佳逼近以及Gosper算法。
+ */
+class ContinuedFractionTest {
+    @Test
+    void documentedExamples() {
+        ContinuedFraction pi = ContinuedFraction.valueOf(Math.PI);
+        assertEquals("[3; 7, 15, 1, 292, ...]", pi.toString(5));
+        assertEquals(HybridFraction.valueOf(355, 113), pi.convergent(3));
+        assertEquals(HybridFraction.valueOf(355, 113), pi.approximate(1000));
+        assertEquals(HybridFraction.valueOf(311, 99), pi.approximate(100));
+        assertEquals("[-2; 2, 2]", ContinuedFraction.valueOf(new Fraction(-8, 5)).toString());
+        assertEquals(HybridFraction.valueOf(355, 113), ContinuedFraction.ofTerms(3, 7, 16).convergent(2));
+        assertEquals("[0; 3]", ContinuedFraction.ofTerms(0, 2, 1).toString());
+        assertEquals(HybridFraction.valueOf(140, 99), ContinuedFraction.ofPeriodic(new long[] {1}, new long[] {2}).approximate(100));
+        assertEquals(HybridFraction.valueOf(2, 5), ContinuedFraction.valueOf(new Fraction(3, 8)).approximate(5));
+        HybridFraction sum = ContinuedFraction.sqrt(2).add(ContinuedFraction.sqrt(3)).approximate(100000);
+        assertTrue(sum.denominator <= 100000);
+        assertEquals(Math.sqrt(2) + Math.sqrt(3), sum.toDouble(), 1e-9);
+    }
+
+    @Test
+    void rationalRoundTrip() {
+        Random random = new Random(42);
+        for(int i = 0; i < 2000; i++) {
+            int n = random.nextInt(2001) - 1000;
+            int d = random.nextInt(1000) + 1;
+            ContinuedFraction cf = ContinuedFraction.valueOf(new Fraction(n, d));
+            assertEquals(new Fraction(n, d), cf.toFraction());
+            assertEquals((double) n / d, cf.toDouble());
+            // 各项就是辗转相除的商，第一项向下取整，有限连分数的最后一项不是1
+            long[] terms = cf.terms(Integer.MAX_VALUE);
+            assertEquals(Math.floorDiv(n, d), terms[0]);
+            for(int k = 1; k < terms.length; k++) {
+                assertTrue(terms[k] > 0);
+            }
+            assertTrue(terms.length == 1 || terms[terms.length - 1] > 1);
+            assertFalse(cf.hasTerm(terms.length));
+            assertEquals(new Fraction(n, d), ContinuedFraction.ofTerms(terms).toFraction());
+            // 渐近分数交替地位于原数的两侧，最后一个就是原数
+            for(int k = 0; k < terms.length; k++) {
+                int c = cf.convergent(k).compareTo(new Fraction(n, d));
+                assertTrue(k == terms.length - 1 ? c == 0 : (k % 2 == 0 ? c < 0 : c > 0));
+            }
+        }
+        assertEquals(-1.6, ContinuedFraction.valueOf(new Fraction(-8, 5)).toDouble());
+        assertEquals(HybridFraction.valueOf(-2), ContinuedFraction.valueOf(new Fraction(-8, 5)).convergent(0));
+        assertEquals("[5]", ContinuedFraction.ofTerms(4, 1).toString());
+        assertEquals("[0; 1, 2]", ContinuedFraction.valueOf(HybridFraction.valueOf(2, 3)).toString());
+    }
+
+    @Test
+    void approximateMatchesSearch() {
+        Random random = new Random(42);
+        for(int i = 0; i < 300; i++) {
+            long n = random.nextInt(20001) - 10000;
+            long d = random.nextInt(3000) + 1;
+            ContinuedFraction cf = ContinuedFraction.valueOf(HybridFraction.valueOf(n, d));
+            for(long max = 1; max <= 60; max++) {
+                HybridFraction result = cf.approximate(max);
+                assertTrue(result.denominator <= max);
+                // 穷举所有分母不超过max的分数，|p/q - n/d| 与 |pd - nq| / q 成正比
+                long bestError = -1;
+                long bestDenominator = 0;
+                int bestCount = 0;
+                for(long q = 1; q <= max; q++) {
+                    long floor = Math.floorDiv(n * q, d);
+                    for(long p = floor; p <= floor + 1; p++) {
+                        if(BigInteger.valueOf(p).gcd(BigInteger.valueOf(q)).longValue() != 1) {
+                            continue;
+                        }
+                        long error = Math.abs(p * d - n * q);
+                        long c = bestError < 0 ? -1 : error * bestDenominator - bestError * q;
+                        if(c < 0) {
+                            bestError = error;
+                            bestDenominator = q;
+                            bestCount = 1;
+                        } else if(c == 0) {
+                            bestCount++;
+                        }
+                    }
+                }
+                long error = Math.abs(result.numerator * d - n * result.denominator);
+                assertEquals(0, error * bestDenominator - bestError * result.denominator);
+                if(bestCount == 1) {
+                    assertEquals(bestDenominator, result.denominator);
+                }
+            }
+        }
+        assertEquals(HybridFraction.valueOf(7, 2), ContinuedFraction.valueOf(HybridFraction.valueOf(7, 2)).approximate(1000));
+        assertThrows(UnexpectValueException.class, () -> ContinuedFraction.sqrt(2).approximate(0));
+    }
+
+    @Test
+    void semiconvergents() {
+        ContinuedFraction pi = ContinuedFraction.valueOf(Math.PI);
+        for(int index = 1; index < 6; index++) {
+            long a = pi.term(index);
+            assertEquals(pi.convergent(index), pi.semiconvergent(index, a));
+            HybridFraction h1 = pi.convergent(index - 1);
+            HybridFraction h2 = index == 1 ? HybridFraction.ONE : pi.convergent(index - 2);
+            long k2 = index == 1 ? 0 : h2.denominator;
+            for(long j = 1; j <= Math.min(a, 20); j++) {
+                HybridFraction expected = HybridFraction.valueOf(j * h1.numerator + h2.numerator, j * h1.denominator + k2);
+                assertEquals(expected, pi.semiconvergent(index, j));
+            }
+        }
+        assertEquals(HybridFraction.valueOf(25, 8), pi.semiconvergent(2, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> pi.semiconvergent(0, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> pi.semiconvergent(1, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> pi.semiconvergent(1, 8));
+        ContinuedFraction finite = ContinuedFraction.ofTerms(1, 2);
+        assertThrows(IndexOutOfBoundsException.class, () -> finite.semiconvergent(2, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> finite.convergent(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> finite.term(2));
+        assertFalse(finite.hasTerm(-1));
+    }
+
+    @Test
+    void gosperArithmeticOnRationals() {
+        Random random = new Random(42);
+        for(int i = 0; i < 500; i++) {
+            Fraction x = new Fraction(random.nextInt(401) - 200, random.nextInt(100) + 1);
+            Fraction y = new Fraction(random.nextInt(401) - 200, random.nextInt(100) + 1);
+            ContinuedFraction a = ContinuedFraction.valueOf(x);
+            ContinuedFraction b = ContinuedFraction.valueOf(y);
+            assertEquals(ContinuedFraction.valueOf(x.add(y)).toString(), a.add(b).toString());
+            assertEquals(ContinuedFraction.valueOf(x.sub(y)).toString(), a.sub(b).toString());
+            assertEquals(ContinuedFraction.valueOf(x.mult(y)).toString(), a.mult(b).toString());
+            if(y.getNumerator() != 0) {
+                assertEquals(ContinuedFraction.valueOf(x.div(y)).toString(), a.div(b).toString());
+            } else {
+                assertThrows(UnexpectValueException.class, () -> a.div(b));
+            }
+        }
+    }
+
+    @Test
+    void gosperArithmeticOnIrrationals() {
+        ContinuedFraction product = ContinuedFraction.sqrt(2).mult(ContinuedFraction.sqrt(3));
+        assertEquals(ContinuedFraction.sqrt(6).toString(30), product.toString(30));
+        ContinuedFraction quotient = ContinuedFraction.sqrt(8).div(ContinuedFraction.valueOf(new Fraction(2)));
+        assertEquals(ContinuedFraction.sqrt(2).toString(30), quotient.toString(30));
+        ContinuedFraction shifted = ContinuedFraction.sqrt(2).add(ContinuedFraction.valueOf(new Fraction(-1, 2)));
+        assertEquals(Math.sqrt(2) - 0.5, shifted.toDouble(), 1e-15);
+        ContinuedFraction golden = ContinuedFraction.ofPeriodic(new long[0], new long[] {1});
+        assertEquals("[1; 1, 1, 1, ...]", golden.toString(4));
+        assertEquals(HybridFraction.valueOf(89, 55), golden.approximate(55));
+        // 结果恰好是有理数时某一项永远无法确定
+        ContinuedFraction two = ContinuedFraction.sqrt(2).mult(ContinuedFraction.sqrt(2));
+        assertThrows(ArithmeticException.class, () -> two.term(0));
+        assertThrows(ArithmeticException.class, () -> ContinuedFraction.sqrt(2).toFraction());
+    }
+
+    @Test
+    void bigTermsAndInvalidTerms() {
+        BigInteger huge = BigInteger.ONE.shiftLeft(100);
+        ContinuedFraction big = ContinuedFraction.valueOf(BigFraction.valueOf(huge.shiftLeft(1).add(BigInteger.ONE), BigInteger.valueOf(2)));
+        assertEquals(huge, big.bigTerm(0));
+        assertEquals(BigInteger.valueOf(2), big.bigTerm(1));
+        assertEquals(2, big.term(1));
+        assertThrows(ArithmeticException.class, () -> big.term(0));
+        assertThrows(ArithmeticException.class, () -> big.terms(2));
+        assertEquals("[" + huge + "; 2]", big.toString());
+        assertEquals(huge.doubleValue(), big.toDouble());
+        assertThrows(ArithmeticException.class, big::toFraction);
+        assertEquals(0, big.terms(0).length);
+        assertThrows(UnexpectValueException.class, () -> ContinuedFraction.ofTerms());
+        assertThrows(UnexpectValueException.class, () -> ContinuedFraction.ofTerms(1, 0));
+        assertThrows(UnexpectValueException.class, () -> ContinuedFraction.ofTerms(1, 2, -3));
+        assertThrows(UnexpectValueException.class, () -> ContinuedFraction.ofPeriodic(new long[] {1}, new long[0]));
+        assertThrows(UnexpectValueException.class, () -> ContinuedFraction.ofPeriodic(new long[] {1}, new long[] {0}));
+        assertThrows(UnexpectValueException.class, () -> ContinuedFraction.sqrt(-1));
+        assertThrows(UnexpectValueException.class, () -> ContinuedFraction.valueOf(Double.NaN));
+        assertEquals("[-3; 2]", ContinuedFraction.ofTerms(-3, 2).toString());
+    }
+
+    @Test
+    void sqrtOfSmallNumbers() {
+        assertEquals("[1; 2, 2, 2, 2, ...]", ContinuedFraction.sqrt(2).toString(5));
+        assertEquals("[4; 1, 3, 1, 8, 1, 3, ...]", ContinuedFraction.sqrt(23).toString(7));
+        assertEquals("[3]", ContinuedFraction.sqrt(9).toString());
+        assertEquals("[0]", ContinuedFraction.sqrt(0).toString());
+        assertEquals("[1]", ContinuedFraction.sqrt(1).toString());
+    }
+
+    @Test
+    void sqrtNearLongMaxValueTerminates() {
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            ContinuedFraction root = ContinuedFraction.sqrt(Long.MAX_VALUE);
+            assertEquals(3037000499L, root.term(0));
+            assertTrue(root.hasTerm(100));
+            for(long term : root.terms(100)) {
+                assertTrue(term > 0 && term <= 2 * 3037000499L);
+            }
+            assertEquals(Math.sqrt((double) Long.MAX_VALUE), root.toDouble());
+            long square = 3037000499L * 3037000499L;
+            assertArrayEquals(new long[] {3037000499L}, ContinuedFraction.sqrt(square).terms(10));
+            assertEquals(3037000499L, ContinuedFraction.sqrt(square + 1).term(0));
+            assertEquals(3037000499L, ContinuedFraction.sqrt(square - 1).term(0) + 1);
+            assertFalse(ContinuedFraction.sqrt(square).hasTerm(1));
+        });
+    }
+}
@@ -0,0 +1,59 @@
+package equation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * ConversionTest - 测试toDouble、toFloat、toBigDecimal的舍入结果，以及值为0时不会得到-0.0。
+ */
+class ConversionTest {
+    @Test
+    void zeroIsPositive() {
+        assertEquals(0L, Double.doubleToRawLongBits(new Fraction(0, -3).toDouble()));
+        assertEquals(0, Float.floatToRawIntBits(new Fraction(0, -3).toFloat()));
+        assertEquals(0L, Double.doubleToRawLongBits(Rational.valueOf(0, -3).toDouble()));
+    }
+
+    @Test
+    void toDoubleIsCorrectlyRounded() {
+        assertEquals(0.5, new Fraction(1, 2).toDouble());
+        Random random = new Random(42);
+        for(int i = 0; i < 10000; i++) {
+            Fraction fraction = new Fraction(random.nextInt(), random.nextInt(Integer.MAX_VALUE) + 1);
+            double expected = new BigDecimal(fraction.getNumerator())
+                    .divide(new BigDecimal(fraction.getDenominator()), MathContext.DECIMAL128).doubleValue();
+            assertEquals(expected, fraction.toDouble());
+        }
+    }
+
+    @Test
+    void toFloatRoundsOnce() {
+        Random random = new Random(42);
+        for(int i = 0; i < 10000; i++) {
+            Fraction fraction = new Fraction(random.nextInt(), random.nextInt(Integer.MAX_VALUE) + 1);
+            float expected = new BigDecimal(fraction.getNumerator())
+                    .divide(new BigDecimal(fraction.getDenominator()), MathContext.DECIMAL128).floatValue();
+            assertEquals(expected, fraction.toFloat());
+        }
+    }
+
+    @Test
+    void toBigDecimalUsesContext() {
+        assertEquals(new BigDecimal("0.3333333333333333"), new Fraction(1, 3).toBigDecimal(MathContext.DECIMAL64));
+        assertEquals(new BigDecimal("0.125"), new Fraction(1, 8).toBigDecimal(MathContext.UNLIMITED));
+        assertThrows(ArithmeticException.class, () -> new Fraction(1, 3).toBigDecimal(MathContext.UNLIMITED));
+    }
+
+    @Test
+    void decimalExpansionFindsCycle() {
+        assertEquals("0.1(6)", new DecimalExpansion(new Fraction(1, 6)).toString());
+        assertEquals("-3.(142857)", new DecimalExpansion(new Fraction(-22, 7)).toString());
+        assertEquals(6, new DecimalExpansion(new Fraction(1, 7)).getCycleLength());
+    }
+}
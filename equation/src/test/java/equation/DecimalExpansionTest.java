@@ -0,0 +1,130 @@
+package equation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * DecimalExpansionTest - 测试DecimalExpansion逐位产生的数字、不循环部分与循环节的长度，以及toString的结果可以被FractionFormat解析回原来的分数。
+ */
+class DecimalExpansionTest {
+    @Test
+    void documentedExample() {
+        DecimalExpansion expansion = new DecimalExpansion(new Fraction(1, 6));
+        assertEquals(BigInteger.ZERO, expansion.getIntegerPart());
+        assertEquals(1, expansion.nextDigit());
+        assertEquals(6, expansion.nextDigit());
+        assertEquals(2, expansion.getPosition());
+        assertEquals(1, expansion.getPrefixLength());
+        assertEquals(1, expansion.getCycleLength());
+        assertEquals("0.1(6)", expansion.toString());
+        assertEquals(6, expansion.nextDigit());
+        assertEquals("-3.(142857)", new DecimalExpansion(new Fraction(-22, 7)).toString());
+        assertEquals("0.125", new DecimalExpansion(new Fraction(1, 8)).toString());
+    }
+
+    @Test
+    void terminatingExpansions() {
+        DecimalExpansion expansion = new DecimalExpansion(new Fraction(-13, 40));
+        assertTrue(expansion.isNegative());
+        assertTrue(expansion.isTerminating());
+        assertEquals(3, expansion.getPrefixLength());
+        assertEquals(0, expansion.getCycleLength());
+        assertEquals(3, expansion.nextDigit());
+        assertEquals(2, expansion.nextDigit());
+        assertTrue(expansion.hasNextDigit());
+        assertEquals(5, expansion.nextDigit());
+        assertFalse(expansion.hasNextDigit());
+        assertEquals(-1, expansion.nextDigit());
+        assertEquals(3, expansion.getPosition());
+        assertEquals("-0.325", expansion.toString());
+        assertEquals("7", new DecimalExpansion(new Fraction(14, 2)).toString());
+        assertEquals("0", new DecimalExpansion(new Fraction(0, -3)).toString());
+        assertFalse(new DecimalExpansion(new Fraction(0)).isNegative());
+        assertEquals(-1, new DecimalExpansion(new Fraction(5)).nextDigit());
+    }
+
+    @Test
+    void cycleLengths() {
+        assertEquals(6, new DecimalExpansion(new Fraction(1, 7)).getCycleLength());
+        assertEquals(96, new DecimalExpansion(new Fraction(1, 97)).getCycleLength());
+        assertEquals(2, new DecimalExpansion(new Fraction(1, 11)).getCycleLength());
+        DecimalExpansion mixed = new DecimalExpansion(new Fraction(7, 12 * 25));
+        assertEquals(2, mixed.getPrefixLength());
+        assertEquals(1, mixed.getCycleLength());
+        assertFalse(mixed.isTerminating());
+        DecimalExpansion limited = new DecimalExpansion(new Fraction(1, 97));
+        assertEquals(-1, limited.getCycleLength(95));
+        assertEquals(96, limited.getCycleLength(96));
+        assertEquals(96, limited.getCycleLength(1));
+        String text = new DecimalExpansion(new Fraction(1, 97)).toString();
+        assertTrue(text.startsWith("0.(010309278350515463917525773195876288659793814432989690721649484536082474226804123711340206185567"));
+        assertEquals(4 + 96, text.length());
+        assertTrue(text.endsWith(")"));
+    }
+
+    @Test
+    void truncatedToString() {
+        assertEquals("0.(142857)", new DecimalExpansion(new Fraction(1, 7)).toString(6));
+        assertEquals("0.14285...", new DecimalExpansion(new Fraction(1, 7)).toString(5));
+        assertEquals("0.12...", new DecimalExpansion(new Fraction(1, 8)).toString(2));
+        assertEquals("0.1(6)", new DecimalExpansion(new Fraction(1, 6)).toString(2));
+        assertEquals("0.1...", new DecimalExpansion(new Fraction(1, 6)).toString(1));
+        assertThrows(UnexpectValueException.class, () -> new DecimalExpansion(new Fraction(1, 6)).toString(-1));
+        DecimalExpansion expansion = new DecimalExpansion(new Fraction(2, 3));
+        expansion.nextDigit();
+        assertEquals("0.(6)", expansion.toString(3));
+        assertEquals(1, expansion.getPosition());
+    }
+
+    @Test
+    void digitsAgreeWithBigDecimal() {
+        Random random = new Random(42);
+        for(int i = 0; i < 200; i++) {
+            long numerator = random.nextInt(2000001) - 1000000;
+            long denominator = random.nextInt(100000) + 1;
+            checkDigits(BigFraction.valueOf(numerator, denominator), 60);
+        }
+        BigInteger large = BigInteger.ONE.shiftLeft(100).add(BigInteger.valueOf(3));
+        checkDigits(BigFraction.valueOf(BigInteger.valueOf(12345), large), 60);
+        checkDigits(BigFraction.valueOf(BigInteger.TEN.pow(40), large), 60);
+        checkDigits(BigFraction.valueOf(BigInteger.ONE, BigInteger.ONE.shiftLeft(59).subtract(BigInteger.ONE)), 60);
+        checkDigits(BigFraction.valueOf(BigInteger.ONE, BigInteger.ONE.shiftLeft(60).subtract(BigInteger.ONE)), 60);
+    }
+
+    @Test
+    void toStringParsesBack() {
+        Random random = new Random(42);
+        for(int i = 0; i < 500; i++) {
+            HybridFraction value = HybridFraction.valueOf(random.nextInt(20001) - 10000, random.nextInt(500) + 1);
+            DecimalExpansion expansion = new DecimalExpansion(value);
+            assertEquals(value, FractionFormat.parse(expansion.toString()), value.toString());
+        }
+        BigFraction big = BigFraction.valueOf(BigInteger.valueOf(-7), BigInteger.ONE.shiftLeft(70).multiply(BigInteger.valueOf(3)));
+        DecimalExpansion expansion = new DecimalExpansion(big);
+        assertEquals(70, expansion.getPrefixLength());
+        assertEquals(1, expansion.getCycleLength());
+        assertEquals(HybridFraction.valueOf(big), FractionFormat.parse(expansion.toString()));
+    }
+
+    private static void checkDigits(BigFraction value, int count) {
+        DecimalExpansion expansion = new DecimalExpansion(value);
+        BigDecimal quotient = new BigDecimal(value.getNumerator()).abs().divide(new BigDecimal(value.getDenominator()), count, RoundingMode.DOWN);
+        assertEquals(value.getNumerator().signum() < 0, expansion.isNegative());
+        assertEquals(quotient.toBigInteger(), expansion.getIntegerPart());
+        String digits = quotient.toPlainString();
+        digits = digits.substring(digits.indexOf('.') + 1);
+        for(int i = 0; i < count; i++) {
+            int digit = expansion.nextDigit();
+            assertEquals(digits.charAt(i) - '0', digit == -1 ? 0 : digit, value.toString());
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package equation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * DoubleConstructionTest - 测试由double创建分数时的结果，以及无法用int表示的输入一律抛出异常而不是返回0。
+ */
+class DoubleConstructionTest {
+    @Test
+    void constructorFindsSimpleFractions() {
+        assertEquals(new Fraction(3, 8), new Fraction(0.375));
+        assertEquals(new Fraction(1, 10), new Fraction(0.1));
+        assertEquals(new Fraction(3, 10), new Fraction(0.1 + 0.2));
+        assertEquals(new Fraction(-5, 2), new Fraction(-2.5));
+        assertEquals(new Fraction(3, 4), new Fraction(1.5, 2.0));
+    }
+
+    @Test
+    void tinyNonzeroValuesThrow() {
+        assertThrows(ArithmeticException.class, () -> new Fraction(1e-12));
+        assertThrows(ArithmeticException.class, () -> new Fraction(3.0, 1e-12));
+        assertThrows(ArithmeticException.class, () -> new Fraction(1e12));
+        assertEquals(new Fraction(0, 1), new Fraction(0.0));
+    }
+
+    @Test
+    void intMinValueIsRepresentable() {
+        assertEquals(new Fraction(Integer.MIN_VALUE, 1), new Fraction(-2147483648.0));
+        assertEquals(new Fraction(Integer.MIN_VALUE, 1), Fraction.valueOf(-2147483648.0));
+        assertEquals(new Fraction(Integer.MIN_VALUE, 1), Fraction.approximate(-2147483648.0, 10));
+        assertEquals(new Fraction(Integer.MIN_VALUE, 1), new Fraction(-2147483648.25));
+        assertThrows(ArithmeticException.class, () -> new Fraction(2147483648.0));
+        assertThrows(ArithmeticException.class, () -> new Fraction(-2147483649.0));
+    }
+
+    @Test
+    void largeValuesRespectTheNumeratorLimit() {
+        assertEquals(new Fraction(1000000000, 1), new Fraction(1e9 + 0.1));
+        assertEquals(new Fraction(2000000001, 2), new Fraction(1e9 + 0.5));
+        assertEquals(new Fraction(Integer.MAX_VALUE, 1), new Fraction(2147483647.4));
+        assertEquals(new Fraction(-1000000000, 1), Fraction.approximate(-1e9 - 0.1, 1000));
+        Random random = new Random(42);
+        for(int i = 0; i < 1000; i++) {
+            double value = (random.nextDouble() * 2 - 1) * Integer.MAX_VALUE;
+            Fraction result = new Fraction(value);
+            // 整数部分能放进int时，最佳逼近的误差不会超过0.5
+            assertTrue(Math.abs(result.toDouble() - value) <= 0.5);
+        }
+    }
+
+    @Test
+    void underflowHasItsOwnMessage() {
+        ArithmeticException err = assertThrows(ArithmeticException.class, () -> new Fraction(1e-12));
+        assertEquals("integer underflow", err.getMessage());
+        err = assertThrows(ArithmeticException.class, () -> new Fraction(1e12));
+        assertEquals("integer overflow", err.getMessage());
+    }
+
+    @Test
+    void nanThrows() {
+        assertThrows(UnexpectValueException.class, () -> new Fraction(Double.NaN));
+    }
+
+    @Test
+    void valueOfIsExact() {
+        assertEquals(new Fraction(3, 8), Fraction.valueOf(0.375));
+        assertEquals(new Fraction(-5, 2), Fraction.valueOf(-2.5));
+        assertThrows(ArithmeticException.class, () -> Fraction.valueOf(0.1));
+    }
+
+    @Test
+    void approximateRespectsMaxDenominator() {
+        assertEquals(new Fraction(311, 99), Fraction.approximate(Math.PI, 100));
+        assertEquals(new Fraction(355, 113), Fraction.approximate(Math.PI, 1000));
+        Random random = new Random(42);
+        for(int i = 0; i < 1000; i++) {
+            double value = random.nextDouble() * 200 - 100;
+            int maxDenominator = random.nextInt(10000) + 1;
+            Fraction result = Fraction.approximate(value, maxDenominator);
+            assertTrue(result.getDenominator() > 0);
+            assertTrue(result.getDenominator() <= maxDenominator);
+            assertTrue(Math.abs(result.toDouble() - value) <= 1.0 / maxDenominator);
+        }
+    }
+}
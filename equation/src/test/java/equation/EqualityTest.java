@@ -0,0 +1,98 @@
+package equation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * EqualityTest - 测试不同Number实现之间equals、hashCode与compareTo的约定：按数值比较、结果对称，并且不会因为数值超出int的范围而抛出异常。
+ */
+class EqualityTest {
+    @Test
+    void equalValuesAreEqualRegardlessOfForm() {
+        Fraction half = new Fraction(1, 2);
+        assertEquals(half, new Fraction(2, 4));
+        assertEquals(half, new Fraction(-1, -2));
+        assertEquals(half.hashCode(), new Fraction(2, 4).hashCode());
+        assertEquals(half.hashCode(), new Fraction(-1, -2).hashCode());
+        assertFalse(half.equals(new Fraction(-1, 2)));
+    }
+
+    @Test
+    void equalsIsSymmetricAcrossTypes() {
+        Number[] halves = {
+            new Fraction(1, 2),
+            Rational.valueOf(1, 2),
+            HybridFraction.valueOf(1, 2),
+            BigFraction.valueOf(1, 2),
+            FixedFraction.valueOf(50, 100)
+        };
+        for(Number a : halves) {
+            for(Number b : halves) {
+                assertEquals(a, b, a.getClass().getSimpleName() + " vs " + b.getClass().getSimpleName());
+            }
+        }
+        Number third = BigFraction.valueOf(1, 3);
+        for(Number a : halves) {
+            assertFalse(a.equals(third));
+            assertFalse(third.equals(a));
+        }
+    }
+
+    @Test
+    void equalsDoesNotThrowForValuesBeyondInt() {
+        Number[] large = {
+            HybridFraction.valueOf(Long.MAX_VALUE),
+            BigFraction.valueOf(BigInteger.TEN.pow(20), BigInteger.ONE),
+            FixedFraction.valueOf(Long.MAX_VALUE / 2, 3)
+        };
+        Number[] small = {new Fraction(1, 2), Rational.valueOf(7), new Fraction(Integer.MAX_VALUE, 1)};
+        for(Number a : small) {
+            for(Number b : large) {
+                assertFalse(a.equals(b));
+                assertFalse(b.equals(a));
+                assertTrue(a.isLessThan(b));
+                assertTrue(b.isGreaterThan(a));
+            }
+        }
+    }
+
+    @Test
+    void equalsRejectsNonExactValuesWithoutThrowing() {
+        Fraction half = new Fraction(1, 2);
+        RationalInterval interval = RationalInterval.valueOf(half);
+        assertFalse(half.equals(interval));
+        assertFalse(interval.equals(half));
+        assertFalse(Rational.ONE_HALF.equals(interval));
+        assertFalse(half.equals("1/2"));
+        assertFalse(half.equals(null));
+    }
+
+    @Test
+    void compareToHandlesNegativeDenominatorsAcrossTypes() {
+        Rational half = Rational.valueOf(1, 2);
+        assertEquals(0, half.compareTo(new Fraction(-1, -2)));
+        assertTrue(half.compareTo(new Fraction(1, -2)) > 0);
+        assertTrue(new Fraction(-1, 3).compareTo(HybridFraction.valueOf(Long.MIN_VALUE + 1, 3)) > 0);
+        assertTrue(new Fraction(1, 3).compareTo(HybridFraction.valueOf(Long.MAX_VALUE, Long.MAX_VALUE - 1)) < 0);
+        assertTrue(new Fraction(2, -3).isLessThan(Rational.valueOf(-1, 2)));
+    }
+
+    @Test
+    void compareToAgreesWithBigFraction() {
+        Random random = new Random(42);
+        for(int i = 0; i < 10000; i++) {
+            Fraction a = new Fraction(random.nextInt(), random.nextInt(Integer.MAX_VALUE) + 1);
+            Fraction b = new Fraction(random.nextInt(), random.nextInt(Integer.MAX_VALUE) + 1);
+            int expected = BigFraction.valueOf(a.getNumerator(), a.getDenominator())
+                    .compareTo(BigFraction.valueOf(b.getNumerator(), b.getDenominator()));
+            assertEquals(Integer.signum(expected), Integer.signum(a.compareTo(b)));
+            assertEquals(expected == 0, a.equals(b));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package equation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * ExpressionTest - 测试表达式的解析、编译以及编译前后求值结果的一致性。
+ */
+class ExpressionTest {
+    @Test
+    void evaluatesDocumentedExamples() {
+        CompiledExpression compiled = Expression.parse("(1/2 + 1/3) ^ 3 / x").compile();
+        assertEquals(HybridFraction.valueOf(25, 216), compiled.evaluate(new Fraction(5)));
+        assertEquals(HybridFraction.valueOf(125, 108), compiled.evaluate(new Fraction(1, 2)));
+        assertEquals(HybridFraction.valueOf(3, 2), Expression.parse("x / y + 1").compile().evaluate(new Fraction(1), new Fraction(2)));
+        assertEquals(Arrays.asList("base", "rate"), Expression.parse("base * (1 + rate) ^ 3").compile().getVariables());
+    }
+
+    @Test
+    void constantSubexpressionsAreFolded() {
+        String code = Expression.parse("(1/2 + 1/3) ^ 3 / x").compile().toString();
+        assertTrue(code.contains("125/216"), code);
+        assertFalse(code.contains("add"), code);
+    }
+
+    @Test
+    void precedenceAndLiterals() {
+        assertEquals(HybridFraction.valueOf(-9), evaluate("-x ^ 2", 3));
+        assertEquals(HybridFraction.valueOf(9), evaluate("(-x) ^ 2", 3));
+        assertEquals(HybridFraction.valueOf(7), evaluate("1 + 2 * x", 3));
+        assertEquals(HybridFraction.valueOf(1, 9), evaluate("x ^ -2", 3));
+        assertEquals(HybridFraction.valueOf(1, 8), evaluate("0.125", 0));
+        assertEquals(HybridFraction.valueOf(-1), evaluate("1 - 1 - 1", 0));
+        assertEquals(HybridFraction.valueOf(1, 4), evaluate("1 / 2 / 2", 0));
+    }
+
+    @Test
+    void syntaxErrorsThrow() {
+        assertThrows(UnexpectValueException.class, () -> Expression.parse("1 +"));
+        assertThrows(UnexpectValueException.class, () -> Expression.parse("(1 + 2"));
+        assertThrows(UnexpectValueException.class, () -> Expression.parse("x ^ 2 ^ 3"));
+        assertThrows(UnexpectValueException.class, () -> Expression.parse("1 2"));
+    }
+
+    @Test
+    void evaluationErrorsThrow() {
+        CompiledExpression compiled = Expression.parse("1 / x").compile();
+        assertThrows(UnexpectValueException.class, () -> compiled.evaluate(new Fraction(0)));
+        assertThrows(UnexpectValueException.class, () -> compiled.evaluate());
+        assertThrows(UnexpectValueException.class, () -> compiled.evaluate(Collections.<String, Number>emptyMap()));
+    }
+
+    @Test
+    void overflowFallsBackToBigFraction() {
+        Number result = Expression.parse("x ^ 5 * x ^ 5 - x ^ 10 + 1").compile().evaluate(HybridFraction.valueOf(Long.MAX_VALUE));
+        assertEquals(HybridFraction.ONE, result);
+        Number big = Expression.parse("x * 3").compile().evaluate(HybridFraction.valueOf(Long.MAX_VALUE));
+        assertTrue(((HybridFraction) big).isPromoted());
+    }
+
+    @Test
+    void compiledAgreesWithInterpreted() {
+        Expression expression = Expression.parse("(a + b) * (a - b) / (b ^ 2 + 1) - -a ^ 3 + 1/7");
+        CompiledExpression compiled = expression.compile();
+        Random random = new Random(42);
+        for(int i = 0; i < 1000; i++) {
+            Map<String, Number> bindings = new HashMap<String, Number>();
+            bindings.put("a", new Fraction(random.nextInt(2001) - 1000, random.nextInt(1000) + 1));
+            bindings.put("b", new Fraction(random.nextInt(2001) - 1000, random.nextInt(1000) + 1));
+            assertEquals(expression.evaluate(bindings), compiled.evaluate(bindings));
+        }
+    }
+
+    private static Number evaluate(String text, int x) {
+        Map<String, Number> bindings = Collections.<String, Number>singletonMap("x", new Fraction(x));
+        Expression expression = Expression.parse(text);
+        Number interpreted = expression.evaluate(bindings);
+        assertEquals(interpreted, expression.compile().evaluate(bindings));
+        return interpreted;
+    }
+}
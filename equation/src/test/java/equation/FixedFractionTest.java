@@ -0,0 +1,112 @@
+package equation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * FixedFractionTest - 测试FixedFraction保持固定分母、按舍入模式舍入运算结果，以及与其他Number按数值比较。
+ */
+class FixedFractionTest {
+    @Test
+    void documentedExamples() {
+        FixedFraction price = FixedFraction.valueOf(1999, 100);
+        FixedFraction rate = FixedFraction.valueOf(8, 100);
+        assertEquals("3998/100", price.add(price).toString());
+        assertEquals("160/100", price.mult(rate).toString());
+        assertEquals("666/100", price.div(new Fraction(3)).toString());
+        assertEquals("33/100", FixedFraction.valueOf(new Fraction(1, 3), 100, RoundingMode.HALF_EVEN).toString());
+        assertEquals("25/100", FixedFraction.valueOf(new Fraction(1, 4), 100, RoundingMode.UNNECESSARY).toString());
+        assertEquals("200/10", price.withDenominator(10).toString());
+        assertEquals(new BigDecimal("19.99"), price.toBigDecimal(MathContext.UNLIMITED));
+    }
+
+    @Test
+    void valueOfValidatesArguments() {
+        assertThrows(UnexpectValueException.class, () -> FixedFraction.valueOf(1, 0));
+        assertThrows(UnexpectValueException.class, () -> FixedFraction.valueOf(1, -100));
+        assertThrows(UnexpectValueException.class, () -> FixedFraction.valueOf(1, 100, null));
+        assertThrows(ArithmeticException.class, () -> FixedFraction.valueOf(new Fraction(1, 3), 100, RoundingMode.UNNECESSARY));
+        FixedFraction value = FixedFraction.valueOf(50, 100, RoundingMode.FLOOR);
+        assertEquals(50, value.getUnits());
+        assertEquals(100, value.getDenominator());
+        assertEquals(RoundingMode.FLOOR, value.getRoundingMode());
+        assertEquals(RoundingMode.CEILING, value.withRoundingMode(RoundingMode.CEILING).getRoundingMode());
+        assertEquals(FixedFraction.DEFAULT_ROUNDING, FixedFraction.valueOf(1, 100).getRoundingMode());
+    }
+
+    @Test
+    void resultsKeepTheDenominator() {
+        FixedFraction value = FixedFraction.valueOf(150, 100);
+        assertEquals("250/100", value.add(new Fraction(1)).toString());
+        assertEquals("100/100", value.sub(FixedFraction.valueOf(5, 10)).toString());
+        assertEquals("225/100", value.power(2).toString());
+        assertEquals("-50/100", value.sub(new Fraction(2)).toString());
+        assertThrows(UnexpectValueException.class, () -> value.div(new Fraction(0)));
+        assertThrows(UnexpectValueException.class, () -> value.div(FixedFraction.valueOf(0, 7)));
+    }
+
+    @Test
+    void roundingAgreesWithBigDecimal() {
+        Random random = new Random(42);
+        RoundingMode[] modes = {RoundingMode.UP, RoundingMode.DOWN, RoundingMode.CEILING, RoundingMode.FLOOR,
+                RoundingMode.HALF_UP, RoundingMode.HALF_DOWN, RoundingMode.HALF_EVEN};
+        for(int i = 0; i < 2000; i++) {
+            RoundingMode mode = modes[random.nextInt(modes.length)];
+            FixedFraction value = FixedFraction.valueOf(random.nextInt(20001) - 10000, 100, mode);
+            Fraction num = new Fraction(random.nextInt(2001) - 1000 | 1, random.nextInt(40) + 1);
+            assertRounded(BigFraction.valueOf(value.toFraction()).mult(num), value.mult(num), mode);
+            assertRounded(BigFraction.valueOf(value.toFraction()).div(num), value.div(num), mode);
+            assertRounded(BigFraction.valueOf(value.toFraction()).add(num), value.add(num), mode);
+        }
+    }
+
+    @Test
+    void bigIntegerOperandsAreExact() {
+        Number huge = HybridFraction.valueOf(Long.MAX_VALUE).mult(HybridFraction.valueOf(Long.MAX_VALUE));
+        FixedFraction value = FixedFraction.valueOf(300, 100, RoundingMode.HALF_UP);
+        assertEquals("0/100", value.div(huge).toString());
+        assertEquals("-1/100", value.withRoundingMode(RoundingMode.FLOOR).div(BigFraction.ZERO.sub(huge)).toString());
+        Number nearOne = HybridFraction.valueOf(huge.add(HybridFraction.ONE)).div(huge);
+        assertEquals("300/100", value.mult(nearOne).toString());
+        assertEquals("301/100", value.withRoundingMode(RoundingMode.CEILING).mult(nearOne).toString());
+        assertThrows(ArithmeticException.class, () -> value.add(huge));
+        assertThrows(ArithmeticException.class, () -> FixedFraction.valueOf(Long.MAX_VALUE, 1).add(FixedFraction.valueOf(1, 1)));
+    }
+
+    @Test
+    void comparisonIsByValue() {
+        FixedFraction half = FixedFraction.valueOf(50, 100);
+        assertEquals(half, new Fraction(1, 2));
+        assertEquals(half, FixedFraction.valueOf(5, 10));
+        assertEquals(half.hashCode(), FixedFraction.valueOf(5, 10).hashCode());
+        assertEquals(half.hashCode(), HybridFraction.valueOf(1, 2).hashCode());
+        assertNotEquals(half, FixedFraction.valueOf(51, 100));
+        assertNotEquals(half, "1/2");
+        assertTrue(half.isLessThan(FixedFraction.valueOf(51, 100)));
+        assertTrue(half.isGreaterThan(new Fraction(1, 3)));
+        assertEquals(0, half.compareTo(Rational.valueOf(1, 2)));
+        assertTrue(half.compareTo(HybridFraction.valueOf(Long.MAX_VALUE).mult(HybridFraction.valueOf(2))) < 0);
+        assertEquals(new Fraction(1, 2), half.toFraction());
+        assertEquals(0.5, half.toDouble());
+        assertEquals(0.5f, half.toFloat());
+    }
+
+    private static void assertRounded(Number exact, Number actual, RoundingMode mode) {
+        BigFraction value = BigFraction.valueOf(exact);
+        long expected = new BigDecimal(value.getNumerator().multiply(BigInteger.valueOf(100)))
+                .divide(new BigDecimal(value.getDenominator()), 0, mode).longValueExact();
+        FixedFraction fixed = (FixedFraction) actual;
+        assertEquals(100, fixed.getDenominator());
+        assertEquals(expected, fixed.getUnits(), () -> exact + " " + mode);
+    }
+}
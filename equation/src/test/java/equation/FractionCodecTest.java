@@ -0,0 +1,229 @@
+package equation;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * FractionCodecTest - 测试FractionCodec的编码格式、往返读写以及对不完整或伪造数据的处理。
+ */
+class FractionCodecTest {
+    @Test
+    void documentedExample() {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        FractionCodec.write(buffer, new Fraction(1, 2));
+        FractionCodec.write(buffer, new Fraction(-3, 4));
+        buffer.flip();
+        assertEquals(HybridFraction.valueOf(1, 2), FractionCodec.read(buffer));
+        assertEquals(HybridFraction.valueOf(-3, 4), FractionCodec.read(buffer));
+        assertEquals(0, buffer.remaining());
+    }
+
+    @Test
+    void encodingIsCompact() {
+        assertArrayEquals(new byte[] {2, 2}, encode(new Fraction(1, 2)));
+        assertArrayEquals(new byte[] {4, 5}, encode(new Fraction(-3, 4)));
+        assertArrayEquals(new byte[] {1, 0}, encode(new Fraction(0, -7)));
+        assertEquals(4, encode(Rational.valueOf(123456, 7)).length);
+        assertEquals(4, FractionCodec.encodedLength(Rational.valueOf(123456, 7)));
+        // 分母Long.MAX_VALUE - 1需要9个字节，分子Long.MIN_VALUE + 1经过zigzag编码后需要10个字节
+        assertEquals(19, FractionCodec.encodedLength(HybridFraction.valueOf(Long.MIN_VALUE + 1, Long.MAX_VALUE - 1)));
+        assertEquals(FractionCodec.MAX_VARINT_LENGTH, FractionCodec.encodedLength(HybridFraction.valueOf(Long.MIN_VALUE + 1)) - 1);
+    }
+
+    @Test
+    void writeLongsReducesAndMovesSign() {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        FractionCodec.write(buffer, 6, -8);
+        FractionCodec.write(buffer, Long.MIN_VALUE, Long.MIN_VALUE);
+        FractionCodec.write(buffer, Long.MIN_VALUE, 1);
+        FractionCodec.write(buffer, 1, Long.MIN_VALUE);
+        buffer.flip();
+        assertEquals(HybridFraction.valueOf(-3, 4), FractionCodec.read(buffer));
+        assertEquals(HybridFraction.ONE, FractionCodec.read(buffer));
+        assertEquals(HybridFraction.valueOf(Long.MIN_VALUE), FractionCodec.read(buffer));
+        assertEquals(HybridFraction.valueOf(1, Long.MIN_VALUE), FractionCodec.read(buffer));
+        assertThrows(UnexpectValueException.class, () -> FractionCodec.write(ByteBuffer.allocate(64), 1, 0));
+        assertThrows(BufferOverflowException.class, () -> FractionCodec.write(ByteBuffer.allocate(1), 1, 2));
+    }
+
+    @Test
+    void arrayRoundTrip() {
+        Fraction[] values = {new Fraction(1, 2), new Fraction(6, -8), new Fraction(Integer.MIN_VALUE, 1), new Fraction(Integer.MAX_VALUE, -3), new Fraction(0)};
+        ByteBuffer buffer = ByteBuffer.allocate(128);
+        FractionCodec.writeArray(buffer, values);
+        buffer.flip();
+        assertArrayEquals(new Fraction[] {new Fraction(1, 2), new Fraction(-3, 4), new Fraction(Integer.MIN_VALUE, 1), new Fraction(-Integer.MAX_VALUE, 3), new Fraction(0)}, FractionCodec.readFractions(buffer));
+        assertEquals(0, buffer.remaining());
+        buffer.clear();
+        FractionCodec.writeArray(buffer, new Number[] {HybridFraction.valueOf(1L << 40, 3)});
+        buffer.flip();
+        assertThrows(ArithmeticException.class, () -> FractionCodec.readFractions(buffer));
+        buffer.clear();
+        FractionCodec.writeArray(buffer, new Number[] {HybridFraction.valueOf(BigFraction.valueOf(BigInteger.TEN.pow(30), BigInteger.ONE))});
+        buffer.flip();
+        assertThrows(ArithmeticException.class, () -> FractionCodec.readFractions(buffer));
+    }
+
+    @Test
+    void vectorRoundTripThroughByteBuffer() throws IOException {
+        Random random = new Random(42);
+        RationalVector vector = new RationalVector(1000);
+        for(int i = 0; i < vector.length(); i++) {
+            vector.set(i, random.nextLong() >> random.nextInt(64), (random.nextLong() >>> random.nextInt(64)) | 1);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(FractionCodec.encodedLength(vector));
+        FractionCodec.writeVector(buffer, vector);
+        assertEquals(0, buffer.remaining());
+        buffer.flip();
+        RationalVector read = FractionCodec.readVector(buffer);
+        for(int i = 0; i < vector.length(); i++) {
+            assertEquals(vector.get(i), read.get(i));
+        }
+        buffer.rewind();
+        byte[] expected = new byte[buffer.remaining()];
+        buffer.get(expected);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        FractionCodec.writeVector(new DataOutputStream(bytes), vector);
+        assertArrayEquals(expected, bytes.toByteArray());
+    }
+
+    @Test
+    void readIntoVectorReducesUntrustedData() {
+        // 分母4、分子zigzag(-6) = 11，即没有化简的 -6/4
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[] {4, 11});
+        RationalVector out = new RationalVector(2);
+        FractionCodec.read(buffer, out, 1);
+        assertEquals("[0/1, -3/2]", out.toString());
+        ByteBuffer big = ByteBuffer.allocate(64);
+        FractionCodec.write(big, BigFraction.valueOf(BigInteger.TEN.pow(30), BigInteger.ONE));
+        big.flip();
+        assertThrows(ArithmeticException.class, () -> FractionCodec.read(big, out, 0));
+        // 分子为Long.MIN_VALUE
+        ByteBuffer min = ByteBuffer.allocate(64);
+        min.put((byte) 1);
+        min.put(new byte[] {-1, -1, -1, -1, -1, -1, -1, -1, -1, 1});
+        min.flip();
+        assertThrows(ArithmeticException.class, () -> FractionCodec.read(min, out, 0));
+    }
+
+    @Test
+    void malformedByteBufferData() {
+        assertThrows(BufferUnderflowException.class, () -> FractionCodec.read(ByteBuffer.wrap(new byte[] {2})));
+        assertThrows(BufferUnderflowException.class, () -> FractionCodec.read(ByteBuffer.wrap(new byte[] {(byte) 0x80})));
+        byte[] tooLong = new byte[11];
+        Arrays.fill(tooLong, (byte) 0x80);
+        assertThrows(UnexpectValueException.class, () -> FractionCodec.read(ByteBuffer.wrap(tooLong)));
+        // 分母超过Long.MAX_VALUE
+        byte[] negative = {-1, -1, -1, -1, -1, -1, -1, -1, -1, 1, 2};
+        assertThrows(UnexpectValueException.class, () -> FractionCodec.read(ByteBuffer.wrap(negative)));
+        // BigInteger形式的长度超过剩余字节数或为0
+        assertThrows(UnexpectValueException.class, () -> FractionCodec.read(ByteBuffer.wrap(new byte[] {0, 5, 1})));
+        assertThrows(UnexpectValueException.class, () -> FractionCodec.read(ByteBuffer.wrap(new byte[] {0, 0})));
+        // BigInteger形式的分母为0
+        assertThrows(UnexpectValueException.class, () -> FractionCodec.read(ByteBuffer.wrap(new byte[] {0, 1, 1, 1, 0})));
+        // 伪造的元素个数
+        byte[] forged = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07, 2, 2};
+        assertThrows(UnexpectValueException.class, () -> FractionCodec.readVector(ByteBuffer.wrap(forged)));
+        assertThrows(UnexpectValueException.class, () -> FractionCodec.readFractions(ByteBuffer.wrap(forged)));
+    }
+
+    @Test
+    void bigIntegerFormIsNormalized() {
+        // BigInteger形式：分子 -6，分母 -4，读出后应该是 3/2
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[] {0, 1, -6, 1, -4});
+        assertEquals(HybridFraction.valueOf(3, 2), FractionCodec.read(buffer));
+    }
+
+    @Test
+    void forgedVectorLengthDoesNotAllocate() {
+        // 长度为Integer.MAX_VALUE，后面没有任何元素
+        byte[] forged = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07};
+        assertThrows(EOFException.class, () -> FractionCodec.readVector(input(forged)));
+    }
+
+    @Test
+    void forgedByteLengthDoesNotAllocate() {
+        // 分母为0表示BigInteger形式，分子的字节数为Integer.MAX_VALUE
+        byte[] forged = {0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07, 1};
+        assertThrows(EOFException.class, () -> FractionCodec.read(input(forged)));
+    }
+
+    @Test
+    void longVectorRoundTripsThroughDataStream() throws IOException {
+        RationalVector vector = new RationalVector(5000);
+        for(int i = 0; i < vector.length(); i++) {
+            vector.set(i, new Fraction(i - 2500, i % 97 + 1));
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        FractionCodec.writeVector(new DataOutputStream(bytes), vector);
+        RationalVector read = FractionCodec.readVector(input(bytes.toByteArray()));
+        assertEquals(vector.length(), read.length());
+        for(int i = 0; i < vector.length(); i++) {
+            assertEquals(vector.get(i), read.get(i));
+        }
+    }
+
+    @Test
+    void largeBigIntegerRoundTripsThroughDataStream() throws IOException {
+        BigFraction big = BigFraction.valueOf(BigInteger.ONE.shiftLeft(20000).add(BigInteger.ONE), BigInteger.valueOf(3));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        FractionCodec.write(new DataOutputStream(bytes), big);
+        assertEquals(big, FractionCodec.read(input(bytes.toByteArray())));
+    }
+
+    @Test
+    void dataOutputMatchesByteBufferAndEncodedLength() throws IOException {
+        Number[] values = {
+            new Fraction(1, 2),
+            new Fraction(6, -8),
+            new Fraction(Integer.MIN_VALUE, -1),
+            new Fraction(0, -5),
+            Rational.valueOf(-123456, 7),
+            HybridFraction.valueOf(Long.MAX_VALUE, 3),
+            HybridFraction.valueOf(BigFraction.valueOf(BigInteger.TEN.pow(30), BigInteger.valueOf(7))),
+            BigFraction.valueOf(-5, 10),
+            FixedFraction.valueOf(25, 100)
+        };
+        for(Number value : values) {
+            ByteBuffer buffer = ByteBuffer.allocate(64);
+            FractionCodec.write(buffer, value);
+            buffer.flip();
+            byte[] expected = new byte[buffer.remaining()];
+            buffer.get(expected);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            FractionCodec.write(new DataOutputStream(bytes), value);
+            assertArrayEquals(expected, bytes.toByteArray(), value.toString());
+            assertEquals(expected.length, FractionCodec.encodedLength(value), value.toString());
+            assertEquals(value, FractionCodec.read(ByteBuffer.wrap(expected)));
+        }
+    }
+
+    private static byte[] encode(Number num) {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        FractionCodec.write(buffer, num);
+        buffer.flip();
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private static DataInputStream input(byte[] bytes) {
+        return new DataInputStream(new ByteArrayInputStream(bytes));
+    }
+}
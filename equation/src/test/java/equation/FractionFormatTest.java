@@ -0,0 +1,132 @@
+package equation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigInteger;
+import java.nio.CharBuffer;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * FractionFormatTest - 测试FractionFormat解析整数、分数、带分数和循环小数，以及格式化的结果可以被重新解析。
+ */
+class FractionFormatTest {
+    @Test
+    void documentedExamples() {
+        assertEquals(HybridFraction.valueOf(3, 2), FractionFormat.parse("1 1/2"));
+        assertEquals(HybridFraction.valueOf(1, 3), FractionFormat.parse("0.(3)"));
+        assertEquals(HybridFraction.valueOf(-3, 4), FractionFormat.parse("a,-3/4,b", 2, 6));
+        assertEquals(HybridFraction.valueOf(1, 4), FractionFormat.parse("1/2,0.25,3", 4, 8));
+        assertEquals("[1/2, 1/4, 4/3]", FractionFormat.parseVector("1/2, 0.25, 1 1/3", ',').toString());
+        StringBuilder builder = new StringBuilder();
+        FractionFormat.format(builder, new Fraction(3, 2)).append(',');
+        assertEquals("3/2,", builder.toString());
+        FractionFormat.formatMixed(builder, new Fraction(-3, 2));
+        assertEquals("3/2,-1 1/2", builder.toString());
+    }
+
+    @Test
+    void parseAllForms() {
+        assertEquals(HybridFraction.valueOf(3), FractionFormat.parse("3"));
+        assertEquals(HybridFraction.valueOf(-3), FractionFormat.parse("  -3\t"));
+        assertEquals(HybridFraction.valueOf(3), FractionFormat.parse("+3"));
+        assertEquals(HybridFraction.valueOf(-3, 4), FractionFormat.parse("-6/8"));
+        assertEquals(HybridFraction.valueOf(-3, 4), FractionFormat.parse("3/-4"));
+        assertEquals(HybridFraction.valueOf(3, 4), FractionFormat.parse("-3 / -4"));
+        assertEquals(HybridFraction.valueOf(-3, 2), FractionFormat.parse("-1 1/2"));
+        assertEquals(HybridFraction.valueOf(5, 2), FractionFormat.parse("1  3 / 2"));
+        assertEquals(HybridFraction.valueOf(1, 8), FractionFormat.parse("0.125"));
+        assertEquals(HybridFraction.valueOf(1, 2), FractionFormat.parse(".5"));
+        assertEquals(HybridFraction.valueOf(5), FractionFormat.parse("5."));
+        assertEquals(HybridFraction.valueOf(-1, 6), FractionFormat.parse("-0.1(6)"));
+        assertEquals(HybridFraction.ONE, FractionFormat.parse("0.(9)"));
+        assertEquals(HybridFraction.valueOf(611, 495), FractionFormat.parse("1.2(34)"));
+        assertEquals(HybridFraction.ZERO, FractionFormat.parse("-0/7"));
+    }
+
+    @Test
+    void malformedText() {
+        String[] malformed = {"", "  ", "-", "/2", "1/", "1//2", "1/2/3", "1 1/-2", "1 /", ".", "1.2.3", "0.(", "0.()", "0.(3", "0.(3)4",
+                "1 2", "1 1/2 3", "a", "1e5", "1/2x", "--1", "1 -1/2"};
+        for(String text : malformed) {
+            assertThrows(UnexpectValueException.class, () -> FractionFormat.parse(text), text);
+        }
+        assertThrows(UnexpectValueException.class, () -> FractionFormat.parse("1/0"));
+        assertThrows(UnexpectValueException.class, () -> FractionFormat.parse("1/00000000000000000000000"));
+        assertThrows(UnexpectValueException.class, () -> FractionFormat.parseVector("1/2,,3", ','));
+        assertThrows(IndexOutOfBoundsException.class, () -> FractionFormat.parse("1/2", 2, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> FractionFormat.parse("1/2", 0, 4));
+    }
+
+    @Test
+    void largeValuesFallBackToBigInteger() {
+        String digits = "123456789012345678901234567890";
+        assertEquals(HybridFraction.valueOf(BigFraction.valueOf(new BigInteger(digits), BigInteger.valueOf(7))), FractionFormat.parse(digits + "/7"));
+        assertEquals(HybridFraction.valueOf(BigFraction.valueOf(new BigInteger("-" + digits), BigInteger.TEN.pow(30))), FractionFormat.parse("-0." + digits));
+        assertEquals(HybridFraction.valueOf(Long.MIN_VALUE), FractionFormat.parse("-9223372036854775808"));
+        assertEquals(HybridFraction.valueOf(Long.MAX_VALUE), FractionFormat.parse("9223372036854775807"));
+        BigFraction repeating = BigFraction.valueOf(new BigInteger(digits), BigInteger.TEN.pow(30).subtract(BigInteger.ONE));
+        assertEquals(HybridFraction.valueOf(repeating), FractionFormat.parse("0.(" + digits + ")"));
+        assertThrows(ArithmeticException.class, () -> FractionFormat.parseFraction(digits, 0, digits.length()));
+        RationalVector out = new RationalVector(1);
+        assertThrows(ArithmeticException.class, () -> FractionFormat.parse(digits, 0, digits.length(), out, 0));
+        assertEquals("[0/1]", out.toString());
+    }
+
+    @Test
+    void parseIntoTargets() {
+        CharBuffer buffer = CharBuffer.wrap("x 10/4 y");
+        assertEquals(new Fraction(5, 2), FractionFormat.parseFraction(buffer, 1, 6));
+        RationalVector out = new RationalVector(2);
+        FractionFormat.parse(new StringBuilder("-2 2/4"), 0, 6, out, 1);
+        assertEquals("[0/1, -5/2]", out.toString());
+        assertThrows(ArithmeticException.class, () -> FractionFormat.parseFraction("4294967296/3", 0, 12));
+    }
+
+    @Test
+    void formatForms() throws IOException {
+        assertEquals("2/4", FractionFormat.format(new StringBuilder(), new Fraction(2, 4)).toString());
+        assertEquals("-3/4", FractionFormat.format(new StringBuilder(), Rational.valueOf(-3, 4)).toString());
+        assertEquals(Long.MIN_VALUE + "/1", FractionFormat.format(new StringBuilder(), HybridFraction.valueOf(Long.MIN_VALUE)).toString());
+        assertEquals("7/3", FractionFormat.format(new StringBuilder(), BigFraction.valueOf(14, 6)).toString());
+        assertEquals("25/100", FractionFormat.format(new StringBuilder(), FixedFraction.valueOf(25, 100)).toString());
+        RationalVector vector = FractionFormat.parseVector("1/2;-1/3", ';');
+        assertEquals("-1/3", FractionFormat.format(new StringBuilder(), vector, 1).toString());
+
+        StringWriter writer = new StringWriter();
+        FractionFormat.format(writer, new Fraction(2, -4));
+        writer.append(' ');
+        FractionFormat.format(writer, Long.MIN_VALUE, Long.MAX_VALUE);
+        writer.append(' ');
+        FractionFormat.format(writer, 0, 1);
+        writer.append(' ');
+        FractionFormat.format(writer, HybridFraction.valueOf(BigFraction.valueOf(BigInteger.TEN.pow(20), BigInteger.valueOf(3))));
+        assertEquals("2/-4 " + Long.MIN_VALUE + "/" + Long.MAX_VALUE + " 0/1 100000000000000000000/3", writer.toString());
+    }
+
+    @Test
+    void formatMixedExamples() {
+        assertEquals("3 1/2", FractionFormat.formatMixed(new StringBuilder(), new Fraction(7, 2)).toString());
+        assertEquals("-3 1/2", FractionFormat.formatMixed(new StringBuilder(), new Fraction(-7, 2)).toString());
+        assertEquals("1/2", FractionFormat.formatMixed(new StringBuilder(), new Fraction(1, 2)).toString());
+        assertEquals("-1/2", FractionFormat.formatMixed(new StringBuilder(), new Fraction(1, -2)).toString());
+        assertEquals("2", FractionFormat.formatMixed(new StringBuilder(), new Fraction(4, 2)).toString());
+        assertEquals("0", FractionFormat.formatMixed(new StringBuilder(), new Fraction(0, 2)).toString());
+        BigFraction big = BigFraction.valueOf(BigInteger.TEN.pow(20).add(BigInteger.ONE).negate(), BigInteger.valueOf(3));
+        assertEquals("-33333333333333333333 2/3", FractionFormat.formatMixed(new StringBuilder(), big).toString());
+    }
+
+    @Test
+    void formattedTextRoundTrips() {
+        Random random = new Random(42);
+        for(int i = 0; i < 2000; i++) {
+            HybridFraction value = HybridFraction.valueOf(random.nextLong() >> random.nextInt(64), (random.nextLong() >>> random.nextInt(64)) | 1);
+            assertEquals(value, FractionFormat.parse(FractionFormat.format(new StringBuilder(), value)));
+            assertEquals(value, FractionFormat.parse(FractionFormat.formatMixed(new StringBuilder(), value)));
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package equation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * HybridFractionTest - 测试HybridFraction在long与BigInteger两种表示之间的转换，以及从其它Number类型的转化。
+ */
+class HybridFractionTest {
+    @Test
+    void valueOfFractionIsReducedWithoutBigInteger() {
+        HybridFraction value = HybridFraction.valueOf(new Fraction(6, -8));
+        assertNull(value.big);
+        assertEquals(-3, value.numerator);
+        assertEquals(4, value.denominator);
+        value = HybridFraction.valueOf(new Fraction(Integer.MIN_VALUE, -1));
+        assertNull(value.big);
+        assertEquals(2147483648L, value.numerator);
+        assertEquals(1, value.denominator);
+    }
+
+    @Test
+    void valueOfFixedFraction() {
+        HybridFraction value = HybridFraction.valueOf(FixedFraction.valueOf(25, 100));
+        assertNull(value.big);
+        assertEquals(1, value.numerator);
+        assertEquals(4, value.denominator);
+        value = HybridFraction.valueOf(FixedFraction.valueOf(Long.MIN_VALUE, 3));
+        assertEquals(BigFraction.valueOf(BigInteger.valueOf(Long.MIN_VALUE), BigInteger.valueOf(3)), value);
+    }
+
+    @Test
+    void promotesOnOverflowAndDemotesAgain() {
+        HybridFraction third = HybridFraction.valueOf(1, 3);
+        HybridFraction power = (HybridFraction) third.power(50);
+        assertTrue(power.isPromoted());
+        assertEquals(BigInteger.valueOf(3).pow(50), power.getDenominator());
+        HybridFraction quotient = (HybridFraction) power.div(power);
+        assertFalse(quotient.isPromoted());
+        assertEquals(HybridFraction.ONE, quotient);
+        HybridFraction sum = (HybridFraction) HybridFraction.valueOf(Long.MAX_VALUE).add(HybridFraction.ONE);
+        assertTrue(sum.isPromoted());
+        assertEquals(BigInteger.ONE.shiftLeft(63), sum.getNumerator());
+        assertFalse(((HybridFraction) sum.sub(HybridFraction.ONE)).isPromoted());
+    }
+
+    @Test
+    void longMinValueIsPromoted() {
+        HybridFraction value = HybridFraction.valueOf(Long.MIN_VALUE, 1);
+        assertTrue(value.isPromoted());
+        assertEquals(BigInteger.valueOf(Long.MIN_VALUE), value.getNumerator());
+        assertFalse(HybridFraction.valueOf(Long.MIN_VALUE, 2).isPromoted());
+        assertEquals(HybridFraction.ONE, HybridFraction.valueOf(Long.MIN_VALUE, Long.MIN_VALUE));
+        assertThrows(UnexpectValueException.class, () -> HybridFraction.valueOf(1, 0));
+    }
+
+    @Test
+    void arithmeticAgreesWithBigFraction() {
+        Random random = new Random(42);
+        for(int i = 0; i < 10000; i++) {
+            long n1 = random.nextLong() >> random.nextInt(64);
+            long d1 = (random.nextLong() >>> random.nextInt(64)) | 1;
+            long n2 = random.nextLong() >> random.nextInt(64);
+            long d2 = (random.nextLong() >>> random.nextInt(64)) | 1;
+            HybridFraction a = HybridFraction.valueOf(n1, d1);
+            HybridFraction b = HybridFraction.valueOf(n2, d2);
+            BigFraction bigA = BigFraction.valueOf(n1, d1);
+            BigFraction bigB = BigFraction.valueOf(n2, d2);
+            assertSame(bigA.add(bigB), a.add(b));
+            assertSame(bigA.sub(bigB), a.sub(b));
+            assertSame(bigA.mult(bigB), a.mult(b));
+            if(n2 != 0) {
+                assertSame(bigA.div(bigB), a.div(b));
+            }
+            assertSame(bigA.power(3), a.power(3));
+            assertEquals(Integer.signum(bigA.compareTo(bigB)), Integer.signum(a.compareTo(b)));
+        }
+    }
+
+    @Test
+    void valueOfDoubleIsExact() {
+        assertEquals(HybridFraction.valueOf(3, 8), HybridFraction.valueOf(0.375));
+        assertEquals(BigFraction.valueOf(0.1), HybridFraction.valueOf(0.1));
+        assertFalse(HybridFraction.valueOf(0.1).isPromoted());
+        assertTrue(HybridFraction.valueOf(1e300).isPromoted());
+        assertEquals(1e300, HybridFraction.valueOf(1e300).toDouble());
+    }
+
+    /**
+     * assertSame方法 - 判断两个数的值相同，并且HybridFraction在能放进long时没有使用BigInteger。
+     */
+    private static void assertSame(Number expected, Number actual) {
+        HybridFraction hybrid = (HybridFraction) actual;
+        assertEquals(expected, hybrid);
+        assertEquals(expected.hashCode(), hybrid.hashCode());
+        BigFraction big = (BigFraction) expected;
+        boolean fits = big.getNumerator().bitLength() < 64 && big.getDenominator().bitLength() < 64
+                && big.getNumerator().longValue() != Long.MIN_VALUE;
+        assertEquals(!fits, hybrid.isPromoted(), hybrid.toString());
+    }
+}
@@ -0,0 +1,246 @@
+package equation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * LazyNumberTest - 测试LazyNumber的延迟求值、代数化简、相同子表达式的合并以及溢出后改用BigFraction，并与逐步求值的HybridFraction对比。
+ */
+class LazyNumberTest {
+
+    @Test
+    void documentedExample() {
+        LazyNumber x = LazyNumber.of(1, 3);
+        Number y = x.add(new Fraction(1, 6)).mult(x.add(new Fraction(1, 6))).sub(LazyNumber.of(1, 4));
+        LazyNumber lazy = (LazyNumber) y;
+        assertFalse(lazy.isEvaluated());
+        assertTrue(lazy.getNodeCount() <= 6);
+        assertEquals("0/1", y.toString());
+        assertTrue(lazy.isEvaluated());
+        assertEquals(1, lazy.getNodeCount());
+    }
+
+    @Test
+    void evaluationIsDeferred() {
+        LazyNumber zero = LazyNumber.of(0, 1);
+        Number quotient = LazyNumber.of(1, 2).div(zero);
+        Number negativePower = zero.power(-1);
+        assertThrows(UnexpectValueException.class, quotient::toDouble);
+        assertThrows(UnexpectValueException.class, negativePower::toString);
+        assertThrows(UnexpectValueException.class, () -> LazyNumber.of(1, 0));
+        Fraction frac = new Fraction(1, 2);
+        LazyNumber copy = LazyNumber.of(frac);
+        frac.setNumerator(3);
+        assertEquals(HybridFraction.valueOf(1, 2), copy.evaluate());
+        assertSame(copy, LazyNumber.of(copy));
+        assertTrue(copy.isEvaluated());
+    }
+
+    @Test
+    void algebraicSimplifications() {
+        LazyNumber x = (LazyNumber) LazyNumber.of(2, 3).add(LazyNumber.of(1, 5));
+        assertSame(x, x.add(LazyNumber.ZERO));
+        assertSame(x, LazyNumber.ZERO.add(x));
+        assertSame(x, x.add(new Fraction(0)));
+        assertSame(x, x.sub(Rational.valueOf(0)));
+        assertSame(x, x.mult(LazyNumber.ONE));
+        assertSame(x, LazyNumber.ONE.mult(x));
+        assertSame(x, x.div(HybridFraction.ONE));
+        assertSame(x, x.power(1));
+        assertSame(x, x.negate().negate());
+        assertSame(LazyNumber.ZERO, x.sub(x));
+        assertSame(LazyNumber.ZERO, x.mult(LazyNumber.ZERO));
+        assertSame(LazyNumber.ONE, x.power(0));
+        assertSame(LazyNumber.ONE, LazyNumber.ONE.power(-5));
+        assertEquals(Rational.valueOf(-13, 15), LazyNumber.ZERO.sub(x));
+        assertEquals(Rational.valueOf(13, 15).sub(Rational.valueOf(-1, 2)), x.sub(LazyNumber.of(-1, 2)));
+        assertEquals(Rational.valueOf(13, 15).add(Rational.valueOf(1, 4)), x.sub(LazyNumber.of(1, 4).negate()));
+        assertEquals(Rational.valueOf(1, 4).add(Rational.valueOf(-13, 15)), LazyNumber.of(1, 4).add(x.negate()));
+        assertEquals(Rational.valueOf(13, 15).power(6), ((LazyNumber) x.power(2)).power(3));
+        assertEquals(Rational.valueOf(15, 13).power(6), ((LazyNumber) x.power(-2)).power(3));
+        assertEquals(Rational.valueOf(13, 15).power(-6), ((LazyNumber) x.power(3)).power(-2));
+        assertEquals(2, ((LazyNumber) ((LazyNumber) x.power(2)).power(3)).getNodeCount() - x.getNodeCount() + 1);
+    }
+
+    @Test
+    void simplificationsKeepErrors() {
+        // 含有除法的表达式可能在求值时抛出异常，因此 x-x、x*0 和 x^0 不能直接化简
+        LazyNumber undefined = (LazyNumber) LazyNumber.ONE.div(LazyNumber.ZERO);
+        assertThrows(UnexpectValueException.class, () -> undefined.sub(undefined).toString());
+        assertThrows(UnexpectValueException.class, () -> undefined.mult(LazyNumber.ZERO).toString());
+        assertThrows(UnexpectValueException.class, () -> LazyNumber.ZERO.mult(undefined).toString());
+        assertThrows(UnexpectValueException.class, () -> undefined.power(0).toString());
+        // 0^-1 的-1次幂不能合并为 0^1
+        Number inverse = LazyNumber.ZERO.power(-1);
+        assertThrows(UnexpectValueException.class, () -> ((LazyNumber) inverse).power(-1).toString());
+        LazyNumber nonzero = (LazyNumber) LazyNumber.of(3, 4).div(LazyNumber.of(1, 2));
+        assertEquals(Rational.valueOf(0), nonzero.sub(nonzero));
+        assertEquals(Rational.valueOf(1), nonzero.power(0));
+    }
+
+    @Test
+    void commonSubexpressionsAreMerged() {
+        LazyNumber x = LazyNumber.of(1, 3);
+        LazyNumber y = LazyNumber.of(2, 7);
+        Number sum = x.add(y);
+        assertEquals(4, ((LazyNumber) sum.mult(((LazyNumber) y).add(x))).getNodeCount());
+        assertEquals(4, ((LazyNumber) x.mult(y).add(y.mult(x))).getNodeCount());
+        assertEquals(5, ((LazyNumber) x.sub(y).add(y.sub(x))).getNodeCount());
+        Number total = LazyNumber.ZERO;
+        for(int i = 0; i < 1000; i++) {
+            total = total.add(x.mult(y));
+        }
+        assertTrue(((LazyNumber) total).getNodeCount() <= 1003);
+        assertEquals(Rational.valueOf(2000, 21), total);
+        // 已经求值的子表达式只算作一个节点
+        ((LazyNumber) sum).evaluate();
+        assertEquals(3, ((LazyNumber) sum.mult(LazyNumber.of(5, 1))).getNodeCount());
+    }
+
+    @Test
+    void matchesEagerEvaluation() {
+        Random random = new Random(42);
+        for(int round = 0; round < 300; round++) {
+            List<Number> lazy = new ArrayList<Number>();
+            List<Number> eager = new ArrayList<Number>();
+            for(int i = 0; i < 4; i++) {
+                long n = random.nextInt(41) - 20;
+                long d = random.nextInt(20) + 1;
+                lazy.add(LazyNumber.of(n, d));
+                eager.add(BigFraction.valueOf(n, d));
+            }
+            for(int step = 0; step < 30; step++) {
+                int i = random.nextInt(lazy.size());
+                int j = random.nextInt(lazy.size());
+                Number a = lazy.get(i);
+                Number b = lazy.get(j);
+                Number p = eager.get(i);
+                Number q = eager.get(j);
+                switch(random.nextInt(6)) {
+                    case 0:
+                        lazy.add(a.add(b));
+                        eager.add(p.add(q));
+                        break;
+                    case 1:
+                        lazy.add(a.sub(b));
+                        eager.add(p.sub(q));
+                        break;
+                    case 2:
+                        lazy.add(a.mult(b));
+                        eager.add(p.mult(q));
+                        break;
+                    case 3:
+                        if(Equation.compare(q, BigFraction.valueOf(0)) == 0) {
+                            continue;
+                        }
+                        lazy.add(a.div(b));
+                        eager.add(p.div(q));
+                        break;
+                    case 4:
+                        int index = random.nextInt(3) + 1;
+                        lazy.add(a.power(index));
+                        eager.add(p.power(index));
+                        break;
+                    default:
+                        lazy.add(((LazyNumber) a).negate());
+                        eager.add(BigFraction.valueOf(0).sub(p));
+                        break;
+                }
+            }
+            int last = lazy.size() - 1;
+            assertEquals(BigFraction.valueOf(eager.get(last)), BigFraction.valueOf(((LazyNumber) lazy.get(last)).evaluate()));
+            for(int i = 0; i < lazy.size(); i++) {
+                assertEquals(0, Equation.compare(lazy.get(i), eager.get(i)));
+            }
+        }
+    }
+
+    @Test
+    void overflowFallsBackToBigFraction() {
+        LazyNumber max = LazyNumber.of(Long.MAX_VALUE, 1);
+        Number cube = max.mult(max).mult(max).div(LazyNumber.of(Long.MAX_VALUE - 1, 1));
+        BigInteger m = BigInteger.valueOf(Long.MAX_VALUE);
+        assertEquals(BigFraction.valueOf(m.pow(3), BigInteger.valueOf(Long.MAX_VALUE - 1)), cube);
+        Number back = cube.mult(LazyNumber.of(Long.MAX_VALUE - 1, Long.MAX_VALUE)).div(max);
+        assertEquals(HybridFraction.valueOf(Long.MAX_VALUE), ((LazyNumber) back).evaluate());
+        Number tiny = LazyNumber.of(1, Long.MAX_VALUE).add(LazyNumber.of(1, Long.MAX_VALUE - 1));
+        BigFraction expected = (BigFraction) BigFraction.valueOf(1, Long.MAX_VALUE).add(BigFraction.valueOf(1, Long.MAX_VALUE - 1));
+        assertEquals(expected, tiny);
+        BigFraction huge = BigFraction.valueOf(BigInteger.ONE.shiftLeft(100), BigInteger.valueOf(3));
+        assertEquals(huge.add(BigFraction.valueOf(1, 2)), LazyNumber.of(huge).add(new Fraction(1, 2)));
+        assertEquals(BigFraction.valueOf(3).power(80), LazyNumber.of(3, 1).power(80));
+    }
+
+    @Test
+    void longChains() {
+        Number total = LazyNumber.ZERO;
+        for(int i = 1; i <= 200000; i++) {
+            total = total.add(LazyNumber.of(1, 2));
+        }
+        assertEquals(Rational.valueOf(100000), total);
+        Number product = LazyNumber.ONE;
+        for(int i = 1; i <= 20; i++) {
+            product = product.mult(LazyNumber.of(i, i + 1));
+        }
+        assertEquals(Rational.valueOf(1, 21), product);
+    }
+
+    @Test
+    void comparisonAndConversion() {
+        Number lazy = LazyNumber.of(1, 3).add(LazyNumber.of(1, 6));
+        assertEquals(HybridFraction.valueOf(1, 2), lazy);
+        assertEquals(lazy, new Fraction(2, 4));
+        assertEquals(lazy, LazyNumber.of(2, 4));
+        assertEquals(HybridFraction.valueOf(1, 2).hashCode(), lazy.hashCode());
+        assertFalse(lazy.equals("1/2"));
+        assertTrue(lazy.isGreaterThan(Rational.valueOf(1, 3)));
+        assertTrue(lazy.isLessThan(BigFraction.valueOf(2, 3)));
+        assertEquals(0.5, lazy.toDouble());
+        assertEquals(0.5f, lazy.toFloat());
+        assertEquals(new BigDecimal("0.3333"), LazyNumber.of(1, 3).toBigDecimal(new MathContext(4)));
+        assertEquals("1/2", lazy.toString());
+    }
+
+    @Test
+    void concurrentEvaluationOfSharedSubexpressions() throws Exception {
+        LazyNumber shared = LazyNumber.ZERO;
+        for(int i = 1; i <= 200; i++) {
+            shared = (LazyNumber) shared.add(LazyNumber.of(1, i));
+        }
+        List<Number> roots = new ArrayList<Number>();
+        for(int i = 1; i <= 64; i++) {
+            roots.add(shared.mult(LazyNumber.of(i, 1)));
+        }
+        BigFraction harmonic = BigFraction.valueOf(0);
+        for(int i = 1; i <= 200; i++) {
+            harmonic = (BigFraction) harmonic.add(BigFraction.valueOf(1, i));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<HybridFraction>> results = new ArrayList<Future<HybridFraction>>();
+            for(Number root : roots) {
+                results.add(executor.submit(((LazyNumber) root)::evaluate));
+            }
+            for(int i = 0; i < results.size(); i++) {
+                assertEquals(harmonic.mult(BigFraction.valueOf(i + 1)), results.get(i).get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package equation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * OperationCacheTest - 测试OperationCache的命中、淘汰、统计数据，以及缓存结果与直接计算的结果相同。
+ */
+class OperationCacheTest {
+    @Test
+    void documentedExample() {
+        OperationCache cache = new OperationCache(1024);
+        Fraction rate = new Fraction(3, 20);
+        Fraction quantity = new Fraction(7);
+        assertEquals(new Fraction(21, 20), Equation.mult(rate, quantity, cache));
+        assertEquals(new Fraction(21, 20), Equation.mult(rate, quantity, cache));
+        assertEquals(new Fraction(21, 20), Equation.mult(rate, quantity, null));
+        assertEquals(0.5, cache.hitRate());
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+        assertEquals(1, cache.size());
+        assertEquals("OperationCache[size=1/1024, hits=1, misses=1, evictions=0]", cache.toString());
+    }
+
+    @Test
+    void constructorValidatesArguments() {
+        assertThrows(UnexpectValueException.class, () -> new OperationCache(0));
+        assertThrows(UnexpectValueException.class, () -> new OperationCache(16, 0));
+        assertEquals(3, new OperationCache(3, 1000).getMaximumSize());
+        assertEquals(1.0, new OperationCache(3).hitRate());
+    }
+
+    @Test
+    void equalValuesShareOneEntry() {
+        OperationCache cache = new OperationCache(16, 1);
+        cache.add(new Fraction(1, 2), new Fraction(1, 3));
+        assertEquals(new Fraction(5, 6), cache.add(new Fraction(2, 4), new Fraction(2, 6)));
+        assertEquals(1, cache.hitCount());
+        // 运算符、操作数的顺序和类型都是键的一部分
+        cache.sub(new Fraction(1, 2), new Fraction(1, 3));
+        cache.add(new Fraction(1, 3), new Fraction(1, 2));
+        Number hybrid = cache.add(HybridFraction.valueOf(1, 2), new Fraction(1, 3));
+        assertTrue(hybrid instanceof HybridFraction);
+        assertEquals(1, cache.hitCount());
+        assertEquals(4, cache.size());
+        assertEquals(new Fraction(1, 8), cache.power(new Fraction(1, 2), 3));
+        assertEquals(new Fraction(1, 4), cache.power(new Fraction(1, 2), 2));
+        assertEquals(new Fraction(1, 8), cache.power(new Fraction(2, 4), 3));
+        assertEquals(2, cache.hitCount());
+    }
+
+    @Test
+    void mutableFractionsAreCopied() {
+        OperationCache cache = new OperationCache(16);
+        Fraction first = (Fraction) cache.div(new Fraction(1, 2), new Fraction(3));
+        first.setNumerator(5);
+        Fraction second = (Fraction) cache.div(new Fraction(1, 2), new Fraction(3));
+        assertEquals(new Fraction(1, 6), second);
+        assertNotSame(first, second);
+        assertNotSame(second, cache.div(new Fraction(1, 2), new Fraction(3)));
+        HybridFraction immutable = (HybridFraction) cache.mult(HybridFraction.valueOf(2), HybridFraction.valueOf(3));
+        assertSame(immutable, cache.mult(HybridFraction.valueOf(2), HybridFraction.valueOf(3)));
+    }
+
+    @Test
+    void uncacheableOperandsAreComputedDirectly() {
+        OperationCache cache = new OperationCache(16);
+        FixedFraction price = FixedFraction.valueOf(1999, 100);
+        assertEquals("160/100", cache.mult(price, FixedFraction.valueOf(8, 100)).toString());
+        assertEquals("160/100", cache.mult(price, FixedFraction.valueOf(8, 100)).toString());
+        Number huge = HybridFraction.valueOf(Long.MAX_VALUE).add(HybridFraction.ONE);
+        assertEquals(huge.add(HybridFraction.ONE), cache.add(huge, HybridFraction.ONE));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.hitCount());
+        assertEquals(3, cache.missCount());
+    }
+
+    @Test
+    void exceptionsAreNotCached() {
+        OperationCache cache = new OperationCache(16);
+        assertThrows(UnexpectValueException.class, () -> cache.div(new Fraction(1), new Fraction(0)));
+        assertThrows(UnexpectValueException.class, () -> cache.div(new Fraction(1), new Fraction(0)));
+        assertEquals(0, cache.size());
+        assertEquals(2, cache.missCount());
+    }
+
+    @Test
+    void leastRecentlyUsedIsEvicted() {
+        OperationCache cache = new OperationCache(2, 1);
+        cache.add(new Fraction(1), new Fraction(1));
+        cache.add(new Fraction(2), new Fraction(2));
+        cache.add(new Fraction(1), new Fraction(1));
+        cache.add(new Fraction(3), new Fraction(3));
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.evictionCount());
+        cache.add(new Fraction(1), new Fraction(1));
+        assertEquals(2, cache.hitCount());
+        cache.add(new Fraction(2), new Fraction(2));
+        assertEquals(2, cache.hitCount());
+        assertEquals(2, cache.evictionCount());
+    }
+
+    @Test
+    void disableClearAndReset() {
+        OperationCache cache = new OperationCache(16);
+        cache.add(new Fraction(1), new Fraction(1));
+        cache.setEnabled(false);
+        assertFalse(cache.isEnabled());
+        cache.add(new Fraction(1), new Fraction(1));
+        assertEquals(0, cache.hitCount());
+        assertEquals(1, cache.missCount());
+        cache.setEnabled(true);
+        cache.add(new Fraction(1), new Fraction(1));
+        assertEquals(1, cache.hitCount());
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.hitCount());
+        cache.resetStatistics();
+        assertEquals(0, cache.hitCount());
+        assertEquals(0, cache.missCount());
+        assertEquals(0, cache.evictionCount());
+    }
+
+    @Test
+    void concurrentUseAgreesWithDirectComputation() throws Exception {
+        OperationCache cache = new OperationCache(64, 4);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for(int t = 0; t < 4; t++) {
+                final long seed = t;
+                futures.add(executor.submit(() -> {
+                    Random random = new Random(seed);
+                    for(int i = 0; i < 5000; i++) {
+                        Rational a = Rational.valueOf(random.nextInt(20) - 10, random.nextInt(10) + 1);
+                        Rational b = Rational.valueOf(random.nextInt(20) - 10 | 1, random.nextInt(10) + 1);
+                        if(!cache.mult(a, b).equals(a.mult(b)) || !cache.div(a, b).equals(a.div(b))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for(Future<Boolean> future : futures) {
+                assertTrue(future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(40000, cache.hitCount() + cache.missCount());
+        assertTrue(cache.size() <= 64);
+    }
+}
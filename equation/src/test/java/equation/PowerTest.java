@@ -0,0 +1,66 @@
+package equation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * PowerTest - 测试power方法的结果是分母为正数的最简分数，以及0的负数次幂和溢出时的异常。
+ */
+class PowerTest {
+    @Test
+    void negativeIndexMovesSignToNumerator() {
+        Fraction result = (Fraction) new Fraction(-1, 2).power(-3);
+        assertEquals(-8, result.getNumerator());
+        assertEquals(1, result.getDenominator());
+        assertEquals("-8/1", result.toString());
+        Fraction cached = (Fraction) new OperationCache(16).power(new Fraction(-1, 2), -3);
+        assertEquals(-8, cached.getNumerator());
+        assertEquals(1, cached.getDenominator());
+    }
+
+    @Test
+    void powerReducesTheBase() {
+        Fraction result = (Fraction) new Fraction(2, -4).power(2);
+        assertEquals(1, result.getNumerator());
+        assertEquals(4, result.getDenominator());
+    }
+
+    @Test
+    void zeroIndexGivesOne() {
+        Fraction result = (Fraction) new Fraction(-3, 7).power(0);
+        assertEquals(1, result.getNumerator());
+        assertEquals(1, result.getDenominator());
+    }
+
+    @Test
+    void zeroToNegativeIndexThrows() {
+        assertThrows(UnexpectValueException.class, () -> new Fraction(0, 5).power(-1));
+    }
+
+    @Test
+    void overflowThrows() {
+        assertThrows(ArithmeticException.class, () -> new Fraction(3, 2).power(40));
+    }
+
+    @Test
+    void powerAgreesWithBigFraction() {
+        Random random = new Random(42);
+        for(int i = 0; i < 10000; i++) {
+            int numerator = random.nextInt(41) - 20;
+            int denominator = random.nextInt(20) + 1;
+            int index = random.nextInt(13) - 6;
+            if(numerator == 0 && index < 0) {
+                continue;
+            }
+            Fraction result = (Fraction) new Fraction(numerator, denominator).power(index);
+            assertTrue(result.getDenominator() > 0);
+            assertEquals(1, RationalMath.gcd(result.getNumerator(), result.getDenominator()));
+            assertEquals(BigFraction.valueOf(numerator, denominator).power(index), result);
+        }
+    }
+}
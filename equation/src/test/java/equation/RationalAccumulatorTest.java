@@ -0,0 +1,127 @@
+package equation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * RationalAccumulatorTest - 测试RationalAccumulator的原地运算、化简、溢出时改用BigFraction以及再次回到long运算。
+ */
+class RationalAccumulatorTest {
+    @Test
+    void documentedExamples() {
+        RationalAccumulator total = new RationalAccumulator();
+        assertSame(total, total.addInPlace(new Fraction(1, 2)).addInPlace(new Fraction(1, 3)));
+        assertEquals(new Fraction(5, 6), total.toFraction());
+        total.clear();
+        total.fma(new Fraction(1, 2), new Fraction(2, 3));
+        assertEquals(new Fraction(1, 3), total.toFraction());
+        total.fma(new Fraction(1, 4), new Fraction(2));
+        assertEquals(new Fraction(5, 6), total.toFraction());
+        assertEquals(5.0 / 6, total.toDouble());
+    }
+
+    @Test
+    void constructorRejectsBadThreshold() {
+        assertThrows(UnexpectValueException.class, () -> new RationalAccumulator(0));
+        assertThrows(UnexpectValueException.class, () -> new RationalAccumulator(63));
+        new RationalAccumulator(1);
+        new RationalAccumulator(62);
+    }
+
+    @Test
+    void setAndLongOperations() {
+        RationalAccumulator total = new RationalAccumulator();
+        assertEquals("0/1", total.toString());
+        total.set(6, -8);
+        assertEquals("-6/8", total.toString());
+        assertEquals("-3/4", total.reduce().toString());
+        total.addInPlace(7, 100).addInPlace(3, 100);
+        assertEquals(new Fraction(-13, 20), total.toFraction());
+        total.mulInPlace(-20, 13);
+        assertEquals(new Fraction(1), total.toFraction());
+        total.set(new Fraction(2, 3)).subInPlace(new Fraction(1, 6)).divInPlace(new Fraction(-1, 4));
+        assertEquals(new Fraction(-2), total.toFraction());
+        assertThrows(UnexpectValueException.class, () -> total.set(1, 0));
+        assertThrows(UnexpectValueException.class, () -> total.addInPlace(1, 0));
+        assertThrows(UnexpectValueException.class, () -> total.mulInPlace(1, 0));
+        assertThrows(UnexpectValueException.class, () -> total.divInPlace(new Fraction(0)));
+    }
+
+    @Test
+    void longMinValueIsExact() {
+        RationalAccumulator total = new RationalAccumulator();
+        total.set(Long.MIN_VALUE, Long.MIN_VALUE);
+        assertEquals(new Fraction(1), total.toFraction());
+        assertFalse(total.isPromoted());
+        total.addInPlace(Long.MIN_VALUE, 1).addInPlace(Long.MIN_VALUE, -1);
+        assertEquals(new Fraction(1), total.toFraction());
+        total.mulInPlace(Long.MIN_VALUE, 2);
+        assertEquals(HybridFraction.valueOf(Long.MIN_VALUE / 2), total.toHybridFraction());
+    }
+
+    @Test
+    void overflowIsPromotedAndDemoted() {
+        RationalAccumulator total = new RationalAccumulator();
+        total.set(Long.MAX_VALUE, 1).addInPlace(Long.MAX_VALUE, 1);
+        assertTrue(total.isPromoted());
+        assertEquals(BigFraction.valueOf(Long.MAX_VALUE).mult(BigFraction.valueOf(2)), BigFraction.valueOf(total.toHybridFraction()));
+        assertThrows(ArithmeticException.class, total::toFraction);
+        total.subInPlace(HybridFraction.valueOf(Long.MAX_VALUE)).subInPlace(HybridFraction.valueOf(Long.MAX_VALUE - 3));
+        assertEquals(new Fraction(3), total.toFraction());
+        assertFalse(total.isPromoted());
+        assertEquals("3/1", total.toString());
+    }
+
+    @Test
+    void fmaAgreesWithBigFraction() {
+        Random random = new Random(42);
+        for(int threshold : new int[] {1, 16, RationalAccumulator.DEFAULT_THRESHOLD, 62}) {
+            RationalAccumulator total = new RationalAccumulator(threshold);
+            BigFraction expected = BigFraction.ZERO;
+            for(int i = 0; i < 2000; i++) {
+                Fraction num1 = new Fraction(random.nextInt(2001) - 1000, random.nextInt(1000) + 1);
+                Fraction num2 = new Fraction(random.nextInt(2001) - 1000, random.nextInt(1000) + 1);
+                total.fma(num1, num2);
+                expected = (BigFraction) expected.add(BigFraction.valueOf(num1).mult(num2));
+            }
+            assertEquals(expected, BigFraction.valueOf(total.toHybridFraction()));
+            assertEquals(expected.toDouble(), total.toDouble(), Math.ulp(expected.toDouble()) * 4);
+        }
+    }
+
+    @Test
+    void mixedOperationsAgreeWithBigFraction() {
+        Random random = new Random(42);
+        RationalAccumulator total = new RationalAccumulator();
+        BigFraction expected = BigFraction.ZERO;
+        for(int i = 0; i < 500; i++) {
+            Fraction num = new Fraction(random.nextInt(199) - 99 | 1, random.nextInt(100) + 1);
+            switch(random.nextInt(4)) {
+            case 0:
+                total.addInPlace(num);
+                expected = (BigFraction) expected.add(num);
+                break;
+            case 1:
+                total.subInPlace(num);
+                expected = (BigFraction) expected.sub(num);
+                break;
+            case 2:
+                total.mulInPlace(num);
+                expected = (BigFraction) expected.mult(num);
+                break;
+            default:
+                total.divInPlace(num);
+                expected = (BigFraction) expected.div(num);
+                break;
+            }
+            assertEquals(expected, BigFraction.valueOf(total.toHybridFraction()));
+        }
+    }
+}
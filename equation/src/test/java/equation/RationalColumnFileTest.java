@@ -0,0 +1,229 @@
+package equation;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ReadOnlyBufferException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * RationalColumnFileTest - 测试RationalColumnFile的文件格式、读写往返，以及RationalColumn在映射内存上的批量运算。
+ */
+class RationalColumnFileTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void documentedExample() throws IOException {
+        Path path = directory.resolve("orders.rcol");
+        RationalVector prices = random(new Random(42), 1000, 100);
+        RationalVector quantities = random(new Random(43), 1000, 1);
+        try (RationalColumnFile file = RationalColumnFile.create(path, 1000, "price", "quantity")) {
+            file.getColumn("price").write(0, prices);
+            file.getColumn("quantity").write(0, quantities);
+        }
+        try (RationalColumnFile file = RationalColumnFile.open(path)) {
+            assertEquals(1000, file.rows());
+            assertEquals(2, file.columnCount());
+            assertEquals("price[1000]", file.getColumn(0).toString());
+            assertEquals(prices.dot(quantities), file.getColumn("price").dot(file.getColumn("quantity")));
+            assertEquals(prices.sum(), file.getColumn("price").sum());
+        }
+    }
+
+    @Test
+    void newFileIsZeroAndHeaderMatchesFormat() throws IOException {
+        Path path = directory.resolve("zero.rcol");
+        try (RationalColumnFile file = RationalColumnFile.create(path, 3, "a", "列")) {
+            RationalColumn column = file.getColumn("列");
+            for(int i = 0; i < 3; i++) {
+                assertEquals(0, column.getNumerator(i));
+                assertEquals(1, column.getDenominator(i));
+            }
+        }
+        byte[] bytes = Files.readAllBytes(path);
+        assertEquals("RCOL", new String(bytes, 0, 4, "US-ASCII"));
+        // 20字节的固定文件头，"a"占4+1字节，"列"占4+3字节，对齐到32字节，之后是两列各3个分子和3个分母
+        assertEquals(32 + 2 * 2 * 3 * 8, bytes.length);
+    }
+
+    @Test
+    void writeAndReadRoundTrip() throws IOException {
+        Path path = directory.resolve("round.rcol");
+        RationalVector a = random(new Random(42), 500, 1000);
+        RationalVector b = random(new Random(43), 500, 7);
+        RationalColumnFile.write(path, new String[] {"a", "b"}, a, b);
+        try (RationalColumnFile file = RationalColumnFile.open(path)) {
+            RationalColumn column = file.getColumn(0);
+            RationalVector out = column.read(0, new RationalVector(500));
+            for(int i = 0; i < 500; i++) {
+                assertEquals(a.get(i), out.get(i));
+                assertEquals(a.get(i), column.get(i));
+            }
+            RationalVector part = column.read(100, new RationalVector(10));
+            assertEquals(a.get(105), part.get(5));
+            assertEquals(Equation.sum(Arrays.asList(a.toFractionArray()).subList(10, 20)), column.sum(10, 20));
+            assertEquals(HybridFraction.ZERO, column.sum(7, 7));
+            assertThrows(IndexOutOfBoundsException.class, () -> column.read(495, new RationalVector(10)));
+            assertThrows(IndexOutOfBoundsException.class, () -> column.get(500));
+            assertThrows(IndexOutOfBoundsException.class, () -> column.sum(3, 2));
+            assertThrows(ReadOnlyBufferException.class, () -> column.set(0, new Fraction(1)));
+            assertThrows(ReadOnlyBufferException.class, () -> column.write(0, new RationalVector(1)));
+        }
+        assertThrows(UnexpectValueException.class, () -> RationalColumnFile.write(path, new String[] {"a"}, a, b));
+        assertThrows(UnexpectValueException.class, () -> RationalColumnFile.write(path, new String[] {"a", "b"}, a, new RationalVector(3)));
+    }
+
+    @Test
+    void writableFileKeepsChanges() throws IOException {
+        Path path = directory.resolve("writable.rcol");
+        RationalColumnFile.create(path, 4, "x").close();
+        try (RationalColumnFile file = RationalColumnFile.open(path, true)) {
+            RationalColumn column = file.getColumn("x");
+            column.set(0, 6, -8);
+            column.set(1, new Fraction(1, 3));
+            column.set(2, Long.MIN_VALUE, Long.MIN_VALUE);
+            assertThrows(ArithmeticException.class, () -> column.set(3, HybridFraction.valueOf(Long.MAX_VALUE).add(HybridFraction.ONE)));
+            assertThrows(UnexpectValueException.class, () -> column.set(3, 1, 0));
+            file.force();
+        }
+        try (RationalColumnFile file = RationalColumnFile.open(path)) {
+            RationalColumn column = file.getColumn("x");
+            assertEquals(-3, column.getNumerator(0));
+            assertEquals(4, column.getDenominator(0));
+            assertEquals(HybridFraction.valueOf(1, 3), column.get(1));
+            assertEquals(HybridFraction.ONE, column.get(2));
+            assertEquals(HybridFraction.ZERO, column.get(3));
+        }
+    }
+
+    @Test
+    void scansAgreeWithVector() throws IOException {
+        Path path = directory.resolve("scan.rcol");
+        RationalVector a = random(new Random(42), 2000, 50);
+        RationalVector b = random(new Random(43), 2000, 50);
+        RationalColumnFile.write(path, new String[] {"a", "b"}, a, b);
+        try (RationalColumnFile file = RationalColumnFile.open(path)) {
+            RationalColumn x = file.getColumn("a");
+            RationalColumn y = file.getColumn("b");
+            int[] compare = x.compare(y, 100, new int[50]);
+            long greater = 0;
+            HybridFraction min = HybridFraction.valueOf(a.get(0));
+            HybridFraction max = HybridFraction.valueOf(a.get(0));
+            for(int i = 0; i < 2000; i++) {
+                HybridFraction value = HybridFraction.valueOf(a.get(i));
+                if(value.compareTo(new Fraction(1, 3)) > 0) {
+                    greater++;
+                }
+                min = value.compareTo(min) < 0 ? value : min;
+                max = value.compareTo(max) > 0 ? value : max;
+                if(i >= 100 && i < 150) {
+                    assertEquals(Integer.signum(value.compareTo(b.get(i))), compare[i - 100]);
+                }
+            }
+            assertEquals(greater, x.countGreaterThan(new Fraction(1, 3)));
+            assertEquals(min, x.min());
+            assertEquals(max, x.max());
+            assertEquals(a.dot(b), x.dot(y));
+
+            RationalColumn.Cursor cursor = x.cursor();
+            int count = 0;
+            while(cursor.next()) {
+                assertEquals(count, cursor.getRow());
+                assertEquals(a.get(count), HybridFraction.valueOf(cursor.getNumerator(), cursor.getDenominator()));
+                assertEquals(a.get(count), cursor.get());
+                count++;
+            }
+            assertEquals(2000, count);
+            assertFalse(cursor.next());
+            Iterator<Number> iterator = y.iterator();
+            for(int i = 0; i < 2000; i++) {
+                assertTrue(iterator.hasNext());
+                assertEquals(b.get(i), iterator.next());
+            }
+            assertThrows(NoSuchElementException.class, iterator::next);
+        }
+    }
+
+    @Test
+    void overflowingSumsStayExact() throws IOException {
+        Path path = directory.resolve("large.rcol");
+        RationalVector a = new RationalVector(4);
+        a.set(0, Long.MAX_VALUE, 3);
+        a.set(1, Long.MAX_VALUE, 5);
+        a.set(2, Long.MAX_VALUE - 1, 7);
+        a.set(3, -1, Long.MAX_VALUE);
+        RationalColumnFile.write(path, new String[] {"a"}, a);
+        try (RationalColumnFile file = RationalColumnFile.open(path)) {
+            RationalColumn column = file.getColumn("a");
+            BigFraction expected = BigFraction.ZERO;
+            BigFraction squares = BigFraction.ZERO;
+            for(int i = 0; i < 4; i++) {
+                expected = (BigFraction) expected.add(a.get(i));
+                squares = (BigFraction) squares.add(BigFraction.valueOf(a.get(i)).mult(a.get(i)));
+            }
+            assertEquals(expected, BigFraction.valueOf(column.sum()));
+            assertEquals(squares, BigFraction.valueOf(column.dot(column)));
+        }
+    }
+
+    @Test
+    void emptyAndInvalidFiles() throws IOException {
+        Path path = directory.resolve("empty.rcol");
+        try (RationalColumnFile file = RationalColumnFile.create(path, 0, "a")) {
+            RationalColumn column = file.getColumn("a");
+            assertEquals(HybridFraction.ZERO, column.sum());
+            assertEquals(HybridFraction.ZERO, column.dot(column));
+            assertFalse(column.cursor().next());
+            assertThrows(UnexpectValueException.class, column::min);
+            assertThrows(UnexpectValueException.class, () -> file.getColumn("b"));
+        }
+        assertThrows(UnexpectValueException.class, () -> RationalColumnFile.create(directory.resolve("dup.rcol"), 1, "a", "a"));
+        assertThrows(UnexpectValueException.class, () -> RationalColumnFile.create(directory.resolve("neg.rcol"), -1, "a"));
+
+        Path other = directory.resolve("other.bin");
+        Files.write(other, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20});
+        assertThrows(UnexpectValueException.class, () -> RationalColumnFile.open(other));
+        Files.write(other, new byte[] {'R', 'C'});
+        assertThrows(UnexpectValueException.class, () -> RationalColumnFile.open(other));
+
+        Path truncated = directory.resolve("truncated.rcol");
+        RationalColumnFile.create(truncated, 100, "a").close();
+        byte[] bytes = Files.readAllBytes(truncated);
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 8));
+        assertThrows(UnexpectValueException.class, () -> RationalColumnFile.open(truncated));
+        bytes[4] = 2;
+        Files.write(truncated, bytes);
+        assertThrows(UnexpectValueException.class, () -> RationalColumnFile.open(truncated));
+    }
+
+    @Test
+    void columnsOfDifferentFilesMustHaveSameSize() throws IOException {
+        try (RationalColumnFile file1 = RationalColumnFile.create(directory.resolve("one.rcol"), 3, "a");
+                RationalColumnFile file2 = RationalColumnFile.create(directory.resolve("two.rcol"), 4, "a")) {
+            assertThrows(UnexpectValueException.class, () -> file1.getColumn(0).dot(file2.getColumn(0)));
+            assertThrows(UnexpectValueException.class, () -> file1.getColumn(0).compare(file2.getColumn(0), 0, new int[1]));
+            assertArrayEquals(new int[] {0, 0, 0}, file1.getColumn(0).compare(file1.getColumn(0), 0, new int[3]));
+        }
+    }
+
+    private static RationalVector random(Random random, int length, int maxDenominator) {
+        RationalVector vector = new RationalVector(length);
+        for(int i = 0; i < length; i++) {
+            vector.set(i, random.nextInt(20001) - 10000, random.nextInt(maxDenominator) + 1);
+        }
+        return vector;
+    }
+}
@@ -0,0 +1,191 @@
+package equation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * RationalHashMapTest - 测试RationalHashMap按数值比较键、删除后向前移动元素以及游标的行为，并与HashMap的结果对比。
+ */
+class RationalHashMapTest {
+
+    @Test
+    void documentedExample() {
+        RationalHashMap<String> map = new RationalHashMap<String>();
+        assertNull(map.put(1, 2, "half"));
+        assertEquals("half", map.get(2, 4));
+        assertEquals("half", map.get(new Fraction(1, 2)));
+        assertNull(map.put(Rational.valueOf(1, 3), "third"));
+        assertEquals(2, map.size());
+        int visited = 0;
+        RationalHashMap.Cursor<String> cursor = map.cursor();
+        while(cursor.next()) {
+            if(cursor.getNumerator() == 1 && cursor.getDenominator() == 2) {
+                assertEquals("half", cursor.getValue());
+            } else {
+                assertEquals(HybridFraction.valueOf(1, 3), cursor.getKey());
+                assertEquals("third", cursor.getValue());
+            }
+            visited++;
+        }
+        assertEquals(2, visited);
+    }
+
+    @Test
+    void keysAreComparedByValue() {
+        RationalHashMap<String> map = new RationalHashMap<String>();
+        map.put(new Fraction(-1, -2), "a");
+        assertEquals("a", map.put(2, 4, "b"));
+        assertEquals("b", map.get(HybridFraction.valueOf(0.5)));
+        assertEquals("b", map.get(-3, -6));
+        assertEquals(1, map.size());
+        assertEquals("b", map.putIfAbsent(1, 2, "c"));
+        assertEquals("b", map.get(1, 2));
+        assertEquals("{1/2=b}", map.toString());
+        assertNull(map.putIfAbsent(-1, 2, "d"));
+        assertEquals("d", map.get(1, -2));
+        assertEquals("{}", new RationalHashMap<String>().toString());
+        map.put(0, 5, "zero");
+        assertEquals("zero", map.get(0, -1));
+        assertTrue(map.containsKey(Rational.valueOf(0)));
+    }
+
+    @Test
+    void nullValues() {
+        RationalHashMap<String> map = new RationalHashMap<String>();
+        assertNull(map.put(3, 1, null));
+        assertTrue(map.containsKey(3, 1));
+        assertNull(map.get(3, 1));
+        assertNull(map.putIfAbsent(3, 1, "three"));
+        assertNull(map.get(3, 1));
+        assertNull(map.put(3, 1, "three"));
+        assertEquals("three", map.get(3, 1));
+        assertFalse(map.containsKey(4, 1));
+    }
+
+    @Test
+    void invalidAndOverflowingKeys() {
+        RationalHashMap<String> map = new RationalHashMap<String>();
+        assertThrows(UnexpectValueException.class, () -> new RationalHashMap<String>(-1));
+        assertThrows(UnexpectValueException.class, () -> map.put(1, 0, "x"));
+        assertThrows(ArithmeticException.class, () -> map.put(Long.MIN_VALUE, 1, "x"));
+        assertThrows(ArithmeticException.class, () -> map.put(1, Long.MIN_VALUE, "x"));
+        assertThrows(ArithmeticException.class, () -> map.putIfAbsent(Long.MIN_VALUE, 3, "x"));
+        assertNull(map.get(Long.MIN_VALUE, 1));
+        assertFalse(map.containsKey(Long.MIN_VALUE, 1));
+        assertNull(map.remove(Long.MIN_VALUE, 1));
+        assertNull(map.get(BigFraction.valueOf(BigInteger.ONE.shiftLeft(80), BigInteger.ONE)));
+        assertTrue(map.isEmpty());
+        map.put(Long.MIN_VALUE, 2, "half of min");
+        assertEquals("half of min", map.get(Long.MIN_VALUE / 2, 1));
+        map.put(Long.MAX_VALUE, Long.MAX_VALUE - 1, "max");
+        assertEquals("max", map.get(HybridFraction.valueOf(Long.MAX_VALUE, Long.MAX_VALUE - 1)));
+    }
+
+    @Test
+    void matchesHashMap() {
+        Random random = new Random(42);
+        RationalHashMap<Integer> map = new RationalHashMap<Integer>(4);
+        Map<HybridFraction, Integer> expected = new HashMap<HybridFraction, Integer>();
+        for(int i = 0; i < 20000; i++) {
+            long n = random.nextInt(61) - 30;
+            long d = random.nextInt(12) + 1;
+            long k = random.nextBoolean() ? random.nextInt(5) + 1 : -(random.nextInt(5) + 1);
+            HybridFraction key = HybridFraction.valueOf(n, d);
+            switch(random.nextInt(4)) {
+                case 0:
+                case 1:
+                    assertEquals(expected.put(key, i), map.put(n * k, d * k, i));
+                    break;
+                case 2:
+                    assertEquals(expected.remove(key), map.remove(key));
+                    break;
+                default:
+                    assertEquals(expected.putIfAbsent(key, i), map.putIfAbsent(key, i));
+                    break;
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for(long n = -30; n <= 30; n++) {
+            for(long d = 1; d <= 12; d++) {
+                HybridFraction key = HybridFraction.valueOf(n, d);
+                assertEquals(expected.get(key), map.get(n, d));
+                assertEquals(expected.containsKey(key), map.containsKey(key));
+            }
+        }
+        RationalVector keys = map.keys();
+        assertEquals(expected.size(), keys.length());
+        for(int i = 0; i < keys.length(); i++) {
+            assertTrue(expected.containsKey(HybridFraction.valueOf(keys.get(i))));
+        }
+    }
+
+    @Test
+    void removeKeepsProbeChains() {
+        RationalHashMap<Long> map = new RationalHashMap<Long>();
+        for(long i = 0; i < 1000; i++) {
+            map.put(i, 7, i);
+        }
+        for(long i = 0; i < 1000; i += 2) {
+            assertEquals(i, map.remove(i, 7));
+        }
+        assertEquals(500, map.size());
+        for(long i = 0; i < 1000; i++) {
+            if(i % 2 == 0) {
+                assertFalse(map.containsKey(i, 7));
+            } else {
+                assertEquals(i, map.get(i * 3, 21));
+            }
+        }
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(1, 7));
+        assertEquals(0, map.keys().length());
+    }
+
+    @Test
+    void cursor() {
+        RationalHashMap<Integer> map = new RationalHashMap<Integer>();
+        for(int i = 1; i <= 50; i++) {
+            map.put(i, 3, i);
+        }
+        RationalHashMap.Cursor<Integer> cursor = map.cursor();
+        assertThrows(NoSuchElementException.class, cursor::getValue);
+        int count = 0;
+        while(cursor.next()) {
+            assertEquals(HybridFraction.valueOf(cursor.getNumerator(), cursor.getDenominator()), cursor.getKey());
+            assertTrue(cursor.getDenominator() > 0);
+            cursor.setValue(cursor.getValue() * 10);
+            count++;
+        }
+        assertEquals(50, count);
+        assertThrows(NoSuchElementException.class, cursor::getKey);
+        assertFalse(cursor.next());
+        for(int i = 1; i <= 50; i++) {
+            assertEquals(i * 10, map.get(i, 3));
+        }
+        RationalHashMap.Cursor<Integer> modified = map.cursor();
+        assertTrue(modified.next());
+        map.put(1, 3, 0);
+        assertTrue(modified.next());
+        map.put(100, 1, 100);
+        assertThrows(ConcurrentModificationException.class, modified::next);
+        RationalHashMap.Cursor<Integer> removed = map.cursor();
+        map.remove(100, 1);
+        assertThrows(ConcurrentModificationException.class, removed::next);
+        RationalHashMap.Cursor<Integer> cleared = map.cursor();
+        map.clear();
+        assertThrows(ConcurrentModificationException.class, cleared::next);
+    }
+}
@@ -0,0 +1,258 @@
+package equation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * RationalIntervalTest - 测试RationalInterval的端点始终是满足分母上限的最简分数，并且区间包含精确的结果。
+ */
+class RationalIntervalTest {
+    @Test
+    void documentedExamples() {
+        RationalInterval x = RationalInterval.valueOf(new Fraction(1, 3), 100);
+        assertEquals("[1/3, 1/3]", x.toString());
+        assertTrue(x.isPoint());
+        assertEquals("[311/99, 22/7]", RationalInterval.valueOf(HybridFraction.valueOf(Math.PI), 100).toString());
+        RationalInterval interval = RationalInterval.of(new Fraction(1, 3), new Fraction(1, 2));
+        assertEquals(RationalInterval.DEFAULT_MAX_DENOMINATOR, interval.getMaxDenominator());
+        assertEquals(-1, interval.compare(new Fraction(3, 4)));
+        assertEquals(RationalInterval.INDEFINITE, interval.compare(new Fraction(2, 5)));
+    }
+
+    @Test
+    void valueOfGivesTightestBounds() {
+        Random random = new Random(42);
+        for(int i = 0; i < 1000; i++) {
+            int n = random.nextInt(2001) - 1000;
+            int d = random.nextInt(300) + 1;
+            int maxDenominator = random.nextInt(40) + 1;
+            Fraction exact = new Fraction(n, d);
+            RationalInterval interval = RationalInterval.valueOf(exact, maxDenominator);
+            assertReduced(interval);
+            assertTrue(interval.contains(exact));
+            assertEquals(d / RationalMath.gcd(n, d) <= maxDenominator, interval.isPoint());
+            assertTrue(interval.getLower().getDenominator() <= maxDenominator);
+            assertTrue(interval.getUpper().getDenominator() <= maxDenominator);
+            // 没有分母不超过上限的分数严格位于两个端点之间
+            for(int q = 1; q <= maxDenominator; q++) {
+                for(int p = Math.floorDiv(n * q, d) - 1; p <= Math.floorDiv(n * q, d) + 2; p++) {
+                    Fraction candidate = new Fraction(p, q);
+                    assertFalse(candidate.isGreaterThan(interval.getLower()) && candidate.isLessThan(interval.getUpper()), interval + " " + candidate);
+                }
+            }
+        }
+    }
+
+    @Test
+    void constructionAndRerounding() {
+        RationalInterval pi = RationalInterval.valueOf(HybridFraction.valueOf(Math.PI), 1000);
+        assertEquals(new Fraction(355, 113), pi.getUpper());
+        assertTrue(pi.getLower().isLessThan(HybridFraction.valueOf(Math.PI)));
+        assertFalse(pi.isPoint());
+        assertSame(pi, RationalInterval.valueOf(pi));
+        assertSame(pi, RationalInterval.valueOf(pi, 1000));
+        RationalInterval coarse = RationalInterval.valueOf(pi, 100);
+        assertEquals("[311/99, 22/7]", coarse.toString());
+        assertTrue(coarse.contains(pi));
+        assertFalse(pi.contains(coarse));
+        RationalInterval wider = RationalInterval.valueOf(coarse, 5000);
+        assertEquals(coarse, wider);
+        assertEquals(5000, wider.getMaxDenominator());
+        assertEquals("[1/3, 1/2]", RationalInterval.of(new Fraction(1, 3), Rational.valueOf(1, 2), 10).toString());
+        assertEquals("[0/1, 1/2]", RationalInterval.of(new Fraction(1, 3), Rational.valueOf(1, 2), 2).toString());
+        assertEquals("[0/1, 1/1]", RationalInterval.of(new Fraction(1, 3), Rational.valueOf(2, 3), 1).toString());
+        assertThrows(UnexpectValueException.class, () -> RationalInterval.of(new Fraction(1, 2), new Fraction(1, 3)));
+        assertThrows(UnexpectValueException.class, () -> RationalInterval.valueOf(new Fraction(1, 2), 0));
+        assertEquals(HybridFraction.valueOf(5, 12), RationalInterval.of(new Fraction(1, 3), new Fraction(1, 2)).getMidpoint());
+        assertEquals(HybridFraction.valueOf(1, 6), RationalInterval.of(new Fraction(1, 3), new Fraction(1, 2)).width());
+        assertEquals(5.0 / 12, RationalInterval.of(new Fraction(1, 3), new Fraction(1, 2)).toDouble());
+        assertFalse(RationalInterval.valueOf(new Fraction(1, 2)).equals(new Fraction(1, 2)));
+    }
+
+    @Test
+    void intervalArithmeticIsRoundedOnce() {
+        Random random = new Random(42);
+        int maxDenominator = 50;
+        for(int i = 0; i < 2000; i++) {
+            RationalInterval x = randomInterval(random, maxDenominator);
+            RationalInterval y = randomInterval(random, maxDenominator);
+            BigFraction[] a = {big(x.getLower()), big(x.getUpper())};
+            BigFraction[] b = {big(y.getLower()), big(y.getUpper())};
+            assertEquals(RationalInterval.of(a[0].add(b[0]), a[1].add(b[1]), maxDenominator), x.add(y));
+            assertEquals(RationalInterval.of(a[0].sub(b[1]), a[1].sub(b[0]), maxDenominator), x.sub(y));
+            assertEquals(extremes(a, b, false, maxDenominator), x.mult(y));
+            if(y.compare(BigFraction.ZERO) == RationalInterval.INDEFINITE || y.compare(BigFraction.ZERO) == 0) {
+                assertThrows(UnexpectValueException.class, () -> x.div(y));
+            } else {
+                assertEquals(extremes(a, b, true, maxDenominator), x.div(y));
+            }
+        }
+    }
+
+    @Test
+    void powerContainsAllPowers() {
+        RationalInterval x = RationalInterval.of(new Fraction(-1), new Fraction(2), 100);
+        assertEquals("[0/1, 4/1]", x.power(2).toString());
+        assertEquals("[-1/1, 8/1]", x.power(3).toString());
+        assertEquals("[1/1, 1/1]", x.power(0).toString());
+        assertThrows(UnexpectValueException.class, () -> x.power(-1));
+        assertThrows(UnexpectValueException.class, () -> RationalInterval.of(new Fraction(0), new Fraction(1)).power(-2));
+        RationalInterval half = RationalInterval.of(new Fraction(1, 2), new Fraction(1), 100);
+        assertEquals("[1/1, 4/1]", half.power(-2).toString());
+        assertEquals("[-8/1, -1/1]", RationalInterval.of(new Fraction(-1), new Fraction(-1, 2), 100).power(-3).toString());
+        Random random = new Random(42);
+        for(int i = 0; i < 1000; i++) {
+            RationalInterval interval = randomInterval(random, 30);
+            int index = random.nextInt(9) - 4;
+            if(index < 0 && interval.compare(BigFraction.ZERO) != -1 && interval.compare(BigFraction.ZERO) != 1) {
+                continue;
+            }
+            RationalInterval result = (RationalInterval) interval.power(index);
+            assertReduced(result);
+            for(Fraction point : new Fraction[] {interval.getLower(), interval.getUpper()}) {
+                assertTrue(result.contains(big(point).power(index)));
+            }
+            if(index % 2 == 0 && index != 0) {
+                assertFalse(result.getLower().isLessThan(new Fraction(0)));
+            }
+        }
+    }
+
+    @Test
+    void comparisons() {
+        RationalInterval interval = RationalInterval.of(new Fraction(1, 3), new Fraction(1, 2), 100);
+        assertEquals(1, interval.compare(new Fraction(1, 4)));
+        assertEquals(RationalInterval.INDEFINITE, interval.compare(new Fraction(1, 2)));
+        assertEquals(RationalInterval.INDEFINITE, interval.compare(new Fraction(1, 3)));
+        assertEquals(-1, interval.compare(BigFraction.valueOf(BigInteger.TEN.pow(30), BigInteger.ONE)));
+        assertEquals(1, interval.compare(BigFraction.valueOf(BigInteger.ONE, BigInteger.TEN.pow(30))));
+        assertEquals(0, RationalInterval.valueOf(new Fraction(2, 4), 100).compare(Rational.valueOf(1, 2)));
+        assertEquals(-1, interval.compare(RationalInterval.of(new Fraction(2, 3), new Fraction(1), 100)));
+        assertEquals(1, interval.compare(RationalInterval.of(new Fraction(-1), new Fraction(1, 4), 100)));
+        assertEquals(RationalInterval.INDEFINITE, interval.compare(RationalInterval.of(new Fraction(1, 2), new Fraction(1), 100)));
+        assertEquals(RationalInterval.INDEFINITE, interval.compare(interval));
+        assertEquals(0, RationalInterval.valueOf(new Fraction(1, 2), 100).compare(RationalInterval.valueOf(new Fraction(1, 2), 7)));
+        assertTrue(interval.isGreaterThan(new Fraction(0)));
+        assertFalse(interval.isGreaterThan(new Fraction(2, 5)));
+        assertTrue(interval.isLessThan(new Fraction(1)));
+        assertFalse(interval.isLessThan(new Fraction(2, 5)));
+        assertTrue(interval.contains(new Fraction(2, 5)));
+        assertTrue(interval.contains(new Fraction(1, 2)));
+        assertFalse(interval.contains(new Fraction(51, 100)));
+        assertTrue(interval.contains(RationalInterval.of(new Fraction(2, 5), new Fraction(1, 2), 100)));
+        assertFalse(interval.contains(RationalInterval.of(new Fraction(2, 5), new Fraction(3, 5), 100)));
+    }
+
+    @Test
+    void powerKeepsEndpointsReduced() {
+        RationalInterval cube = (RationalInterval) RationalInterval.valueOf(new Fraction(1, 4), 10).power(3);
+        assertEquals("[0/1, 1/10]", cube.toString());
+        assertEquals(RationalInterval.of(new Fraction(0), new Fraction(1, 10), 10), cube);
+        assertEquals(RationalInterval.of(new Fraction(0), new Fraction(1, 10), 10).hashCode(), cube.hashCode());
+        assertReduced((RationalInterval) RationalInterval.valueOf(new Fraction(8, 9), 148).power(5));
+        assertReduced((RationalInterval) RationalInterval.valueOf(new Fraction(48, 68), 93).power(3));
+    }
+
+    @Test
+    void powerEndpointsAreReducedAndContainExactValue() {
+        Random random = new Random(42);
+        for(int i = 0; i < 2000; i++) {
+            Fraction base = new Fraction(random.nextInt(21) - 10, random.nextInt(100) + 1);
+            int maxDenominator = random.nextInt(200) + 1;
+            int index = random.nextInt(7) + 1;
+            RationalInterval result = (RationalInterval) RationalInterval.valueOf(base, maxDenominator).power(index);
+            assertReduced(result);
+            assertTrue(result.getLower().getDenominator() <= maxDenominator);
+            assertTrue(result.getUpper().getDenominator() <= maxDenominator);
+            assertTrue(result.contains(BigFraction.valueOf(base.getNumerator(), base.getDenominator()).power(index)));
+        }
+    }
+
+    @Test
+    void exactOperandIsRoundedOnlyOnce() {
+        RationalInterval x = RationalInterval.valueOf(new Fraction(1, 3), 100);
+        assertEquals("[17/50, 33/97]", x.add(new Fraction(1, 147)).toString());
+        assertEquals(RationalInterval.valueOf(new Fraction(50, 147), 100), x.add(new Fraction(1, 147)));
+        assertEquals("[10/63, 10/63]", x.add(BigFraction.valueOf(1, 7)).mult(x).toString());
+        assertEquals("[0/1, 1/100]", x.mult(BigFraction.valueOf(1, 7)).div(new Fraction(7)).toString());
+    }
+
+    @Test
+    void exactOperandMatchesRoundedExactResult() {
+        Random random = new Random(42);
+        for(int i = 0; i < 2000; i++) {
+            int maxDenominator = random.nextInt(1000) + 1;
+            BigFraction a = BigFraction.valueOf(random.nextInt(2001) - 1000, random.nextInt(1000) + 1);
+            BigFraction b = BigFraction.valueOf(random.nextInt(2001) - 1000, random.nextInt(1000) + 1);
+            if(b.equals(BigFraction.ZERO)) {
+                continue;
+            }
+            RationalInterval x = RationalInterval.valueOf(a, maxDenominator);
+            if(!x.isPoint()) {
+                continue;
+            }
+            assertEquals(RationalInterval.valueOf(a.add(b), maxDenominator), x.add(b));
+            assertEquals(RationalInterval.valueOf(a.sub(b), maxDenominator), x.sub(b));
+            assertEquals(RationalInterval.valueOf(a.mult(b), maxDenominator), x.mult(b));
+            assertEquals(RationalInterval.valueOf(a.div(b), maxDenominator), x.div(b));
+        }
+    }
+
+    @Test
+    void operandBeyondLongIsExact() {
+        BigFraction huge = BigFraction.valueOf(BigInteger.TEN.pow(30).add(BigInteger.ONE), BigInteger.TEN.pow(30));
+        RationalInterval x = RationalInterval.valueOf(new Fraction(1, 2), 1000);
+        RationalInterval sum = (RationalInterval) x.add(huge);
+        assertEquals("[3/2, 1499/999]", sum.toString());
+        assertTrue(sum.contains(huge.add(new Fraction(1, 2))));
+        Number negative = BigFraction.ZERO.sub(huge);
+        RationalInterval product = (RationalInterval) x.mult(negative);
+        assertTrue(product.contains(negative.mult(new Fraction(1, 2))));
+        assertTrue(product.getLower().isLessThan(product.getUpper()));
+    }
+
+    private static RationalInterval randomInterval(Random random, int maxDenominator) {
+        Fraction a = new Fraction(random.nextInt(41) - 20, random.nextInt(maxDenominator) + 1);
+        Fraction b = random.nextInt(4) == 0 ? a : new Fraction(random.nextInt(41) - 20, random.nextInt(maxDenominator) + 1);
+        return a.isGreaterThan(b) ? RationalInterval.of(b, a, maxDenominator) : RationalInterval.of(a, b, maxDenominator);
+    }
+
+    private static BigFraction big(Fraction frac) {
+        return BigFraction.valueOf(frac.getNumerator(), frac.getDenominator());
+    }
+
+    /**
+     * extremes方法 - 返回四个端点的积（或商）中的最小值和最大值组成的区间，按maxDenominator向外舍入。
+     */
+    private static RationalInterval extremes(BigFraction[] a, BigFraction[] b, boolean divide, int maxDenominator) {
+        BigFraction min = null;
+        BigFraction max = null;
+        for(BigFraction p : a) {
+            for(BigFraction q : b) {
+                BigFraction value = (BigFraction) (divide ? p.div(q) : p.mult(q));
+                if(min == null || value.isLessThan(min)) {
+                    min = value;
+                }
+                if(max == null || value.isGreaterThan(max)) {
+                    max = value;
+                }
+            }
+        }
+        return RationalInterval.of(min, max, maxDenominator);
+    }
+
+    private static void assertReduced(RationalInterval interval) {
+        for(Fraction endpoint : new Fraction[] {interval.getLower(), interval.getUpper()}) {
+            assertTrue(endpoint.getDenominator() > 0);
+            assertEquals(1, RationalMath.gcd(endpoint.getNumerator(), endpoint.getDenominator()), interval.toString());
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package equation;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * RationalMatrixTest - 测试RationalMatrix的Bareiss消元法求解方程组、行列式、逆矩阵和秩，结果必须精确。
+ */
+class RationalMatrixTest {
+    @Test
+    void documentedExamples() {
+        RationalMatrix a = RationalMatrix.valueOf(new long[][] { { 1, 2 }, { 3, -1 } });
+        assertArrayEquals(new BigFraction[] { BigFraction.ONE, BigFraction.valueOf(2) }, a.solve(new Number[] { new Fraction(5), new Fraction(1) }));
+        assertEquals(BigFraction.valueOf(-7), a.determinant());
+        assertEquals("[[1/7, 2/7], [3/7, -1/7]]", a.inverse().toString());
+        BigFraction[] solution = Equation.solve(new Number[][] { { new Fraction(1, 2), new Fraction(1) }, { new Fraction(1), new Fraction(-1, 3) } },
+                new Number[] { new Fraction(2), new Fraction(1, 2) });
+        assertArrayEquals(new BigFraction[] { BigFraction.ONE, BigFraction.valueOf(3, 2) }, solution);
+    }
+
+    @Test
+    void shapeAndAccessors() {
+        RationalMatrix a = RationalMatrix.valueOf(new Number[][] { { new Fraction(1, 2), new Fraction(2), new Fraction(3) }, { new Fraction(4), new Fraction(5), new Fraction(-6, 4) } });
+        assertEquals(2, a.getRows());
+        assertEquals(3, a.getColumns());
+        assertEquals(BigFraction.valueOf(-3, 2), a.get(1, 2));
+        assertEquals(BigFraction.valueOf(-3, 2), a.transpose().get(2, 1));
+        assertEquals(a, a.transpose().transpose());
+        assertEquals(a.hashCode(), a.transpose().transpose().hashCode());
+        assertNotEquals(a, a.transpose());
+        assertEquals(2, a.rank());
+        assertThrows(IndexOutOfBoundsException.class, () -> a.get(2, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> a.get(0, -1));
+        assertThrows(UnexpectValueException.class, a::determinant);
+        assertThrows(UnexpectValueException.class, a::inverse);
+        assertThrows(UnexpectValueException.class, () -> a.multiply(a));
+        assertThrows(UnexpectValueException.class, () -> RationalMatrix.valueOf(new long[][] { { 1, 2 }, { 3 } }));
+        assertThrows(UnexpectValueException.class, () -> RationalMatrix.valueOf(new long[0][0]));
+        assertThrows(UnexpectValueException.class, () -> RationalMatrix.identity(0));
+        assertThrows(UnexpectValueException.class, () -> RationalMatrix.identity(2).solve(new Number[] { new Fraction(1) }));
+    }
+
+    @Test
+    void singularMatrices() {
+        RationalMatrix a = RationalMatrix.valueOf(new long[][] { { 1, 2, 3 }, { 2, 4, 6 }, { 1, 0, 1 } });
+        assertEquals(BigFraction.ZERO, a.determinant());
+        assertEquals(2, a.rank());
+        assertThrows(UnexpectValueException.class, a::inverse);
+        assertThrows(UnexpectValueException.class, () -> a.solve(new Number[] { new Fraction(1), new Fraction(2), new Fraction(3) }));
+        assertEquals(0, RationalMatrix.valueOf(new long[][] { { 0, 0 }, { 0, 0 } }).rank());
+    }
+
+    @Test
+    void pivotingHandlesZeroDiagonal() {
+        RationalMatrix a = RationalMatrix.valueOf(new long[][] { { 0, 1 }, { 1, 0 } });
+        assertEquals(BigFraction.valueOf(-1), a.determinant());
+        assertEquals(a, a.inverse());
+        assertArrayEquals(new BigFraction[] { BigFraction.valueOf(7), BigFraction.valueOf(5) }, a.solve(new Number[] { new Fraction(5), new Fraction(7) }));
+    }
+
+    @Test
+    void hilbertMatrixIsExact() {
+        int size = 8;
+        Number[][] values = new Number[size][size];
+        for(int i = 0; i < size; i++) {
+            for(int j = 0; j < size; j++) {
+                values[i][j] = new Fraction(1, i + j + 1);
+            }
+        }
+        RationalMatrix hilbert = RationalMatrix.valueOf(values);
+        assertEquals(RationalMatrix.identity(size), hilbert.multiply(hilbert.inverse()));
+        assertEquals(BigFraction.ONE, hilbert.determinant().mult(hilbert.inverse().determinant()));
+        assertEquals(size, hilbert.rank());
+    }
+
+    @Test
+    void randomSystemsAgreeWithCofactorExpansion() {
+        Random random = new Random(42);
+        for(int n = 1; n <= 5; n++) {
+            for(int trial = 0; trial < 20; trial++) {
+                Number[][] values = new Number[n][n];
+                Number[] constants = new Number[n];
+                for(int i = 0; i < n; i++) {
+                    for(int j = 0; j < n; j++) {
+                        values[i][j] = new Fraction(random.nextInt(21) - 10, random.nextInt(6) + 1);
+                    }
+                    constants[i] = new Fraction(random.nextInt(21) - 10, random.nextInt(6) + 1);
+                }
+                RationalMatrix a = RationalMatrix.valueOf(values);
+                BigFraction determinant = cofactor(values, n);
+                assertEquals(determinant, a.determinant());
+                if(determinant.equals(BigFraction.ZERO)) {
+                    continue;
+                }
+                BigFraction[] x = a.solve(constants);
+                for(int i = 0; i < n; i++) {
+                    BigFraction total = BigFraction.ZERO;
+                    for(int j = 0; j < n; j++) {
+                        total = (BigFraction) total.add(BigFraction.valueOf(values[i][j]).mult(x[j]));
+                    }
+                    assertEquals(BigFraction.valueOf(constants[i]), total);
+                }
+                assertEquals(RationalMatrix.identity(n), a.inverse().multiply(a));
+            }
+        }
+    }
+
+    private static BigFraction cofactor(Number[][] values, int n) {
+        if(n == 1) {
+            return BigFraction.valueOf(values[0][0]);
+        }
+        BigFraction total = BigFraction.ZERO;
+        for(int k = 0; k < n; k++) {
+            Number[][] minor = new Number[n - 1][n - 1];
+            for(int i = 1; i < n; i++) {
+                for(int j = 0, c = 0; j < n; j++) {
+                    if(j != k) {
+                        minor[i - 1][c++] = values[i][j];
+                    }
+                }
+            }
+            BigFraction term = (BigFraction) BigFraction.valueOf(values[0][k]).mult(cofactor(minor, n - 1));
+            total = (BigFraction) (k % 2 == 0 ? total.add(term) : total.sub(term));
+        }
+        return total;
+    }
+}
@@ -0,0 +1,195 @@
+package equation;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * RationalPolynomialTest - 测试RationalPolynomial的运算、求值以及实根隔离。
+ */
+class RationalPolynomialTest {
+    @Test
+    void documentedExamples() {
+        RationalPolynomial p = RationalPolynomial.valueOf(-2, 0, 1);
+        assertEquals("x^2 - 2", p.toString());
+        assertEquals(BigFraction.valueOf(1, 4), p.evaluate(new Fraction(3, 2)));
+        assertEquals("2*x", p.derivative().toString());
+        assertEquals(2, p.countRealRoots());
+        assertEquals("3*x^2 + 1/2", RationalPolynomial.valueOf(new Fraction(1, 2), new Fraction(0), new Fraction(3)).toString());
+        RationalPolynomial[] result = RationalPolynomial.valueOf(-1, 0, 1).divideAndRemainder(RationalPolynomial.valueOf(1, 2));
+        assertEquals("1/2*x - 1/4", result[0].toString());
+        assertEquals("-3/4", result[1].toString());
+    }
+
+    @Test
+    void coefficientsAreTrimmed() {
+        RationalPolynomial p = RationalPolynomial.valueOf(1, 2, 0, 0);
+        assertEquals(1, p.degree());
+        assertEquals(BigFraction.ZERO, p.getCoefficient(5));
+        assertEquals(BigFraction.valueOf(2), p.getCoefficient(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> p.getCoefficient(-1));
+        assertEquals(RationalPolynomial.ZERO, RationalPolynomial.valueOf(0, 0));
+        assertEquals(-1, RationalPolynomial.ZERO.degree());
+        assertEquals("0", RationalPolynomial.ZERO.toString());
+        assertEquals(RationalPolynomial.ZERO, p.sub(p));
+        assertEquals(RationalPolynomial.ZERO, p.mult(RationalPolynomial.ZERO));
+        assertEquals(RationalPolynomial.ZERO, RationalPolynomial.ONE.derivative());
+        assertEquals(p.hashCode(), RationalPolynomial.valueOf(1, 2).hashCode());
+    }
+
+    @Test
+    void evaluateAgreesWithNaiveSum() {
+        Random random = new Random(42);
+        RationalPolynomial p = random(random, 12);
+        for(int i = 0; i < 50; i++) {
+            Fraction x = new Fraction(random.nextInt(41) - 20, random.nextInt(9) + 1);
+            BigFraction expected = BigFraction.ZERO;
+            for(int k = 0; k <= p.degree(); k++) {
+                expected = (BigFraction) expected.add(p.getCoefficient(k).mult(BigFraction.valueOf(x).power(k)));
+            }
+            assertEquals(expected, p.evaluate(x));
+        }
+        assertEquals(BigFraction.ZERO, RationalPolynomial.ZERO.evaluate(new Fraction(3)));
+    }
+
+    @Test
+    void batchEvaluateMatchesScalarEvaluate() {
+        RationalPolynomial p = RationalPolynomial.valueOf(1, 1, 1);
+        RationalVector xs = RationalVector.valueOf(new Fraction[] { new Fraction(0), new Fraction(1, 2), new Fraction(2) });
+        assertSame(xs, p.evaluate(xs, xs));
+        assertEquals("[1/1, 7/4, 7/1]", xs.toString());
+
+        Random random = new Random(42);
+        RationalPolynomial q = RationalPolynomial.valueOf(new Fraction(1, 3), new Fraction(-2, 5), new Fraction(0), new Fraction(7, 2));
+        RationalVector points = new RationalVector(200);
+        for(int i = 0; i < points.length(); i++) {
+            points.set(i, random.nextInt(201) - 100, random.nextInt(50) + 1);
+        }
+        RationalVector out = q.evaluate(points, new RationalVector(points.length()));
+        for(int i = 0; i < points.length(); i++) {
+            assertEquals(HybridFraction.valueOf(q.evaluate(points.get(i))), out.get(i));
+        }
+        RationalVector zeros = RationalPolynomial.ZERO.evaluate(points, new RationalVector(points.length()));
+        assertEquals(HybridFraction.ZERO, zeros.sum());
+        assertThrows(UnexpectValueException.class, () -> q.evaluate(points, new RationalVector(1)));
+        RationalPolynomial huge = RationalPolynomial.valueOf(HybridFraction.valueOf(Long.MAX_VALUE).mult(HybridFraction.valueOf(2)));
+        assertThrows(ArithmeticException.class, () -> huge.evaluate(points, new RationalVector(points.length())));
+        RationalVector large = RationalVector.valueOf(new Fraction[] { new Fraction(Integer.MAX_VALUE) });
+        assertThrows(ArithmeticException.class, () -> q.evaluate(large, new RationalVector(1)));
+    }
+
+    @Test
+    void karatsubaAgreesWithSchoolbook() {
+        Random random = new Random(42);
+        int[][] sizes = { { 3, 5 }, { RationalPolynomial.KARATSUBA_THRESHOLD, RationalPolynomial.KARATSUBA_THRESHOLD }, { 40, 90 }, { 100, 33 }, { 10, 100 } };
+        for(int[] size : sizes) {
+            RationalPolynomial a = random(random, size[0]);
+            RationalPolynomial b = random(random, size[1]);
+            RationalPolynomial product = a.mult(b);
+            assertEquals(schoolbook(a, b), product);
+            assertEquals(product, b.mult(a));
+            RationalPolynomial[] result = product.divideAndRemainder(b);
+            assertEquals(a, result[0]);
+            assertEquals(RationalPolynomial.ZERO, result[1]);
+        }
+    }
+
+    @Test
+    void arithmeticIdentities() {
+        Random random = new Random(42);
+        RationalPolynomial a = random(random, 6);
+        RationalPolynomial b = random(random, 4);
+        assertEquals(a, a.add(b).sub(b));
+        assertEquals(a.mult(new Fraction(3, 7)), a.mult(RationalPolynomial.valueOf(new Fraction(3, 7))));
+        RationalPolynomial[] result = a.divideAndRemainder(b);
+        assertTrue(result[1].degree() < b.degree());
+        assertEquals(a, result[0].mult(b).add(result[1]));
+        assertArrayEquals(new RationalPolynomial[] { RationalPolynomial.ZERO, b }, b.divideAndRemainder(a));
+        assertThrows(UnexpectValueException.class, () -> a.divideAndRemainder(RationalPolynomial.ZERO));
+        assertEquals(a.mult(b).derivative(), a.derivative().mult(b).add(a.mult(b.derivative())));
+    }
+
+    @Test
+    void gcdIsMonicCommonFactor() {
+        RationalPolynomial common = RationalPolynomial.valueOf(new Fraction(-3, 2), new Fraction(1, 2), new Fraction(5, 3));
+        RationalPolynomial a = common.mult(RationalPolynomial.valueOf(7, -1, 4));
+        RationalPolynomial b = common.mult(RationalPolynomial.valueOf(new Fraction(2, 9), new Fraction(1)));
+        RationalPolynomial gcd = a.gcd(b);
+        assertEquals(BigFraction.ONE, gcd.getCoefficient(gcd.degree()));
+        assertEquals(common.mult(new Fraction(3, 5)), gcd);
+        assertEquals(RationalPolynomial.ONE, RationalPolynomial.valueOf(-2, 0, 1).gcd(RationalPolynomial.valueOf(1, 1)));
+        assertEquals(RationalPolynomial.ZERO, RationalPolynomial.ZERO.gcd(RationalPolynomial.ZERO));
+        assertEquals(RationalPolynomial.valueOf(new Fraction(1, 2), new Fraction(1)), RationalPolynomial.ZERO.gcd(RationalPolynomial.valueOf(1, 2)));
+    }
+
+    @Test
+    void repeatedAndRationalRoots() {
+        // (x - 1) * (x - 2) * (x + 3)^2
+        RationalPolynomial p = RationalPolynomial.valueOf(-1, 1).mult(RationalPolynomial.valueOf(-2, 1))
+                .mult(RationalPolynomial.valueOf(3, 1)).mult(RationalPolynomial.valueOf(3, 1));
+        assertEquals(3, p.countRealRoots());
+        BigFraction[][] roots = p.isolateRoots();
+        assertEquals(3, roots.length);
+        long[] expected = { -3, 1, 2 };
+        for(int i = 0; i < roots.length; i++) {
+            BigFraction root = BigFraction.valueOf(expected[i]);
+            assertTrue(roots[i][0].compareTo(root) < 0 || roots[i][0].equals(roots[i][1]));
+            assertTrue(roots[i][1].compareTo(root) >= 0);
+            if(i > 0) {
+                assertTrue(roots[i - 1][1].compareTo(roots[i][0]) <= 0);
+            }
+        }
+        assertEquals(0, RationalPolynomial.valueOf(1, 0, 1).countRealRoots());
+        assertEquals(0, RationalPolynomial.valueOf(1, 0, 1).isolateRoots().length);
+        assertThrows(UnexpectValueException.class, RationalPolynomial.ZERO::countRealRoots);
+        assertThrows(UnexpectValueException.class, RationalPolynomial.ZERO::isolateRoots);
+    }
+
+    @Test
+    void isolateRootsWithWidth() {
+        BigFraction[][] roots = RationalPolynomial.valueOf(-2, 0, 1).isolateRoots(new Fraction(1, 100));
+        assertEquals("[[-363/256, -723/512], [723/512, 363/256]]", Arrays.deepToString(roots));
+        for(BigFraction[] root : roots) {
+            assertTrue(((BigFraction) root[1].sub(root[0])).compareTo(new Fraction(1, 100)) <= 0);
+        }
+        assertThrows(UnexpectValueException.class, () -> RationalPolynomial.valueOf(-2, 0, 1).isolateRoots(new Fraction(0)));
+    }
+
+    @Test
+    void narrowIntervalsBracketIrrationalRoots() {
+        // x^3 - 2*x - 5，唯一的实根约为2.0945514815
+        RationalPolynomial p = RationalPolynomial.valueOf(-5, -2, 0, 1);
+        BigFraction[][] roots = p.isolateRoots(new Fraction(1, 1000000));
+        assertEquals(1, roots.length);
+        assertTrue(p.evaluate(roots[0][0]).getNumerator().signum() < 0);
+        assertTrue(p.evaluate(roots[0][1]).getNumerator().signum() > 0);
+        assertEquals(2.0945514815, roots[0][1].toDouble(), 1e-6);
+    }
+
+    private static RationalPolynomial random(Random random, int length) {
+        Number[] coefficients = new Number[length];
+        for(int i = 0; i < length; i++) {
+            coefficients[i] = new Fraction(random.nextInt(41) - 20, random.nextInt(12) + 1);
+        }
+        coefficients[length - 1] = new Fraction(random.nextInt(20) + 1, random.nextInt(12) + 1);
+        return RationalPolynomial.valueOf(coefficients);
+    }
+
+    private static RationalPolynomial schoolbook(RationalPolynomial a, RationalPolynomial b) {
+        Number[] result = new Number[a.degree() + b.degree() + 1];
+        Arrays.fill(result, BigFraction.ZERO);
+        for(int i = 0; i <= a.degree(); i++) {
+            for(int j = 0; j <= b.degree(); j++) {
+                result[i + j] = result[i + j].add(a.getCoefficient(i).mult(b.getCoefficient(j)));
+            }
+        }
+        return RationalPolynomial.valueOf(result);
+    }
+}
@@ -0,0 +1,211 @@
+package equation;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * RationalSortTest - 测试RationalVector.sort、order以及Equation.sort，特别是舍入为double后相等的分数，并与交叉相乘的结果对比。
+ */
+class RationalSortTest {
+
+    @Test
+    void documentedExamples() {
+        RationalVector vector = RationalVector.valueOf(new Number[] { new Fraction(3, 4), new Fraction(1, 3), new Fraction(1, 2) });
+        assertArrayEquals(new int[] {1, 2, 0}, vector.order());
+        assertEquals("[3/4, 1/3, 1/2]", vector.toString());
+        assertSame(vector, vector.sort());
+        assertEquals("[1/3, 1/2, 3/4]", vector.toString());
+        Number[] values = { new Fraction(3, 4), new Fraction(1, 3), new Fraction(1, 2) };
+        Equation.sort(values);
+        assertEquals("[1/3, 1/2, 3/4]", Arrays.toString(values));
+    }
+
+    @Test
+    void smallAndLargeArrays() {
+        Random random = new Random(42);
+        // 覆盖插入排序、快速排序以及基数排序的阈值两侧
+        for(int length : new int[] {0, 1, 2, 3, 31, 32, 33, 100, 1000, 4095, 4096, 20000}) {
+            RationalVector vector = randomVector(random, length);
+            RationalVector original = copy(vector);
+            vector.sort();
+            checkSorted(vector, 0, length);
+            checkPermutation(original, vector);
+        }
+    }
+
+    @Test
+    void valuesWithEqualDoubleKeys() {
+        // 这些分数彼此不相等，但舍入为double后大多相等，只能靠精确比较区分
+        Random random = new Random(42);
+        for(int length : new int[] {500, 10000}) {
+            RationalVector vector = new RationalVector(length);
+            for(int i = 0; i < length; i++) {
+                long k = random.nextInt(64);
+                switch(i % 3) {
+                    case 0:
+                        vector.set(i, (1L << 60) + k, (1L << 60) + 1);
+                        break;
+                    case 1:
+                        vector.set(i, -1, (1L << 61) + k);
+                        break;
+                    default:
+                        vector.set(i, Long.MAX_VALUE - k, Long.MAX_VALUE - 2 * k);
+                        break;
+                }
+            }
+            RationalVector original = copy(vector);
+            vector.sort();
+            checkSorted(vector, 0, length);
+            checkPermutation(original, vector);
+        }
+    }
+
+    @Test
+    void sortedReversedAndDuplicateInputs() {
+        int length = 3000;
+        RationalVector ascending = new RationalVector(length);
+        RationalVector descending = new RationalVector(length);
+        RationalVector duplicates = new RationalVector(length * 3);
+        for(int i = 0; i < length; i++) {
+            ascending.set(i, i, 7);
+            descending.set(i, -i, 11);
+        }
+        for(int i = 0; i < duplicates.length(); i++) {
+            duplicates.set(i, i % 3 - 1, 2);
+        }
+        for(RationalVector vector : new RationalVector[] {ascending, descending, duplicates}) {
+            RationalVector original = copy(vector);
+            vector.sort();
+            checkSorted(vector, 0, vector.length());
+            checkPermutation(original, vector);
+        }
+        assertEquals(HybridFraction.valueOf(-1, 2), HybridFraction.valueOf(duplicates.get(0)));
+        assertEquals(HybridFraction.valueOf(1, 2), HybridFraction.valueOf(duplicates.get(duplicates.length() - 1)));
+    }
+
+    @Test
+    void sortRange() {
+        Random random = new Random(42);
+        RationalVector vector = randomVector(random, 200);
+        RationalVector original = copy(vector);
+        vector.sort(50, 150);
+        checkSorted(vector, 50, 150);
+        for(int i = 0; i < 200; i++) {
+            if(i < 50 || i >= 150) {
+                assertEquals(original.numerators[i], vector.numerators[i]);
+                assertEquals(original.denominators[i], vector.denominators[i]);
+            }
+        }
+        vector.sort(10, 10);
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.sort(-1, 5));
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.sort(5, 201));
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.sort(6, 5));
+    }
+
+    @Test
+    void orderLeavesVectorUnchanged() {
+        Random random = new Random(42);
+        for(int length : new int[] {0, 50, 5000}) {
+            RationalVector vector = randomVector(random, length);
+            RationalVector original = copy(vector);
+            int[] order = vector.order();
+            assertArrayEquals(original.numerators, vector.numerators);
+            assertArrayEquals(original.denominators, vector.denominators);
+            boolean[] seen = new boolean[length];
+            for(int index : order) {
+                assertTrue(!seen[index]);
+                seen[index] = true;
+            }
+            for(int i = 1; i < length; i++) {
+                assertTrue(compare(vector, order[i - 1], vector, order[i]) <= 0);
+            }
+        }
+    }
+
+    @Test
+    void equationSortKeepsObjects() {
+        Number[] values = {
+            Rational.valueOf(5, 2), new Fraction(-1, 3), BigFraction.valueOf(1, 4), HybridFraction.valueOf(7, 8), FixedFraction.valueOf(25, 100)
+        };
+        Number[] original = values.clone();
+        Equation.sort(values);
+        assertSame(original[1], values[0]);
+        assertTrue(values[1] == original[2] || values[1] == original[4]);
+        assertSame(original[3], values[3]);
+        assertSame(original[0], values[4]);
+        // 超出long范围的元素使用比较器排序
+        BigFraction huge = BigFraction.valueOf(BigInteger.ONE.shiftLeft(100), BigInteger.valueOf(3));
+        BigFraction tiny = BigFraction.valueOf(BigInteger.ONE, BigInteger.ONE.shiftLeft(100));
+        Number[] mixed = { huge, new Fraction(1, 2), tiny, Rational.valueOf(-2) };
+        Equation.sort(mixed);
+        assertEquals(Rational.valueOf(-2), mixed[0]);
+        assertSame(tiny, mixed[1]);
+        assertEquals(new Fraction(1, 2), mixed[2]);
+        assertSame(huge, mixed[3]);
+        Equation.sort(new Number[0]);
+    }
+
+    private static RationalVector randomVector(Random random, int length) {
+        RationalVector vector = new RationalVector(length);
+        for(int i = 0; i < length; i++) {
+            switch(random.nextInt(4)) {
+                case 0:
+                    vector.set(i, random.nextInt(21) - 10, random.nextInt(10) + 1);
+                    break;
+                case 1:
+                    vector.set(i, random.nextLong() >> 1, (random.nextLong() >>> 2) + 1);
+                    break;
+                case 2:
+                    vector.set(i, random.nextLong() >> random.nextInt(63), 1);
+                    break;
+                default:
+                    vector.set(i, random.nextInt(1000), 1000);
+                    break;
+            }
+        }
+        return vector;
+    }
+
+    private static RationalVector copy(RationalVector vector) {
+        RationalVector result = new RationalVector(vector.length());
+        System.arraycopy(vector.numerators, 0, result.numerators, 0, vector.length());
+        System.arraycopy(vector.denominators, 0, result.denominators, 0, vector.length());
+        return result;
+    }
+
+    private static int compare(RationalVector a, int i, RationalVector b, int j) {
+        BigInteger left = BigInteger.valueOf(a.numerators[i]).multiply(BigInteger.valueOf(b.denominators[j]));
+        BigInteger right = BigInteger.valueOf(b.numerators[j]).multiply(BigInteger.valueOf(a.denominators[i]));
+        return left.compareTo(right);
+    }
+
+    private static void checkSorted(RationalVector vector, int from, int to) {
+        for(int i = from + 1; i < to; i++) {
+            assertTrue(compare(vector, i - 1, vector, i) <= 0, "position " + i);
+        }
+    }
+
+    /**
+     * checkPermutation方法 - 检查排序后的元素与原来的元素相同，只是顺序不同。
+     */
+    private static void checkPermutation(RationalVector original, RationalVector sorted) {
+        String[] expected = new String[original.length()];
+        String[] actual = new String[sorted.length()];
+        for(int i = 0; i < expected.length; i++) {
+            expected[i] = original.numerators[i] + "/" + original.denominators[i];
+            actual[i] = sorted.numerators[i] + "/" + sorted.denominators[i];
+        }
+        Arrays.sort(expected);
+        Arrays.sort(actual);
+        assertArrayEquals(expected, actual);
+    }
+}
@@ -0,0 +1,74 @@
+package equation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * RationalTest - 测试Rational的化简、缓存以及运算结果与Fraction一致。
+ */
+class RationalTest {
+    @Test
+    void valueOfReducesAndNormalizesSign() {
+        Rational value = Rational.valueOf(2, -4);
+        assertEquals(-1, value.getNumerator());
+        assertEquals(2, value.getDenominator());
+        assertEquals("-1/2", value.toString());
+        assertEquals(Rational.ONE_HALF, Rational.valueOf(new Fraction(2, 4)));
+        assertThrows(UnexpectValueException.class, () -> Rational.valueOf(1, 0));
+        assertThrows(ArithmeticException.class, () -> Rational.valueOf(Integer.MIN_VALUE, -1));
+    }
+
+    @Test
+    void commonValuesAreCached() {
+        assertSame(Rational.valueOf(1, 2), Rational.valueOf(2, 4));
+        assertSame(Rational.ZERO, Rational.valueOf(0, -7));
+        assertSame(Rational.MINUS_ONE, Rational.valueOf(3, -3));
+        assertSame(Rational.valueOf(-1, 64), Rational.valueOf(-2, 128));
+        assertSame(Rational.valueOf(127), Rational.valueOf(254, 2));
+        assertSame(Rational.ONE, Rational.ONE_HALF.add(Rational.ONE_HALF));
+        assertSame(Rational.valueOf(1, 6), Rational.valueOf(1, 2).mult(Rational.valueOf(1, 3)));
+    }
+
+    @Test
+    void arithmeticAgreesWithFraction() {
+        Random random = new Random(42);
+        for(int i = 0; i < 10000; i++) {
+            int n1 = random.nextInt(2001) - 1000;
+            int d1 = random.nextInt(1000) + 1;
+            int n2 = random.nextInt(2001) - 1000;
+            int d2 = -(random.nextInt(1000) + 1);
+            Rational a = Rational.valueOf(n1, d1);
+            Rational b = Rational.valueOf(n2, d2);
+            assertEquals(new Fraction(n1, d1).add(new Fraction(n2, d2)), a.add(b));
+            assertEquals(new Fraction(n1, d1).sub(new Fraction(n2, d2)), a.sub(b));
+            assertEquals(new Fraction(n1, d1).mult(new Fraction(n2, d2)), a.mult(b));
+            if(n2 != 0) {
+                assertEquals(new Fraction(n1, d1).div(new Fraction(n2, d2)), a.div(b));
+            }
+            assertTrue(((Rational) a.add(b)).getDenominator() > 0);
+        }
+    }
+
+    @Test
+    void powerAndReciprocal() {
+        assertEquals(Rational.valueOf(-8), Rational.valueOf(-1, 2).power(-3));
+        assertSame(Rational.ONE, Rational.valueOf(5, 7).power(0));
+        assertEquals(Rational.valueOf(-7, 5), Rational.valueOf(-5, 7).reciprocalOf());
+        assertThrows(UnexpectValueException.class, () -> Rational.ZERO.power(-1));
+        assertThrows(UnexpectValueException.class, () -> Rational.ONE.div(Rational.ZERO));
+        assertThrows(ArithmeticException.class, () -> Rational.valueOf(3, 2).power(40));
+    }
+
+    @Test
+    void hashCodeMatchesFraction() {
+        assertEquals(new Fraction(6, -8).hashCode(), Rational.valueOf(-3, 4).hashCode());
+        assertEquals(Rational.valueOf(-3, 4), new Fraction(6, -8));
+        assertEquals(new Fraction(6, -8), Rational.valueOf(-3, 4));
+    }
+}
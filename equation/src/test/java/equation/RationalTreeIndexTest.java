@@ -0,0 +1,175 @@
+package equation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * RationalTreeIndexTest - 测试RationalTreeIndex的出现次数、范围查询以及floor和ceiling，并与TreeMap的结果对比。
+ */
+class RationalTreeIndexTest {
+
+    @Test
+    void documentedExample() {
+        RationalTreeIndex index = new RationalTreeIndex();
+        assertTrue(index.add(1, 4));
+        assertTrue(index.add(2, 5));
+        assertFalse(index.add(2, 5));
+        assertTrue(index.add(3, 4));
+        assertEquals(2, index.countBetween(Rational.valueOf(1, 3), Rational.valueOf(1, 2)));
+        RationalVector range = index.range(Rational.valueOf(1, 3), Rational.valueOf(1, 2));
+        assertEquals(1, range.length());
+        assertEquals(HybridFraction.valueOf(2, 5), HybridFraction.valueOf(range.get(0)));
+        assertEquals(HybridFraction.valueOf(3, 4), index.ceiling(Rational.valueOf(1, 2)));
+        assertEquals("[1/4, 2/5×2, 3/4]", index.toString());
+        assertEquals(3, index.size());
+        assertEquals(4, index.total());
+    }
+
+    @Test
+    void equalValuesShareOneNode() {
+        RationalTreeIndex index = new RationalTreeIndex();
+        assertTrue(index.add(new Fraction(-1, -2)));
+        assertFalse(index.add(2, 4));
+        assertFalse(index.add(HybridFraction.valueOf(0.5)));
+        assertEquals(1, index.size());
+        assertEquals(3, index.count(Rational.valueOf(1, 2)));
+        assertTrue(index.remove(new Fraction(3, 6)));
+        assertEquals(2, index.count(Rational.valueOf(1, 2)));
+        assertTrue(index.remove(Rational.valueOf(1, 2)));
+        assertTrue(index.remove(Rational.valueOf(1, 2)));
+        assertFalse(index.remove(Rational.valueOf(1, 2)));
+        assertFalse(index.contains(Rational.valueOf(1, 2)));
+        assertTrue(index.isEmpty());
+        assertEquals("[]", index.toString());
+    }
+
+    @Test
+    void boundaries() {
+        RationalTreeIndex index = new RationalTreeIndex();
+        assertThrows(UnexpectValueException.class, () -> new RationalTreeIndex(-1));
+        assertThrows(NoSuchElementException.class, index::first);
+        assertThrows(NoSuchElementException.class, index::last);
+        assertNull(index.floor(Rational.valueOf(1)));
+        assertNull(index.ceiling(Rational.valueOf(1)));
+        assertEquals(0, index.toVector().length());
+        assertThrows(ArithmeticException.class, () -> index.add(Long.MIN_VALUE, 1));
+        assertThrows(UnexpectValueException.class, () -> index.add(1, 0));
+        assertEquals(0, index.count(HybridFraction.valueOf(Long.MIN_VALUE)));
+        assertFalse(index.remove(HybridFraction.valueOf(Long.MIN_VALUE)));
+        index.add(Long.MAX_VALUE, 1);
+        index.add(-Long.MAX_VALUE, 1);
+        index.add(1, Long.MAX_VALUE);
+        index.add(1, Long.MAX_VALUE - 1);
+        assertEquals(HybridFraction.valueOf(-Long.MAX_VALUE), index.first());
+        assertEquals(HybridFraction.valueOf(Long.MAX_VALUE), index.last());
+        assertEquals(HybridFraction.valueOf(1, Long.MAX_VALUE - 1), index.floor(HybridFraction.valueOf(1, 1L << 62)));
+        assertEquals(HybridFraction.valueOf(-Long.MAX_VALUE), index.floor(Rational.valueOf(0)));
+        assertEquals(HybridFraction.valueOf(1, Long.MAX_VALUE - 1), index.ceiling(HybridFraction.valueOf(1, Long.MAX_VALUE - 1)));
+        assertEquals(HybridFraction.valueOf(Long.MAX_VALUE), index.ceiling(Rational.valueOf(2)));
+        assertEquals(2, index.countBetween(HybridFraction.valueOf(1, Long.MAX_VALUE), HybridFraction.valueOf(1, Long.MAX_VALUE - 1)));
+        assertEquals(1, index.countLessThan(HybridFraction.valueOf(1, Long.MAX_VALUE)));
+        assertEquals(0, index.countBetween(Rational.valueOf(1), Rational.valueOf(0)));
+        assertEquals(0, index.range(Rational.valueOf(1), Rational.valueOf(0)).length());
+        index.clear();
+        assertTrue(index.isEmpty());
+        assertEquals(0, index.total());
+        assertTrue(index.add(1, 3));
+        assertEquals("[1/3]", index.toString());
+    }
+
+    @Test
+    void matchesTreeMap() {
+        Random random = new Random(42);
+        RationalTreeIndex index = new RationalTreeIndex(4);
+        NavigableMap<HybridFraction, Long> expected = new TreeMap<HybridFraction, Long>();
+        for(int i = 0; i < 20000; i++) {
+            HybridFraction value = randomValue(random);
+            if(random.nextInt(3) == 0) {
+                Long count = expected.get(value);
+                assertEquals(count != null, index.remove(value));
+                if(count != null) {
+                    if(count == 1) {
+                        expected.remove(value);
+                    } else {
+                        expected.put(value, count - 1);
+                    }
+                }
+            } else {
+                assertEquals(!expected.containsKey(value), index.add(value));
+                expected.merge(value, 1L, Long::sum);
+            }
+            if(i % 500 == 0) {
+                check(expected, index, random);
+            }
+        }
+        check(expected, index, random);
+        RationalTreeIndex copy = new RationalTreeIndex();
+        copy.addAll(index.toVector());
+        copy.addAll(index.toVector());
+        assertEquals(expected.size(), copy.size());
+        assertEquals(expected.size() * 2L, copy.total());
+    }
+
+    private static HybridFraction randomValue(Random random) {
+        return HybridFraction.valueOf(random.nextInt(81) - 40, random.nextInt(16) + 1);
+    }
+
+    private static void check(NavigableMap<HybridFraction, Long> expected, RationalTreeIndex index, Random random) {
+        long total = 0;
+        for(long count : expected.values()) {
+            total += count;
+        }
+        assertEquals(expected.size(), index.size());
+        assertEquals(total, index.total());
+        RationalVector all = index.toVector();
+        assertEquals(expected.size(), all.length());
+        int i = 0;
+        for(HybridFraction key : expected.keySet()) {
+            assertEquals(key, HybridFraction.valueOf(all.get(i++)));
+        }
+        if(!expected.isEmpty()) {
+            assertEquals(expected.firstKey(), index.first());
+            assertEquals(expected.lastKey(), index.last());
+        }
+        for(int j = 0; j < 50; j++) {
+            HybridFraction from = randomValue(random);
+            HybridFraction to = randomValue(random);
+            assertEquals(expected.get(from) == null ? 0 : (long) expected.get(from), index.count(from));
+            assertEquals(expected.floorKey(from), index.floor(from));
+            assertEquals(expected.ceilingKey(from), index.ceiling(from));
+            assertEquals(sum(expected.headMap(from, false)), index.countLessThan(from));
+            if(from.compareTo(to) > 0) {
+                assertEquals(0, index.countBetween(from, to));
+                assertEquals(0, index.range(from, to).length());
+                continue;
+            }
+            NavigableMap<HybridFraction, Long> sub = expected.subMap(from, true, to, true);
+            assertEquals(sum(sub), index.countBetween(from, to));
+            RationalVector range = index.range(from, to);
+            assertEquals(sub.size(), range.length());
+            int k = 0;
+            for(HybridFraction key : sub.keySet()) {
+                assertEquals(key, HybridFraction.valueOf(range.get(k++)));
+            }
+        }
+    }
+
+    private static long sum(Map<HybridFraction, Long> map) {
+        long sum = 0;
+        for(long count : map.values()) {
+            sum += count;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,118 @@
+package equation;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * RationalVectorTest - 测试RationalVector的逐元素运算、求和、点积与比较，以及元素始终是分母为正数的最简分数。
+ */
+class RationalVectorTest {
+    @Test
+    void documentedExample() {
+        RationalVector prices = RationalVector.valueOf(new Fraction[] {new Fraction(1, 2), new Fraction(3, 4)});
+        RationalVector rates = RationalVector.valueOf(new Fraction[] {new Fraction(1, 3), new Fraction(1, 5)});
+        RationalVector out = new RationalVector(2);
+        assertSame(out, prices.mult(rates, out));
+        assertEquals("[1/6, 3/20]", out.toString());
+        assertEquals(HybridFraction.valueOf(19, 60), out.sum());
+        assertEquals(HybridFraction.valueOf(19, 60), prices.dot(rates));
+    }
+
+    @Test
+    void setReducesAndNormalizesSign() {
+        RationalVector vector = new RationalVector(3);
+        assertEquals("[0/1, 0/1, 0/1]", vector.toString());
+        vector.set(0, 6, -8);
+        vector.set(1, new Fraction(-4, -6));
+        vector.set(2, Long.MIN_VALUE, Long.MIN_VALUE);
+        assertEquals("[-3/4, 2/3, 1/1]", vector.toString());
+        assertThrows(UnexpectValueException.class, () -> vector.set(0, 1, 0));
+        assertThrows(ArithmeticException.class, () -> vector.set(0, Long.MIN_VALUE, 1));
+        assertThrows(ArithmeticException.class, () -> vector.set(0, HybridFraction.valueOf(Long.MAX_VALUE).add(HybridFraction.ONE)));
+        assertArrayEquals(new Fraction[] {new Fraction(-3, 4), new Fraction(2, 3), new Fraction(1)}, vector.toFractionArray());
+    }
+
+    @Test
+    void kernelsAgreeWithHybridFraction() {
+        Random random = new Random(42);
+        RationalVector a = random(random, 1000);
+        RationalVector b = random(random, 1000);
+        RationalVector out = new RationalVector(1000);
+        a.add(b, out);
+        check(a, b, out, '+');
+        a.sub(b, out);
+        check(a, b, out, '-');
+        a.mult(b, out);
+        check(a, b, out, '*');
+        a.div(b, out);
+        check(a, b, out, '/');
+        a.scale(new Fraction(-3, 7), out);
+        for(int i = 0; i < out.length(); i++) {
+            assertEquals(a.get(i).mult(new Fraction(-3, 7)), out.get(i));
+        }
+    }
+
+    @Test
+    void outputMayAliasAnOperand() {
+        RationalVector a = RationalVector.valueOf(new Fraction[] {new Fraction(1, 2), new Fraction(1, 3)});
+        a.add(a, a);
+        assertEquals("[1/1, 2/3]", a.toString());
+    }
+
+    @Test
+    void sumAndDotPromoteOnOverflow() {
+        RationalVector vector = new RationalVector(3);
+        vector.set(0, Long.MAX_VALUE, 1);
+        vector.set(1, Long.MAX_VALUE, 1);
+        vector.set(2, -Long.MAX_VALUE, 1);
+        assertEquals(HybridFraction.valueOf(Long.MAX_VALUE), vector.sum());
+        assertTrue(((HybridFraction) vector.dot(vector)).isPromoted());
+        Number expected = HybridFraction.valueOf(Long.MAX_VALUE).power(2).mult(HybridFraction.valueOf(3));
+        assertEquals(expected, vector.dot(vector));
+        assertEquals(HybridFraction.ZERO, new RationalVector(0).sum());
+    }
+
+    @Test
+    void compareIsElementwise() {
+        RationalVector a = RationalVector.valueOf(new Fraction[] {new Fraction(1, 2), new Fraction(1, 3), new Fraction(-1, 3)});
+        RationalVector b = RationalVector.valueOf(new Fraction[] {new Fraction(1, 3), new Fraction(2, 6), new Fraction(1, 3)});
+        assertArrayEquals(new int[] {1, 0, -1}, a.compare(b, new int[3]));
+    }
+
+    @Test
+    void lengthMismatchThrows() {
+        RationalVector a = new RationalVector(2);
+        RationalVector b = new RationalVector(3);
+        assertThrows(UnexpectValueException.class, () -> a.add(b, a));
+        assertThrows(UnexpectValueException.class, () -> a.add(a, b));
+        assertThrows(UnexpectValueException.class, () -> a.dot(b));
+        assertThrows(UnexpectValueException.class, () -> a.compare(a, new int[3]));
+    }
+
+    private static RationalVector random(Random random, int length) {
+        RationalVector vector = new RationalVector(length);
+        for(int i = 0; i < length; i++) {
+            int numerator = random.nextInt(2001) - 1000;
+            vector.set(i, numerator == 0 ? 1 : numerator, random.nextInt(1000) + 1);
+        }
+        return vector;
+    }
+
+    private static void check(RationalVector a, RationalVector b, RationalVector out, char operator) {
+        for(int i = 0; i < out.length(); i++) {
+            Number x = a.get(i);
+            Number y = b.get(i);
+            Number expected = operator == '+' ? x.add(y) : operator == '-' ? x.sub(y) : operator == '*' ? x.mult(y) : x.div(y);
+            assertEquals(expected, out.get(i));
+            assertTrue(out.getDenominator(i) > 0);
+            assertEquals(1, RationalMath.gcd(out.getNumerator(i), out.getDenominator(i)));
+        }
+    }
+}
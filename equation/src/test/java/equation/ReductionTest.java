@@ -0,0 +1,106 @@
+package equation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * ReductionTest - 测试Equation的fork-join求和、求积、点积以及并行流Collector，结果必须与从左到右顺序计算的精确结果相同。
+ */
+class ReductionTest {
+    @Test
+    void documentedExample() {
+        assertEquals(HybridFraction.ONE, Equation.sum(Arrays.asList(new Fraction(1, 2), new Fraction(1, 3), new Fraction(1, 6))));
+    }
+
+    @Test
+    void emptyCollections() {
+        assertEquals(HybridFraction.ZERO, Equation.sum(Collections.<Number>emptyList()));
+        assertEquals(HybridFraction.ONE, Equation.product(Collections.<Number>emptyList()));
+        assertEquals(HybridFraction.ZERO, Equation.dot(Collections.<Number>emptyList(), Collections.<Number>emptyList()));
+        assertEquals(HybridFraction.ZERO, Collections.<Number>emptyList().parallelStream().collect(Equation.summing()));
+        assertEquals(HybridFraction.ONE, Collections.<Number>emptyList().parallelStream().collect(Equation.multiplying()));
+    }
+
+    @Test
+    void sumAgreesWithSequentialSum() {
+        List<Number> values = random(new Random(42), 5000);
+        Number expected = HybridFraction.ZERO;
+        for(Number value : values) {
+            expected = HybridFraction.valueOf(expected).add(value);
+        }
+        for(int threshold : new int[] {1, 7, 1024, 10000}) {
+            assertEquals(expected, Equation.sum(values, threshold));
+        }
+        assertEquals(expected, Equation.sum(values));
+        assertEquals(expected, values.parallelStream().collect(Equation.summing()));
+    }
+
+    @Test
+    void productAgreesWithSequentialProduct() {
+        List<Number> values = random(new Random(42), 300);
+        Number expected = HybridFraction.ONE;
+        for(Number value : values) {
+            expected = HybridFraction.valueOf(expected).mult(value);
+        }
+        for(int threshold : new int[] {1, 7, 1024}) {
+            assertEquals(expected, Equation.product(values, threshold));
+        }
+        assertEquals(expected, values.parallelStream().collect(Equation.multiplying()));
+    }
+
+    @Test
+    void dotAgreesWithSequentialDot() {
+        Random random = new Random(42);
+        List<Number> values1 = random(random, 3000);
+        List<Number> values2 = random(random, 3000);
+        Number expected = HybridFraction.ZERO;
+        for(int i = 0; i < values1.size(); i++) {
+            expected = HybridFraction.valueOf(expected).add(HybridFraction.valueOf(values1.get(i)).mult(values2.get(i)));
+        }
+        for(int threshold : new int[] {1, 7, 1024}) {
+            assertEquals(expected, Equation.dot(values1, values2, threshold));
+        }
+        assertEquals(expected, Equation.dot(values1, values2));
+    }
+
+    @Test
+    void overflowIsPromotedToBigInteger() {
+        List<Number> values = Collections.nCopies(100, (Number) HybridFraction.valueOf(Long.MAX_VALUE));
+        Number sum = Equation.sum(values, 3);
+        assertEquals(BigFraction.valueOf(Long.MAX_VALUE).mult(BigFraction.valueOf(100)), BigFraction.valueOf(sum));
+        Number product = Equation.product(Collections.nCopies(10, (Number) new Fraction(Integer.MAX_VALUE, 3)), 2);
+        BigFraction expected = BigFraction.ONE;
+        for(int i = 0; i < 10; i++) {
+            expected = (BigFraction) expected.mult(new Fraction(Integer.MAX_VALUE, 3));
+        }
+        assertEquals(expected, BigFraction.valueOf(product));
+    }
+
+    @Test
+    void mixedTypes() {
+        List<Number> values = Arrays.asList(new Fraction(1, 2), new Fraction(2), HybridFraction.valueOf(3), FixedFraction.valueOf(25, 100), Rational.valueOf(1, 4), BigFraction.valueOf(1, 2));
+        assertEquals(HybridFraction.valueOf(13, 2), Equation.sum(values, 1));
+        assertEquals(HybridFraction.valueOf(3, 32), Equation.product(values, 1));
+    }
+
+    @Test
+    void dotRejectsDifferentLengths() {
+        assertThrows(UnexpectValueException.class, () -> Equation.dot(Arrays.asList(new Fraction(1), new Fraction(2)), Arrays.asList(new Fraction(1))));
+    }
+
+    private static List<Number> random(Random random, int length) {
+        List<Number> values = new ArrayList<>(length);
+        for(int i = 0; i < length; i++) {
+            values.add(new Fraction(random.nextInt(201) - 100, random.nextInt(30) + 1));
+        }
+        return values;
+    }
+}
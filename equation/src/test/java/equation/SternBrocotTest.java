@@ -0,0 +1,195 @@
+package equation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * SternBrocotTest - 测试Fraction的中间分数、Farey序列、Stern-Brocot树和simplestBetween，并与从根节点逐层查找和穷举的结果对比。
+ */
+class SternBrocotTest {
+
+    @Test
+    void documentedExamples() {
+        assertFraction(3, 5, new Fraction(1, 2).mediant(new Fraction(2, 3)));
+        assertFraction(2, 3, new Fraction(2, 4).mediant(new Fraction(1, 1)));
+        assertEquals("[0/1, 1/5, 1/4, 1/3, 2/5, 1/2, 3/5, 2/3, 3/4, 4/5, 1/1]", Fraction.farey(5).toString());
+        assertFraction(2, 3, new Fraction(3, 5).sternBrocotParent());
+        assertFraction(4, 7, new Fraction(3, 5).sternBrocotLeft());
+        assertFraction(5, 8, new Fraction(3, 5).sternBrocotRight());
+        assertEquals(3, new Fraction(3, 5).sternBrocotDepth());
+        assertFraction(2, 5, Fraction.simplestBetween(new Fraction(1, 3), new Fraction(1, 2)));
+        assertFraction(1, 3, Fraction.simplestBetween(new Fraction(3, 10), new Fraction(4, 10)));
+        assertFraction(0, 1, Fraction.simplestBetween(new Fraction(-1, 2), new Fraction(7, 3)));
+    }
+
+    @Test
+    void mediant() {
+        assertFraction(-1, 3, new Fraction(1, -2).mediant(Rational.valueOf(0, 3)));
+        assertFraction(2, 3, new Fraction(1, 2).mediant(HybridFraction.valueOf(2, 2)));
+        assertFraction(2, 4, new Fraction(1, 2).mediant(new Fraction(1, 2)));
+        assertThrows(ArithmeticException.class, () -> new Fraction(Integer.MAX_VALUE).mediant(new Fraction(1)));
+        assertThrows(ArithmeticException.class, () -> new Fraction(1, 2).mediant(BigFraction.valueOf(BigInteger.ONE.shiftLeft(70), BigInteger.ONE)));
+    }
+
+    @Test
+    void fareySequences() {
+        assertEquals("[0/1, 1/1]", Fraction.farey(1).toString());
+        assertThrows(UnexpectValueException.class, () -> Fraction.farey(0));
+        for(int order = 1; order <= 60; order++) {
+            RationalVector farey = Fraction.farey(order);
+            int expectedLength = 0;
+            for(int q = 1; q <= order; q++) {
+                for(int p = 0; p <= q; p++) {
+                    if(BigInteger.valueOf(p).gcd(BigInteger.valueOf(q)).intValue() == 1) {
+                        expectedLength++;
+                    }
+                }
+            }
+            assertEquals(expectedLength, farey.length());
+            assertEquals(0, farey.numerators[0]);
+            assertEquals(1, farey.denominators[0]);
+            assertEquals(1, farey.numerators[expectedLength - 1]);
+            assertEquals(1, farey.denominators[expectedLength - 1]);
+            Fraction frac = new Fraction(0, 1);
+            for(int i = 1; i < expectedLength; i++) {
+                long a = farey.numerators[i - 1];
+                long b = farey.denominators[i - 1];
+                long c = farey.numerators[i];
+                long d = farey.denominators[i];
+                assertEquals(1, b * c - a * d);
+                assertTrue(d <= order);
+                frac = frac.fareyNext(order);
+                assertFraction(c, d, frac);
+            }
+            assertNull(frac.fareyNext(order));
+        }
+    }
+
+    @Test
+    void fareyNextRejectsValuesOutsideTheSequence() {
+        assertFraction(1, 3, new Fraction(2, 7).fareyNext(7));
+        assertFraction(1, 3, new Fraction(4, 14).fareyNext(7));
+        assertFraction(Integer.MAX_VALUE - 1, Integer.MAX_VALUE, new Fraction(Integer.MAX_VALUE - 2, Integer.MAX_VALUE - 1).fareyNext(Integer.MAX_VALUE));
+        assertThrows(UnexpectValueException.class, () -> new Fraction(3, 2).fareyNext(5));
+        assertThrows(UnexpectValueException.class, () -> new Fraction(-1, 5).fareyNext(5));
+        assertThrows(UnexpectValueException.class, () -> new Fraction(1, 7).fareyNext(5));
+    }
+
+    @Test
+    void matchesWalkFromRoot() {
+        for(int q = 1; q <= 40; q++) {
+            for(int p = 1; p <= 40; p++) {
+                if(BigInteger.valueOf(p).gcd(BigInteger.valueOf(q)).intValue() != 1) {
+                    continue;
+                }
+                // 从根节点 1/1 开始逐层查找 p/q，同时记录父节点和左右边界
+                long a = 0, b = 1, c = 1, d = 0;
+                long parentNumerator = 0, parentDenominator = 0;
+                long depth = -1;
+                while(true) {
+                    long m = a + c;
+                    long n = b + d;
+                    depth++;
+                    int compare = Long.compare(p * n, m * q);
+                    if(compare == 0) {
+                        break;
+                    }
+                    parentNumerator = m;
+                    parentDenominator = n;
+                    if(compare < 0) {
+                        c = m;
+                        d = n;
+                    } else {
+                        a = m;
+                        b = n;
+                    }
+                }
+                Fraction frac = new Fraction(p * 2, q * 2);
+                assertEquals(depth, frac.sternBrocotDepth());
+                if(depth == 0) {
+                    assertNull(frac.sternBrocotParent());
+                } else {
+                    assertFraction(parentNumerator, parentDenominator, frac.sternBrocotParent());
+                }
+                assertFraction(a + p, b + q, frac.sternBrocotLeft());
+                assertFraction(p + c, q + d, frac.sternBrocotRight());
+                assertEquals(frac, frac.sternBrocotLeft().sternBrocotParent());
+                assertEquals(frac, frac.sternBrocotRight().sternBrocotParent());
+            }
+        }
+    }
+
+    @Test
+    void sternBrocotBoundaries() {
+        Fraction one = new Fraction(1);
+        assertNull(one.sternBrocotParent());
+        assertEquals(0, one.sternBrocotDepth());
+        assertFraction(1, 2, one.sternBrocotLeft());
+        assertFraction(2, 1, one.sternBrocotRight());
+        Fraction max = new Fraction(Integer.MAX_VALUE);
+        assertEquals(Integer.MAX_VALUE - 1, max.sternBrocotDepth());
+        assertFraction(Integer.MAX_VALUE - 1, 1, max.sternBrocotParent());
+        assertThrows(ArithmeticException.class, max::sternBrocotRight);
+        assertEquals(Integer.MAX_VALUE - 1, new Fraction(1, Integer.MAX_VALUE).sternBrocotDepth());
+        assertThrows(UnexpectValueException.class, () -> new Fraction(0).sternBrocotDepth());
+        assertThrows(UnexpectValueException.class, () -> new Fraction(-1, 2).sternBrocotParent());
+        assertThrows(UnexpectValueException.class, () -> new Fraction(1, -2).sternBrocotLeft());
+    }
+
+    @Test
+    void simplestBetweenMatchesSearch() {
+        for(int b = 1; b <= 8; b++) {
+            for(int d = 1; d <= 8; d++) {
+                for(int a = -20; a <= 20; a++) {
+                    for(int c = -20; c <= 20; c++) {
+                        Fraction from = new Fraction(a, b);
+                        Rational to = Rational.valueOf(c, d);
+                        if((long) a * d == (long) c * b) {
+                            assertThrows(UnexpectValueException.class, () -> Fraction.simplestBetween(from, to));
+                            continue;
+                        }
+                        Fraction result = Fraction.simplestBetween(from, to);
+                        Fraction expected = search(a, b, c, d);
+                        assertFraction(expected.getNumerator(), expected.getDenominator(), result);
+                    }
+                }
+            }
+        }
+        assertFraction(3, 2, Fraction.simplestBetween(Rational.valueOf(1), Rational.valueOf(2)));
+        assertFraction(2, 1, Fraction.simplestBetween(Rational.valueOf(3), Rational.valueOf(1)));
+        assertFraction(-1, 1, Fraction.simplestBetween(new Fraction(-7, 3), new Fraction(-1, 2)));
+        assertFraction(1, 1 << 20, Fraction.simplestBetween(HybridFraction.valueOf(0), HybridFraction.valueOf(1, (1L << 20) - 1)));
+        assertThrows(UnexpectValueException.class, () -> Fraction.simplestBetween(new Fraction(1, 2), new Fraction(2, 4)));
+        assertThrows(ArithmeticException.class, () -> Fraction.simplestBetween(HybridFraction.valueOf(0), HybridFraction.valueOf(1, 1L << 40)));
+    }
+
+    /**
+     * search方法 - 按分母从小到大穷举，返回开区间中分母最小、分子绝对值最小的分数。
+     */
+    private static Fraction search(int a, int b, int c, int d) {
+        for(int q = 1; ; q++) {
+            Fraction best = null;
+            for(int p = -20 * q; p <= 20 * q; p++) {
+                boolean above = (long) p * b > (long) a * q && (long) p * d > (long) c * q;
+                boolean below = (long) p * b < (long) a * q && (long) p * d < (long) c * q;
+                boolean between = (long) p * b != (long) a * q && (long) p * d != (long) c * q && !above && !below;
+                if(between && (best == null || Math.abs(p) < Math.abs(best.getNumerator()))) {
+                    best = new Fraction(p, q);
+                }
+            }
+            if(best != null) {
+                return best;
+            }
+        }
+    }
+
+    private static void assertFraction(long numerator, long denominator, Fraction actual) {
+        assertEquals(numerator + "/" + denominator, actual.getNumerator() + "/" + actual.getDenominator());
+    }
+}